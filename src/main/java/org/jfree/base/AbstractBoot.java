@@ -39,6 +39,12 @@
  * 07-Jun-2004 : Added source headers (DG);
  * 18-Aug-2005 : Added casts to suppress compiler warnings, as suggested in
  *               patch 1260622 (DG);
+ * 18-Oct-2026 : Added boot profiling;
+ * 18-Oct-2026 : Boot with futures, dependent booters start in parallel;
+ * 18-Oct-2026 : Load user configurations in parallel, optionally cached;
+ * 18-Oct-2026 : Resolve booters through the ObjectUtilities class cache;
+ * 18-Oct-2026 : Boot the last dependent booter on the calling thread;
+ * 18-Oct-2026 : Removed the user configuration cache;
  *
  */
 
@@ -46,10 +52,20 @@ package org.jfree.base;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jfree.base.config.HierarchicalConfiguration;
 import org.jfree.base.config.PropertyFileConfiguration;
@@ -87,11 +103,28 @@ public abstract class AbstractBoot implements SubSystem {
     /** Global configuration. */
     private Configuration globalConfig;
 
-    /** A flag indicating whether the booting is currenly in progress. */
-    private boolean bootInProgress;
+    /**
+     * The executor that boots booters started with {@link #startAsync()}.
+     * Booters wait for their dependencies, so the pool must not be bounded.
+     */
+    private static final ExecutorService BOOT_EXECUTOR =
+        Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            public Thread newThread(final Runnable r) {
+                final Thread t = new Thread(r, "AbstractBoot-"
+                    + this.count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
 
-    /** A flag indicating whether the booting is complete. */
-    private boolean bootDone;
+    /**
+     * The result of the boot process, null until the booting starts. The
+     * future completes with this booter once the boot is done, or
+     * exceptionally if the boot failed.
+     */
+    private CompletableFuture<AbstractBoot> bootFuture;
 
     /**
      * Default constructor.
@@ -118,7 +151,14 @@ public abstract class AbstractBoot implements SubSystem {
      */
     public synchronized Configuration getGlobalConfig() {
         if (this.globalConfig == null) {
-            this.globalConfig = loadConfiguration();
+            final BootProfiler.Span span = BootProfiler.begin
+                (BootProfiler.CATEGORY_CONFIG, "loadConfiguration", getClass().getName());
+            try {
+                this.globalConfig = loadConfiguration();
+            }
+            finally {
+                BootProfiler.end(span);
+            }
         }
         return this.globalConfig;
     }
@@ -129,7 +169,7 @@ public abstract class AbstractBoot implements SubSystem {
      * @return true, if the booting is in progress, false otherwise.
      */
     public final synchronized boolean isBootInProgress() {
-        return this.bootInProgress;
+        return this.bootFuture != null && this.bootFuture.isDone() == false;
     }
 
     /**
@@ -138,7 +178,8 @@ public abstract class AbstractBoot implements SubSystem {
      * @return true, if the booting is complete, false otherwise.
      */
     public final synchronized boolean isBootDone() {
-        return this.bootDone;
+        return this.bootFuture != null && this.bootFuture.isDone()
+            && this.bootFuture.isCompletedExceptionally() == false;
     }
 
     /**
@@ -149,66 +190,223 @@ public abstract class AbstractBoot implements SubSystem {
     protected abstract Configuration loadConfiguration();
 
     /**
-     * Starts the boot process.
+     * Starts the boot process and waits until it is complete. If no other
+     * thread is booting this booter yet, the boot runs on the calling thread.
+     * An interrupt does not abort the boot; the interrupt status is restored
+     * before this method returns.
+     *
+     * @throws RuntimeException if the boot failed.
      */
     public final void start() {
+        final CompletableFuture<AbstractBoot> claimed = claimBoot();
+        if (claimed != null) {
+            boot(claimed);
+        }
+        awaitUninterruptibly(getBootFuture());
+    }
 
-        synchronized (this) {
-            if (isBootDone()) {
-                return;
-            }
-            while (isBootInProgress()) {
-              try {
-                wait();
-              }
-              catch (InterruptedException e) {
-                // ignore ..
-              }
-            }
-            if (isBootDone()) {
-                return;
-            }
-            this.bootInProgress = true;
+    /**
+     * Starts the boot process in the background. The returned future completes
+     * with this booter once the boot is done, or exceptionally if the boot
+     * failed. Calling this method while the boot is in progress or after it
+     * completed returns the same future.
+     *
+     * @return the future of the boot process.
+     */
+    public final CompletableFuture<AbstractBoot> startAsync() {
+        final CompletableFuture<AbstractBoot> future = claimBoot();
+        if (future != null) {
+            final ClassLoader contextLoader =
+                Thread.currentThread().getContextClassLoader();
+            BOOT_EXECUTOR.execute(new Runnable() {
+                public void run() {
+                    final Thread thread = Thread.currentThread();
+                    final ClassLoader poolLoader = thread.getContextClassLoader();
+                    thread.setContextClassLoader(contextLoader);
+                    try {
+                        boot(future);
+                    }
+                    catch (Throwable t) {
+                        // already recorded in the future.
+                    }
+                    finally {
+                        thread.setContextClassLoader(poolLoader);
+                    }
+                }
+            });
+        }
+        return getBootFuture();
+    }
+
+    /**
+     * Creates the boot future, if the boot has not been started yet.
+     *
+     * @return the new future, or null if the boot was started before.
+     */
+    private synchronized CompletableFuture<AbstractBoot> claimBoot() {
+        if (this.bootFuture != null) {
+            return null;
+        }
+        this.bootFuture = new CompletableFuture<AbstractBoot>();
+        return this.bootFuture;
+    }
+
+    /**
+     * Returns the boot future.
+     *
+     * @return the future, or null if the boot has not been started.
+     */
+    private synchronized CompletableFuture<AbstractBoot> getBootFuture() {
+        return this.bootFuture;
+    }
+
+    /**
+     * Starts the boot process and waits at most the given time for it to
+     * complete. The boot continues in the background if the time elapses.
+     *
+     * @param timeout  the maximum time to wait.
+     * @param unit  the unit of the timeout.
+     *
+     * @return true, if the boot is complete, false if the time elapsed.
+     *
+     * @throws InterruptedException if the current thread is interrupted while
+     *         waiting.
+     * @throws RuntimeException if the boot failed.
+     */
+    public final boolean start(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+        final CompletableFuture<AbstractBoot> future = startAsync();
+        try {
+            future.get(timeout, unit);
+            return true;
+        }
+        catch (TimeoutException te) {
+            return false;
+        }
+        catch (ExecutionException ee) {
+            throw rethrow(ee.getCause());
         }
+    }
 
-        // boot dependent libraries ...
-        final BootableProjectInfo info = getProjectInfo();
-        if (info != null) {
-            final BootableProjectInfo[] childs = info.getDependencies();
-            for (int i = 0; i < childs.length; i++) {
-                final AbstractBoot boot = loadBooter(childs[i].getBootClass());
-                if (boot != null) {
-                    // but we're waiting until the booting is complete ...
-                    synchronized(boot) {
-                      boot.start();
-                      while (boot.isBootDone() == false) {
-                        try {
-                          boot.wait();
-                        }
-                        catch (InterruptedException e) {
-                          // ignore it ..
-                        }
-                      }
+    /**
+     * Boots the dependent libraries and then this booter, and completes the
+     * future with the result. The dependent booters are started in parallel;
+     * the last of them boots on the calling thread.
+     *
+     * @param future  the future of the boot process.
+     */
+    private void boot(final CompletableFuture<AbstractBoot> future) {
+        try {
+            final BootProfiler.Span bootSpan = BootProfiler.begin
+                (BootProfiler.CATEGORY_BOOT, getClass().getName());
+
+            // boot dependent libraries ...
+            final BootableProjectInfo info = getProjectInfo();
+            if (info != null) {
+                final BootableProjectInfo[] childs = info.getDependencies();
+                final ArrayList booters = new ArrayList();
+                for (int i = 0; i < childs.length; i++) {
+                    final AbstractBoot boot = loadBooter(childs[i].getBootClass());
+                    if (boot != null) {
+                        booters.add(boot);
                     }
                 }
+                // the other booters run in the background, while this thread
+                // boots the last one instead of waiting idle ...
+                final int last = booters.size() - 1;
+                final ArrayList dependencies = new ArrayList();
+                for (int i = 0; i < last; i++) {
+                    dependencies.add(((AbstractBoot) booters.get(i)).startAsync());
+                }
+                if (last >= 0) {
+                    ((AbstractBoot) booters.get(last)).start();
+                }
+                // but we're waiting until the booting is complete ...
+                for (int i = 0; i < dependencies.size(); i++) {
+                    awaitUninterruptibly((Future) dependencies.get(i));
+                }
+            }
+
+            final BootProfiler.Span performSpan = BootProfiler.begin
+                (BootProfiler.CATEGORY_BOOT, "performBoot", getClass().getName());
+            try {
+                performBoot();
+            }
+            finally {
+                BootProfiler.end(performSpan);
+            }
+            BootProfiler.end(bootSpan);
+            BootProfiler.getInstance().bootCompleted();
+
+            if (info != null)
+            {
+              Log.info (info.getName() + " " + info.getVersion() + " started.");
+            }
+            else
+            {
+              Log.info (getClass() + " started.");
+            }
+            future.complete(this);
+        }
+        catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        finally {
+            // wake up callers still waiting on the monitor of this booter.
+            synchronized (this) {
+                notifyAll();
             }
         }
+    }
 
-        performBoot();
-        if (info != null)
-        {
-          Log.info (info.getName() + " " + info.getVersion() + " started.");
+    /**
+     * Waits until the given future is complete. An interrupt does not
+     * abort the waiting, the interrupt status is restored afterwards.
+     *
+     * @param future  the future.
+     *
+     * @return the result of the future.
+     *
+     * @throws RuntimeException if the boot or the task failed.
+     */
+    private static Object awaitUninterruptibly(final Future future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                }
+                catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+                catch (ExecutionException ee) {
+                    throw rethrow(ee.getCause());
+                }
+            }
         }
-        else
-        {
-          Log.info (getClass() + " started.");
+        finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
+    }
 
-        synchronized (this) {
-            this.bootInProgress = false;
-            this.bootDone = true;
-            notifyAll();
+    /**
+     * Rethrows the cause of a failed boot. Unchecked exceptions and errors
+     * are thrown as they are, checked exceptions are wrapped.
+     *
+     * @param cause  the cause.
+     *
+     * @return never returns normally, declared to allow "throw rethrow(..)".
+     */
+    private static RuntimeException rethrow(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
         }
+        throw new IllegalStateException("Boot failed.", cause);
     }
 
     /**
@@ -235,10 +433,8 @@ public abstract class AbstractBoot implements SubSystem {
             return null;
         }
         try {
-            final Class c = ObjectUtilities.getClassLoader(
-                    getClass()).loadClass(classname);
-            final Method m = c.getMethod("getInstance", (Class[]) null);
-            return (AbstractBoot) m.invoke(null, (Object[]) null);
+            final Class c = ObjectUtilities.loadClass(classname, getClass());
+            return (AbstractBoot) ObjectUtilities.invokeFactory(c, "getInstance");
         }
         catch (Exception e) {
             Log.info ("Unable to boot dependent class: " + classname);
@@ -288,9 +484,12 @@ public abstract class AbstractBoot implements SubSystem {
             = new HierarchicalConfiguration();
 
         if (staticConfig != null) {
+          final BootProfiler.Span span = BootProfiler.begin
+              (BootProfiler.CATEGORY_CONFIG, "staticConfig", staticConfig);
           final PropertyFileConfiguration rootProperty
               = new PropertyFileConfiguration();
           rootProperty.load(staticConfig, getClass());
+          BootProfiler.end(span);
           globalConfig.insertConfiguration(rootProperty);
           globalConfig.insertConfiguration(
                   getPackageManager().getPackageConfiguration());
@@ -303,33 +502,10 @@ public abstract class AbstractBoot implements SubSystem {
           else {
             userConfigStripped = userConfig;
           }
-          try {
-            final Enumeration userConfigs = ObjectUtilities.getClassLoader
-                            (getClass()).getResources(userConfigStripped);
-            final ArrayList configs = new ArrayList();
-            while (userConfigs.hasMoreElements()) {
-              final URL url = (URL) userConfigs.nextElement();
-              try {
-                final PropertyFileConfiguration baseProperty =
-                        new PropertyFileConfiguration();
-                final InputStream in = url.openStream();
-                baseProperty.load(in);
-                in.close();
-                configs.add(baseProperty);
-              }
-              catch(IOException ioe) {
-                Log.warn ("Failed to load the user configuration at " + url, ioe);
-              }
-            }
-
-            for (int i = configs.size() - 1; i >= 0; i--) {
-              final PropertyFileConfiguration baseProperty =
-                      (PropertyFileConfiguration) configs.get(i);
-              globalConfig.insertConfiguration(baseProperty);
-            }
-          }
-          catch (IOException e) {
-            Log.warn ("Failed to lookup the user configurations.", e);
+          final PropertyFileConfiguration[] configs = loadUserConfigurations
+              (ObjectUtilities.getClassLoader(getClass()), userConfigStripped);
+          for (int i = configs.length - 1; i >= 0; i--) {
+            globalConfig.insertConfiguration(configs[i]);
           }
         }
         if (addSysProps) {
@@ -340,6 +516,92 @@ public abstract class AbstractBoot implements SubSystem {
         return globalConfig;
     }
 
+    /**
+     * Loads all user configurations with the given resource name. If more
+     * than one resource is found, the resources are loaded in parallel. The
+     * result keeps the order in which the class loader found the resources,
+     * resources that cannot be read are skipped.
+     *
+     * @param loader  the class loader.
+     * @param resourceName  the resource name, without a leading slash.
+     *
+     * @return the configurations, never null.
+     */
+    private static PropertyFileConfiguration[] loadUserConfigurations
+        (final ClassLoader loader, final String resourceName)
+    {
+      final ArrayList urls = new ArrayList();
+      try {
+        final Enumeration userConfigs = loader.getResources(resourceName);
+        while (userConfigs.hasMoreElements()) {
+          urls.add(userConfigs.nextElement());
+        }
+      }
+      catch (IOException e) {
+        Log.warn ("Failed to lookup the user configurations.", e);
+      }
+
+      final FutureTask[] tasks = new FutureTask[urls.size()];
+      for (int i = 0; i < tasks.length; i++) {
+        final URL url = (URL) urls.get(i);
+        tasks[i] = new FutureTask(new Callable() {
+          public Object call() {
+            return loadUserConfiguration(url);
+          }
+        });
+        if (i > 0) {
+          BOOT_EXECUTOR.execute(tasks[i]);
+        }
+      }
+      if (tasks.length > 0) {
+        // the first resource is loaded on the calling thread.
+        tasks[0].run();
+      }
+
+      final ArrayList configs = new ArrayList(tasks.length);
+      for (int i = 0; i < tasks.length; i++) {
+        final Object config = awaitUninterruptibly(tasks[i]);
+        if (config != null) {
+          configs.add(config);
+        }
+      }
+      return (PropertyFileConfiguration[]) configs.toArray
+          (new PropertyFileConfiguration[configs.size()]);
+    }
+
+    /**
+     * Loads a single user configuration.
+     *
+     * @param url  the location of the configuration.
+     *
+     * @return the configuration, or null if it could not be read.
+     */
+    private static PropertyFileConfiguration loadUserConfiguration
+        (final URL url)
+    {
+      final BootProfiler.Span span = BootProfiler.begin
+          (BootProfiler.CATEGORY_CONFIG, "userConfig", url);
+      try {
+        final PropertyFileConfiguration baseProperty =
+                new PropertyFileConfiguration();
+        final InputStream in = url.openStream();
+        try {
+          baseProperty.load(in);
+        }
+        finally {
+          in.close();
+        }
+        return baseProperty;
+      }
+      catch(IOException ioe) {
+        Log.warn ("Failed to load the user configuration at " + url, ioe);
+        return null;
+      }
+      finally {
+        BootProfiler.end(span);
+      }
+    }
+
     /**
      * Returns the global configuration as extended configuration.
      *
@@ -0,0 +1,667 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------
+ * BootProfiler.java
+ * -----------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ * 18-Oct-2026 : Look up the management beans on first use;
+ * 18-Oct-2026 : Limit the number of recorded spans, do not keep threads
+ *               alive;
+ *
+ */
+
+package org.jfree.base;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jfree.util.Log;
+
+/**
+ * Records where the time goes while booters and their modules start up.
+ * Every measured step is a {@link Span} which carries the wall time, the
+ * number of classes loaded by the VM and the number of bytes allocated by
+ * the measuring thread while the span was open. The recorded spans can be
+ * queried or exported in the Chrome trace event format, which can be viewed
+ * in chrome://tracing or Perfetto.
+ * <p>
+ * Profiling is disabled by default. It can be enabled with
+ * {@link #setEnabled(boolean)} or, for the very first boot, by setting the
+ * system property <code>org.jfree.base.BootProfiler.Enabled</code> to
+ * <code>true</code>. If the system property
+ * <code>org.jfree.base.BootProfiler.TraceFile</code> names a file, the trace
+ * is written to that file each time a booter completes.
+ * <p>
+ * At most {@link #MAX_SPANS} spans are kept; later spans are dropped until
+ * the profiler is cleared.
+ * <p>
+ * The management beans used for the measurements are looked up when the
+ * first span is opened. Until then the profiler does not touch them, so a
+ * disabled profiler never switches on the thread allocation accounting of
+ * the VM.
+ */
+public final class BootProfiler {
+
+    /** The category of the spans covering whole booters. */
+    public static final String CATEGORY_BOOT = "boot";
+
+    /** The category of the spans covering configuration loading. */
+    public static final String CATEGORY_CONFIG = "config";
+
+    /** The category of the spans covering the module system. */
+    public static final String CATEGORY_MODULE = "module";
+
+    /**
+     * A single measured step of the boot process.
+     */
+    public static final class Span {
+
+        /** The profiler that records the span. */
+        private final BootProfiler profiler;
+
+        /** The category. */
+        private final String category;
+
+        /** The name. */
+        private final String name;
+
+        /** The id of the thread that opened the span. */
+        private final long threadId;
+
+        /** The name of the thread that opened the span. */
+        private final String threadName;
+
+        /** The start time in nanoseconds. */
+        private final long startTime;
+
+        /** The loaded class count when the span was opened. */
+        private final long startClasses;
+
+        /** The allocated bytes of the thread when the span was opened. */
+        private final long startAllocated;
+
+        /** The duration in nanoseconds, or -1 while the span is open. */
+        private long duration;
+
+        /** The number of classes loaded while the span was open. */
+        private long loadedClasses;
+
+        /** The number of bytes allocated while the span was open. */
+        private long allocatedBytes;
+
+        /**
+         * Opens a new span.
+         *
+         * @param profiler  the profiler.
+         * @param category  the category.
+         * @param name  the name.
+         */
+        protected Span(final BootProfiler profiler, final String category,
+                       final String name) {
+            this.profiler = profiler;
+            this.category = category;
+            this.name = name;
+            final Thread thread = Thread.currentThread();
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+            this.duration = -1;
+            this.startClasses = profiler.getLoadedClassCount();
+            this.startAllocated = profiler.getAllocatedBytes(this.threadId);
+            this.startTime = System.nanoTime();
+        }
+
+        /**
+         * Closes the span and hands it to the profiler. Closing a span a
+         * second time has no effect. Spans must be closed by the thread that
+         * opened them.
+         */
+        public void end() {
+            if (this.duration >= 0) {
+                return;
+            }
+            this.duration = System.nanoTime() - this.startTime;
+            this.loadedClasses =
+                this.profiler.getLoadedClassCount() - this.startClasses;
+            final long allocated = this.profiler.getAllocatedBytes(this.threadId);
+            if (allocated < 0 || this.startAllocated < 0) {
+                this.allocatedBytes = -1;
+            }
+            else {
+                this.allocatedBytes = allocated - this.startAllocated;
+            }
+            this.profiler.record(this);
+        }
+
+        /**
+         * Returns the category of the span.
+         *
+         * @return the category.
+         */
+        public String getCategory() {
+            return this.category;
+        }
+
+        /**
+         * Returns the name of the span.
+         *
+         * @return the name.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Returns the name of the thread that recorded the span.
+         *
+         * @return the thread name.
+         */
+        public String getThreadName() {
+            return this.threadName;
+        }
+
+        /**
+         * Returns the id of the thread that recorded the span.
+         *
+         * @return the thread id.
+         */
+        public long getThreadId() {
+            return this.threadId;
+        }
+
+        /**
+         * Returns the start time of the span in nanoseconds, relative to the
+         * last time the profiler was cleared.
+         *
+         * @return the start time.
+         */
+        public long getStartTime() {
+            return this.startTime - this.profiler.origin;
+        }
+
+        /**
+         * Returns the wall time of the span in nanoseconds.
+         *
+         * @return the duration, or -1 if the span is still open.
+         */
+        public long getDuration() {
+            return this.duration;
+        }
+
+        /**
+         * Returns the number of classes the VM loaded while the span was
+         * open. Classes loaded by other threads at the same time are
+         * included.
+         *
+         * @return the number of loaded classes.
+         */
+        public long getLoadedClasses() {
+            return this.loadedClasses;
+        }
+
+        /**
+         * Returns the number of bytes the recording thread allocated while
+         * the span was open.
+         *
+         * @return the allocated bytes, or -1 if the VM does not support
+         *         allocation tracking.
+         */
+        public long getAllocatedBytes() {
+            return this.allocatedBytes;
+        }
+
+        /**
+         * Returns a string representation of the span.
+         *
+         * @return a string.
+         */
+        public String toString() {
+            final StringBuffer b = new StringBuffer();
+            b.append(this.category);
+            b.append(": ");
+            b.append(this.name);
+            b.append(" [");
+            b.append(this.duration / 1000000.0);
+            b.append(" ms, ");
+            b.append(this.loadedClasses);
+            b.append(" classes, ");
+            b.append(this.allocatedBytes);
+            b.append(" bytes]");
+            return b.toString();
+        }
+    }
+
+    /**
+     * Orders spans by their start time.
+     */
+    private static class SpanComparator implements Comparator {
+
+        /**
+         * Compares two spans.
+         *
+         * @param o1  the first span.
+         * @param o2  the second span.
+         *
+         * @return the comparison result.
+         */
+        public int compare(final Object o1, final Object o2) {
+            final long t1 = ((Span) o1).startTime;
+            final long t2 = ((Span) o2).startTime;
+            if (t1 < t2) {
+                return -1;
+            }
+            if (t1 > t2) {
+                return 1;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Holds the management beans. The class is initialized when the first
+     * span is opened, which only happens while profiling is enabled.
+     */
+    private static final class Beans {
+
+        /** The class loading bean. */
+        private static final ClassLoadingMXBean CLASS_LOADING =
+            ManagementFactory.getClassLoadingMXBean();
+
+        /** The thread bean, or null if allocations cannot be measured. */
+        private static final com.sun.management.ThreadMXBean THREADS =
+            createThreadBean();
+
+        /**
+         * Looks up the thread bean with allocation support and enables the
+         * allocation accounting if necessary. This bean is not available on
+         * every VM.
+         *
+         * @return the bean, or null.
+         */
+        private static com.sun.management.ThreadMXBean createThreadBean() {
+            try {
+                final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    final com.sun.management.ThreadMXBean sunBean =
+                        (com.sun.management.ThreadMXBean) bean;
+                    if (sunBean.isThreadAllocatedMemorySupported()) {
+                        if (sunBean.isThreadAllocatedMemoryEnabled() == false) {
+                            sunBean.setThreadAllocatedMemoryEnabled(true);
+                        }
+                        return sunBean;
+                    }
+                }
+            }
+            catch (Throwable t) {
+                // not supported on this VM
+            }
+            return null;
+        }
+    }
+
+    /** The system property that enables the profiler. */
+    private static final String ENABLED_PROPERTY =
+        "org.jfree.base.BootProfiler.Enabled";
+
+    /** The system property that names the trace file. */
+    private static final String TRACE_FILE_PROPERTY =
+        "org.jfree.base.BootProfiler.TraceFile";
+
+    /** The maximum number of recorded spans. */
+    static final int MAX_SPANS = 10000;
+
+    /** The singleton instance. */
+    private static final BootProfiler INSTANCE = new BootProfiler();
+
+    /** A flag indicating whether spans are recorded. */
+    private volatile boolean enabled;
+
+    /** The file the trace is written to after each boot, or null. */
+    private volatile File traceFile;
+
+    /** The time all start times are relative to. */
+    private volatile long origin;
+
+    /** The recorded spans. */
+    private final ConcurrentLinkedQueue spans;
+
+    /** The number of recorded spans. */
+    private final AtomicInteger spanCount;
+
+    /**
+     * Creates the profiler.
+     */
+    private BootProfiler() {
+        this.spans = new ConcurrentLinkedQueue();
+        this.spanCount = new AtomicInteger();
+        this.origin = System.nanoTime();
+        try {
+            this.enabled = Boolean.valueOf(System.getProperty
+                (ENABLED_PROPERTY, "false")).booleanValue();
+            final String file = System.getProperty(TRACE_FILE_PROPERTY);
+            if (file != null && file.length() > 0) {
+                this.traceFile = new File(file);
+                this.enabled = true;
+            }
+        }
+        catch (SecurityException se) {
+            this.enabled = false;
+        }
+    }
+
+    /**
+     * Returns the profiler instance.
+     *
+     * @return the profiler.
+     */
+    public static BootProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Opens a span on the shared profiler. Returns <code>null</code> if the
+     * profiler is disabled, use {@link #end(Span)} to close the span.
+     *
+     * @param category  the category.
+     * @param name  the name.
+     *
+     * @return the span, or null.
+     */
+    public static Span begin(final String category, final String name) {
+        if (INSTANCE.enabled == false) {
+            return null;
+        }
+        return new Span(INSTANCE, category, name);
+    }
+
+    /**
+     * Opens a span named "action: subject" on the shared profiler. The name
+     * is only built if the profiler is enabled.
+     *
+     * @param category  the category.
+     * @param action  the first part of the name.
+     * @param subject  the second part of the name.
+     *
+     * @return the span, or null.
+     */
+    public static Span begin(final String category, final String action,
+                             final Object subject) {
+        if (INSTANCE.enabled == false) {
+            return null;
+        }
+        return new Span(INSTANCE, category, action + ": " + subject);
+    }
+
+    /**
+     * Closes a span returned by {@link #begin(String, String)}.
+     *
+     * @param span  the span (<code>null</code> permitted).
+     */
+    public static void end(final Span span) {
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    /**
+     * Checks whether spans are recorded.
+     *
+     * @return true, if the profiler is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Enables or disables the recording of spans.
+     *
+     * @param enabled  the new state.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the file the trace is written to after each boot.
+     *
+     * @return the file, or null.
+     */
+    public File getTraceFile() {
+        return this.traceFile;
+    }
+
+    /**
+     * Defines the file the trace is written to after each boot.
+     *
+     * @param traceFile  the file, or null to disable the automatic export.
+     */
+    public void setTraceFile(final File traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    /**
+     * Removes all recorded spans and resets the time origin.
+     */
+    public void clear() {
+        this.spans.clear();
+        this.spanCount.set(0);
+        this.origin = System.nanoTime();
+    }
+
+    /**
+     * Records a closed span, unless {@link #MAX_SPANS} spans have been
+     * recorded already.
+     *
+     * @param span  the span.
+     */
+    private void record(final Span span) {
+        if (this.spanCount.incrementAndGet() <= MAX_SPANS) {
+            this.spans.add(span);
+        }
+        else {
+            this.spanCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns all recorded spans, ordered by their start time.
+     *
+     * @return the spans.
+     */
+    public Span[] getSpans() {
+        final Span[] result = (Span[]) this.spans.toArray(new Span[0]);
+        Arrays.sort(result, new SpanComparator());
+        return result;
+    }
+
+    /**
+     * Returns all recorded spans of the given category, ordered by their
+     * start time.
+     *
+     * @param category  the category.
+     *
+     * @return the spans.
+     */
+    public Span[] getSpans(final String category) {
+        final Span[] all = getSpans();
+        final ArrayList result = new ArrayList();
+        for (int i = 0; i < all.length; i++) {
+            if (all[i].getCategory().equals(category)) {
+                result.add(all[i]);
+            }
+        }
+        return (Span[]) result.toArray(new Span[result.size()]);
+    }
+
+    /**
+     * Returns the number of classes loaded by the VM so far.
+     *
+     * @return the class count.
+     */
+    private long getLoadedClassCount() {
+        return Beans.CLASS_LOADING.getTotalLoadedClassCount();
+    }
+
+    /**
+     * Returns the number of bytes allocated by the given thread so far.
+     *
+     * @param threadId  the id of the thread.
+     *
+     * @return the allocated bytes, or -1 if not supported.
+     */
+    private long getAllocatedBytes(final long threadId) {
+        final com.sun.management.ThreadMXBean bean = Beans.THREADS;
+        if (bean == null) {
+            return -1;
+        }
+        return bean.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Writes all recorded spans as Chrome trace events. Every span becomes a
+     * complete event; the class and allocation counters are stored in the
+     * event arguments.
+     *
+     * @param w  the writer.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeChromeTrace(final Writer w) throws IOException {
+        final Span[] all = getSpans();
+        w.write("{\"traceEvents\":[");
+        for (int i = 0; i < all.length; i++) {
+            final Span span = all[i];
+            if (i > 0) {
+                w.write(',');
+            }
+            w.write("\n{\"name\":");
+            writeString(w, span.getName());
+            w.write(",\"cat\":");
+            writeString(w, span.getCategory());
+            w.write(",\"ph\":\"X\",\"pid\":1,\"tid\":");
+            w.write(String.valueOf(span.getThreadId()));
+            w.write(",\"ts\":");
+            w.write(String.valueOf(span.getStartTime() / 1000));
+            w.write(",\"dur\":");
+            w.write(String.valueOf(span.getDuration() / 1000));
+            w.write(",\"args\":{\"thread\":");
+            writeString(w, span.getThreadName());
+            w.write(",\"loadedClasses\":");
+            w.write(String.valueOf(span.getLoadedClasses()));
+            w.write(",\"allocatedBytes\":");
+            w.write(String.valueOf(span.getAllocatedBytes()));
+            w.write("}}");
+        }
+        w.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+        w.flush();
+    }
+
+    /**
+     * Writes all recorded spans as Chrome trace into the given file.
+     *
+     * @param file  the file.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeChromeTrace(final File file) throws IOException {
+        final Writer w = new BufferedWriter(new OutputStreamWriter
+            (new FileOutputStream(file), "UTF-8"));
+        try {
+            writeChromeTrace(w);
+        }
+        finally {
+            w.close();
+        }
+    }
+
+    /**
+     * Writes the trace file, if one has been defined. Called by the booters
+     * once they have completed.
+     */
+    void bootCompleted() {
+        final File file = this.traceFile;
+        if (file == null || this.enabled == false) {
+            return;
+        }
+        try {
+            writeChromeTrace(file);
+        }
+        catch (IOException ioe) {
+            Log.warn("Unable to write the boot trace to " + file, ioe);
+        }
+    }
+
+    /**
+     * Writes a JSON string literal.
+     *
+     * @param w  the writer.
+     * @param s  the string.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeString(final Writer w, final String s)
+        throws IOException {
+        w.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                w.write('\\');
+                w.write(c);
+            }
+            else if (c < 0x20) {
+                final String hex = Integer.toHexString(c);
+                w.write("\\u");
+                for (int p = hex.length(); p < 4; p++) {
+                    w.write('0');
+                }
+                w.write(hex);
+            }
+            else {
+                w.write(c);
+            }
+        }
+        w.write('"');
+    }
+}
@@ -0,0 +1,92 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------------
+ * ConfigurationChangeEvent.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.base.config;
+
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An event describing a change of the properties of a
+ * {@link HierarchicalConfiguration}.
+ */
+public class ConfigurationChangeEvent extends EventObject
+{
+  /** For serialization. */
+  private static final long serialVersionUID = 7360446945032211286L;
+
+  /** The keys of the changed properties. */
+  private Set changedKeys;
+
+  /**
+   * Creates a new event.
+   *
+   * @param source      the configuration that changed.
+   * @param changedKeys the keys of the added, changed or removed properties.
+   */
+  public ConfigurationChangeEvent(final HierarchicalConfiguration source,
+                                  final Set changedKeys)
+  {
+    super(source);
+    this.changedKeys = Collections.unmodifiableSet(new HashSet(changedKeys));
+  }
+
+  /**
+   * Returns the configuration that changed.
+   *
+   * @return the configuration.
+   */
+  public HierarchicalConfiguration getConfiguration()
+  {
+    return (HierarchicalConfiguration) getSource();
+  }
+
+  /**
+   * Returns the keys of the properties that were added, changed or removed.
+   *
+   * @return an unmodifiable set of keys.
+   */
+  public Set getChangedKeys()
+  {
+    return this.changedKeys;
+  }
+}
@@ -38,6 +38,15 @@
  * -------
  * 07-Jun-2004 : Added JCommon header (DG);
  * 29-Jul-2004 : Replaced 'enum' variable name (reserved word in JDK 1.5) (DG);
+ * 18-Oct-2026 : Added snapshot mode, which flattens the hierarchy into a
+ *               single map;
+ * 18-Oct-2026 : Answer prefix searches from sorted key indexes;
+ * 18-Oct-2026 : Added getModificationCount();
+ * 18-Oct-2026 : Added change listeners and replaceConfiguration();
+ * 18-Oct-2026 : Snapshots only depend on the modifications of their own
+ *               hierarchy;
+ * 18-Oct-2026 : Added getHierarchyModificationCount();
+ * 18-Oct-2026 : Hierarchy versions use modification stamps;
  *
  */
 
@@ -46,18 +55,36 @@ package org.jfree.base.config;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import java.util.TreeSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jfree.util.Configuration;
+import org.jfree.util.PropertyKeyIndex;
 import org.jfree.util.PublicCloneable;
 
 /**
  * A hierarchical configuration. Such a configuration can have one or more
  * parent configurations providing usefull default values.
+ * <p>
+ * In snapshot mode, the properties of this configuration and all its
+ * parents are copied into a single map, so that a lookup no longer walks
+ * the parent chain. The map is rebuilt on the next lookup after this
+ * configuration or one of its hierarchical parents has been changed;
+ * changes to unrelated configurations do not affect the snapshot. System
+ * properties are copied when the map is built; changes to the system
+ * properties made afterwards are not seen until
+ * {@link #invalidateSnapshot()} is called, which discards the snapshots
+ * of all configurations.
  *
  * @author Thomas Morgner
  */
@@ -65,22 +92,128 @@ public class HierarchicalConfiguration
     implements ModifiableConfiguration, PublicCloneable
 {
 
+  /**
+   * The flattened properties of a configuration hierarchy.
+   */
+  private static final class Snapshot
+  {
+    /** The hierarchy version at the time the snapshot was built. */
+    private final long modificationCount;
+
+    /** The flattened properties (String to String). */
+    private final HashMap properties;
+
+    /**
+     * The first parent that is not a hierarchical configuration and
+     * therefore could not be flattened, or null.
+     */
+    private final Configuration fallback;
+
+    /** The sorted keys of the snapshot, created on demand. */
+    private volatile PropertyKeyIndex keyIndex;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param modificationCount the hierarchy version.
+     * @param properties        the flattened properties.
+     * @param fallback          the configuration that handles all keys not
+     *                          found in the snapshot, or null.
+     */
+    private Snapshot(final long modificationCount,
+                     final HashMap properties,
+                     final Configuration fallback)
+    {
+      this.modificationCount = modificationCount;
+      this.properties = properties;
+      this.fallback = fallback;
+    }
+
+    /**
+     * Returns the sorted keys of the snapshot.
+     *
+     * @return the key index.
+     */
+    private PropertyKeyIndex getKeyIndex()
+    {
+      PropertyKeyIndex index = this.keyIndex;
+      if (index == null)
+      {
+        index = new PropertyKeyIndex
+            (Collections.enumeration(this.properties.keySet()));
+        this.keyIndex = index;
+      }
+      return index;
+    }
+  }
+
+  /**
+   * The modification count of hierarchies that contain a configuration
+   * whose changes are not counted.
+   */
+  public static final long UNTRACKED = -1L;
+
+  /**
+   * Counts the modifications of all hierarchical configurations.
+   */
+  private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
+  /**
+   * The modification count at the last call to
+   * {@link #invalidateSnapshot()}.
+   */
+  private static final AtomicLong LAST_INVALIDATION = new AtomicLong();
+
+  /**
+   * The maximum number of layers; deeper hierarchies are considered to be
+   * cyclic.
+   */
+  private static final int MAX_HIERARCHY_DEPTH = 10000;
+
   /**
    * The instance configuration properties.
    */
-  private Properties configuration;
+  private volatile Properties configuration;
 
   /**
    * The parent configuration (null if this is the root configuration).
    */
   private transient Configuration parentConfiguration;
 
+  /**
+   * A flag indicating whether lookups use a flattened snapshot.
+   */
+  private boolean snapshotEnabled;
+
+  /**
+   * The current snapshot, or null if none has been built yet.
+   */
+  private transient volatile Snapshot snapshot;
+
+  /**
+   * The modification count at the last modification of this configuration.
+   * Only changed while holding the lock of this configuration.
+   */
+  private transient volatile long modificationStamp;
+
+  /**
+   * The sorted keys of this configuration, or null if the keys have changed
+   * since the index was built.
+   */
+  private transient volatile PropertyKeyIndex keyIndex;
+
+  /**
+   * The registered change listeners.
+   */
+  private transient CopyOnWriteArrayList listeners;
+
   /**
    * Creates a new configuration.
    */
   public HierarchicalConfiguration()
   {
     this.configuration = new Properties();
+    this.listeners = new CopyOnWriteArrayList();
   }
 
   /**
@@ -118,6 +251,21 @@ public class HierarchicalConfiguration
    */
   public String getConfigProperty(final String key, final String defaultValue)
   {
+    if (this.snapshotEnabled)
+    {
+      final Snapshot snapshot = getSnapshot();
+      final String value = (String) snapshot.properties.get(key);
+      if (value != null)
+      {
+        return value;
+      }
+      if (snapshot.fallback == null)
+      {
+        return defaultValue;
+      }
+      return snapshot.fallback.getConfigProperty(key, defaultValue);
+    }
+
     String value = this.configuration.getProperty(key);
     if (value == null)
     {
@@ -146,13 +294,316 @@ public class HierarchicalConfiguration
       throw new NullPointerException();
     }
 
-    if (value == null)
+    synchronized (this)
+    {
+      if (value == null)
+      {
+        this.configuration.remove(key);
+      }
+      else
+      {
+        this.configuration.setProperty(key, value);
+      }
+    }
+    configurationChanged();
+    if (this.listeners.isEmpty() == false)
     {
-      this.configuration.remove(key);
+      fireConfigurationChanged(Collections.singleton(key));
     }
-    else
+  }
+
+  /**
+   * Adds a listener that is informed whenever properties of this
+   * configuration change. Changes in parent configurations are not
+   * reported.
+   *
+   * @param listener the listener.
+   */
+  public void addConfigurationChangeListener
+      (final ConfigurationChangeListener listener)
+  {
+    if (listener == null)
+    {
+      throw new NullPointerException();
+    }
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Removes a change listener.
+   *
+   * @param listener the listener.
+   */
+  public void removeConfigurationChangeListener
+      (final ConfigurationChangeListener listener)
+  {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Informs all registered listeners about changed properties.
+   *
+   * @param changedKeys the keys of the changed properties.
+   */
+  protected void fireConfigurationChanged(final Set changedKeys)
+  {
+    if (this.listeners.isEmpty() || changedKeys.isEmpty())
+    {
+      return;
+    }
+    final ConfigurationChangeEvent event =
+        new ConfigurationChangeEvent(this, changedKeys);
+    final Iterator it = this.listeners.iterator();
+    while (it.hasNext())
+    {
+      ((ConfigurationChangeListener) it.next()).configurationChanged(event);
+    }
+  }
+
+  /**
+   * Replaces all properties defined in this configuration with the given
+   * properties and informs the listeners about the properties that were
+   * added, changed or removed. Readers see either the old or the new
+   * properties, never a mixture of both. The given properties must not be
+   * modified by the caller afterwards.
+   *
+   * @param properties the new properties.
+   */
+  protected void replaceConfiguration(final Properties properties)
+  {
+    if (properties == null)
+    {
+      throw new NullPointerException();
+    }
+    final Properties oldProperties;
+    synchronized (this)
+    {
+      oldProperties = this.configuration;
+      this.configuration = properties;
+    }
+    configurationChanged();
+    if (this.listeners.isEmpty() == false)
+    {
+      final HashSet changedKeys = new HashSet();
+      final Iterator it = oldProperties.entrySet().iterator();
+      while (it.hasNext())
+      {
+        final Map.Entry entry = (Map.Entry) it.next();
+        if (entry.getValue().equals(properties.get(entry.getKey())) == false)
+        {
+          changedKeys.add(entry.getKey());
+        }
+      }
+      final Iterator newKeys = properties.keySet().iterator();
+      while (newKeys.hasNext())
+      {
+        final Object key = newKeys.next();
+        if (oldProperties.containsKey(key) == false)
+        {
+          changedKeys.add(key);
+        }
+      }
+      fireConfigurationChanged(changedKeys);
+    }
+  }
+
+  /**
+   * Returns true, if lookups use a flattened snapshot of this configuration
+   * and its parents.
+   *
+   * @return true, if the snapshot mode is enabled.
+   */
+  public boolean isSnapshotEnabled()
+  {
+    return this.snapshotEnabled;
+  }
+
+  /**
+   * Enables or disables the snapshot mode.
+   *
+   * @param snapshotEnabled true, if lookups should use a flattened snapshot.
+   */
+  public void setSnapshotEnabled(final boolean snapshotEnabled)
+  {
+    this.snapshotEnabled = snapshotEnabled;
+    this.snapshot = null;
+  }
+
+  /**
+   * Discards the snapshots of all hierarchical configurations. This must be
+   * called after the system properties or the properties returned by
+   * {@link #getConfiguration()} have been changed directly.
+   */
+  public static void invalidateSnapshot()
+  {
+    final long stamp = MODIFICATIONS.incrementAndGet();
+    long last = LAST_INVALIDATION.get();
+    while (last < stamp && LAST_INVALIDATION.compareAndSet(last, stamp) == false)
+    {
+      last = LAST_INVALIDATION.get();
+    }
+  }
+
+  /**
+   * Returns the number of modifications made to all hierarchical
+   * configurations. The number changes whenever a property, a parent or a
+   * loaded property file changes, and when {@link #invalidateSnapshot()} is
+   * called. Changes to the system properties are not counted.
+   *
+   * @return the modification count.
+   */
+  public static long getModificationCount()
+  {
+    return MODIFICATIONS.get();
+  }
+
+  /**
+   * Marks the key index of this configuration and the snapshots of all
+   * configurations that have this configuration as parent as outdated.
+   * Subclasses that modify the properties returned by
+   * {@link #getConfiguration()} must call this method afterwards.
+   */
+  protected void configurationChanged()
+  {
+    synchronized (this)
+    {
+      this.keyIndex = null;
+      this.modificationStamp = MODIFICATIONS.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the modification count of this configuration and all its
+   * parents. The count increases whenever a property of this configuration
+   * or one of its parents changes, a parent is replaced, or
+   * {@link #invalidateSnapshot()} is called. If the values of one of the
+   * configurations can change without being counted, as the system
+   * properties do, or if a parent is no hierarchical configuration,
+   * {@link #UNTRACKED} is returned.
+   *
+   * @return the modification count, or UNTRACKED.
+   */
+  public long getHierarchyModificationCount()
+  {
+    return getHierarchyVersion(true);
+  }
+
+  /**
+   * Checks, whether every change of the values of this configuration is
+   * reported through {@link #configurationChanged()}. Subclasses whose
+   * values can change without notice must return false.
+   *
+   * @return true, if all changes are counted.
+   */
+  protected boolean isModificationTracked()
+  {
+    return true;
+  }
+
+  /**
+   * Returns the version of the hierarchy starting at this configuration,
+   * which is the latest modification stamp of its layers and of
+   * {@link #invalidateSnapshot()}. Stamps are drawn from the global
+   * modification count, so every modification of this configuration or one
+   * of its hierarchical parents, including replacing a parent, and every
+   * call to {@link #invalidateSnapshot()} increases the version. A sum of
+   * per-layer counts would not do, as a different hierarchy can add up to
+   * the same value.
+   *
+   * @param trackedOnly true, if UNTRACKED should be returned for
+   *                    hierarchies with changes that are not counted.
+   * @return the version.
+   */
+  private long getHierarchyVersion(final boolean trackedOnly)
+  {
+    long version = LAST_INVALIDATION.get();
+    Configuration config = this;
+    int depth = 0;
+    while (config instanceof HierarchicalConfiguration)
     {
-      this.configuration.setProperty(key, value);
+      if (depth > MAX_HIERARCHY_DEPTH)
+      {
+        throw new IllegalStateException("Cyclic configuration hierarchy.");
+      }
+      final HierarchicalConfiguration layer = (HierarchicalConfiguration) config;
+      if (trackedOnly && layer.isModificationTracked() == false)
+      {
+        return UNTRACKED;
+      }
+      version = Math.max(version, layer.modificationStamp);
+      config = layer.parentConfiguration;
+      depth += 1;
+    }
+    if (trackedOnly && config != null)
+    {
+      return UNTRACKED;
+    }
+    return version;
+  }
+
+  /**
+   * Returns the current snapshot, rebuilding it if this configuration or
+   * one of its hierarchical parents has changed since it was built.
+   *
+   * @return the snapshot.
+   */
+  private Snapshot getSnapshot()
+  {
+    final Snapshot snapshot = this.snapshot;
+    final long modificationCount = getHierarchyVersion(false);
+    if (snapshot != null && snapshot.modificationCount == modificationCount)
+    {
+      return snapshot;
+    }
+
+    // collect the layers, parents last.
+    final ArrayList layers = new ArrayList();
+    Configuration fallback = this;
+    while (fallback instanceof HierarchicalConfiguration)
+    {
+      final HierarchicalConfiguration layer =
+          (HierarchicalConfiguration) fallback;
+      if (layers.contains(layer))
+      {
+        throw new IllegalStateException("Cyclic configuration hierarchy.");
+      }
+      layers.add(layer);
+      fallback = layer.parentConfiguration;
+    }
+
+    final HashMap properties = new HashMap();
+    for (int i = layers.size() - 1; i >= 0; i--)
+    {
+      ((HierarchicalConfiguration) layers.get(i)).copyLocalProperties
+          (properties);
+    }
+    final Snapshot newSnapshot =
+        new Snapshot(modificationCount, properties, fallback);
+    this.snapshot = newSnapshot;
+    return newSnapshot;
+  }
+
+  /**
+   * Copies the properties defined in this configuration into the given map,
+   * replacing the values already contained in the map.
+   *
+   * @param target the map that receives the properties.
+   */
+  protected void copyLocalProperties(final Map target)
+  {
+    final Properties configuration = this.configuration;
+    synchronized (configuration)
+    {
+      final Iterator it = configuration.entrySet().iterator();
+      while (it.hasNext())
+      {
+        final Map.Entry entry = (Map.Entry) it.next();
+        if (entry.getKey() instanceof String
+            && entry.getValue() instanceof String)
+        {
+          target.put(entry.getKey(), entry.getValue());
+        }
+      }
     }
   }
 
@@ -215,6 +666,7 @@ public class HierarchicalConfiguration
       throw new IllegalArgumentException("Cannot add myself as parent configuration.");
     }
     this.parentConfiguration = config;
+    configurationChanged();
   }
 
   /**
@@ -249,44 +701,64 @@ public class HierarchicalConfiguration
    */
   public Iterator findPropertyKeys(final String prefix)
   {
-    final TreeSet keys = new TreeSet();
-    collectPropertyKeys(prefix, this, keys);
-    return Collections.unmodifiableSet(keys).iterator();
+    final ArrayList lists = new ArrayList();
+    Configuration config = this;
+    if (this.snapshotEnabled)
+    {
+      final Snapshot snapshot = getSnapshot();
+      lists.add(snapshot.getKeyIndex().findKeys(prefix));
+      config = snapshot.fallback;
+    }
+    else
+    {
+      while (config instanceof HierarchicalConfiguration)
+      {
+        final HierarchicalConfiguration hconfig =
+            (HierarchicalConfiguration) config;
+        lists.add(hconfig.findLocalPropertyKeys(prefix));
+        config = hconfig.parentConfiguration;
+      }
+    }
+
+    if (config != null)
+    {
+      final ArrayList keys = new ArrayList();
+      final Iterator it = config.findPropertyKeys(prefix);
+      while (it.hasNext())
+      {
+        keys.add(it.next());
+      }
+      Collections.sort(keys);
+      lists.add(keys);
+    }
+    return PropertyKeyIndex.merge(lists);
   }
 
   /**
-   * Collects property keys from this and all parent report configurations,
-   * which start with the given prefix.
+   * Returns the keys defined in this configuration that start with the given
+   * prefix, in ascending order. Parent configurations are not searched.
+   * Subclasses that override {@link #getConfigProperties()} must override
+   * this method as well.
    *
-   * @param prefix    the prefix, that selects the property keys.
-   * @param config    the currently processed report configuration.
-   * @param collector the target list, that should receive all valid keys.
+   * @param prefix the prefix that all selected property keys should share
+   * @return the sorted keys.
    */
-  private void collectPropertyKeys(final String prefix,
-                                   final Configuration config,
-                                   final TreeSet collector)
+  protected List findLocalPropertyKeys(final String prefix)
   {
-    final Enumeration enum1 = config.getConfigProperties();
-    while (enum1.hasMoreElements())
+    PropertyKeyIndex index = this.keyIndex;
+    if (index == null)
     {
-      final String key = (String) enum1.nextElement();
-      if (key.startsWith(prefix))
+      synchronized (this)
       {
-        if (collector.contains(key) == false)
+        index = this.keyIndex;
+        if (index == null)
         {
-          collector.add(key);
+          index = new PropertyKeyIndex(this.configuration.keys());
+          this.keyIndex = index;
         }
       }
     }
-
-    if (config instanceof HierarchicalConfiguration)
-    {
-      final HierarchicalConfiguration hconfig = (HierarchicalConfiguration) config;
-      if (hconfig.parentConfiguration != null)
-      {
-        collectPropertyKeys(prefix, hconfig.parentConfiguration, collector);
-      }
-    }
+    return index.findKeys(prefix);
   }
 
   /**
@@ -350,6 +822,8 @@ public class HierarchicalConfiguration
     {
         this.parentConfiguration = null;
     }
+    this.listeners = new CopyOnWriteArrayList();
+    configurationChanged();
     configurationLoaded();
   }
 
@@ -364,6 +838,9 @@ public class HierarchicalConfiguration
   {
     HierarchicalConfiguration config = (HierarchicalConfiguration) super.clone();
     config.configuration = (Properties) this.configuration.clone();
+    config.snapshot = null;
+    config.keyIndex = null;
+    config.listeners = new CopyOnWriteArrayList();
     return config;
   }
 }
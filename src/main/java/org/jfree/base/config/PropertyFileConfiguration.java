@@ -37,10 +37,15 @@
  * Changes
  * -------
  * 14-Jan-2003 : Initial version
+ * 18-Oct-2026 : Invalidate configuration snapshots after loading;
+ * 18-Oct-2026 : Added loading from files and automatic reloading;
+ * 18-Oct-2026 : Clones do not watch the file;
  */
 package org.jfree.base.config;
 
 import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
@@ -50,11 +55,20 @@ import org.jfree.util.ObjectUtilities;
 
 /**
  * A report configuration that reads its values from an arbitary property file.
+ * <p>
+ * A configuration loaded from a file can watch the file and reload it
+ * whenever it changes. The new properties are parsed in the background and
+ * then replace the old properties in one step, so readers are never blocked
+ * and never see a partially loaded file. Registered
+ * {@link ConfigurationChangeListener}s are informed about the changed keys.
  *
  * @author Thomas Morgner
  */
 public class PropertyFileConfiguration extends HierarchicalConfiguration
 {
+  /** The file that is watched for changes, or null. */
+  private transient File watchedFile;
+
   /**
    * Default constructor.
    */
@@ -129,6 +143,7 @@ public class PropertyFileConfiguration extends HierarchicalConfiguration
       final Properties p = new Properties();
       p.load(bin);
       this.getConfiguration().putAll(p);
+      configurationChanged();
       bin.close();
     }
     catch (IOException ioe)
@@ -138,4 +153,140 @@ public class PropertyFileConfiguration extends HierarchicalConfiguration
 
   }
 
+  /**
+   * Loads the properties stored in the given file. Appends the contents of
+   * the loaded properties to the already stored contents.
+   *
+   * @param file the property file.
+   */
+  public void load(final File file)
+  {
+    final InputStream in;
+    try
+    {
+      in = new FileInputStream(file);
+    }
+    catch (IOException ioe)
+    {
+      Log.warn("Unable to read configuration " + file, ioe);
+      return;
+    }
+    try
+    {
+      load(in);
+    }
+    finally
+    {
+      try
+      {
+        in.close();
+      }
+      catch (IOException e)
+      {
+        // ignore
+      }
+    }
+  }
+
+  /**
+   * Loads the given file and reloads it whenever it changes. A reload
+   * replaces all properties of this configuration with the contents of the
+   * file, including properties set with {@link #setConfigProperty}. If the
+   * file cannot be read, the current properties are kept. The file watcher
+   * does not keep this configuration alive; a configuration that is garbage
+   * collected stops watching its file.
+   *
+   * @param file the property file.
+   * @throws IOException if the file cannot be watched.
+   */
+  public synchronized void watch(final File file) throws IOException
+  {
+    if (file == null)
+    {
+      throw new NullPointerException();
+    }
+    stopWatching();
+    PropertyFileWatcher.getInstance().register(this, file);
+    this.watchedFile = file;
+    reload();
+  }
+
+  /**
+   * Stops watching the property file. The current properties are kept.
+   */
+  public synchronized void stopWatching()
+  {
+    if (this.watchedFile == null)
+    {
+      return;
+    }
+    try
+    {
+      PropertyFileWatcher.getInstance().unregister(this, this.watchedFile);
+    }
+    catch (IOException ioe)
+    {
+      // cannot happen, the watcher exists if a file is watched.
+    }
+    this.watchedFile = null;
+  }
+
+  /**
+   * Returns the file that is watched for changes.
+   *
+   * @return the file, or null if no file is watched.
+   */
+  public synchronized File getWatchedFile()
+  {
+    return this.watchedFile;
+  }
+
+  /**
+   * Returns a copy of this configuration. The copy does not watch the file
+   * of this configuration.
+   *
+   * @return a clone.
+   * @throws CloneNotSupportedException if cloning fails.
+   */
+  public synchronized Object clone() throws CloneNotSupportedException
+  {
+    final PropertyFileConfiguration config =
+        (PropertyFileConfiguration) super.clone();
+    config.watchedFile = null;
+    return config;
+  }
+
+  /**
+   * Reads the watched file again and replaces all properties of this
+   * configuration with its contents. This method does nothing if no file is
+   * watched or the file cannot be read.
+   */
+  public void reload()
+  {
+    final File file = getWatchedFile();
+    if (file == null)
+    {
+      return;
+    }
+    final Properties properties = new Properties();
+    try
+    {
+      final InputStream in =
+          new BufferedInputStream(new FileInputStream(file));
+      try
+      {
+        properties.load(in);
+      }
+      finally
+      {
+        in.close();
+      }
+    }
+    catch (IOException ioe)
+    {
+      Log.warn("Unable to reload configuration " + file, ioe);
+      return;
+    }
+    replaceConfiguration(properties);
+  }
 }
@@ -0,0 +1,356 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * PropertyFileWatcher.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.base.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.jfree.util.Log;
+
+/**
+ * Watches the files of {@link PropertyFileConfiguration} instances and
+ * reloads a configuration when its file changes. All files are watched by a
+ * single daemon thread, which also performs the reloading.
+ * <p>
+ * The watcher only holds weak references to the configurations. A
+ * configuration that is no longer used elsewhere is garbage collected even
+ * if {@link PropertyFileConfiguration#stopWatching()} was never called, and
+ * its file is no longer watched afterwards.
+ */
+final class PropertyFileWatcher implements Runnable
+{
+  /** The shared instance, created on demand. */
+  private static PropertyFileWatcher instance;
+
+  /** The watch service. */
+  private final WatchService watchService;
+
+  /** The watch keys of the watched directories (Path to WatchKey). */
+  private final HashMap directories;
+
+  /**
+   * The watching configurations of each file (Path to ArrayList of
+   * WeakReference).
+   */
+  private final HashMap files;
+
+  /**
+   * Creates the watcher and starts its thread.
+   *
+   * @throws IOException if the watch service cannot be created.
+   */
+  private PropertyFileWatcher() throws IOException
+  {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.directories = new HashMap();
+    this.files = new HashMap();
+    final Thread thread = new Thread(this, "PropertyFileWatcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Returns the shared watcher.
+   *
+   * @return the watcher.
+   * @throws IOException if the watch service cannot be created.
+   */
+  static synchronized PropertyFileWatcher getInstance() throws IOException
+  {
+    if (instance == null)
+    {
+      instance = new PropertyFileWatcher();
+    }
+    return instance;
+  }
+
+  /**
+   * Converts a file into the path used as key of the file map.
+   *
+   * @param file the file.
+   * @return the absolute, normalized path.
+   */
+  private static Path toPath(final File file)
+  {
+    return file.getAbsoluteFile().toPath().normalize();
+  }
+
+  /**
+   * Starts watching a file for the given configuration.
+   *
+   * @param config the configuration that is reloaded when the file changes.
+   * @param file   the file.
+   * @throws IOException if the directory of the file cannot be watched.
+   */
+  synchronized void register(final PropertyFileConfiguration config,
+                             final File file) throws IOException
+  {
+    final Path path = toPath(file);
+    final Path directory = path.getParent();
+    if (this.directories.containsKey(directory) == false)
+    {
+      final WatchKey key = directory.register(this.watchService,
+          new WatchEvent.Kind[] {
+              StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_MODIFY,
+              StandardWatchEventKinds.ENTRY_DELETE });
+      this.directories.put(directory, key);
+    }
+    ArrayList configs = (ArrayList) this.files.get(path);
+    if (configs == null)
+    {
+      configs = new ArrayList();
+      this.files.put(path, configs);
+    }
+    if (indexOf(configs, config) == -1)
+    {
+      configs.add(new WeakReference(config));
+    }
+  }
+
+  /**
+   * Searches a configuration in a list of weak references. References to
+   * collected configurations are removed along the way.
+   *
+   * @param configs the list of weak references.
+   * @param config  the configuration.
+   * @return the index of the configuration, or -1 if it is not contained.
+   */
+  private static int indexOf(final ArrayList configs,
+                             final PropertyFileConfiguration config)
+  {
+    for (int i = configs.size() - 1; i >= 0; i--)
+    {
+      if (((WeakReference) configs.get(i)).get() == null)
+      {
+        configs.remove(i);
+      }
+    }
+    for (int i = 0; i < configs.size(); i++)
+    {
+      if (((WeakReference) configs.get(i)).get() == config)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Stops watching a file for the given configuration. The directory is no
+   * longer watched once no file in it is watched.
+   *
+   * @param config the configuration.
+   * @param file   the file.
+   */
+  synchronized void unregister(final PropertyFileConfiguration config,
+                               final File file)
+  {
+    final Path path = toPath(file);
+    final ArrayList configs = (ArrayList) this.files.get(path);
+    if (configs == null)
+    {
+      return;
+    }
+    final int index = indexOf(configs, config);
+    if (index != -1)
+    {
+      configs.remove(index);
+    }
+    if (configs.isEmpty())
+    {
+      removeFile(path);
+    }
+  }
+
+  /**
+   * Stops watching a file. The directory is no longer watched once no file
+   * in it is watched.
+   *
+   * @param path the path of the file.
+   */
+  private void removeFile(final Path path)
+  {
+    this.files.remove(path);
+
+    final Path directory = path.getParent();
+    final Iterator it = this.files.keySet().iterator();
+    while (it.hasNext())
+    {
+      if (directory.equals(((Path) it.next()).getParent()))
+      {
+        return;
+      }
+    }
+    final WatchKey key = (WatchKey) this.directories.remove(directory);
+    if (key != null)
+    {
+      key.cancel();
+    }
+  }
+
+  /**
+   * Adds the configurations of a file that have not been garbage collected
+   * yet to the collector. If all configurations of the file are gone, the
+   * file is no longer watched.
+   *
+   * @param path      the path of the file.
+   * @param configs   the weak references to the configurations of the file.
+   * @param collector receives the configurations.
+   */
+  private void collectLive(final Path path,
+                           final ArrayList configs,
+                           final LinkedHashSet collector)
+  {
+    for (int i = configs.size() - 1; i >= 0; i--)
+    {
+      final Object config = ((WeakReference) configs.get(i)).get();
+      if (config == null)
+      {
+        configs.remove(i);
+      }
+      else
+      {
+        collector.add(config);
+      }
+    }
+    if (configs.isEmpty())
+    {
+      removeFile(path);
+    }
+  }
+
+  /**
+   * Collects the configurations affected by the events of a watch key.
+   *
+   * @param key       the watch key.
+   * @param collector receives the configurations.
+   */
+  private synchronized void collectConfigurations(final WatchKey key,
+                                                  final LinkedHashSet collector)
+  {
+    final Path directory = (Path) key.watchable();
+    final List events = key.pollEvents();
+    for (int i = 0; i < events.size(); i++)
+    {
+      final WatchEvent event = (WatchEvent) events.get(i);
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+      {
+        // events were lost; reload everything in this directory.
+        final Map.Entry[] entries = (Map.Entry[])
+            this.files.entrySet().toArray(new Map.Entry[this.files.size()]);
+        for (int e = 0; e < entries.length; e++)
+        {
+          final Path path = (Path) entries[e].getKey();
+          if (directory.equals(path.getParent()))
+          {
+            collectLive(path, (ArrayList) entries[e].getValue(), collector);
+          }
+        }
+      }
+      else
+      {
+        final Path path = directory.resolve((Path) event.context());
+        final ArrayList configs = (ArrayList) this.files.get(path);
+        if (configs != null)
+        {
+          collectLive(path, configs, collector);
+        }
+      }
+    }
+    key.reset();
+  }
+
+  /**
+   * Waits for file changes and reloads the affected configurations.
+   */
+  public void run()
+  {
+    while (true)
+    {
+      final LinkedHashSet configs = new LinkedHashSet();
+      try
+      {
+        WatchKey key = this.watchService.take();
+        while (key != null)
+        {
+          collectConfigurations(key, configs);
+          key = this.watchService.poll();
+        }
+      }
+      catch (InterruptedException ie)
+      {
+        return;
+      }
+      catch (ClosedWatchServiceException cwse)
+      {
+        return;
+      }
+
+      final Iterator it = configs.iterator();
+      while (it.hasNext())
+      {
+        try
+        {
+          ((PropertyFileConfiguration) it.next()).reload();
+        }
+        catch (RuntimeException re)
+        {
+          Log.warn("Failed to reload a configuration file.", re);
+        }
+      }
+    }
+  }
+}
@@ -38,12 +38,21 @@
  * -------------------------
  * 14-Jan-2003 : Initial Version, moved from inner class of ReportConfiguration
  * 05-Feb-2003 : This implementation now handles SecurityExceptions.
+ * 18-Oct-2026 : Copy the system properties into configuration snapshots.
+ * 18-Oct-2026 : Added findLocalPropertyKeys() for the prefix search.
+ * 18-Oct-2026 : System property changes are not counted as modifications.
  * 
  */
 
 package org.jfree.base.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Vector;
 
 /**
@@ -112,6 +121,62 @@ public class SystemPropertyConfiguration extends HierarchicalConfiguration {
         }
     }
 
+    /**
+     * Returns false, as the system properties can change at any time
+     * without notice.
+     *
+     * @return false.
+     */
+    protected boolean isModificationTracked() {
+        return false;
+    }
+
+    /**
+     * Copies the system properties into the given map.
+     *
+     * @param target the map that receives the properties.
+     */
+    protected void copyLocalProperties(final Map target) {
+        final Properties properties;
+        try {
+            properties = System.getProperties();
+        }
+        catch (SecurityException se) {
+            return;
+        }
+        synchronized (properties) {
+            final Iterator it = properties.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry entry = (Map.Entry) it.next();
+                if (entry.getKey() instanceof String
+                        && entry.getValue() instanceof String) {
+                    target.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the system property keys that start with the given prefix,
+     * in ascending order. The system properties can change at any time, so
+     * they are searched on every call.
+     *
+     * @param prefix the prefix that all selected property keys should share.
+     * @return the sorted keys.
+     */
+    protected List findLocalPropertyKeys(final String prefix) {
+        final ArrayList keys = new ArrayList();
+        final Enumeration e = getConfigProperties();
+        while (e.hasMoreElements()) {
+            final Object key = e.nextElement();
+            if (key instanceof String && ((String) key).startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
     /**
      * Returns all defined configuration properties for the report. The enumeration
      * contains all keys of the changed properties, properties set from files or
@@ -37,11 +37,16 @@
  * Changes
  * -------
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Read per-context log levels from the configuration;
  *
  */
 
 package org.jfree.base.log;
 
+import java.util.Iterator;
+
+import org.jfree.base.BaseBoot;
+import org.jfree.util.Configuration;
 import org.jfree.util.Log;
 import org.jfree.util.LogTarget;
 import org.jfree.util.PrintStreamLogTarget;
@@ -93,18 +98,32 @@ public class DefaultLog extends Log {
      */
     public void init() {
         removeTarget(DEFAULT_LOG_TARGET);
-        final String logLevel = LogConfiguration.getLogLevel();
-        if (logLevel.equalsIgnoreCase("error")) {
-            setDebuglevel(LogTarget.ERROR);
-        }
-        else if (logLevel.equalsIgnoreCase("warn")) {
-            setDebuglevel(LogTarget.WARN);
-        }
-        else if (logLevel.equalsIgnoreCase("info")) {
-            setDebuglevel(LogTarget.INFO);
+        configureLogLevels();
+    }
+
+    /**
+     * Reads the global log level and the context specific log levels from
+     * the global configuration. Context levels are defined by keys of the
+     * form <code>org.jfree.base.LogLevel.&lt;context-prefix&gt;</code>.
+     */
+    public void configureLogLevels() {
+        final int level = LogConfiguration.parseLogLevel
+            (LogConfiguration.getLogLevel());
+        if (level >= 0) {
+            setDebuglevel(level);
         }
-        else if (logLevel.equalsIgnoreCase("debug")) {
-            setDebuglevel(LogTarget.DEBUG);
+
+        clearContextLevels();
+        final Configuration config = BaseBoot.getInstance().getGlobalConfig();
+        final String prefix = LogConfiguration.LOGLEVEL + ".";
+        final Iterator keys = config.findPropertyKeys(prefix);
+        while (keys.hasNext()) {
+            final String key = (String) keys.next();
+            final int contextLevel = LogConfiguration.parseLogLevel
+                (config.getConfigProperty(key));
+            if (contextLevel >= 0) {
+                setContextLevel(key.substring(prefix.length()), contextLevel);
+            }
         }
     }
 
@@ -37,12 +37,16 @@
  * Changes
  * -------
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Added per-context log levels, changes to the log level are
+ *               applied to the default log immediately;
  *
  */
 
 package org.jfree.base.log;
 
 import org.jfree.base.BaseBoot;
+import org.jfree.util.Log;
+import org.jfree.util.LogTarget;
 import org.jfree.util.PrintStreamLogTarget;
 
 /**
@@ -127,7 +131,7 @@ public class LogConfiguration {
    * <ul>
    * <li>the setting is not case sensitive.</li>
    * <li>changing the log level after the {@link org.jfree.util.Log} class has been
-   * loaded will have no effect.</li>
+   * loaded will only have an effect if the {@link DefaultLog} is installed.</li>
    * <li>to turn of logging altogether, use the {@link #setDisableLogging} method.</li>
    * </ul>
    *
@@ -136,6 +140,80 @@ public class LogConfiguration {
   public static void setLogLevel(final String level)
   {
     BaseBoot.getConfiguration().setConfigProperty(LOGLEVEL, level);
+    applyLogLevels();
+  }
+
+  /**
+   * Returns the log level defined for the given context prefix.
+   *
+   * @param contextPrefix  the context prefix, usually a class or package name.
+   *
+   * @return the log level or null, if no level is defined for the prefix.
+   */
+  public static String getLogLevel(final String contextPrefix)
+  {
+    return BaseBoot.getInstance().getGlobalConfig().getConfigProperty
+            (LOGLEVEL + "." + contextPrefix);
+  }
+
+  /**
+   * Sets the log level for all log contexts whose name starts with the given
+   * prefix. The valid levels are the same as for {@link #setLogLevel(String)}.
+   *
+   * @param contextPrefix  the context prefix, usually a class or package name.
+   * @param level  the new log level.
+   */
+  public static void setLogLevel(final String contextPrefix, final String level)
+  {
+    BaseBoot.getConfiguration().setConfigProperty
+            (LOGLEVEL + "." + contextPrefix, level);
+    applyLogLevels();
+  }
+
+  /**
+   * Converts a log level name into one of the levels defined in
+   * {@link LogTarget}.
+   *
+   * @param level  the level name (not case sensitive).
+   *
+   * @return the log level, or -1 if the name is not recognized.
+   */
+  public static int parseLogLevel(final String level)
+  {
+    if (level == null)
+    {
+      return -1;
+    }
+    if (level.equalsIgnoreCase("error"))
+    {
+      return LogTarget.ERROR;
+    }
+    if (level.equalsIgnoreCase("warn"))
+    {
+      return LogTarget.WARN;
+    }
+    if (level.equalsIgnoreCase("info"))
+    {
+      return LogTarget.INFO;
+    }
+    if (level.equalsIgnoreCase("debug"))
+    {
+      return LogTarget.DEBUG;
+    }
+    return -1;
+  }
+
+  /**
+   * Pushes the configured log levels into the default log, which resets
+   * the levels cached by the log contexts.
+   */
+  private static void applyLogLevels()
+  {
+    final Log log = Log.getInstance();
+    if (log instanceof DefaultLog)
+    {
+      ((DefaultLog) log).configureLogLevels();
+    }
   }
 
   /**
@@ -38,16 +38,15 @@
  * -------
  * 05-Jul-2003 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Take the module info from the module manifest if available;
+ * 18-Oct-2026 : Parse the module info in a single pass;
  *
  */
 
 package org.jfree.base.modules;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
 
 import org.jfree.util.ObjectUtilities;
 
@@ -97,95 +96,6 @@ import org.jfree.util.ObjectUtilities;
  */
 public abstract class AbstractModule extends DefaultModuleInfo implements Module
 {
-  /**
-   * The reader helper provides a pushback interface for the reader to read and
-   * buffer  complete lines.
-   * @author Thomas Morgner
-   */
-  private static class ReaderHelper
-  {
-    /** The line buffer containing the last line read. */
-    private String buffer;
-    /** The reader from which to read the text. */
-    private final BufferedReader reader;
-
-    /**
-     * Creates a new reader helper for the given buffered reader.
-     *
-     * @param reader the buffered reader that is the source of the text.
-     */
-    protected ReaderHelper(final BufferedReader reader)
-    {
-      this.reader = reader;
-    }
-
-    /**
-     * Checks, whether the reader contains a next line. Returns false if the end
-     * of the stream has been reached.
-     *
-     * @return true, if there is a next line to read, false otherwise.
-     * @throws IOException if an error occures.
-     */
-    public boolean hasNext() throws IOException
-    {
-      if (this.buffer == null)
-      {
-        this.buffer = readLine();
-      }
-      return this.buffer != null;
-    }
-
-    /**
-     * Returns the next line.
-     *
-     * @return the next line.
-     */
-    public String next()
-    {
-      final String line = this.buffer;
-      this.buffer = null;
-      return line;
-    }
-
-    /**
-     * Pushes the given line back into the buffer. Only one line can be contained in
-     * the buffer at one time.
-     *
-     * @param line the line that should be pushed back into the buffer.
-     */
-    public void pushBack(final String line)
-    {
-      this.buffer = line;
-    }
-
-    /**
-     * Reads the next line skipping all comment lines.
-     *
-     * @return the next line, or null if no line can be read.
-     * @throws IOException if an IO error occures.
-     */
-    protected String readLine() throws IOException
-    {
-      String line = this.reader.readLine();
-      while (line != null && (line.length() == 0 || line.startsWith("#")))
-      {
-        // empty line or comment is ignored
-        line = this.reader.readLine();
-      }
-      return line;
-    }
-
-    /**
-     * Closes the reader.
-     *
-     * @throws IOException if an IOError occurs.
-     */
-    public void close() throws IOException
-    {
-      this.reader.close();
-    }
-  }
-
   /** The list of required modules. */
   private ModuleInfo[] requiredModules;
   /** The list of optional modules. */
@@ -210,12 +120,22 @@ public abstract class AbstractModule extends DefaultModuleInfo implements Module
 
   /**
    * Loads the default module description from the file "module.properties". This file
-   * must be in the same package as the implementing class.
+   * must be in the same package as the implementing class. If the package manager
+   * creates the module from a valid module manifest, the description is taken from
+   * there instead.
    *
    * @throws ModuleInitializeException if an error occurs.
    */
   protected void loadModuleInfo() throws ModuleInitializeException
   {
+    final ModuleManifest.ModuleDescription cached =
+        ModuleManifest.getCachedDescription(getClass());
+    if (cached != null)
+    {
+      cached.applyTo(this);
+      return;
+    }
+
     final InputStream in = ObjectUtilities.getResourceRelativeAsStream
             ("module.properties", getClass());
     if (in == null)
@@ -245,44 +165,7 @@ public abstract class AbstractModule extends DefaultModuleInfo implements Module
 
     try
     {
-      final ArrayList optionalModules = new ArrayList();
-      final ArrayList dependendModules = new ArrayList();
-      final ReaderHelper rh = new ReaderHelper(new BufferedReader
-          (new InputStreamReader(in, "ISO-8859-1")));
-      try
-      {
-        while (rh.hasNext())
-        {
-          final String lastLineRead = rh.next();
-          if (lastLineRead.startsWith("module-info:"))
-          {
-            readModuleInfo(rh);
-          }
-          else if (lastLineRead.startsWith("depends:"))
-          {
-            dependendModules.add(readExternalModule(rh));
-          }
-          else if (lastLineRead.startsWith("optional:"))
-          {
-            optionalModules.add(readExternalModule(rh));
-          }
-          else
-          {
-            // we dont understand the current line, so we skip it ...
-            // should we throw a parse exception instead?
-          }
-        }
-      }
-      finally
-      {
-        rh.close();
-      }
-
-      this.optionalModules = (ModuleInfo[])
-          optionalModules.toArray(new ModuleInfo[optionalModules.size()]);
-
-      this.requiredModules = (ModuleInfo[])
-          dependendModules.toArray(new ModuleInfo[dependendModules.size()]);
+      ModuleInfoParser.parse(in, this);
     }
     catch (IOException ioe)
     {
@@ -290,214 +173,6 @@ public abstract class AbstractModule extends DefaultModuleInfo implements Module
     }
   }
 
-  /**
-   * Reads a multiline value the stream. This will read the stream until
-   * a new key is found or the end of the file is reached.
-   *
-   * @param reader the reader from where to read.
-   * @param firstLine the first line (which was read elsewhere).
-   * @return the complete value, never null
-   * @throws IOException if an IO error occurs.
-   */
-  private String readValue(final ReaderHelper reader, String firstLine) throws IOException
-  {
-    final StringBuffer b = new StringBuffer(firstLine.trim());
-    boolean newLine = true;
-    while (isNextLineValueLine(reader))
-    {
-      firstLine = reader.next();
-      final String trimedLine = firstLine.trim();
-      if (trimedLine.length() == 0 && (newLine == false))
-      {
-        b.append ("\n");
-        newLine = true;
-      }
-      else
-      {
-        if (newLine == false)
-        {
-          b.append(" ");
-        }
-        b.append(parseValue(trimedLine));
-        newLine = false;
-      }
-    }
-    return b.toString();
-  }
-
-  /**
-   * Checks, whether the next line in the reader is a value line.
-   *
-   * @param reader from where to read the lines.
-   * @return true, if the next line is a value line, false otherwise.
-   * @throws IOException if an IO error occurs.
-   */
-  private boolean isNextLineValueLine (final ReaderHelper reader) throws IOException
-  {
-    if (reader.hasNext() == false)
-    {
-      return false;
-    }
-    final String firstLine = reader.next();
-    if (firstLine == null)
-    {
-      return false;
-    }
-    if (parseKey(firstLine) != null)
-    {
-      reader.pushBack(firstLine);
-      return false;
-    }
-    reader.pushBack(firstLine);
-    return true;
-  }
-
-  /**
-   * Reads the module definition header. This header contains information about
-   * the module itself.
-   *
-   * @param reader the reader from where to read the content.
-   * @throws IOException if an error occures
-   */
-  private void readModuleInfo(final ReaderHelper reader) throws IOException
-  {
-    while (reader.hasNext())
-    {
-      final String lastLineRead = reader.next();
-
-      if (Character.isWhitespace(lastLineRead.charAt(0)) == false)
-      {
-        // break if the current character is no whitespace ...
-        reader.pushBack(lastLineRead);
-        return;
-      }
-
-      final String line = lastLineRead.trim();
-      final String key = parseKey(line);
-      if (key != null)
-      {
-        // parse error: Non data line does not contain a colon
-        final String b = readValue(reader, parseValue(line.trim()));
-
-        if ("name".equals(key))
-        {
-          setName(b);
-        }
-        else if ("producer".equals(key))
-        {
-          setProducer(b);
-        }
-        else if ("description".equals(key))
-        {
-          setDescription(b);
-        }
-        else if ("subsystem".equals(key))
-        {
-          setSubSystem(b);
-        }
-        else if ("version.major".equals(key))
-        {
-          setMajorVersion(b);
-        }
-        else if ("version.minor".equals(key))
-        {
-          setMinorVersion(b);
-        }
-        else if ("version.patchlevel".equals(key))
-        {
-          setPatchLevel(b);
-        }
-      }
-    }
-  }
-
-  /**
-   * Parses an string to find the key section of the line. This section ends with
-   * an colon.
-   *
-   * @param line the line which to parse
-   * @return the key or null if no key is found.
-   */
-  private String parseKey(final String line)
-  {
-    final int idx = line.indexOf(':');
-    if (idx == -1)
-    {
-      return null;
-    }
-    return line.substring(0, idx);
-  }
-
-  /**
-   * Parses the value section of the given line.
-   *
-   * @param line the line that should be parsed
-   * @return the value, never null
-   */
-  private String parseValue(final String line)
-  {
-    final int idx = line.indexOf(':');
-    if (idx == -1)
-    {
-      return line;
-    }
-    if ((idx + 1) == line.length())
-    {
-      return "";
-    }
-    return line.substring(idx + 1);
-  }
-
-  /**
-   * Reads an external module description. This describes either an optional or
-   * a required module.
-   *
-   * @param reader the reader from where to read the module
-   * @return the read module, never null
-   * @throws IOException if an error occures.
-   */
-  private DefaultModuleInfo readExternalModule(final ReaderHelper reader)
-      throws IOException
-  {
-    final DefaultModuleInfo mi = new DefaultModuleInfo();
-
-    while (reader.hasNext())
-    {
-      final String lastLineRead = reader.next();
-
-      if (Character.isWhitespace(lastLineRead.charAt(0)) == false)
-      {
-        // break if the current character is no whitespace ...
-        reader.pushBack(lastLineRead);
-        return mi;
-      }
-
-      final String line = lastLineRead.trim();
-      final String key = parseKey(line);
-      if (key != null)
-      {
-        final String b = readValue(reader, parseValue(line));
-        if ("module".equals(key))
-        {
-          mi.setModuleClass(b);
-        }
-        else if ("version.major".equals(key))
-        {
-          mi.setMajorVersion(b);
-        }
-        else if ("version.minor".equals(key))
-        {
-          mi.setMinorVersion(b);
-        }
-        else if ("version.patchlevel".equals(key))
-        {
-          mi.setPatchLevel(b);
-        }
-      }
-    }
-    return mi;
-  }
-
   /**
    * Returns the name of this module.
    *
@@ -0,0 +1,64 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * DeferrableModule.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.base.modules;
+
+/**
+ * A module whose initialization can be deferred until the module is used for
+ * the first time. When the lazy initialization is enabled in the package
+ * manager, deferrable modules are configured during the boot, but only
+ * initialized once they are requested through
+ * {@link PackageManager#getModule(String)} or
+ * {@link PackageManager#isModuleAvailable(ModuleInfo)}, or once a module that
+ * is initialized during the boot depends on them.
+ */
+public interface DeferrableModule extends Module
+{
+  /**
+   * Checks, whether the initialization of this module may be deferred. The
+   * method is called after the module has been configured.
+   *
+   * @param subSystem  the subSystem.
+   *
+   * @return true, if the module can be initialized on first use, false if it
+   * has to be initialized during the boot.
+   */
+  public boolean isDeferrable(SubSystem subSystem);
+}
@@ -0,0 +1,484 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * ModuleInfoParser.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.base.modules;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+
+/**
+ * A single pass parser for module description files. The file is read into
+ * a byte buffer once, lines are tracked as offsets into that buffer, and
+ * strings are only created for the values that are stored in the module.
+ * The file format is described in {@link AbstractModule}; files are encoded
+ * with "ISO-8859-1".
+ * <p>
+ * The parser produces exactly the results of the previous line based parser,
+ * including its handling of multi-line values: the first continuation line
+ * is appended without a separating space, an empty continuation line starts
+ * a new line, and any line without a colon continues the current value.
+ */
+final class ModuleInfoParser
+{
+  /** The encoding of module description files. */
+  private static final Charset ENCODING = Charset.forName("ISO-8859-1");
+
+  /** The initial buffer size, if the stream does not report one. */
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  /** The file contents. */
+  private final byte[] data;
+  /** The number of valid bytes in the data array. */
+  private final int length;
+  /** The start of the next unread line. */
+  private int position;
+  /** The start of the current line. */
+  private int lineStart;
+  /** The end of the current line, exclusive. */
+  private int lineEnd;
+
+  /**
+   * Creates a new parser for the given data.
+   *
+   * @param data the file contents.
+   * @param length the number of valid bytes.
+   */
+  private ModuleInfoParser(final byte[] data, final int length)
+  {
+    this.data = data;
+    this.length = length;
+  }
+
+  /**
+   * Parses the module description from the given stream into the given
+   * module. The stream is closed afterwards.
+   *
+   * @param in the input stream.
+   * @param module the module that receives the description.
+   * @throws IOException if an I/O error occurs.
+   */
+  public static void parse(final InputStream in, final AbstractModule module)
+      throws IOException
+  {
+    byte[] buffer;
+    int length = 0;
+    try
+    {
+      buffer = new byte[Math.max(in.available() + 1, INITIAL_BUFFER_SIZE)];
+      while (true)
+      {
+        if (length == buffer.length)
+        {
+          final byte[] grown = new byte[buffer.length * 2];
+          System.arraycopy(buffer, 0, grown, 0, length);
+          buffer = grown;
+        }
+        final int read = in.read(buffer, length, buffer.length - length);
+        if (read < 0)
+        {
+          break;
+        }
+        length += read;
+      }
+    }
+    finally
+    {
+      in.close();
+    }
+    new ModuleInfoParser(buffer, length).parseInto(module);
+  }
+
+  /**
+   * Parses all sections of the file.
+   *
+   * @param module the module that receives the description.
+   */
+  private void parseInto(final AbstractModule module)
+  {
+    final ArrayList optionalModules = new ArrayList();
+    final ArrayList dependendModules = new ArrayList();
+    while (nextLine())
+    {
+      if (startsWith("module-info:"))
+      {
+        readModuleInfo(module);
+      }
+      else if (startsWith("depends:"))
+      {
+        dependendModules.add(readExternalModule());
+      }
+      else if (startsWith("optional:"))
+      {
+        optionalModules.add(readExternalModule());
+      }
+      // we dont understand the current line, so we skip it ...
+    }
+
+    module.setOptionalModules((ModuleInfo[])
+        optionalModules.toArray(new ModuleInfo[optionalModules.size()]));
+    module.setRequiredModules((ModuleInfo[])
+        dependendModules.toArray(new ModuleInfo[dependendModules.size()]));
+  }
+
+  /**
+   * Reads the module definition header into the module.
+   *
+   * @param module the module.
+   */
+  private void readModuleInfo(final AbstractModule module)
+  {
+    while (nextLine())
+    {
+      if (isSectionEnd())
+      {
+        pushBack();
+        return;
+      }
+      final int start = trimStart(this.lineStart, this.lineEnd);
+      final int end = trimEnd(start, this.lineEnd);
+      final int colon = indexOfColon(start, end);
+      if (colon == -1)
+      {
+        continue;
+      }
+
+      final String value = readValue(colon + 1, end);
+      if (regionEquals(start, colon, "name"))
+      {
+        module.setName(value);
+      }
+      else if (regionEquals(start, colon, "producer"))
+      {
+        module.setProducer(value);
+      }
+      else if (regionEquals(start, colon, "description"))
+      {
+        module.setDescription(value);
+      }
+      else if (regionEquals(start, colon, "subsystem"))
+      {
+        module.setSubSystem(value);
+      }
+      else if (regionEquals(start, colon, "version.major"))
+      {
+        module.setMajorVersion(value);
+      }
+      else if (regionEquals(start, colon, "version.minor"))
+      {
+        module.setMinorVersion(value);
+      }
+      else if (regionEquals(start, colon, "version.patchlevel"))
+      {
+        module.setPatchLevel(value);
+      }
+    }
+  }
+
+  /**
+   * Reads an external module description. This describes either an optional
+   * or a required module.
+   *
+   * @return the module info, never null.
+   */
+  private DefaultModuleInfo readExternalModule()
+  {
+    final DefaultModuleInfo mi = new DefaultModuleInfo();
+    while (nextLine())
+    {
+      if (isSectionEnd())
+      {
+        pushBack();
+        return mi;
+      }
+      final int start = trimStart(this.lineStart, this.lineEnd);
+      final int end = trimEnd(start, this.lineEnd);
+      final int colon = indexOfColon(start, end);
+      if (colon == -1)
+      {
+        continue;
+      }
+
+      final String value = readValue(colon + 1, end);
+      if (regionEquals(start, colon, "module"))
+      {
+        mi.setModuleClass(value);
+      }
+      else if (regionEquals(start, colon, "version.major"))
+      {
+        mi.setMajorVersion(value);
+      }
+      else if (regionEquals(start, colon, "version.minor"))
+      {
+        mi.setMinorVersion(value);
+      }
+      else if (regionEquals(start, colon, "version.patchlevel"))
+      {
+        mi.setPatchLevel(value);
+      }
+    }
+    return mi;
+  }
+
+  /**
+   * Reads a value that starts in the given region of the current line and
+   * continues on all following lines which do not contain a colon.
+   *
+   * @param start the start of the value on the current line.
+   * @param end the end of the value on the current line.
+   * @return the value, never null.
+   */
+  private String readValue(final int start, final int end)
+  {
+    final int valueStart = trimStart(start, end);
+    final int valueEnd = trimEnd(valueStart, end);
+    final String first = createString(valueStart, valueEnd);
+    if (isNextLineValueLine() == false)
+    {
+      return first;
+    }
+
+    final StringBuffer b = new StringBuffer(first);
+    boolean newLine = true;
+    do
+    {
+      nextLine();
+      final int lineValueStart = trimStart(this.lineStart, this.lineEnd);
+      final int lineValueEnd = trimEnd(lineValueStart, this.lineEnd);
+      if (lineValueStart == lineValueEnd && newLine == false)
+      {
+        b.append('\n');
+        newLine = true;
+      }
+      else
+      {
+        if (newLine == false)
+        {
+          b.append(' ');
+        }
+        for (int i = lineValueStart; i < lineValueEnd; i++)
+        {
+          b.append((char) (this.data[i] & 0xff));
+        }
+        newLine = false;
+      }
+    }
+    while (isNextLineValueLine());
+    return b.toString();
+  }
+
+  /**
+   * Checks, whether the next line continues the current value. Such a line
+   * does not contain a colon. The position is not changed.
+   *
+   * @return true, if the next line is a value line, false otherwise.
+   */
+  private boolean isNextLineValueLine()
+  {
+    if (nextLine() == false)
+    {
+      return false;
+    }
+    final boolean valueLine = indexOfColon(this.lineStart, this.lineEnd) == -1;
+    pushBack();
+    return valueLine;
+  }
+
+  /**
+   * Moves to the next line, skipping empty lines and comment lines. Lines
+   * end with "\n", "\r" or "\r\n".
+   *
+   * @return true, if there is a next line, false at the end of the data.
+   */
+  private boolean nextLine()
+  {
+    while (this.position < this.length)
+    {
+      final int start = this.position;
+      int end = start;
+      while (end < this.length && this.data[end] != '\n' && this.data[end] != '\r')
+      {
+        end += 1;
+      }
+      this.position = end;
+      if (end < this.length)
+      {
+        if (this.data[end] == '\r' && end + 1 < this.length
+            && this.data[end + 1] == '\n')
+        {
+          this.position = end + 2;
+        }
+        else
+        {
+          this.position = end + 1;
+        }
+      }
+      if (end > start && this.data[start] != '#')
+      {
+        this.lineStart = start;
+        this.lineEnd = end;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Makes the current line the next line to be read again.
+   */
+  private void pushBack()
+  {
+    this.position = this.lineStart;
+  }
+
+  /**
+   * Checks, whether the current line ends a section. Section properties are
+   * indented, so any line starting with a non-whitespace character ends it.
+   *
+   * @return true, if the current line is not indented.
+   */
+  private boolean isSectionEnd()
+  {
+    return Character.isWhitespace((char) (this.data[this.lineStart] & 0xff)) == false;
+  }
+
+  /**
+   * Checks, whether the current line starts with the given text.
+   *
+   * @param text the text, which must only contain ASCII characters.
+   * @return true, if the line starts with the text.
+   */
+  private boolean startsWith(final String text)
+  {
+    if (this.lineEnd - this.lineStart < text.length())
+    {
+      return false;
+    }
+    return regionEquals(this.lineStart, this.lineStart + text.length(), text);
+  }
+
+  /**
+   * Compares a region of the data with the given text.
+   *
+   * @param start the start of the region.
+   * @param end the end of the region, exclusive.
+   * @param text the text, which must only contain ASCII characters.
+   * @return true, if the region equals the text.
+   */
+  private boolean regionEquals(final int start, final int end, final String text)
+  {
+    if (end - start != text.length())
+    {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++)
+    {
+      if (this.data[start + i] != text.charAt(i))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the position of the first colon in the given region.
+   *
+   * @param start the start of the region.
+   * @param end the end of the region, exclusive.
+   * @return the position, or -1 if the region contains no colon.
+   */
+  private int indexOfColon(final int start, final int end)
+  {
+    for (int i = start; i < end; i++)
+    {
+      if (this.data[i] == ':')
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Skips leading whitespace, using the same definition as String.trim().
+   *
+   * @param start the start of the region.
+   * @param end the end of the region, exclusive.
+   * @return the first non-whitespace position, or end.
+   */
+  private int trimStart(int start, final int end)
+  {
+    while (start < end && (this.data[start] & 0xff) <= ' ')
+    {
+      start += 1;
+    }
+    return start;
+  }
+
+  /**
+   * Skips trailing whitespace, using the same definition as String.trim().
+   *
+   * @param start the start of the region.
+   * @param end the end of the region, exclusive.
+   * @return the position after the last non-whitespace character, or start.
+   */
+  private int trimEnd(final int start, int end)
+  {
+    while (end > start && (this.data[end - 1] & 0xff) <= ' ')
+    {
+      end -= 1;
+    }
+    return end;
+  }
+
+  /**
+   * Creates a string from the given region of the data.
+   *
+   * @param start the start of the region.
+   * @param end the end of the region, exclusive.
+   * @return the string.
+   */
+  private String createString(final int start, final int end)
+  {
+    return new String(this.data, start, end - start, ENCODING);
+  }
+}
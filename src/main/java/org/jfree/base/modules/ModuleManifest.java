@@ -0,0 +1,885 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * ModuleManifest.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ * 18-Oct-2026 : Hash module descriptions in class path directories and
+ *               track unsaved changes;
+ *
+ */
+
+package org.jfree.base.modules;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.StringTokenizer;
+
+import org.jfree.util.Log;
+import org.jfree.util.ObjectUtilities;
+
+/**
+ * A cached result of the module discovery. For every module prefix the
+ * manifest stores the modules that were loaded, in their load order, along
+ * with the parsed module descriptions. The package manager uses the manifest
+ * to skip the dependency resolution on later boots. Modules instantiated
+ * from a manifest entry with {@link #instantiate(Class, ModuleDescription)}
+ * take their description from that entry instead of parsing their
+ * <code>module.properties</code> file. The description is only offered to
+ * the instance being created, so entries that have been removed or belong
+ * to a class of an other class loader are never used.
+ * <p>
+ * The manifest is only used if it was written for the same class path. The
+ * fingerprint covers the names, sizes and modification times of all class
+ * path entries, so replacing a jar invalidates the manifest. Inside a class
+ * path directory the contents of every <code>module.properties</code> file
+ * are covered as well; other changed classes are not detected.
+ * <p>
+ * Changes are kept in memory until {@link #store()} is called, so that the
+ * file is written once per boot.
+ */
+final class ModuleManifest
+{
+  /**
+   * The immutable description of a module as stored in the manifest.
+   */
+  static final class ModuleDescription
+  {
+    /** The module class. */
+    private final String moduleClass;
+    /** The name. */
+    private final String name;
+    /** The producer. */
+    private final String producer;
+    /** The description. */
+    private final String description;
+    /** The subsystem. */
+    private final String subSystem;
+    /** The major version. */
+    private final String majorVersion;
+    /** The minor version. */
+    private final String minorVersion;
+    /** The patch level. */
+    private final String patchLevel;
+    /** The required modules. */
+    private final ModuleInfo[] requiredModules;
+    /** The optional modules. */
+    private final ModuleInfo[] optionalModules;
+
+    /**
+     * Creates a description from a loaded module.
+     *
+     * @param module the module.
+     */
+    protected ModuleDescription(final Module module)
+    {
+      this.moduleClass = module.getModuleClass();
+      this.name = module.getName();
+      this.producer = module.getProducer();
+      this.description = module.getDescription();
+      this.subSystem = module.getSubSystem();
+      this.majorVersion = module.getMajorVersion();
+      this.minorVersion = module.getMinorVersion();
+      this.patchLevel = module.getPatchLevel();
+      this.requiredModules = copy(module.getRequiredModules());
+      this.optionalModules = copy(module.getOptionalModules());
+    }
+
+    /**
+     * Reads a description from the manifest properties.
+     *
+     * @param moduleClass the module class.
+     * @param p the properties.
+     */
+    protected ModuleDescription(final String moduleClass, final Properties p)
+    {
+      if (moduleClass == null)
+      {
+        throw new IllegalStateException("Missing module class.");
+      }
+      final String prefix = "module." + moduleClass + ".";
+      this.moduleClass = moduleClass;
+      this.name = p.getProperty(prefix + "name");
+      this.producer = p.getProperty(prefix + "producer");
+      this.description = p.getProperty(prefix + "description");
+      this.subSystem = p.getProperty(prefix + "subsystem");
+      this.majorVersion = p.getProperty(prefix + "version.major");
+      this.minorVersion = p.getProperty(prefix + "version.minor");
+      this.patchLevel = p.getProperty(prefix + "version.patchlevel");
+      this.requiredModules = readInfos(p, prefix + "required.");
+      this.optionalModules = readInfos(p, prefix + "optional.");
+    }
+
+    /**
+     * Returns the module class.
+     *
+     * @return the module class.
+     */
+    public String getModuleClass()
+    {
+      return this.moduleClass;
+    }
+
+    /**
+     * Returns the required modules.
+     *
+     * @return the required modules.
+     */
+    public ModuleInfo[] getRequiredModules()
+    {
+      return copy(this.requiredModules);
+    }
+
+    /**
+     * Copies this description into the given module.
+     *
+     * @param module the module.
+     */
+    public void applyTo(final AbstractModule module)
+    {
+      module.setName(this.name);
+      module.setProducer(this.producer);
+      module.setDescription(this.description);
+      module.setSubSystem(this.subSystem);
+      module.setMajorVersion(this.majorVersion);
+      module.setMinorVersion(this.minorVersion);
+      module.setPatchLevel(this.patchLevel);
+      module.setRequiredModules(copy(this.requiredModules));
+      module.setOptionalModules(copy(this.optionalModules));
+    }
+
+    /**
+     * Writes this description into the manifest properties.
+     *
+     * @param p the properties.
+     */
+    public void writeTo(final Properties p)
+    {
+      final String prefix = "module." + this.moduleClass + ".";
+      put(p, prefix + "name", this.name);
+      put(p, prefix + "producer", this.producer);
+      put(p, prefix + "description", this.description);
+      put(p, prefix + "subsystem", this.subSystem);
+      put(p, prefix + "version.major", this.majorVersion);
+      put(p, prefix + "version.minor", this.minorVersion);
+      put(p, prefix + "version.patchlevel", this.patchLevel);
+      writeInfos(p, prefix + "required.", this.requiredModules);
+      writeInfos(p, prefix + "optional.", this.optionalModules);
+    }
+
+    /**
+     * Creates a deep copy of the given module infos. Module infos are
+     * mutable, so every module gets its own instances.
+     *
+     * @param infos the module infos.
+     * @return the copy.
+     */
+    private static ModuleInfo[] copy(final ModuleInfo[] infos)
+    {
+      final ModuleInfo[] result = new ModuleInfo[infos.length];
+      for (int i = 0; i < infos.length; i++)
+      {
+        result[i] = new DefaultModuleInfo(infos[i].getModuleClass(),
+            infos[i].getMajorVersion(), infos[i].getMinorVersion(),
+            infos[i].getPatchLevel());
+      }
+      return result;
+    }
+
+    /**
+     * Reads a list of module infos.
+     *
+     * @param p the properties.
+     * @param prefix the key prefix.
+     * @return the module infos.
+     */
+    private static ModuleInfo[] readInfos(final Properties p, final String prefix)
+    {
+      final int count = parseCount(p.getProperty(prefix + "count"));
+      final ModuleInfo[] result = new ModuleInfo[count];
+      for (int i = 0; i < count; i++)
+      {
+        final String key = prefix + i + ".";
+        final String moduleClass = p.getProperty(key + "module");
+        if (moduleClass == null)
+        {
+          throw new IllegalStateException("Incomplete module info: " + key);
+        }
+        result[i] = new DefaultModuleInfo(moduleClass,
+            p.getProperty(key + "version.major"),
+            p.getProperty(key + "version.minor"),
+            p.getProperty(key + "version.patchlevel"));
+      }
+      return result;
+    }
+
+    /**
+     * Writes a list of module infos.
+     *
+     * @param p the properties.
+     * @param prefix the key prefix.
+     * @param infos the module infos.
+     */
+    private static void writeInfos(final Properties p, final String prefix,
+                                   final ModuleInfo[] infos)
+    {
+      p.setProperty(prefix + "count", String.valueOf(infos.length));
+      for (int i = 0; i < infos.length; i++)
+      {
+        final String key = prefix + i + ".";
+        put(p, key + "module", infos[i].getModuleClass());
+        put(p, key + "version.major", infos[i].getMajorVersion());
+        put(p, key + "version.minor", infos[i].getMinorVersion());
+        put(p, key + "version.patchlevel", infos[i].getPatchLevel());
+      }
+    }
+  }
+
+  /**
+   * A module entry of a prefix section.
+   */
+  static final class Entry
+  {
+    /** The module description. */
+    private final ModuleDescription description;
+    /** True, if the module failed to load. */
+    private final boolean failed;
+
+    /**
+     * Creates a new entry.
+     *
+     * @param description the module description.
+     * @param failed true, if the module failed to load.
+     */
+    protected Entry(final ModuleDescription description, final boolean failed)
+    {
+      this.description = description;
+      this.failed = failed;
+    }
+
+    /**
+     * Returns the module description.
+     *
+     * @return the description.
+     */
+    public ModuleDescription getDescription()
+    {
+      return this.description;
+    }
+
+    /**
+     * Checks, whether the module failed to load.
+     *
+     * @return true, if the module is in the error state.
+     */
+    public boolean isFailed()
+    {
+      return this.failed;
+    }
+  }
+
+  /** The version of the manifest format. */
+  private static final String FORMAT_VERSION = "1";
+
+  /**
+   * The module class and the description of the module that is currently
+   * instantiated from a manifest entry by this thread, or null.
+   */
+  private static final ThreadLocal PENDING = new ThreadLocal();
+
+  /** The manifest file. */
+  private final File file;
+  /** The class path fingerprint. */
+  private final String fingerprint;
+  /** The module roots of every section, keyed by prefix. */
+  private final HashMap sectionRoots;
+  /** The entries of every section, keyed by prefix. */
+  private final HashMap sectionEntries;
+  /** A flag indicating whether the manifest has changed since it was stored. */
+  private boolean modified;
+
+  /**
+   * Creates an empty manifest.
+   *
+   * @param file the manifest file.
+   * @param fingerprint the class path fingerprint.
+   */
+  private ModuleManifest(final File file, final String fingerprint)
+  {
+    this.file = file;
+    this.fingerprint = fingerprint;
+    this.sectionRoots = new HashMap();
+    this.sectionEntries = new HashMap();
+  }
+
+  /**
+   * Creates an instance of the given module class, offering the given
+   * description to the module while it is constructed.
+   *
+   * @param c the module class.
+   * @param description the description recorded for the class.
+   * @return the module.
+   * @throws Exception if the module cannot be instantiated.
+   */
+  static Module instantiate(final Class c, final ModuleDescription description)
+      throws Exception
+  {
+    if (description.getModuleClass().equals(c.getName()) == false)
+    {
+      throw new IllegalArgumentException("The description does not match.");
+    }
+    final Object previous = PENDING.get();
+    PENDING.set(new Object[] {c, description});
+    try
+    {
+      return (Module) ObjectUtilities.newInstance(c);
+    }
+    finally
+    {
+      if (previous == null)
+      {
+        PENDING.remove();
+      }
+      else
+      {
+        PENDING.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Returns the description recorded for the given module class, if the
+   * module is currently instantiated from a manifest entry.
+   *
+   * @param moduleClass the module class.
+   * @return the description or null.
+   */
+  static ModuleDescription getCachedDescription(final Class moduleClass)
+  {
+    final Object[] pending = (Object[]) PENDING.get();
+    if (pending == null || pending[0] != moduleClass)
+    {
+      return null;
+    }
+    return (ModuleDescription) pending[1];
+  }
+
+  /**
+   * Loads the manifest from the given file. If the file does not exist, is
+   * unreadable or was written for a different class path, an empty manifest
+   * is returned, which will replace the file once it is stored.
+   *
+   * @param file the manifest file.
+   * @param fingerprint the current class path fingerprint.
+   * @return the manifest, never null.
+   */
+  public static synchronized ModuleManifest load(final File file,
+                                                 final String fingerprint)
+  {
+    final ModuleManifest manifest = new ModuleManifest(file, fingerprint);
+    if (file.isFile() == false)
+    {
+      return manifest;
+    }
+
+    final Properties p = new Properties();
+    try
+    {
+      final InputStream in = new BufferedInputStream(new FileInputStream(file));
+      try
+      {
+        p.load(in);
+      }
+      finally
+      {
+        in.close();
+      }
+    }
+    catch (IOException ioe)
+    {
+      Log.debug("Unable to read the module manifest " + file, ioe);
+      return manifest;
+    }
+
+    if (FORMAT_VERSION.equals(p.getProperty("manifest.version")) == false ||
+        fingerprint.equals(p.getProperty("manifest.fingerprint")) == false)
+    {
+      Log.debug("Module manifest {} is out of date.", file);
+      return manifest;
+    }
+
+    try
+    {
+      final int count = parseCount(p.getProperty("section.count"));
+      for (int i = 0; i < count; i++)
+      {
+        final String key = "section." + i + ".";
+        final String prefix = p.getProperty(key + "prefix");
+        final String roots = p.getProperty(key + "roots", "");
+        final int modules = parseCount(p.getProperty(key + "count"));
+        final Entry[] entries = new Entry[modules];
+        for (int m = 0; m < modules; m++)
+        {
+          final String moduleClass = p.getProperty(key + "module." + m);
+          final ModuleDescription description =
+              new ModuleDescription(moduleClass, p);
+          entries[m] = new Entry(description,
+              "true".equals(p.getProperty(key + "module." + m + ".failed")));
+        }
+        manifest.sectionRoots.put(prefix, roots);
+        manifest.sectionEntries.put(prefix, entries);
+      }
+    }
+    catch (RuntimeException re)
+    {
+      Log.debug("The module manifest " + file + " is invalid.", re);
+      manifest.sectionRoots.clear();
+      manifest.sectionEntries.clear();
+    }
+    return manifest;
+  }
+
+  /**
+   * Returns the modules recorded for the given prefix. The section is only
+   * returned if it was recorded for the same list of configured modules.
+   *
+   * @param prefix the module prefix.
+   * @param roots the configured module classes of the prefix.
+   * @return the entries, or null if there is no matching section.
+   */
+  public synchronized Entry[] getEntries(final String prefix, final String[] roots)
+  {
+    final String recorded = (String) this.sectionRoots.get(prefix);
+    if (recorded == null || recorded.equals(joinRoots(roots)) == false)
+    {
+      return null;
+    }
+    return (Entry[]) this.sectionEntries.get(prefix);
+  }
+
+  /**
+   * Records the modules loaded for the given prefix.
+   *
+   * @param prefix the module prefix.
+   * @param roots the configured module classes of the prefix.
+   * @param states the package states of all modules loaded for the prefix.
+   */
+  public synchronized void putEntries(final String prefix, final String[] roots,
+                                      final PackageState[] states)
+  {
+    final Entry[] entries = new Entry[states.length];
+    for (int i = 0; i < states.length; i++)
+    {
+      final ModuleDescription description =
+          new ModuleDescription(states[i].getModule());
+      entries[i] = new Entry(description,
+          states[i].getState() == PackageState.STATE_ERROR);
+    }
+    this.sectionRoots.put(prefix, joinRoots(roots));
+    this.sectionEntries.put(prefix, entries);
+    this.modified = true;
+  }
+
+  /**
+   * Removes the section of the given prefix, so that it is recorded again
+   * on the next boot.
+   *
+   * @param prefix the module prefix.
+   */
+  public synchronized void removeEntries(final String prefix)
+  {
+    this.sectionRoots.remove(prefix);
+    if (this.sectionEntries.remove(prefix) != null)
+    {
+      this.modified = true;
+    }
+  }
+
+  /**
+   * Returns true, if the manifest has changed since it was loaded or stored.
+   *
+   * @return true, if the manifest needs to be stored.
+   */
+  public synchronized boolean isModified()
+  {
+    return this.modified;
+  }
+
+  /**
+   * Writes the manifest into its file. The file is replaced atomically where
+   * the platform permits, so that a concurrently starting process never sees
+   * a partial manifest.
+   */
+  public synchronized void store()
+  {
+    this.modified = false;
+    final Properties p = new Properties();
+    p.setProperty("manifest.version", FORMAT_VERSION);
+    p.setProperty("manifest.fingerprint", this.fingerprint);
+
+    final Object[] prefixes = this.sectionEntries.keySet().toArray();
+    p.setProperty("section.count", String.valueOf(prefixes.length));
+    for (int i = 0; i < prefixes.length; i++)
+    {
+      final String key = "section." + i + ".";
+      final Entry[] entries = (Entry[]) this.sectionEntries.get(prefixes[i]);
+      p.setProperty(key + "prefix", (String) prefixes[i]);
+      p.setProperty(key + "roots", (String) this.sectionRoots.get(prefixes[i]));
+      p.setProperty(key + "count", String.valueOf(entries.length));
+      for (int m = 0; m < entries.length; m++)
+      {
+        final ModuleDescription description = entries[m].getDescription();
+        p.setProperty(key + "module." + m, description.getModuleClass());
+        if (entries[m].isFailed())
+        {
+          p.setProperty(key + "module." + m + ".failed", "true");
+        }
+        description.writeTo(p);
+      }
+    }
+
+    try
+    {
+      final File parent = this.file.getAbsoluteFile().getParentFile();
+      if (parent != null && parent.isDirectory() == false)
+      {
+        parent.mkdirs();
+      }
+      final File temp = new File(this.file.getPath() + ".tmp");
+      final OutputStream out = new BufferedOutputStream(new FileOutputStream(temp));
+      try
+      {
+        p.store(out, "Module manifest - generated, do not edit");
+      }
+      finally
+      {
+        out.close();
+      }
+      if (temp.renameTo(this.file) == false)
+      {
+        this.file.delete();
+        if (temp.renameTo(this.file) == false)
+        {
+          temp.delete();
+          Log.debug("Unable to replace the module manifest {}", this.file);
+        }
+      }
+    }
+    catch (IOException ioe)
+    {
+      Log.debug("Unable to write the module manifest " + this.file, ioe);
+    }
+  }
+
+  /**
+   * Computes the class path fingerprint for the given booter class. The
+   * fingerprint covers the system class path and the URLs of all URL class
+   * loaders between the booter's class loader and the bootstrap loader.
+   *
+   * @param booter the booter class.
+   * @param loader the class loader used to load the modules.
+   * @return the fingerprint.
+   */
+  public static String computeFingerprint(final Class booter,
+                                          final ClassLoader loader)
+  {
+    final MessageDigest digest;
+    try
+    {
+      digest = MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e)
+    {
+      throw new IllegalStateException("SHA-1 is not supported.");
+    }
+
+    update(digest, booter.getName());
+    try
+    {
+      final String classPath = System.getProperty("java.class.path");
+      if (classPath != null)
+      {
+        final StringTokenizer tokens =
+            new StringTokenizer(classPath, File.pathSeparator);
+        while (tokens.hasMoreTokens())
+        {
+          updateFile(digest, new File(tokens.nextToken()));
+        }
+      }
+    }
+    catch (SecurityException se)
+    {
+      // the class loader URLs must be sufficient.
+    }
+
+    ClassLoader cl = loader;
+    while (cl != null)
+    {
+      if (cl instanceof URLClassLoader)
+      {
+        final URL[] urls = ((URLClassLoader) cl).getURLs();
+        for (int i = 0; i < urls.length; i++)
+        {
+          final File file = toFile(urls[i]);
+          if (file != null)
+          {
+            updateFile(digest, file);
+          }
+          else
+          {
+            update(digest, urls[i].toExternalForm());
+          }
+        }
+      }
+      cl = cl.getParent();
+    }
+
+    final byte[] hash = digest.digest();
+    final StringBuffer b = new StringBuffer(hash.length * 2);
+    for (int i = 0; i < hash.length; i++)
+    {
+      final int value = hash[i] & 0xff;
+      if (value < 16)
+      {
+        b.append('0');
+      }
+      b.append(Integer.toHexString(value));
+    }
+    return b.toString();
+  }
+
+  /**
+   * Converts a file URL into a file. Escaped characters, such as spaces in
+   * the path, are decoded.
+   *
+   * @param url the URL.
+   * @return the file, or null if the URL does not denote a local file.
+   */
+  private static File toFile(final URL url)
+  {
+    if ("file".equals(url.getProtocol()) == false)
+    {
+      return null;
+    }
+    try
+    {
+      return new File(url.toURI());
+    }
+    catch (URISyntaxException e)
+    {
+      return null;
+    }
+    catch (IllegalArgumentException e)
+    {
+      // a URL with an authority or a query is not a local file.
+      return null;
+    }
+  }
+
+  /**
+   * Adds a file path with its size and modification time to the digest. For
+   * a directory, the module descriptions found below it are added as well.
+   *
+   * @param digest the digest.
+   * @param file the file.
+   */
+  private static void updateFile(final MessageDigest digest, final File file)
+  {
+    update(digest, file.getPath());
+    update(digest, String.valueOf(file.length()));
+    update(digest, String.valueOf(file.lastModified()));
+    if (file.isDirectory())
+    {
+      updateDirectory(digest, file);
+    }
+  }
+
+  /**
+   * Adds the paths and contents of all <code>module.properties</code> files
+   * below the given directory to the digest. Edits to these files rarely
+   * change the size of the file and may keep its modification time, so the
+   * contents are hashed. Symbolic links are not followed.
+   *
+   * @param digest the digest.
+   * @param directory the directory.
+   */
+  private static void updateDirectory(final MessageDigest digest,
+                                      final File directory)
+  {
+    final File[] files = directory.listFiles();
+    if (files == null)
+    {
+      return;
+    }
+    Arrays.sort(files);
+    for (int i = 0; i < files.length; i++)
+    {
+      final File file = files[i];
+      if (Files.isSymbolicLink(file.toPath()))
+      {
+        continue;
+      }
+      if (file.isDirectory())
+      {
+        updateDirectory(digest, file);
+      }
+      else if ("module.properties".equals(file.getName()))
+      {
+        update(digest, file.getPath());
+        updateContents(digest, file);
+      }
+    }
+  }
+
+  /**
+   * Adds the contents of the given file to the digest.
+   *
+   * @param digest the digest.
+   * @param file the file.
+   */
+  private static void updateContents(final MessageDigest digest, final File file)
+  {
+    try
+    {
+      final InputStream in = new FileInputStream(file);
+      try
+      {
+        final byte[] buffer = new byte[4096];
+        int length = in.read(buffer);
+        while (length != -1)
+        {
+          digest.update(buffer, 0, length);
+          length = in.read(buffer);
+        }
+      }
+      finally
+      {
+        in.close();
+      }
+    }
+    catch (IOException ioe)
+    {
+      // an unreadable file is covered by its path only.
+    }
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Adds a string to the digest.
+   *
+   * @param digest the digest.
+   * @param text the text.
+   */
+  private static void update(final MessageDigest digest, final String text)
+  {
+    for (int i = 0; i < text.length(); i++)
+    {
+      final char c = text.charAt(i);
+      digest.update((byte) (c >> 8));
+      digest.update((byte) c);
+    }
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Joins the configured module classes into a single string.
+   *
+   * @param roots the module classes.
+   * @return the joined string.
+   */
+  private static String joinRoots(final String[] roots)
+  {
+    final StringBuffer b = new StringBuffer();
+    for (int i = 0; i < roots.length; i++)
+    {
+      if (i > 0)
+      {
+        b.append(',');
+      }
+      b.append(roots[i]);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Parses a count value.
+   *
+   * @param value the value.
+   * @return the count.
+   */
+  private static int parseCount(final String value)
+  {
+    if (value == null)
+    {
+      return 0;
+    }
+    final int count = Integer.parseInt(value);
+    if (count < 0)
+    {
+      throw new IllegalStateException("Negative count.");
+    }
+    return count;
+  }
+
+  /**
+   * Stores a value, if it is not null.
+   *
+   * @param p the properties.
+   * @param key the key.
+   * @param value the value.
+   */
+  private static void put(final Properties p, final String key, final String value)
+  {
+    if (value != null)
+    {
+      p.setProperty(key, value);
+    }
+  }
+}
@@ -0,0 +1,440 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * PackageInitializer.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ * 18-Oct-2026 : Split the configure and initialize phases;
+ *
+ */
+
+package org.jfree.base.modules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jfree.base.log.PadMessage;
+import org.jfree.util.Log;
+
+/**
+ * Runs the configure and initialize phases of a sorted module list on a
+ * bounded thread pool. The dependency graph is built from the required and
+ * optional modules of each module and from the subsystem relations used by
+ * the {@link PackageSorter}. A module is only started after all modules it
+ * depends on have finished the same phase, so the ordering guarantees of the
+ * sequential initialization are preserved along every edge of the graph.
+ * <p>
+ * The package manager completes the configure phase of all modules before
+ * the first module gets initialized.
+ */
+final class PackageInitializer
+{
+  /**
+   * A single module in the dependency graph of one phase.
+   */
+  private static class Node
+  {
+    /** The package state of the module. */
+    private final PackageState state;
+    /** The nodes that have to wait for this node. */
+    private final ArrayList successors;
+    /** The number of unfinished predecessors. */
+    private final AtomicInteger pending;
+
+    /**
+     * Creates a new node for the given package state.
+     *
+     * @param state the package state.
+     */
+    protected Node(final PackageState state)
+    {
+      this.state = state;
+      this.successors = new ArrayList();
+      this.pending = new AtomicInteger();
+    }
+  }
+
+  /** The phase that configures the modules. */
+  private static final int PHASE_CONFIGURE = 0;
+  /** The phase that initializes the modules. */
+  private static final int PHASE_INITIALIZE = 1;
+
+  /** A counter used to name the worker threads. */
+  private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+  /** The subsystem passed to the modules. */
+  private final SubSystem subSystem;
+  /** The maximum number of worker threads. */
+  private final int maxThreads;
+
+  /** The executor of the current phase. */
+  private ExecutorService executor;
+  /** Counts the unfinished modules of the current phase. */
+  private CountDownLatch remaining;
+  /** The first unexpected error thrown by a module in the current phase. */
+  private volatile Throwable failure;
+
+  /**
+   * Creates a new initializer.
+   *
+   * @param subSystem  the subsystem passed to the modules.
+   * @param maxThreads  the maximum number of worker threads.
+   */
+  protected PackageInitializer(final SubSystem subSystem, final int maxThreads)
+  {
+    if (subSystem == null)
+    {
+      throw new NullPointerException();
+    }
+    if (maxThreads < 1)
+    {
+      throw new IllegalArgumentException("At least one thread is required.");
+    }
+    this.subSystem = subSystem;
+    this.maxThreads = maxThreads;
+  }
+
+  /**
+   * Configures all new modules of the given list. The list must have been
+   * sorted by the {@link PackageSorter}.
+   *
+   * @param modules the sorted list of package states.
+   */
+  public void configure(final List modules)
+  {
+    final PackageState[] states = (PackageState[])
+        modules.toArray(new PackageState[modules.size()]);
+    runPhase(states, PHASE_CONFIGURE);
+  }
+
+  /**
+   * Initializes all configured modules of the given list. The list must have
+   * been sorted by the {@link PackageSorter}.
+   *
+   * @param modules the sorted list of package states.
+   */
+  public void initialize(final List modules)
+  {
+    final PackageState[] states = (PackageState[])
+        modules.toArray(new PackageState[modules.size()]);
+    runPhase(states, PHASE_INITIALIZE);
+  }
+
+  /**
+   * Runs one phase for all modules that are in the matching state.
+   *
+   * @param states the sorted package states.
+   * @param phase the phase.
+   */
+  private void runPhase(final PackageState[] states, final int phase)
+  {
+    final int expectedState;
+    if (phase == PHASE_CONFIGURE)
+    {
+      expectedState = PackageState.STATE_NEW;
+    }
+    else
+    {
+      expectedState = PackageState.STATE_CONFIGURED;
+    }
+
+    final ArrayList nodes = new ArrayList();
+    for (int i = 0; i < states.length; i++)
+    {
+      if (states[i].getState() == expectedState)
+      {
+        nodes.add(new Node(states[i]));
+      }
+    }
+    if (nodes.isEmpty())
+    {
+      return;
+    }
+
+    final Node[] graph = (Node[]) nodes.toArray(new Node[nodes.size()]);
+    buildEdges(graph);
+
+    final int threads = Math.min(this.maxThreads, graph.length);
+    this.executor = createExecutor(threads);
+    this.remaining = new CountDownLatch(graph.length);
+    this.failure = null;
+    try
+    {
+      for (int i = 0; i < graph.length; i++)
+      {
+        if (graph[i].pending.get() == 0)
+        {
+          submit(graph[i], phase);
+        }
+      }
+      awaitPhase();
+    }
+    finally
+    {
+      this.executor.shutdown();
+      this.executor = null;
+    }
+
+    final Throwable t = this.failure;
+    if (t instanceof RuntimeException)
+    {
+      throw (RuntimeException) t;
+    }
+    if (t instanceof Error)
+    {
+      throw (Error) t;
+    }
+  }
+
+  /**
+   * Connects every node with the nodes it depends on. Only nodes that appear
+   * earlier in the sorted list can be predecessors, which keeps the graph
+   * free of cycles even if the module definitions are not.
+   *
+   * @param graph the nodes in sorted order.
+   */
+  private void buildEdges(final Node[] graph)
+  {
+    final HashMap positions = new HashMap();
+    final HashMap subSystems = new HashMap();
+    for (int i = 0; i < graph.length; i++)
+    {
+      final Module module = graph[i].state.getModule();
+      positions.put(module.getModuleClass(), new Integer(i));
+      ArrayList members = (ArrayList) subSystems.get(module.getSubSystem());
+      if (members == null)
+      {
+        members = new ArrayList();
+        subSystems.put(module.getSubSystem(), members);
+      }
+      members.add(new Integer(i));
+    }
+
+    final HashSet predecessors = new HashSet();
+    for (int i = 0; i < graph.length; i++)
+    {
+      final Module module = graph[i].state.getModule();
+      predecessors.clear();
+
+      final HashSet dependSubsystems = new HashSet();
+      addModules(module.getRequiredModules(), positions, graph,
+          i, predecessors, dependSubsystems);
+      addModules(module.getOptionalModules(), positions, graph,
+          i, predecessors, dependSubsystems);
+
+      // modules of other subsystems we depend on are fully processed
+      // before we are, mirroring the ordering of the package sorter.
+      dependSubsystems.remove(module.getSubSystem());
+      final Object[] names = dependSubsystems.toArray();
+      for (int s = 0; s < names.length; s++)
+      {
+        final ArrayList members = (ArrayList) subSystems.get(names[s]);
+        for (int m = 0; m < members.size(); m++)
+        {
+          final Integer pos = (Integer) members.get(m);
+          if (pos.intValue() < i)
+          {
+            predecessors.add(pos);
+          }
+        }
+      }
+
+      final Object[] preds = predecessors.toArray();
+      for (int p = 0; p < preds.length; p++)
+      {
+        final Node pred = graph[((Integer) preds[p]).intValue()];
+        pred.successors.add(graph[i]);
+      }
+      graph[i].pending.set(preds.length);
+    }
+  }
+
+  /**
+   * Adds the positions of the given dependencies to the predecessor set and
+   * records their subsystems. Dependencies that are not part of the current
+   * phase are already complete and are ignored.
+   *
+   * @param infos the module dependencies.
+   * @param positions the positions of all nodes, keyed by module class.
+   * @param graph the nodes in sorted order.
+   * @param position the position of the dependent node.
+   * @param predecessors the collected predecessor positions.
+   * @param dependSubsystems the collected subsystems.
+   */
+  private void addModules(final ModuleInfo[] infos, final HashMap positions,
+                          final Node[] graph, final int position,
+                          final HashSet predecessors,
+                          final HashSet dependSubsystems)
+  {
+    for (int i = 0; i < infos.length; i++)
+    {
+      final Integer pos = (Integer) positions.get(infos[i].getModuleClass());
+      if (pos == null || pos.intValue() >= position)
+      {
+        continue;
+      }
+      predecessors.add(pos);
+      dependSubsystems.add(graph[pos.intValue()].state.getModule().getSubSystem());
+    }
+  }
+
+  /**
+   * Hands the given node over to the executor.
+   *
+   * @param node the node.
+   * @param phase the phase.
+   */
+  private void submit(final Node node, final int phase)
+  {
+    this.executor.execute(new Runnable()
+    {
+      public void run()
+      {
+        process(node, phase);
+      }
+    });
+  }
+
+  /**
+   * Runs the phase for a single module and releases all modules that were
+   * only waiting for this one.
+   *
+   * @param node the node.
+   * @param phase the phase.
+   */
+  private void process(final Node node, final int phase)
+  {
+    try
+    {
+      final PackageState mod = node.state;
+      if (phase == PHASE_CONFIGURE)
+      {
+        if (mod.configure(this.subSystem))
+        {
+          Log.debug(new Log.SimpleMessage("Conf: ",
+              new PadMessage(mod.getModule().getModuleClass(), 70),
+              " [", mod.getModule().getSubSystem(), "]"));
+        }
+      }
+      else
+      {
+        if (mod.initialize(this.subSystem))
+        {
+          Log.debug(new Log.SimpleMessage("Init: ",
+              new PadMessage(mod.getModule().getModuleClass(), 70),
+              " [", mod.getModule().getSubSystem(), "]"));
+        }
+      }
+    }
+    catch (Throwable t)
+    {
+      if (this.failure == null)
+      {
+        this.failure = t;
+      }
+    }
+    finally
+    {
+      for (int i = 0; i < node.successors.size(); i++)
+      {
+        final Node next = (Node) node.successors.get(i);
+        if (next.pending.decrementAndGet() == 0)
+        {
+          submit(next, phase);
+        }
+      }
+      this.remaining.countDown();
+    }
+  }
+
+  /**
+   * Waits until all modules of the current phase are processed. An interrupt
+   * does not abort the boot process, it is restored once the phase is done.
+   */
+  private void awaitPhase()
+  {
+    boolean interrupted = false;
+    while (true)
+    {
+      try
+      {
+        this.remaining.await();
+        break;
+      }
+      catch (InterruptedException ie)
+      {
+        interrupted = true;
+      }
+    }
+    if (interrupted)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Creates the bounded executor for one phase. The worker threads are
+   * daemon threads, so that a hanging module cannot keep the VM alive.
+   *
+   * @param threads the number of worker threads.
+   * @return the executor.
+   */
+  private ExecutorService createExecutor(final int threads)
+  {
+    final int pool = POOL_COUNT.incrementAndGet();
+    final ThreadFactory factory = new ThreadFactory()
+    {
+      private final AtomicInteger count = new AtomicInteger();
+
+      public Thread newThread(final Runnable r)
+      {
+        final Thread t = new Thread(r, "PackageInitializer-" + pool
+            + "-" + this.count.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      }
+    };
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue(), factory);
+  }
+}
@@ -38,18 +38,28 @@
  * -------
  * 26-Jun-2003 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Added optional parallel module initialization;
+ * 18-Oct-2026 : Added a module index for the loaded module lookups;
+ * 18-Oct-2026 : Added boot profiling;
+ * 18-Oct-2026 : Added the cached module manifest;
+ * 18-Oct-2026 : Added lazy initialization of deferrable modules;
  *
  */
 
 package org.jfree.base.modules;
 
+import java.io.File;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jfree.base.AbstractBoot;
+import org.jfree.base.BootProfiler;
 import org.jfree.base.config.HierarchicalConfiguration;
 import org.jfree.base.config.PropertyFileConfiguration;
 import org.jfree.base.log.PadMessage;
@@ -110,6 +120,37 @@ public final class PackageManager {
      */
     private static final int RETURN_MODULE_ERROR = 2;
 
+    /**
+     * The configuration key that enables the parallel initialization of
+     * independent modules. Defaults to <code>false</code>.
+     */
+    public static final String PARALLEL_INITIALIZATION_KEY =
+        "org.jfree.base.modules.ParallelInitialization";
+
+    /**
+     * The configuration key that limits the number of threads used for the
+     * parallel module initialization. A value less than one uses the number
+     * of available processors.
+     */
+    public static final String INITIALIZATION_THREADS_KEY =
+        "org.jfree.base.modules.InitializationThreads";
+
+    /**
+     * The configuration key that enables the lazy initialization. If enabled,
+     * modules implementing {@link DeferrableModule} are initialized on first use
+     * instead of during the boot. Defaults to <code>false</code>.
+     */
+    public static final String LAZY_INITIALIZATION_KEY =
+        "org.jfree.base.modules.LazyInitialization";
+
+    /**
+     * The configuration key that names the directory where the module manifest
+     * is cached. The manifest stores the result of the module discovery, so that
+     * later boots with the same class path can skip it. The manifest is
+     * written by {@link #initializeModules()}. Empty to disable the manifest.
+     */
+    public static final String MANIFEST_DIRECTORY_KEY =
+        "org.jfree.base.modules.ManifestDirectory";
 
     /**
      * The module configuration instance that should be used to store module
@@ -122,6 +163,15 @@ public final class PackageManager {
      * A list of all defined modules.
      */
     private final ArrayList modules;
+    /**
+     * The package states of all defined modules, keyed by module class.
+     */
+    private final ConcurrentHashMap moduleIndex;
+    /**
+     * The classes of the configured modules whose initialization has been
+     * deferred until first use.
+     */
+    private final ConcurrentHashMap deferredModules;
     /**
      * A list of module name definitions.
      */
@@ -130,6 +180,12 @@ public final class PackageManager {
     /** The boot implementation for which the modules are managed. */
     private AbstractBoot booter;
 
+    /** The module manifest, created on first use. */
+    private ModuleManifest manifest;
+
+    /** A flag indicating whether the manifest has been looked up. */
+    private boolean manifestChecked;
+
     /** The instances of all modules for all booters. */
     private static HashMap instances;
 
@@ -167,26 +223,84 @@ public final class PackageManager {
         this.booter = booter;
         this.packageConfiguration = new PackageConfiguration();
         this.modules = new ArrayList();
+        this.moduleIndex = new ConcurrentHashMap();
+        this.deferredModules = new ConcurrentHashMap();
         this.initSections = new ArrayList();
     }
 
     /**
-     * Checks, whether a certain module is available.
+     * Checks, whether a certain module is available. A module whose
+     * initialization has been deferred is initialized by this call.
      *
      * @param moduleDescription the module description of the desired module.
      * @return true, if the module is available and the version of the module
      *         is compatible, false otherwise.
      */
     public boolean isModuleAvailable(final ModuleInfo moduleDescription) {
-        final PackageState[] packageStates =
-            (PackageState[]) this.modules.toArray(new PackageState[this.modules.size()]);
-        for (int i = 0; i < packageStates.length; i++) {
-            final PackageState state = packageStates[i];
-            if (state.getModule().getModuleClass().equals(moduleDescription.getModuleClass())) {
-                return (state.getState() == PackageState.STATE_INITIALIZED);
+        return getModule(moduleDescription.getModuleClass()) != null;
+    }
+
+    /**
+     * Returns the initialized module with the given module class. If the
+     * initialization of the module has been deferred, the module and all
+     * deferred modules it depends on are initialized now.
+     *
+     * @param moduleClass the module class.
+     * @return the module, or null if the module is not available.
+     */
+    public Module getModule(final String moduleClass) {
+        final PackageState state = (PackageState) this.moduleIndex.get(moduleClass);
+        if (state == null) {
+            return null;
+        }
+        if (state.getState() == PackageState.STATE_CONFIGURED
+            && this.deferredModules.containsKey(moduleClass)) {
+            activateModule(state, new HashSet());
+        }
+        if (state.getState() == PackageState.STATE_INITIALIZED) {
+            return state.getModule();
+        }
+        return null;
+    }
+
+    /**
+     * Initializes a deferred module after all deferred modules it depends on.
+     *
+     * @param state the package state of the deferred module.
+     * @param visited the module classes visited so far.
+     */
+    private void activateModule(final PackageState state, final HashSet visited) {
+        final Module module = state.getModule();
+        if (visited.add(module.getModuleClass()) == false) {
+            return;
+        }
+        activateModules(module.getRequiredModules(), visited);
+        activateModules(module.getOptionalModules(), visited);
+        if (state.initialize(this.booter)) {
+            Log.debug(new Log.SimpleMessage("Init: ",
+                new PadMessage(module.getModuleClass(), 70),
+                " [", module.getSubSystem(), "] on first use"));
+        }
+        this.deferredModules.remove(module.getModuleClass());
+    }
+
+    /**
+     * Initializes all deferred modules among the given dependencies.
+     *
+     * @param infos the dependencies.
+     * @param visited the module classes visited so far.
+     */
+    private void activateModules(final ModuleInfo[] infos, final HashSet visited) {
+        for (int i = 0; i < infos.length; i++) {
+            final String moduleClass = infos[i].getModuleClass();
+            if (this.deferredModules.containsKey(moduleClass) == false) {
+                continue;
+            }
+            final PackageState state = (PackageState) this.moduleIndex.get(moduleClass);
+            if (state != null) {
+                activateModule(state, visited);
             }
         }
-        return false;
     }
 
     /**
@@ -202,41 +316,226 @@ public final class PackageManager {
         }
         this.initSections.add(modulePrefix);
 
+        final BootProfiler.Span span = BootProfiler.begin
+            (BootProfiler.CATEGORY_MODULE, "load", modulePrefix);
         final Configuration config = this.booter.getGlobalConfig();
         final Iterator it = config.findPropertyKeys(modulePrefix);
-        int count = 0;
+        final ArrayList moduleClasses = new ArrayList();
         while (it.hasNext()) {
             final String key = (String) it.next();
             if (key.endsWith(".Module")) {
                 final String moduleClass = config.getConfigProperty(key);
                 if (moduleClass != null && moduleClass.length() > 0) {
-                    addModule(moduleClass);
-                    count++;
+                    moduleClasses.add(moduleClass);
                 }
             }
         }
-        Log.debug("Loaded a total of " + count + " modules under prefix: " + modulePrefix);
+        final String[] roots = (String[])
+            moduleClasses.toArray(new String[moduleClasses.size()]);
+
+        loadModules(modulePrefix, roots);
+        BootProfiler.end(span);
+        Log.debug("Loaded a total of {} modules under prefix: {}",
+            new Integer(roots.length), modulePrefix);
+    }
+
+    /**
+     * Loads the given modules and all modules they depend on. The modules are
+     * taken from the manifest section of the given name if possible, otherwise
+     * they are resolved and the result is recorded in the manifest.
+     *
+     * @param section the name of the manifest section.
+     * @param roots the module classes.
+     */
+    private synchronized void loadModules(final String section, final String[] roots) {
+        final ModuleManifest manifest = getManifest();
+        if (manifest != null && loadFromManifest(manifest, section, roots)) {
+            return;
+        }
+        final int first = this.modules.size();
+        for (int i = 0; i < roots.length; i++) {
+            resolveModule(roots[i]);
+        }
+        if (manifest != null) {
+            recordManifest(manifest, section, roots, first);
+        }
+    }
+
+    /**
+     * Returns the module manifest of this package manager. The manifest is
+     * loaded when this method is called for the first time.
+     *
+     * @return the manifest or null, if no manifest directory is configured.
+     */
+    private synchronized ModuleManifest getManifest() {
+        if (this.manifestChecked) {
+            return this.manifest;
+        }
+        this.manifestChecked = true;
+        final String directory = this.booter.getGlobalConfig().getConfigProperty
+            (MANIFEST_DIRECTORY_KEY);
+        if (directory == null || directory.trim().length() == 0) {
+            return null;
+        }
+        final File file = new File(directory.trim(),
+            this.booter.getClass().getName() + ".modules");
+        final String fingerprint = ModuleManifest.computeFingerprint
+            (this.booter.getClass(), ObjectUtilities.getClassLoader(getClass()));
+        this.manifest = ModuleManifest.load(file, fingerprint);
+        return this.manifest;
+    }
+
+    /**
+     * Loads the modules of the given prefix as recorded in the manifest. The
+     * modules are instantiated, but their dependencies are not resolved again.
+     * If the manifest does not match the configuration or a recorded module
+     * cannot be instantiated, nothing is loaded.
+     *
+     * @param manifest the manifest.
+     * @param modulePrefix the name of the manifest section.
+     * @param roots the configured module classes.
+     * @return true, if the modules have been loaded from the manifest.
+     */
+    private synchronized boolean loadFromManifest(final ModuleManifest manifest,
+                                                  final String modulePrefix,
+                                                  final String[] roots) {
+        final ModuleManifest.Entry[] entries = manifest.getEntries(modulePrefix, roots);
+        if (entries == null) {
+            return false;
+        }
+
+        final ArrayList states = new ArrayList();
+        final HashMap available = new HashMap();
+        try {
+            final ClassLoader loader = ObjectUtilities.getClassLoader(getClass());
+            for (int i = 0; i < entries.length; i++) {
+                final String moduleClass =
+                    entries[i].getDescription().getModuleClass();
+                if (this.moduleIndex.containsKey(moduleClass)) {
+                    continue;
+                }
+                final Class c = loader.loadClass(moduleClass);
+                final Module module = ModuleManifest.instantiate
+                    (c, entries[i].getDescription());
+                final PackageState state;
+                if (entries[i].isFailed()) {
+                    state = new PackageState(module, PackageState.STATE_ERROR);
+                }
+                else {
+                    state = new PackageState(module);
+                    available.put(moduleClass, module);
+                }
+                states.add(state);
+            }
+        }
+        catch (Exception e) {
+            Log.debug("The module manifest is out of date: " + modulePrefix, e);
+            manifest.removeEntries(modulePrefix);
+            return false;
+        }
+        catch (LinkageError e) {
+            Log.debug("The module manifest is out of date: " + modulePrefix);
+            manifest.removeEntries(modulePrefix);
+            return false;
+        }
+
+        // the required modules of a prefix may have been recorded with an
+        // other prefix, which must then have been loaded already.
+        for (int i = 0; i < states.size(); i++) {
+            final PackageState state = (PackageState) states.get(i);
+            if (state.getState() == PackageState.STATE_ERROR) {
+                continue;
+            }
+            final ModuleInfo[] required = state.getModule().getRequiredModules();
+            for (int r = 0; r < required.length; r++) {
+                final String moduleClass = required[r].getModuleClass();
+                if (available.containsKey(moduleClass)) {
+                    continue;
+                }
+                final PackageState loaded =
+                    (PackageState) this.moduleIndex.get(moduleClass);
+                if (loaded == null || loaded.getState() == PackageState.STATE_ERROR) {
+                    Log.debug(new Log.SimpleMessage("The module manifest does not ",
+                        "resolve ", moduleClass, " for prefix ", modulePrefix));
+                    manifest.removeEntries(modulePrefix);
+                    return false;
+                }
+            }
+        }
+
+        for (int i = 0; i < states.size(); i++) {
+            addPackageState((PackageState) states.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Records the modules loaded for the given prefix in the manifest. The
+     * manifest is written once all modules are loaded.
+     *
+     * @param manifest the manifest.
+     * @param modulePrefix the name of the manifest section.
+     * @param roots the configured module classes.
+     * @param first the index of the first module loaded for the prefix.
+     */
+    private synchronized void recordManifest(final ModuleManifest manifest,
+                                             final String modulePrefix,
+                                             final String[] roots,
+                                             final int first) {
+        final PackageState[] states = new PackageState[this.modules.size() - first];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = (PackageState) this.modules.get(first + i);
+        }
+        manifest.putEntries(modulePrefix, roots, states);
     }
 
     /**
      * Initializes all previously uninitialized modules. Once a module is initialized,
      * it is not re-initialized a second time.
+     * <p>
+     * If {@link #PARALLEL_INITIALIZATION_KEY} is enabled, modules that do not
+     * depend on each other are configured and initialized concurrently. A module
+     * is still never started before the modules it depends on are done.</p>
+     * <p>
+     * If {@link #LAZY_INITIALIZATION_KEY} is enabled, deferrable modules are
+     * configured, but their initialization is deferred until first use.</p>
      */
     public synchronized void initializeModules() {
+        // all modules are loaded now, so the manifest is written once.
+        if (this.manifest != null && this.manifest.isModified()) {
+            this.manifest.store();
+        }
+
         // sort by subsystems and dependency
+        final BootProfiler.Span span = BootProfiler.begin
+            (BootProfiler.CATEGORY_MODULE, "sort");
         PackageSorter.sort(this.modules);
+        BootProfiler.end(span);
 
-        for (int i = 0; i < this.modules.size(); i++) {
-            final PackageState mod = (PackageState) this.modules.get(i);
-            if (mod.configure(this.booter)) {
-                Log.debug(new Log.SimpleMessage("Conf: ",
-                    new PadMessage(mod.getModule().getModuleClass(), 70),
-                    " [", mod.getModule().getSubSystem(), "]"));
+        final int threads = getInitializationThreads();
+        PackageInitializer initializer = null;
+        if (threads > 1) {
+            initializer = new PackageInitializer(this.booter, threads);
+            initializer.configure(this.modules);
+        }
+        else {
+            for (int i = 0; i < this.modules.size(); i++) {
+                final PackageState mod = (PackageState) this.modules.get(i);
+                if (mod.configure(this.booter)) {
+                    Log.debug(new Log.SimpleMessage("Conf: ",
+                        new PadMessage(mod.getModule().getModuleClass(), 70),
+                        " [", mod.getModule().getSubSystem(), "]"));
+                }
             }
         }
 
-        for (int i = 0; i < this.modules.size(); i++) {
-            final PackageState mod = (PackageState) this.modules.get(i);
+        final ArrayList bootModules = collectBootModules();
+        if (initializer != null) {
+            initializer.initialize(bootModules);
+            return;
+        }
+        for (int i = 0; i < bootModules.size(); i++) {
+            final PackageState mod = (PackageState) bootModules.get(i);
             if (mod.initialize(this.booter)) {
                 Log.debug(new Log.SimpleMessage("Init: ",
                     new PadMessage(mod.getModule().getModuleClass(), 70),
@@ -245,6 +544,87 @@ public final class PackageManager {
         }
     }
 
+    /**
+     * Collects the configured modules that have to be initialized during the
+     * boot. If the lazy initialization is enabled, deferrable modules are only
+     * included if a module initialized during the boot depends on them; all
+     * other deferrable modules are recorded as deferred.
+     *
+     * @return the sorted list of package states to initialize.
+     */
+    private ArrayList collectBootModules() {
+        final ArrayList bootModules = new ArrayList();
+        final boolean lazy = "true".equals(this.booter.getGlobalConfig().getConfigProperty
+            (LAZY_INITIALIZATION_KEY, "false"));
+        final HashSet required = new HashSet();
+
+        // dependencies are sorted before the modules that use them, so walking
+        // backwards visits every module before its dependencies.
+        for (int i = this.modules.size() - 1; i >= 0; i--) {
+            final PackageState state = (PackageState) this.modules.get(i);
+            if (state.getState() != PackageState.STATE_CONFIGURED) {
+                continue;
+            }
+            final Module module = state.getModule();
+            if (lazy && required.contains(module.getModuleClass()) == false
+                && module instanceof DeferrableModule
+                && ((DeferrableModule) module).isDeferrable(this.booter)) {
+                if (this.deferredModules.put(module.getModuleClass(), Boolean.TRUE) == null) {
+                    Log.debug(new Log.SimpleMessage("Lazy: ",
+                        new PadMessage(module.getModuleClass(), 70),
+                        " [", module.getSubSystem(), "]"));
+                }
+                continue;
+            }
+            this.deferredModules.remove(module.getModuleClass());
+            bootModules.add(state);
+            addModuleClasses(required, module.getRequiredModules());
+            addModuleClasses(required, module.getOptionalModules());
+        }
+        Collections.reverse(bootModules);
+        return bootModules;
+    }
+
+    /**
+     * Adds the module classes of the given module infos to the set.
+     *
+     * @param set the set.
+     * @param infos the module infos.
+     */
+    private static void addModuleClasses(final HashSet set, final ModuleInfo[] infos) {
+        for (int i = 0; i < infos.length; i++) {
+            set.add(infos[i].getModuleClass());
+        }
+    }
+
+    /**
+     * Returns the number of threads used to initialize the modules. Modules
+     * are initialized sequentially unless the parallel initialization has
+     * been enabled in the global configuration.
+     *
+     * @return the number of threads, 1 for the sequential initialization.
+     */
+    private int getInitializationThreads() {
+        final Configuration config = this.booter.getGlobalConfig();
+        if ("true".equals(config.getConfigProperty
+            (PARALLEL_INITIALIZATION_KEY, "false")) == false) {
+            return 1;
+        }
+        int threads = 0;
+        try {
+            threads = Integer.parseInt(config.getConfigProperty
+                (INITIALIZATION_THREADS_KEY, "0").trim());
+        }
+        catch (NumberFormatException nfe) {
+            Log.warn("Invalid number of initialization threads: {}",
+                config.getConfigProperty(INITIALIZATION_THREADS_KEY));
+        }
+        if (threads < 1) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return threads;
+    }
+
     /**
      * Adds a module to the package manager.
      * Once all modules are added, you have to call initializeModules()
@@ -253,17 +633,41 @@ public final class PackageManager {
      * @param modClass the module class
      */
     public synchronized void addModule(final String modClass) {
+        loadModules("module:" + modClass, new String[] {modClass});
+    }
+
+    /**
+     * Loads the given module and all modules it depends on.
+     *
+     * @param modClass the module class
+     */
+    private void resolveModule(final String modClass) {
         final ArrayList loadModules = new ArrayList();
         final ModuleInfo modInfo = new DefaultModuleInfo
             (modClass, null, null, null);
         if (loadModule(modInfo, new ArrayList(), loadModules, false)) {
             for (int i = 0; i < loadModules.size(); i++) {
                 final Module mod = (Module) loadModules.get(i);
-                this.modules.add(new PackageState(mod));
+                addPackageState(new PackageState(mod));
             }
         }
     }
 
+    /**
+     * Adds a package state to the list of defined modules and to the module
+     * index. If the index already contains a state for the same module class,
+     * the index keeps the first state.
+     *
+     * @param state the package state.
+     */
+    private void addPackageState(final PackageState state) {
+        this.modules.add(state);
+        final String moduleClass = state.getModule().getModuleClass();
+        if (this.moduleIndex.containsKey(moduleClass) == false) {
+            this.moduleIndex.put(moduleClass, state);
+        }
+    }
+
     /**
      * Checks, whether the given module is already loaded in either the given
      * tempModules list or the global package registry. If tmpModules is null,
@@ -274,29 +678,24 @@ public final class PackageManager {
      * @return true, if the module is already loaded, false otherwise.
      */
     private int containsModule(final ArrayList tempModules, final ModuleInfo module) {
+        final String moduleClass = module.getModuleClass();
         if (tempModules != null) {
-            final ModuleInfo[] mods = (ModuleInfo[])
-                tempModules.toArray(new ModuleInfo[tempModules.size()]);
-            for (int i = 0; i < mods.length; i++) {
-                if (mods[i].getModuleClass().equals(module.getModuleClass())) {
+            for (int i = 0; i < tempModules.size(); i++) {
+                final ModuleInfo mod = (ModuleInfo) tempModules.get(i);
+                if (mod.getModuleClass().equals(moduleClass)) {
                     return RETURN_MODULE_LOADED;
                 }
             }
         }
 
-        final PackageState[] packageStates =
-            (PackageState[]) this.modules.toArray(new PackageState[this.modules.size()]);
-        for (int i = 0; i < packageStates.length; i++) {
-            if (packageStates[i].getModule().getModuleClass().equals(module.getModuleClass())) {
-                if (packageStates[i].getState() == PackageState.STATE_ERROR) {
-                    return RETURN_MODULE_ERROR;
-                }
-                else {
-                    return RETURN_MODULE_LOADED;
-                }
-            }
+        final PackageState state = (PackageState) this.moduleIndex.get(moduleClass);
+        if (state == null) {
+            return RETURN_MODULE_UNKNOWN;
+        }
+        if (state.getState() == PackageState.STATE_ERROR) {
+            return RETURN_MODULE_ERROR;
         }
-        return RETURN_MODULE_UNKNOWN;
+        return RETURN_MODULE_LOADED;
     }
 
     /**
@@ -307,8 +706,8 @@ public final class PackageManager {
      * @param state the failed module.
      */
     private void dropFailedModule(final PackageState state) {
-        if (this.modules.contains(state) == false) {
-            this.modules.add(state);
+        if (this.moduleIndex.containsKey(state.getModule().getModuleClass()) == false) {
+            addPackageState(state);
         }
     }
 
@@ -346,7 +745,7 @@ public final class PackageManager {
             final int moduleContained = containsModule(modules, module);
             if (moduleContained == RETURN_MODULE_ERROR) {
                 // the module caused harm before ...
-                Log.debug("Indicated failure for module: " + module.getModuleClass());
+                Log.debug("Indicated failure for module: {}", module.getModuleClass());
                 final PackageState state = new PackageState(module, PackageState.STATE_ERROR);
                 dropFailedModule(state);
                 return false;
@@ -365,7 +764,7 @@ public final class PackageManager {
                 final ModuleInfo[] required = module.getRequiredModules();
                 for (int i = 0; i < required.length; i++) {
                     if (loadModule(required[i], incompleteModules, modules, true) == false) {
-                        Log.debug("Indicated failure for module: " + module.getModuleClass());
+                        Log.debug("Indicated failure for module: {}", module.getModuleClass());
                         final PackageState state = new PackageState(module, PackageState.STATE_ERROR);
                         dropFailedModule(state);
                         return false;
@@ -414,7 +813,7 @@ public final class PackageManager {
             return true;
         }
         if (module.getMajorVersion() == null) {
-            Log.warn("Module " + module.getName() + " does not define a major version.");
+            Log.warn("Module {} does not define a major version.", module.getName());
         }
         else {
             final int compare = acceptVersion(moduleRequirement.getMajorVersion(),
@@ -431,7 +830,7 @@ public final class PackageManager {
             return true;
         }
         if (module.getMinorVersion() == null) {
-            Log.warn("Module " + module.getName() + " does not define a minor version.");
+            Log.warn("Module {} does not define a minor version.", module.getName());
         }
         else {
             final int compare = acceptVersion(moduleRequirement.getMinorVersion(),
@@ -448,7 +847,7 @@ public final class PackageManager {
             return true;
         }
         if (module.getPatchLevel() == null) {
-            Log.debug("Module " + module.getName() + " does not define a patch level.");
+            Log.debug("Module {} does not define a patch level.", module.getName());
         }
         else {
             if (acceptVersion(moduleRequirement.getPatchLevel(),
@@ -554,7 +953,9 @@ public final class PackageManager {
         final ArrayList failedModules = new ArrayList();
 
         for (int i = 0; i < allMods.length; i++) {
-            if (isModuleAvailable(allMods[i])) {
+            final PackageState state = (PackageState)
+                this.moduleIndex.get(allMods[i].getModuleClass());
+            if (state != null && state.getState() == PackageState.STATE_INITIALIZED) {
                 activeModules.add(allMods[i]);
             }
             else {
@@ -38,27 +38,33 @@
  * -------
  * 02-Sep-2003 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Replaced the weighting passes with a topological sort;
  *
  */
 
 package org.jfree.base.modules;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 
 import org.jfree.util.Log;
 
 /**
- * Compares two modules for order. A module is considered less than an other
- * module if the module is a required module of the compared module. Modules
- * are considered equal if they have no relation.
+ * Sorts modules by their dependencies. A module is placed after all modules
+ * it requires or optionally uses. If a module depends on a module of an other
+ * subsystem, it is also placed after all modules of that subsystem which do
+ * not depend on the module itself. This way subsystems are fully initialized
+ * before they are used.
  * <p>
- * When sorting, we match this modules position against all dependent
- * modules until all positions are stable. Circular references are evil
- * and are filtered during the module loading process in the package manager.
+ * The modules form a directed graph which is ordered with Kahn's algorithm.
+ * Every module gets the length of the longest dependency chain leading to it
+ * as its position, and modules with equal positions keep their original
+ * relative order. Circular references should have been filtered during the
+ * module loading process in the package manager. Subsystem relations can
+ * still form a cycle; such a cycle is reported and the modules on it are
+ * ordered by their direct dependencies only.
  *
  * @author Thomas Morgner
  */
@@ -71,82 +77,50 @@ public final class PackageSorter
    *
    * @author Thomas Morgner
    */
-  private static class SortModule implements Comparable
+  private static class SortModule
   {
-    /** stores the relative position of the module in the global list. */
-    private int position;
+    /** The index of the module in the unsorted list. */
+    private final int index;
     /** The package state of the to be matched module. */
     private final PackageState state;
-    /** A list of all directly dependent subsystems. */
-    private ArrayList dependSubsystems;
-    // direct dependencies, indirect ones are handled by the
-    // dependent classes ...
+    /** The class names of all direct dependencies. */
+    private final HashSet dependencies;
+    /** The modules that must be placed before this module. */
+    private final ArrayList predecessors;
+    /** The modules that must be placed after this module. */
+    private final ArrayList successors;
+    /** The number of predecessors that have not been placed yet. */
+    private int pending;
+    /** True, once the position of the module is final. */
+    private boolean placed;
+    /** stores the relative position of the module in the global list. */
+    private int position;
 
     /**
      * Creates a new SortModule for the given package state.
      *
+     * @param index the index of the module in the unsorted list.
      * @param state the package state object, that should be wrapped up
      * by this class.
      */
-    public SortModule(final PackageState state)
+    protected SortModule(final int index, final PackageState state)
     {
-      this.position = -1;
+      this.index = index;
       this.state = state;
+      this.dependencies = new HashSet();
+      this.predecessors = new ArrayList();
+      this.successors = new ArrayList();
+      this.position = -1;
     }
 
     /**
-     * Returns the list of all dependent subsystems. The list gets defined
-     * when the sorting is started.
-     *
-     * @return the list of all dependent subsystems.
-     */
-    public ArrayList getDependSubsystems()
-    {
-      return this.dependSubsystems;
-    }
-
-    /**
-     * Defines a list of dependent subsystems for this module. The list contains
-     * the names of the dependent subsystems as strings.
-     *
-     * @param dependSubsystems a list of all dependent subsystems.
-     */
-    public void setDependSubsystems(final ArrayList dependSubsystems)
-    {
-      this.dependSubsystems = dependSubsystems;
-    }
-
-    /**
-     * Returns the current position of this module in the global list.
-     * The position is computed by comparing all positions of all dependent
-     * subsystem modules.
-     *
-     * @return the current module position.
-     */
-    public int getPosition()
-    {
-      return this.position;
-    }
-
-    /**
-     * Defines the position of this module in the global list of all
-     * known modules.
-     *
-     * @param position the position.
-     */
-    public void setPosition(final int position)
-    {
-      this.position = position;
-    }
-
-    /**
-     * Returns the package state contained in this SortModule.
+     * Returns the module wrapped by this SortModule.
      *
-     * @return the package state of this module.
+     * @return the module.
      */
-    public PackageState getState()
+    public Module getModule()
     {
-      return this.state;
+      return this.state.getModule();
     }
 
     /**
@@ -167,31 +141,6 @@ public final class PackageSorter
       buffer.append(this.state.getModule().getModuleClass());
       return buffer.toString();
     }
-
-    /**
-     * Compares this module against an other sort module.
-     *
-     * @see java.lang.Comparable#compareTo(java.lang.Object)
-     *
-     * @param o the other sort module instance.
-     * @return -1 if the other's module position is less than
-     * this modules position, +1 if this module is less than the
-     * other module or 0 if both modules have an equal position in
-     * the list.
-     */
-    public int compareTo(final Object o)
-    {
-      final SortModule otherModule = (SortModule) o;
-      if (this.position > otherModule.position)
-      {
-        return +1;
-      }
-      if (this.position < otherModule.position)
-      {
-        return -1;
-      }
-      return 0;
-    }
   }
 
   /**
@@ -205,7 +154,8 @@ public final class PackageSorter
    * Sorts the given list of package states. The packages
    * are sorted by their dependencies in a way so that all
    * dependent packages are placed on lower positions than
-   * the packages which declared the dependency.
+   * the packages which declared the dependency. Packages in
+   * the error state are moved to the end of the list.
    *
    * @param modules the list of modules.
    */
@@ -213,7 +163,7 @@ public final class PackageSorter
   {
     final HashMap moduleMap = new HashMap();
     final ArrayList errorModules = new ArrayList();
-    final ArrayList weightModules = new ArrayList();
+    final ArrayList sortModules = new ArrayList();
 
     for (int i = 0; i < modules.size(); i++)
     {
@@ -224,50 +174,35 @@ public final class PackageSorter
       }
       else
       {
-        final SortModule mod = new SortModule(state);
-        weightModules.add (mod);
+        final SortModule mod = new SortModule(sortModules.size(), state);
+        sortModules.add (mod);
         moduleMap.put(state.getModule().getModuleClass(), mod);
       }
     }
 
-    final SortModule[] weigths = (SortModule[])
-        weightModules.toArray(new SortModule[weightModules.size()]);
-
-    for (int i = 0; i < weigths.length; i++)
-    {
-      final SortModule sortMod = weigths[i];
-      sortMod.setDependSubsystems
-          (collectSubsystemModules(sortMod.getState().getModule(),
-              moduleMap));
-    }
-
+    final SortModule[] graph = (SortModule[])
+        sortModules.toArray(new SortModule[sortModules.size()]);
+    buildGraph(graph, moduleMap);
 
-    // repeat the computation until all modules have a matching
-    // position. This is not the best algorithm, but it works
-    // and is relativly simple. It will need some optimizations
-    // in the future, but as this is only executed once, we don't
-    // have to care much about it.
-    boolean doneWork = true;
-    while (doneWork)
+    int placed = computePositions(graph);
+    if (placed < graph.length)
     {
-      doneWork = false;
-      for (int i = 0; i < weigths.length; i++)
+      reportCycle(graph, "Circular subsystem dependency, " +
+          "ignoring the subsystem order of: ", false);
+      placed += computeDirectPositions(graph);
+      if (placed < graph.length)
       {
-        final SortModule mod = weigths[i];
-        final int position = searchModulePosition(mod, moduleMap);
-        if (position != mod.getPosition())
-        {
-          mod.setPosition(position);
-          doneWork = true;
-        }
+        reportCycle(graph, "Circular module dependency, " +
+            "the module order is undefined: ", true);
+        placeRemaining(graph);
       }
     }
 
-    Arrays.sort(weigths);
     modules.clear();
-    for (int i = 0; i < weigths.length; i++)
+    final SortModule[] sorted = orderByPosition(graph);
+    for (int i = 0; i < sorted.length; i++)
     {
-      modules.add (weigths[i].getState());
+      modules.add (sorted[i].state);
     }
     for (int i = 0; i < errorModules.size(); i++)
     {
@@ -276,173 +211,378 @@ public final class PackageSorter
   }
 
   /**
-   * Computes the new module position. This position is computed
-   * according to the dependent modules and subsystems. The returned
-   * position will be higher than the highest dependent module position.
+   * Connects all modules with the modules they depend on, either directly
+   * or through a subsystem.
    *
-   * @param smodule the sort module for that we compute the new positon.
-   * @param moduleMap the map with all modules.
-   * @return the new positon.
+   * @param graph the modules in their original order.
+   * @param moduleMap the map of all modules, keyed by module class.
    */
-  private static int searchModulePosition
-      (final SortModule smodule, final HashMap moduleMap)
+  private static void buildGraph (final SortModule[] graph,
+                                  final HashMap moduleMap)
   {
-    final Module module = smodule.getState().getModule();
-    int position = 0;
-
-    // check the required modules. Increase our level to at least
-    // one point over the highest dependent module
-    // ignore missing modules.
-    ModuleInfo[] modInfo = module.getOptionalModules();
-    for (int modPos = 0; modPos < modInfo.length; modPos++)
+    final HashMap subSystems = new HashMap();
+    final HashSet[] dependSubsystems = new HashSet[graph.length];
+    for (int i = 0; i < graph.length; i++)
     {
-      final String moduleName = modInfo[modPos].getModuleClass();
-      final SortModule reqMod = (SortModule) moduleMap.get(moduleName);
-      if (reqMod == null)
+      final SortModule mod = graph[i];
+      final Module module = mod.getModule();
+      final String subSystem = module.getSubSystem();
+      ArrayList members = (ArrayList) subSystems.get(subSystem);
+      if (members == null)
       {
-        continue;
+        members = new ArrayList();
+        subSystems.put(subSystem, members);
       }
-      if (reqMod.getPosition() >= position)
+      members.add(mod);
+
+      dependSubsystems[i] = new HashSet();
+      // there are no missing required modules here (or the package
+      // manager is invalid), optional modules may be missing.
+      collectDependencies(mod, module.getRequiredModules(), moduleMap,
+          dependSubsystems[i], true);
+      collectDependencies(mod, module.getOptionalModules(), moduleMap,
+          dependSubsystems[i], false);
+    }
+
+    // the subsystem dependencies make sure that subsystems are fully
+    // initialized before we try to use them.
+    final int[] marks = new int[graph.length];
+    for (int i = 0; i < graph.length; i++)
+    {
+      final SortModule mod = graph[i];
+      final String moduleClass = mod.getModule().getModuleClass();
+      final String subSystem = mod.getModule().getSubSystem();
+
+      final int mark = i + 1;
+      marks[i] = mark;
+      for (int p = 0; p < mod.predecessors.size(); p++)
       {
-        position = reqMod.getPosition() + 1;
+        marks[((SortModule) mod.predecessors.get(p)).index] = mark;
+      }
+
+      final Object[] names = dependSubsystems[i].toArray();
+      for (int s = 0; s < names.length; s++)
+      {
+        // Within the same subsystem the dependencies are computed
+        // solely by the direct references.
+        if (subSystem.equals(names[s]))
+        {
+          continue;
+        }
+        final ArrayList members = (ArrayList) subSystems.get(names[s]);
+        for (int m = 0; m < members.size(); m++)
+        {
+          final SortModule other = (SortModule) members.get(m);
+          if (marks[other.index] == mark)
+          {
+            continue;
+          }
+          // a base module of the given subsystem that depends on
+          // us would create a cycle.
+          if (other.dependencies.contains(moduleClass))
+          {
+            continue;
+          }
+          marks[other.index] = mark;
+          addEdge(other, mod);
+        }
       }
     }
+  }
 
-    // check the required modules. Increase our level to at least
-    // one point over the highest dependent module
-    // there are no missing modules here (or the package manager
-    // is invalid)
-    modInfo = module.getRequiredModules();
-    for (int modPos = 0; modPos < modInfo.length; modPos++)
+  /**
+   * Adds edges from the given dependencies to the dependent module and
+   * records the subsystems of the dependencies.
+   *
+   * @param mod the dependent module.
+   * @param info the dependencies.
+   * @param moduleMap the map of all modules, keyed by module class.
+   * @param dependSubsystems the collected subsystem names.
+   * @param required true, if the dependencies are required.
+   */
+  private static void collectDependencies (final SortModule mod,
+                                           final ModuleInfo[] info,
+                                           final HashMap moduleMap,
+                                           final HashSet dependSubsystems,
+                                           final boolean required)
+  {
+    for (int i = 0; i < info.length; i++)
     {
-      final String moduleName = modInfo[modPos].getModuleClass();
+      final String moduleName = info[i].getModuleClass();
       final SortModule reqMod = (SortModule) moduleMap.get(moduleName);
       if (reqMod == null)
       {
-        Log.warn ("Invalid state: Required dependency of '" + moduleName + "' had an error.");
+        if (required)
+        {
+          Log.warn ("Invalid state: Required dependency of '" + moduleName + "' had an error.");
+        }
         continue;
       }
-      if (reqMod.getPosition() >= position)
+      if (reqMod == mod || mod.dependencies.add(moduleName) == false)
       {
-        position = reqMod.getPosition() + 1;
+        continue;
       }
+      addEdge(reqMod, mod);
+      dependSubsystems.add(reqMod.getModule().getSubSystem());
     }
+  }
 
-    // check the subsystem dependencies. This way we make sure
-    // that subsystems are fully initialized before we try to use
-    // them.
-    final String subSystem = module.getSubSystem();
-    final Iterator it = moduleMap.values().iterator();
-    while (it.hasNext())
+  /**
+   * Records that the module <code>from</code> must be placed before the
+   * module <code>to</code>.
+   *
+   * @param from the module placed first.
+   * @param to the module placed later.
+   */
+  private static void addEdge (final SortModule from, final SortModule to)
+  {
+    from.successors.add(to);
+    to.predecessors.add(from);
+    to.pending += 1;
+  }
+
+  /**
+   * Computes the position of every module that is not part of a cycle.
+   * A module's position is one higher than the highest position of its
+   * predecessors.
+   *
+   * @param graph the modules.
+   * @return the number of modules that received a position.
+   */
+  private static int computePositions (final SortModule[] graph)
+  {
+    final SortModule[] queue = new SortModule[graph.length];
+    int tail = 0;
+    for (int i = 0; i < graph.length; i++)
     {
-      final SortModule mod = (SortModule) it.next();
-      // it is evil to compute values on ourself...
-      if (mod.getState().getModule() == module)
+      if (graph[i].pending == 0)
       {
-        // same module ...
-        continue;
+        graph[i].position = 0;
+        queue[tail] = graph[i];
+        tail += 1;
       }
-      final Module subSysMod = mod.getState().getModule();
-      // if the module we check is part of the same subsystem as
-      // we are, then we dont do anything. Within the same subsystem
-      // the dependencies are computed solely by the direct references.
-      if (subSystem.equals(subSysMod.getSubSystem()))
+    }
+
+    int head = 0;
+    while (head < tail)
+    {
+      final SortModule mod = queue[head];
+      head += 1;
+      mod.placed = true;
+      for (int i = 0; i < mod.successors.size(); i++)
+      {
+        final SortModule next = (SortModule) mod.successors.get(i);
+        if (next.position <= mod.position)
+        {
+          next.position = mod.position + 1;
+        }
+        next.pending -= 1;
+        if (next.pending == 0)
+        {
+          queue[tail] = next;
+          tail += 1;
+        }
+      }
+    }
+    return tail;
+  }
+
+  /**
+   * Positions the modules which are still unplaced after the first pass,
+   * following only the direct dependencies between them. Predecessors that
+   * have already been placed have raised the positions during the first
+   * pass.
+   *
+   * @param graph the modules.
+   * @return the number of modules that received a position.
+   */
+  private static int computeDirectPositions (final SortModule[] graph)
+  {
+    final SortModule[] queue = new SortModule[graph.length];
+    int tail = 0;
+    for (int i = 0; i < graph.length; i++)
+    {
+      final SortModule mod = graph[i];
+      if (mod.placed)
       {
-        // same subsystem ... ignore
         continue;
       }
+      mod.pending = 0;
+      for (int p = 0; p < mod.predecessors.size(); p++)
+      {
+        final SortModule pred = (SortModule) mod.predecessors.get(p);
+        if (pred.placed == false && isDirect(pred, mod))
+        {
+          mod.pending += 1;
+        }
+      }
+      if (mod.pending == 0)
+      {
+        queue[tail] = mod;
+        tail += 1;
+      }
+    }
 
-      // does the module from the global list <mod> depend on the
-      // subsystem we are part of?
-      //
-      // if yes, we have a relation and may need to adjust the level...
-      if (smodule.getDependSubsystems().contains(subSysMod.getSubSystem()))
+    int head = 0;
+    while (head < tail)
+    {
+      final SortModule mod = queue[head];
+      head += 1;
+      mod.placed = true;
+      if (mod.position < 0)
+      {
+        mod.position = 0;
+      }
+      for (int i = 0; i < mod.successors.size(); i++)
       {
-        // check whether the module is a base module of the given
-        // subsystem. We will not adjust our position in that case,
-        // as this would lead to an infinite loop
-        if (isBaseModule(subSysMod, module) == false)
+        final SortModule next = (SortModule) mod.successors.get(i);
+        if (next.placed || isDirect(mod, next) == false)
         {
-          if (mod.getPosition() >= position)
-          {
-            position = mod.getPosition() + 1;
-          }
+          continue;
+        }
+        if (next.position <= mod.position)
+        {
+          next.position = mod.position + 1;
+        }
+        next.pending -= 1;
+        if (next.pending == 0)
+        {
+          queue[tail] = next;
+          tail += 1;
         }
       }
     }
-    return position;
+    return tail;
   }
 
   /**
-   * Checks, whether a module is a base module of an given module.
+   * Checks, whether the module <code>to</code> directly references the
+   * module <code>from</code> as required or optional module.
    *
-   * @param mod the module which to check
-   * @param mi the module info of the suspected base module.
-   * @return true, if the given module info describes a base module of the
-   * given module, false otherwise.
+   * @param from the possible dependency.
+   * @param to the dependent module.
+   * @return true, if the dependency is direct, false if it is caused by
+   * a subsystem relation.
    */
-  private static boolean isBaseModule(final Module mod, final ModuleInfo mi)
+  private static boolean isDirect (final SortModule from, final SortModule to)
   {
-    ModuleInfo[] info = mod.getRequiredModules();
-    for (int i = 0; i < info.length; i++)
+    return to.dependencies.contains(from.getModule().getModuleClass());
+  }
+
+  /**
+   * Logs one of the cycles among the modules which have not been placed yet.
+   * Every unplaced module has at least one unplaced predecessor, so walking
+   * backwards along them always ends in a cycle. After the second pass this
+   * also holds for the direct dependencies alone.
+   *
+   * @param graph the modules.
+   * @param message the message logged in front of the cycle.
+   * @param directOnly true, to follow only the direct dependencies.
+   */
+  private static void reportCycle (final SortModule[] graph,
+                                   final String message,
+                                   final boolean directOnly)
+  {
+    SortModule mod = null;
+    for (int i = 0; i < graph.length; i++)
     {
-      if (info[i].getModuleClass().equals(mi.getModuleClass()))
+      if (graph[i].placed == false)
       {
-        return true;
+        mod = graph[i];
+        break;
       }
     }
-    info = mod.getOptionalModules();
-    for (int i = 0; i < info.length; i++)
+
+    final HashMap visited = new HashMap();
+    final ArrayList path = new ArrayList();
+    while (visited.containsKey(mod) == false)
     {
-      if (info[i].getModuleClass().equals(mi.getModuleClass()))
+      visited.put(mod, new Integer(path.size()));
+      path.add(mod);
+      for (int i = 0; i < mod.predecessors.size(); i++)
       {
-        return true;
+        final SortModule pred = (SortModule) mod.predecessors.get(i);
+        if (pred.placed == false
+            && (directOnly == false || isDirect(pred, mod)))
+        {
+          mod = pred;
+          break;
+        }
       }
     }
-    return false;
-  }
 
+    final int cycleStart = ((Integer) visited.get(mod)).intValue();
+    final StringBuffer buffer = new StringBuffer();
+    for (int i = path.size() - 1; i >= cycleStart; i--)
+    {
+      final SortModule cycleMod = (SortModule) path.get(i);
+      buffer.append(cycleMod.getModule().getModuleClass());
+      buffer.append(" -> ");
+    }
+    buffer.append(mod.getModule().getModuleClass());
+    Log.warn(new Log.SimpleMessage(message, buffer));
+  }
 
   /**
-   * Collects all directly dependent subsystems.
+   * Places all modules which are part of a direct dependency cycle after
+   * all other modules.
    *
-   * @param childMod the module which to check
-   * @param moduleMap the map of all other modules, keyed by module class.
-   * @return the list of all dependent subsystems.
+   * @param graph the modules.
    */
-  private static ArrayList collectSubsystemModules
-      (final Module childMod, final HashMap moduleMap)
+  private static void placeRemaining (final SortModule[] graph)
   {
-    final ArrayList collector = new ArrayList();
-    ModuleInfo[] info = childMod.getRequiredModules();
-    for (int i = 0; i < info.length; i++)
+    int maxPosition = -1;
+    for (int i = 0; i < graph.length; i++)
     {
-      final SortModule dependentModule = (SortModule)
-          moduleMap.get(info[i].getModuleClass());
-      if (dependentModule == null)
+      if (graph[i].placed && graph[i].position > maxPosition)
       {
-        Log.warn
-          (new Log.SimpleMessage
-            ("A dependent module was not found in the list of known modules.",
-            info[i].getModuleClass()));
-        continue;
+        maxPosition = graph[i].position;
       }
-
-      collector.add (dependentModule.getState().getModule().getSubSystem());
     }
+    for (int i = 0; i < graph.length; i++)
+    {
+      if (graph[i].placed == false)
+      {
+        graph[i].position = maxPosition + 1;
+      }
+    }
+  }
 
-    info = childMod.getOptionalModules();
-    for (int i = 0; i < info.length; i++)
+  /**
+   * Orders the modules by their position. Modules with equal positions keep
+   * their original relative order.
+   *
+   * @param graph the modules in their original order.
+   * @return the sorted modules.
+   */
+  private static SortModule[] orderByPosition (final SortModule[] graph)
+  {
+    int maxPosition = -1;
+    for (int i = 0; i < graph.length; i++)
     {
-      final Module dependentModule = (Module)
-          moduleMap.get(info[i].getModuleClass());
-      if (dependentModule == null)
+      if (graph[i].position > maxPosition)
       {
-        Log.warn ("A dependent module was not found in the list of known modules.");
-        continue;
+        maxPosition = graph[i].position;
       }
-      collector.add (dependentModule.getSubSystem());
     }
-    return collector;
+
+    final int[] offsets = new int[maxPosition + 2];
+    for (int i = 0; i < graph.length; i++)
+    {
+      offsets[graph[i].position + 1] += 1;
+    }
+    for (int i = 1; i < offsets.length; i++)
+    {
+      offsets[i] += offsets[i - 1];
+    }
+
+    final SortModule[] sorted = new SortModule[graph.length];
+    for (int i = 0; i < graph.length; i++)
+    {
+      final int position = graph[i].position;
+      sorted[offsets[position]] = graph[i];
+      offsets[position] += 1;
+    }
+    return sorted;
   }
 }
@@ -38,11 +38,15 @@
  * -------
  * 10-Jul-2003 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Made the state visible to the parallel initializer threads;
+ * 18-Oct-2026 : Added boot profiling;
+ * 18-Oct-2026 : Made configure and initialize atomic for lazy initialization;
  * 
  */
 
 package org.jfree.base.modules;
 
+import org.jfree.base.BootProfiler;
 import org.jfree.util.Log;
 
 /**
@@ -68,7 +72,7 @@ public class PackageState
   /** The module class that contains the package information. */
   private final Module module;
   /** The state of the module. */
-  private int state;
+  private volatile int state;
 
   /**
    * Creates a new package state for the given module. The module state will
@@ -111,10 +115,12 @@ public class PackageState
    * 
    * @return true, if the module was configured, false otherwise.
    */
-  public boolean configure(final SubSystem subSystem)
+  public synchronized boolean configure(final SubSystem subSystem)
   {
     if (this.state == STATE_NEW)
     {
+      final BootProfiler.Span span = BootProfiler.begin
+          (BootProfiler.CATEGORY_MODULE, "configure", this.module.getModuleClass());
       try
       {
         this.module.configure(subSystem);
@@ -140,6 +146,10 @@ public class PackageState
         }
         this.state = STATE_ERROR;
       }
+      finally
+      {
+        BootProfiler.end(span);
+      }
     }
     return false;
   }
@@ -175,10 +185,12 @@ public class PackageState
    * 
    * @return true, if the module was successfully initialized, false otherwise.
    */
-  public boolean initialize(final SubSystem subSystem)
+  public synchronized boolean initialize(final SubSystem subSystem)
   {
     if (this.state == STATE_CONFIGURED)
     {
+      final BootProfiler.Span span = BootProfiler.begin
+          (BootProfiler.CATEGORY_MODULE, "initialize", this.module.getModuleClass());
       try
       {
           this.module.initialize(subSystem);
@@ -217,6 +229,10 @@ public class PackageState
         }
         this.state = STATE_ERROR;
       }
+      finally
+      {
+        BootProfiler.end(span);
+      }
     }
     return false;
   }
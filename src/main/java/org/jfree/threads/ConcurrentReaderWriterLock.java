@@ -0,0 +1,338 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------------------
+ * ConcurrentReaderWriterLock.java
+ * -------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1, a StampedLock based alternative to ReaderWriterLock;
+ *
+ */
+
+package org.jfree.threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A reentrant reader-writer lock with the same calling conventions as
+ * {@link ReaderWriterLock}, but built on a {@link StampedLock} instead of a
+ * single monitor and a linear waiter list. Readers that do not compete with
+ * a writer never block each other.
+ * <p>
+ * As with {@link ReaderWriterLock}, a thread may acquire the lock several
+ * times and must call {@link #unlock()} once for each acquisition. A thread
+ * holding the write lock may also acquire the read lock, but a thread
+ * holding only the read lock cannot upgrade to the write lock. Unlike
+ * {@link ReaderWriterLock}, waiting threads are not granted the lock in
+ * strict arrival order.
+ * <p>
+ * In addition, the lock supports timed acquisition, optimistic reads for
+ * short read-only sections that can be retried, and counters that record
+ * how often a thread had to wait for the lock.
+ */
+public class ConcurrentReaderWriterLock {
+
+    /**
+     * The per-thread hold count of a lock.
+     */
+    private static final class HoldCount {
+
+        /** No lock held. */
+        private static final int NONE = 0;
+
+        /** The read lock is held. */
+        private static final int READER = 1;
+
+        /** The write lock is held. */
+        private static final int WRITER = 2;
+
+        /** The mode. */
+        private int state;
+
+        /** The number of acquires. */
+        private int nAcquires;
+
+        /**
+         * Creates a new, empty hold count.
+         */
+        private HoldCount() {
+            this.state = NONE;
+        }
+    }
+
+    /**
+     * Provides the hold count for the current thread.
+     */
+    private static final class HoldCountLocal extends ThreadLocal {
+
+        /**
+         * Creates the initial hold count of a thread.
+         *
+         * @return a new hold count.
+         */
+        protected Object initialValue() {
+            return new HoldCount();
+        }
+    }
+
+    /** The underlying lock. */
+    private final StampedLock lock;
+
+    /** The hold counts of the threads using this lock. */
+    private final HoldCountLocal holdCounts;
+
+    /** The number of read acquisitions that had to wait. */
+    private final LongAdder readContentions;
+
+    /** The number of write acquisitions that had to wait. */
+    private final LongAdder writeContentions;
+
+    /** The number of optimistic reads that failed validation. */
+    private final LongAdder failedOptimisticReads;
+
+    /**
+     * Default constructor.
+     */
+    public ConcurrentReaderWriterLock() {
+        this.lock = new StampedLock();
+        this.holdCounts = new HoldCountLocal();
+        this.readContentions = new LongAdder();
+        this.writeContentions = new LongAdder();
+        this.failedOptimisticReads = new LongAdder();
+    }
+
+    /**
+     * Grab the read lock.
+     */
+    public void lockRead() {
+        final HoldCount holds = (HoldCount) this.holdCounts.get();
+        if (holds.state == HoldCount.NONE) {
+            if (this.lock.tryReadLock() == 0L) {
+                this.readContentions.increment();
+                this.lock.readLock();
+            }
+            holds.state = HoldCount.READER;
+        }
+        holds.nAcquires++;
+    }
+
+    /**
+     * Grab the write lock.
+     *
+     * @throws IllegalArgumentException if the current thread holds the read
+     *         lock.
+     */
+    public void lockWrite() {
+        final HoldCount holds = (HoldCount) this.holdCounts.get();
+        if (holds.state == HoldCount.READER) {
+            throw new IllegalArgumentException("Upgrade lock");
+        }
+        if (holds.state == HoldCount.NONE) {
+            if (this.lock.tryWriteLock() == 0L) {
+                this.writeContentions.increment();
+                this.lock.writeLock();
+            }
+            holds.state = HoldCount.WRITER;
+        }
+        holds.nAcquires++;
+    }
+
+    /**
+     * Tries to grab the read lock, waiting at most the given time.
+     *
+     * @param timeout  the maximum time to wait.
+     * @param unit  the unit of the timeout.
+     *
+     * @return true, if the lock has been acquired, false if the time elapsed.
+     *
+     * @throws InterruptedException if the thread was interrupted while
+     *         waiting.
+     */
+    public boolean tryLockRead(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+        final HoldCount holds = (HoldCount) this.holdCounts.get();
+        if (holds.state == HoldCount.NONE) {
+            if (this.lock.tryReadLock() == 0L) {
+                this.readContentions.increment();
+                if (this.lock.tryReadLock(timeout, unit) == 0L) {
+                    return false;
+                }
+            }
+            holds.state = HoldCount.READER;
+        }
+        holds.nAcquires++;
+        return true;
+    }
+
+    /**
+     * Tries to grab the write lock, waiting at most the given time.
+     *
+     * @param timeout  the maximum time to wait.
+     * @param unit  the unit of the timeout.
+     *
+     * @return true, if the lock has been acquired, false if the time elapsed.
+     *
+     * @throws InterruptedException if the thread was interrupted while
+     *         waiting.
+     * @throws IllegalArgumentException if the current thread holds the read
+     *         lock.
+     */
+    public boolean tryLockWrite(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+        final HoldCount holds = (HoldCount) this.holdCounts.get();
+        if (holds.state == HoldCount.READER) {
+            throw new IllegalArgumentException("Upgrade lock");
+        }
+        if (holds.state == HoldCount.NONE) {
+            if (this.lock.tryWriteLock() == 0L) {
+                this.writeContentions.increment();
+                if (this.lock.tryWriteLock(timeout, unit) == 0L) {
+                    return false;
+                }
+            }
+            holds.state = HoldCount.WRITER;
+        }
+        holds.nAcquires++;
+        return true;
+    }
+
+    /**
+     * Unlock.
+     *
+     * @throws IllegalArgumentException if the current thread does not hold
+     *         the lock.
+     */
+    public void unlock() {
+        final HoldCount holds = (HoldCount) this.holdCounts.get();
+        if (holds.state == HoldCount.NONE) {
+            throw new IllegalArgumentException("Lock not held");
+        }
+        holds.nAcquires--;
+        if (holds.nAcquires == 0) {
+            if (holds.state == HoldCount.WRITER) {
+                this.lock.tryUnlockWrite();
+            }
+            else {
+                this.lock.tryUnlockRead();
+            }
+            holds.state = HoldCount.NONE;
+        }
+    }
+
+    /**
+     * Starts an optimistic read. The returned stamp must be checked with
+     * {@link #validate(long)} after the guarded data has been read; if the
+     * validation fails, the data may be inconsistent and the read should be
+     * repeated, usually under the read lock.
+     *
+     * @return a stamp, or zero if the write lock is currently held.
+     */
+    public long tryOptimisticRead() {
+        return this.lock.tryOptimisticRead();
+    }
+
+    /**
+     * Checks whether the write lock has not been acquired since the given
+     * stamp was obtained from {@link #tryOptimisticRead()}.
+     *
+     * @param stamp  the stamp.
+     *
+     * @return true, if the optimistic read is valid.
+     */
+    public boolean validate(final long stamp) {
+        if (stamp != 0L && this.lock.validate(stamp)) {
+            return true;
+        }
+        this.failedOptimisticReads.increment();
+        return false;
+    }
+
+    /**
+     * Returns true, if the write lock is currently held by any thread.
+     *
+     * @return true, if the lock is write-locked.
+     */
+    public boolean isWriteLocked() {
+        return this.lock.isWriteLocked();
+    }
+
+    /**
+     * Returns the number of read holds on the lock. Reentrant acquisitions
+     * by the same thread are counted once.
+     *
+     * @return the number of read holds.
+     */
+    public int getReadLockCount() {
+        return this.lock.getReadLockCount();
+    }
+
+    /**
+     * Returns the number of read acquisitions that could not be granted
+     * immediately.
+     *
+     * @return the number of contended read acquisitions.
+     */
+    public long getReadContentionCount() {
+        return this.readContentions.sum();
+    }
+
+    /**
+     * Returns the number of write acquisitions that could not be granted
+     * immediately.
+     *
+     * @return the number of contended write acquisitions.
+     */
+    public long getWriteContentionCount() {
+        return this.writeContentions.sum();
+    }
+
+    /**
+     * Returns the number of optimistic reads that failed validation.
+     *
+     * @return the number of failed optimistic reads.
+     */
+    public long getFailedOptimisticReadCount() {
+        return this.failedOptimisticReads.sum();
+    }
+
+    /**
+     * Resets all contention counters to zero.
+     */
+    public void resetCounters() {
+        this.readContentions.reset();
+        this.writeContentions.reset();
+        this.failedOptimisticReads.reset();
+    }
+
+}
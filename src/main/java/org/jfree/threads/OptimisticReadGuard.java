@@ -0,0 +1,160 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * OptimisticReadGuard.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+/**
+ * Guards a read-mostly object, such as a configuration or a registry, with
+ * a {@link ConcurrentReaderWriterLock}. Read actions are first run without
+ * any lock and are only repeated under the read lock if a write happened
+ * in the meantime, so readers do not write to shared memory at all as long
+ * as there are no writers.
+ * <p>
+ * Optimistic read actions may see the guarded object in an inconsistent
+ * state. They must not modify anything, must not block, and must tolerate
+ * being run more than once. Runtime exceptions thrown during an optimistic
+ * attempt are discarded if the attempt turns out to be invalid.
+ */
+public class OptimisticReadGuard {
+
+    /**
+     * A read-only action on the guarded object.
+     */
+    public interface ReadAction {
+
+        /**
+         * Reads from the guarded object.
+         *
+         * @param target  the guarded object.
+         *
+         * @return the result of the read.
+         */
+        public Object read(Object target);
+    }
+
+    /**
+     * A modifying action on the guarded object.
+     */
+    public interface WriteAction {
+
+        /**
+         * Modifies the guarded object.
+         *
+         * @param target  the guarded object.
+         */
+        public void write(Object target);
+    }
+
+    /** The guarded object. */
+    private final Object target;
+
+    /** The lock. */
+    private final ConcurrentReaderWriterLock lock;
+
+    /**
+     * Creates a new guard.
+     *
+     * @param target  the object to guard (<code>null</code> not permitted).
+     */
+    public OptimisticReadGuard(final Object target) {
+        if (target == null) {
+            throw new NullPointerException("Target must not be null.");
+        }
+        this.target = target;
+        this.lock = new ConcurrentReaderWriterLock();
+    }
+
+    /**
+     * Runs a read action, optimistically at first and under the read lock
+     * if the optimistic attempt was invalidated by a writer.
+     *
+     * @param action  the action.
+     *
+     * @return the result of the action.
+     */
+    public Object read(final ReadAction action) {
+        final long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final Object result = action.read(this.target);
+                if (this.lock.validate(stamp)) {
+                    return result;
+                }
+            }
+            catch (RuntimeException re) {
+                if (this.lock.validate(stamp)) {
+                    throw re;
+                }
+            }
+        }
+        this.lock.lockRead();
+        try {
+            return action.read(this.target);
+        }
+        finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a write action under the write lock.
+     *
+     * @param action  the action.
+     */
+    public void write(final WriteAction action) {
+        this.lock.lockWrite();
+        try {
+            action.write(this.target);
+        }
+        finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the lock used by this guard.
+     *
+     * @return the lock.
+     */
+    public ConcurrentReaderWriterLock getLock() {
+        return this.lock;
+    }
+
+}
@@ -0,0 +1,165 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------
+ * StripedLock.java
+ * ----------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+/**
+ * A fixed set of {@link ConcurrentReaderWriterLock}s that is indexed by the
+ * hash code of a key. Operations on different keys usually use different
+ * locks and do not block each other, while all operations on the same key
+ * always use the same lock.
+ * <p>
+ * Two different keys may share a lock, so code must never hold the locks of
+ * two keys at the same time unless it acquires them in the order given by
+ * {@link #getStripeIndex(Object)}.
+ */
+public class StripedLock {
+
+    /** The locks. */
+    private final ConcurrentReaderWriterLock[] stripes;
+
+    /**
+     * Creates a new striped lock with 16 stripes.
+     */
+    public StripedLock() {
+        this(16);
+    }
+
+    /**
+     * Creates a new striped lock. The number of stripes is rounded up to the
+     * next power of two.
+     *
+     * @param stripes  the minimum number of stripes.
+     */
+    public StripedLock(final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes must be positive.");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ConcurrentReaderWriterLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ConcurrentReaderWriterLock();
+        }
+    }
+
+    /**
+     * Returns the number of stripes.
+     *
+     * @return the number of stripes.
+     */
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    /**
+     * Returns the index of the stripe used for the given key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     *
+     * @return the stripe index.
+     */
+    public int getStripeIndex(final Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85EBCA6B;
+        h ^= (h >>> 13);
+        return h & (this.stripes.length - 1);
+    }
+
+    /**
+     * Returns the lock for the given key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     *
+     * @return the lock.
+     */
+    public ConcurrentReaderWriterLock getLock(final Object key) {
+        return this.stripes[getStripeIndex(key)];
+    }
+
+    /**
+     * Grabs the read lock for the given key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     */
+    public void lockRead(final Object key) {
+        getLock(key).lockRead();
+    }
+
+    /**
+     * Grabs the write lock for the given key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     */
+    public void lockWrite(final Object key) {
+        getLock(key).lockWrite();
+    }
+
+    /**
+     * Releases the lock for the given key.
+     *
+     * @param key  the key (<code>null</code> permitted).
+     */
+    public void unlock(final Object key) {
+        getLock(key).unlock();
+    }
+
+    /**
+     * Returns the sum of the read and write contention counts of all
+     * stripes.
+     *
+     * @return the number of contended acquisitions.
+     */
+    public long getContentionCount() {
+        long count = 0;
+        for (int i = 0; i < this.stripes.length; i++) {
+            count += this.stripes[i].getReadContentionCount();
+            count += this.stripes[i].getWriteContentionCount();
+        }
+        return count;
+    }
+
+}
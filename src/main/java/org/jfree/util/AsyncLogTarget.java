@@ -0,0 +1,457 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * AsyncLogTarget.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A log target that hands messages over to a background thread, which then
+ * forwards them to another log target. Logging threads only copy the message
+ * reference into a bounded ring buffer and never wait for I/O, unless the
+ * buffer is full and the overflow policy says so.
+ * <p>
+ * The background thread drains the buffer in batches. If the receiving
+ * target implements {@link Flushable} (as {@link PrintStreamLogTarget}
+ * does), it is flushed once per batch instead of once per message.
+ * <p>
+ * Messages are converted to text on the background thread, so message
+ * objects must not be modified after they have been logged.
+ */
+public class AsyncLogTarget implements LogTarget {
+
+    /** Overflow policy: wait until the buffer has room again. */
+    public static final int OVERFLOW_BLOCK = 0;
+
+    /** Overflow policy: drop messages while the buffer is full. */
+    public static final int OVERFLOW_DROP = 1;
+
+    /**
+     * Overflow policy: while the buffer is full, drop messages except for
+     * every n-th one, which waits until there is room again.
+     */
+    public static final int OVERFLOW_SAMPLE = 2;
+
+    /**
+     * A slot of the ring buffer. The slots are allocated once and reused.
+     */
+    private static final class LogEvent {
+
+        /** The log level. */
+        private int level;
+
+        /** The message. */
+        private Object message;
+
+        /** The exception, may be null. */
+        private Exception exception;
+
+        /**
+         * Default constructor.
+         */
+        private LogEvent() {
+        }
+    }
+
+    /**
+     * The thread that drains the buffer.
+     */
+    private final class Worker extends Thread {
+
+        /**
+         * Creates the worker thread.
+         */
+        private Worker() {
+            super("AsyncLogTarget");
+            setDaemon(true);
+        }
+
+        /**
+         * Drains the buffer until the target is closed.
+         */
+        public void run() {
+            while (true) {
+                final boolean closing = AsyncLogTarget.this.closed;
+                final int count = drain();
+                if (count > 0) {
+                    continue;
+                }
+                if (closing) {
+                    return;
+                }
+                AsyncLogTarget.this.workerParked = true;
+                if (isEmpty() && AsyncLogTarget.this.closed == false) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                AsyncLogTarget.this.workerParked = false;
+            }
+        }
+    }
+
+    /** The maximum time the idle worker sleeps before checking again. */
+    private static final long PARK_NANOS = 10000000L;
+
+    /** The time a blocked producer sleeps before trying again. */
+    private static final long RETRY_NANOS = 50000L;
+
+    /** The target that receives the messages. */
+    private final LogTarget target;
+
+    /** The slots of the ring buffer. */
+    private final LogEvent[] events;
+
+    /**
+     * The sequence numbers of the slots. A slot is free for the producer of
+     * position p if its sequence is p, and readable by the consumer of
+     * position p if its sequence is p + 1.
+     */
+    private final AtomicLongArray sequences;
+
+    /** The capacity minus one. */
+    private final int mask;
+
+    /** The next position to be claimed by a producer. */
+    private final AtomicLong tail;
+
+    /** The next position to be read by the worker; only used by the worker. */
+    private long head;
+
+    /** The overflow policy. */
+    private final int overflowPolicy;
+
+    /** Every n-th overflowing message is kept with the sample policy. */
+    private final int sampleRate;
+
+    /** The maximum number of messages forwarded between two flushes. */
+    private final int batchSize;
+
+    /** The number of dropped messages. */
+    private final AtomicLong dropped;
+
+    /** The number of overflowing messages, used for sampling. */
+    private final AtomicLong overflows;
+
+    /** The worker thread. */
+    private final Worker worker;
+
+    /** True, if the worker is about to park or parked. */
+    private volatile boolean workerParked;
+
+    /** True, once close() has been called. */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new asynchronous target with room for 8192 messages that
+     * blocks when the buffer is full.
+     *
+     * @param target  the target that receives the messages.
+     */
+    public AsyncLogTarget(final LogTarget target) {
+        this(target, 8192, OVERFLOW_BLOCK);
+    }
+
+    /**
+     * Creates a new asynchronous target.
+     *
+     * @param target  the target that receives the messages.
+     * @param capacity  the minimum number of buffered messages, rounded up to
+     *                  the next power of two.
+     * @param overflowPolicy  one of {@link #OVERFLOW_BLOCK},
+     *                        {@link #OVERFLOW_DROP} or
+     *                        {@link #OVERFLOW_SAMPLE}.
+     */
+    public AsyncLogTarget(final LogTarget target, final int capacity,
+                          final int overflowPolicy) {
+        this(target, capacity, overflowPolicy, 10, 256);
+    }
+
+    /**
+     * Creates a new asynchronous target.
+     *
+     * @param target  the target that receives the messages.
+     * @param capacity  the minimum number of buffered messages, rounded up to
+     *                  the next power of two.
+     * @param overflowPolicy  one of {@link #OVERFLOW_BLOCK},
+     *                        {@link #OVERFLOW_DROP} or
+     *                        {@link #OVERFLOW_SAMPLE}.
+     * @param sampleRate  keep every n-th overflowing message when sampling.
+     * @param batchSize  the maximum number of messages forwarded before the
+     *                   target is flushed.
+     */
+    public AsyncLogTarget(final LogTarget target, final int capacity,
+                          final int overflowPolicy, final int sampleRate,
+                          final int batchSize) {
+        if (target == null) {
+            throw new NullPointerException();
+        }
+        if (capacity < 1 || sampleRate < 1 || batchSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        if (overflowPolicy < OVERFLOW_BLOCK
+                || overflowPolicy > OVERFLOW_SAMPLE) {
+            throw new IllegalArgumentException("Unknown overflow policy.");
+        }
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.target = target;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.batchSize = batchSize;
+        this.mask = size - 1;
+        this.events = new LogEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.events[i] = new LogEvent();
+            this.sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.overflows = new AtomicLong();
+        this.worker = new Worker();
+        this.worker.start();
+    }
+
+    /**
+     * Logs a message at a specified log level.
+     *
+     * @param level  the log level.
+     * @param message  the log message.
+     */
+    public void log(final int level, final Object message) {
+        enqueue(level, message, null);
+    }
+
+    /**
+     * Logs a message at a specified log level.
+     *
+     * @param level  the log level.
+     * @param message  the log message.
+     * @param e  the exception
+     */
+    public void log(final int level, final Object message, final Exception e) {
+        enqueue(level, message, e);
+    }
+
+    /**
+     * Puts a message into the buffer, applying the overflow policy if the
+     * buffer is full.
+     *
+     * @param level  the log level.
+     * @param message  the log message.
+     * @param e  the exception, may be null.
+     */
+    private void enqueue(final int level, final Object message,
+                         final Exception e) {
+        if (this.closed) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        if (offer(level, message, e) == false) {
+            if (this.overflowPolicy == OVERFLOW_DROP) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+            if (this.overflowPolicy == OVERFLOW_SAMPLE
+                    && this.overflows.incrementAndGet() % this.sampleRate != 0) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+            while (offer(level, message, e) == false) {
+                if (this.closed) {
+                    this.dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(this.worker);
+                LockSupport.parkNanos(this, RETRY_NANOS);
+            }
+        }
+        if (this.workerParked) {
+            LockSupport.unpark(this.worker);
+        }
+    }
+
+    /**
+     * Tries to claim a slot and store the message.
+     *
+     * @param level  the log level.
+     * @param message  the log message.
+     * @param e  the exception, may be null.
+     *
+     * @return true, if the message was stored, false if the buffer is full.
+     */
+    private boolean offer(final int level, final Object message,
+                          final Exception e) {
+        long position = this.tail.get();
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long sequence = this.sequences.get(index);
+            if (sequence == position) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    final LogEvent event = this.events[index];
+                    event.level = level;
+                    event.message = message;
+                    event.exception = e;
+                    this.sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            }
+            else if (sequence < position) {
+                return false;
+            }
+            else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Returns true, if the worker has no message to read.
+     *
+     * @return true, if the buffer is empty.
+     */
+    private boolean isEmpty() {
+        final int index = (int) this.head & this.mask;
+        return this.sequences.get(index) != this.head + 1;
+    }
+
+    /**
+     * Forwards up to one batch of messages to the target. This is only
+     * called from the worker thread.
+     *
+     * @return the number of forwarded messages.
+     */
+    private int drain() {
+        int count = 0;
+        while (count < this.batchSize) {
+            final long position = this.head;
+            final int index = (int) position & this.mask;
+            if (this.sequences.get(index) != position + 1) {
+                break;
+            }
+            final LogEvent event = this.events[index];
+            final int level = event.level;
+            final Object message = event.message;
+            final Exception exception = event.exception;
+            event.message = null;
+            event.exception = null;
+            this.sequences.lazySet(index, position + this.mask + 1);
+            this.head = position + 1;
+            count += 1;
+            try {
+                if (exception == null) {
+                    this.target.log(level, message);
+                }
+                else {
+                    this.target.log(level, message, exception);
+                }
+            }
+            catch (RuntimeException re) {
+                // a failing target must not kill the worker thread.
+                this.dropped.incrementAndGet();
+            }
+        }
+        if (count > 0 && this.target instanceof Flushable) {
+            try {
+                ((Flushable) this.target).flush();
+            }
+            catch (IOException ioe) {
+                // ignored, there is no one to report this to.
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the target that receives the messages.
+     *
+     * @return the target.
+     */
+    public LogTarget getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Returns the overflow policy.
+     *
+     * @return the overflow policy.
+     */
+    public int getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Returns the number of buffered messages.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Returns the number of messages that were dropped because the buffer
+     * was full, the target was closed, or the receiving target failed.
+     *
+     * @return the number of dropped messages.
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Forwards all buffered messages and stops the background thread.
+     * Messages logged after this call are dropped.
+     *
+     * @throws InterruptedException if the thread was interrupted while
+     *         waiting for the background thread.
+     */
+    public void close() throws InterruptedException {
+        this.closed = true;
+        LockSupport.unpark(this.worker);
+        this.worker.join();
+    }
+}
@@ -0,0 +1,336 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * BinaryLogDecoder.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+
+/**
+ * Converts the files written by a {@link BinaryLogTarget} into text. Each
+ * event is printed on one line, consisting of the time, the level, the
+ * context name and the formatted message, followed by the stack trace of
+ * the exception, if there was one.
+ * <p>
+ * The decoder can be run from the command line; the arguments are log files
+ * or directories, of which all log files are decoded in the order they were
+ * written.
+ */
+public class BinaryLogDecoder {
+
+    /** The format used for the event time. */
+    private final DateFormat dateFormat;
+
+    /**
+     * Creates a new decoder.
+     */
+    public BinaryLogDecoder() {
+        this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    }
+
+    /**
+     * Returns the log files in a directory, in the order they were written.
+     *
+     * @param directory the directory.
+     *
+     * @return the log files.
+     */
+    public static File[] findLogFiles(final File directory) {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return new File[0];
+        }
+        final ArrayList result = new ArrayList();
+        for (int i = 0; i < files.length; i++) {
+            if (files[i].isFile()
+                    && files[i].getName().endsWith(BinaryLogTarget.SUFFIX)) {
+                result.add(files[i]);
+            }
+        }
+        final File[] logFiles = (File[]) result.toArray(new File[result.size()]);
+        Arrays.sort(logFiles, new Comparator() {
+            public int compare(final Object o1, final Object o2) {
+                final String name1 = ((File) o1).getName();
+                final String name2 = ((File) o2).getName();
+                final String base1 = getBaseName(name1);
+                final String base2 = getBaseName(name2);
+                final int result = base1.compareTo(base2);
+                if (result != 0) {
+                    return result;
+                }
+                final int n1 = BinaryLogTarget.parseFileNumber(name1, base1);
+                final int n2 = BinaryLogTarget.parseFileNumber(name2, base2);
+                return (n1 < n2) ? -1 : ((n1 == n2) ? 0 : 1);
+            }
+        });
+        return logFiles;
+    }
+
+    /**
+     * Returns the base name of a log file name, which is the name without
+     * the file number and the suffix.
+     *
+     * @param name the file name.
+     *
+     * @return the base name.
+     */
+    private static String getBaseName(final String name) {
+        final String s = name.substring(0,
+                name.length() - BinaryLogTarget.SUFFIX.length());
+        final int dot = s.lastIndexOf('.');
+        if (dot < 0) {
+            return s;
+        }
+        return s.substring(0, dot);
+    }
+
+    /**
+     * Decodes a log file.
+     *
+     * @param file the log file.
+     * @param out  the receiver of the text.
+     *
+     * @throws IOException if the file cannot be read or is not a binary log
+     *         file.
+     */
+    public void decode(final File file, final PrintWriter out)
+            throws IOException {
+        final ByteBuffer buffer;
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0,
+                    raf.length());
+        }
+        finally {
+            raf.close();
+        }
+        if (buffer.remaining() < BinaryLogTarget.HEADER_SIZE
+                || buffer.getInt() != BinaryLogTarget.MAGIC) {
+            throw new IOException("Not a binary log file: " + file);
+        }
+        final int version = buffer.getInt();
+        if (version != BinaryLogTarget.VERSION) {
+            throw new IOException("Unsupported version " + version + ": "
+                    + file);
+        }
+        buffer.getLong();
+
+        final HashMap strings = new HashMap();
+        try {
+            while (buffer.hasRemaining()) {
+                final int type = buffer.get();
+                if (type == BinaryLogTarget.RECORD_END) {
+                    break;
+                }
+                if (type == BinaryLogTarget.RECORD_STRING) {
+                    final Integer id = new Integer(buffer.getInt());
+                    strings.put(id, readString(buffer));
+                }
+                else if (type == BinaryLogTarget.RECORD_EVENT) {
+                    decodeEvent(buffer, strings, out);
+                }
+                else {
+                    throw new IOException("Invalid record at "
+                            + (buffer.position() - 1) + ": " + file);
+                }
+            }
+        }
+        catch (BufferUnderflowException bue) {
+            // the last record is incomplete; stop there.
+        }
+        out.flush();
+    }
+
+    /**
+     * Decodes a log event and prints it.
+     *
+     * @param buffer  the buffer, positioned after the record type.
+     * @param strings the string table.
+     * @param out     the receiver of the text.
+     *
+     * @throws IOException if the record is invalid.
+     */
+    private void decodeEvent(final ByteBuffer buffer, final HashMap strings,
+                             final PrintWriter out) throws IOException {
+        final long time = buffer.getLong();
+        final int level = buffer.get();
+        final String context = readStringReference(buffer, strings);
+        final String template = readStringReference(buffer, strings);
+        final Object[] args = new Object[buffer.get() & 0xFF];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = readArgument(buffer);
+        }
+        String stackTrace = null;
+        if (buffer.get() != 0) {
+            stackTrace = readString(buffer);
+        }
+
+        final StringBuffer b = new StringBuffer();
+        b.append(this.dateFormat.format(new Date(time)));
+        b.append(' ');
+        if (level >= 0 && level < LogTarget.LEVELS.length) {
+            b.append(LogTarget.LEVELS[level]);
+        }
+        else {
+            b.append(level);
+            b.append(": ");
+        }
+        if (context != null) {
+            b.append(context);
+            b.append(": ");
+        }
+        b.append(new Log.ParameterizedMessage(template, args));
+        out.println(b);
+        if (stackTrace != null) {
+            out.print(stackTrace);
+        }
+    }
+
+    /**
+     * Reads a string with its length.
+     *
+     * @param buffer the buffer.
+     *
+     * @return the string.
+     */
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, BinaryLogTarget.UTF8);
+    }
+
+    /**
+     * Reads a reference to a string table entry or an inline string.
+     *
+     * @param buffer  the buffer.
+     * @param strings the string table.
+     *
+     * @return the string, may be null.
+     *
+     * @throws IOException if the reference is not defined.
+     */
+    private static String readStringReference(final ByteBuffer buffer,
+            final HashMap strings) throws IOException {
+        final int id = buffer.getInt();
+        if (id == BinaryLogTarget.STRING_NULL) {
+            return null;
+        }
+        if (id == BinaryLogTarget.STRING_INLINE) {
+            return readString(buffer);
+        }
+        final String s = (String) strings.get(new Integer(id));
+        if (s == null) {
+            throw new IOException("Undefined string " + id);
+        }
+        return s;
+    }
+
+    /**
+     * Reads a message argument.
+     *
+     * @param buffer the buffer.
+     *
+     * @return the argument.
+     *
+     * @throws IOException if the argument type is unknown.
+     */
+    private static Object readArgument(final ByteBuffer buffer)
+            throws IOException {
+        final int type = buffer.get();
+        switch (type) {
+            case BinaryLogTarget.ARG_NULL:
+                return null;
+            case BinaryLogTarget.ARG_STRING:
+                return readString(buffer);
+            case BinaryLogTarget.ARG_INT:
+                return new Integer(buffer.getInt());
+            case BinaryLogTarget.ARG_LONG:
+                return new Long(buffer.getLong());
+            case BinaryLogTarget.ARG_DOUBLE:
+                return new Double(buffer.getDouble());
+            case BinaryLogTarget.ARG_BOOLEAN:
+                return Boolean.valueOf(buffer.get() != 0);
+            default:
+                throw new IOException("Invalid argument type " + type);
+        }
+    }
+
+    /**
+     * Decodes the given log files, or all log files in the given
+     * directories, and prints the text to System.out.
+     *
+     * @param args the files or directories.
+     *
+     * @throws IOException if a file cannot be decoded.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BinaryLogDecoder <file|directory>...");
+            return;
+        }
+        final BinaryLogDecoder decoder = new BinaryLogDecoder();
+        final PrintWriter out = new PrintWriter(System.out);
+        for (int i = 0; i < args.length; i++) {
+            final File file = new File(args[i]);
+            if (file.isDirectory()) {
+                final File[] files = findLogFiles(file);
+                for (int j = 0; j < files.length; j++) {
+                    decoder.decode(files[j], out);
+                }
+            }
+            else {
+                decoder.decode(file, out);
+            }
+        }
+        out.flush();
+    }
+}
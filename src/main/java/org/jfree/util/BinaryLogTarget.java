@@ -0,0 +1,602 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * BinaryLogTarget.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+
+/**
+ * A log target that writes compact binary records into a series of
+ * memory-mapped files. Messages are not converted into text; instead the
+ * target stores the timestamp, the level, the context name, the message
+ * template and the message arguments. Context names and templates are
+ * stored once per file in a string table and referenced by id afterwards.
+ * Use {@link BinaryLogDecoder} to convert the files into text.
+ * <p>
+ * The files are named <code>&lt;baseName&gt;.&lt;n&gt;.blog</code>. When a
+ * file is full, the next file is started and the oldest file is deleted if
+ * there are more than <code>maxFiles</code> files. Each file contains its
+ * own string table and can be decoded on its own.
+ * <p>
+ * {@link Log.ParameterizedMessage} keeps its pattern and parameters,
+ * {@link Log.SimpleMessage} is stored as its text followed by one
+ * placeholder per parameter, and the context of a
+ * {@link Log.ContextMessage} is stored separately. Parameters that are
+ * strings, numbers or booleans are stored as such, all other objects are
+ * converted to strings.
+ */
+public class BinaryLogTarget implements LogTarget, Flushable {
+
+    /** The magic number at the start of each file ("JCBL"). */
+    public static final int MAGIC = 0x4A43424C;
+
+    /** The version of the file format. */
+    public static final int VERSION = 1;
+
+    /** The suffix of the log files. */
+    public static final String SUFFIX = ".blog";
+
+    /** Record type: the end of the data in a file. */
+    public static final int RECORD_END = 0;
+
+    /** Record type: a string table entry. */
+    public static final int RECORD_STRING = 1;
+
+    /** Record type: a log event. */
+    public static final int RECORD_EVENT = 2;
+
+    /** String reference for a null string. */
+    public static final int STRING_NULL = 0;
+
+    /** String reference for a string that follows inline. */
+    public static final int STRING_INLINE = -1;
+
+    /** Argument type: null. */
+    public static final int ARG_NULL = 0;
+
+    /** Argument type: a string. */
+    public static final int ARG_STRING = 1;
+
+    /** Argument type: an int. */
+    public static final int ARG_INT = 2;
+
+    /** Argument type: a long. */
+    public static final int ARG_LONG = 3;
+
+    /** Argument type: a double. */
+    public static final int ARG_DOUBLE = 4;
+
+    /** Argument type: a boolean. */
+    public static final int ARG_BOOLEAN = 5;
+
+    /** The size of the file header. */
+    public static final int HEADER_SIZE = 16;
+
+    /** The character set used for all strings. */
+    static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** The default file size. */
+    private static final int DEFAULT_FILE_SIZE = 4 * 1024 * 1024;
+
+    /** The default number of files that are kept. */
+    private static final int DEFAULT_MAX_FILES = 8;
+
+    /** The smallest permitted file size. */
+    private static final int MIN_FILE_SIZE = 1024;
+
+    /** The maximum number of entries in the string table of a file. */
+    private static final int MAX_STRING_TABLE_SIZE = 4096;
+
+    /** Longer strings are always stored inline. */
+    private static final int MAX_TABLE_STRING_LENGTH = 256;
+
+    /** The maximum number of arguments stored for an event. */
+    private static final int MAX_ARGUMENTS = 255;
+
+    /** The directory that contains the log files. */
+    private final File directory;
+
+    /** The name of the log files without number and suffix. */
+    private final String baseName;
+
+    /** The size of each log file. */
+    private final int fileSize;
+
+    /** The number of files that are kept. */
+    private final int maxFiles;
+
+    /** The string table of the current file (String to Integer). */
+    private final HashMap stringTable;
+
+    /** Receives the string table entries of the record being encoded. */
+    private ByteBuffer definitions;
+
+    /** Receives the event record being encoded. */
+    private ByteBuffer event;
+
+    /** The current file. */
+    private MappedByteBuffer buffer;
+
+    /** The number of the current file. */
+    private int fileNumber;
+
+    /** The number of events that could not be written. */
+    private long dropped;
+
+    /**
+     * Creates a new target that keeps up to 8 files of 4 MB each.
+     *
+     * @param directory the directory for the log files.
+     * @param baseName  the name of the log files.
+     *
+     * @throws IOException if the first file cannot be created.
+     */
+    public BinaryLogTarget(final File directory, final String baseName)
+            throws IOException {
+        this(directory, baseName, DEFAULT_FILE_SIZE, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Creates a new target. Numbering continues after the files that
+     * already exist in the directory.
+     *
+     * @param directory the directory for the log files.
+     * @param baseName  the name of the log files.
+     * @param fileSize  the size of each file in bytes (at least 1024).
+     * @param maxFiles  the number of files that are kept (at least 1).
+     *
+     * @throws IOException if the first file cannot be created.
+     */
+    public BinaryLogTarget(final File directory, final String baseName,
+                           final int fileSize, final int maxFiles)
+            throws IOException {
+        if (directory == null || baseName == null) {
+            throw new NullPointerException();
+        }
+        if (fileSize < MIN_FILE_SIZE) {
+            throw new IllegalArgumentException("File size too small");
+        }
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("At least one file required");
+        }
+        if (directory.isDirectory() == false && directory.mkdirs() == false) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.fileSize = fileSize;
+        this.maxFiles = maxFiles;
+        this.stringTable = new HashMap();
+        this.definitions = ByteBuffer.allocate(256);
+        this.event = ByteBuffer.allocate(256);
+        this.fileNumber = findLastFileNumber() + 1;
+        openFile();
+    }
+
+    /**
+     * Returns the number of a log file of this target.
+     *
+     * @param name     the file name.
+     * @param baseName the base name of the log files.
+     *
+     * @return the file number, or -1 if the name does not denote a log file
+     *         with the given base name.
+     */
+    public static int parseFileNumber(final String name,
+                                      final String baseName) {
+        if (name.startsWith(baseName + ".") == false
+                || name.endsWith(SUFFIX) == false) {
+            return -1;
+        }
+        final String number = name.substring(baseName.length() + 1,
+                name.length() - SUFFIX.length());
+        try {
+            return Integer.parseInt(number);
+        }
+        catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the highest number of the existing log files.
+     *
+     * @return the number, or -1 if there are no log files.
+     */
+    private int findLastFileNumber() {
+        final String[] names = this.directory.list();
+        int last = -1;
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                last = Math.max(last, parseFileNumber(names[i], this.baseName));
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Returns the log file with the given number.
+     *
+     * @param number the file number.
+     *
+     * @return the file.
+     */
+    private File getFile(final int number) {
+        return new File(this.directory, this.baseName + "." + number + SUFFIX);
+    }
+
+    /**
+     * Returns the file that is currently written.
+     *
+     * @return the current file.
+     */
+    public synchronized File getCurrentFile() {
+        return getFile(this.fileNumber);
+    }
+
+    /**
+     * Maps the file with the current number, writes the header and deletes
+     * files that are no longer kept.
+     *
+     * @throws IOException if the file cannot be mapped.
+     */
+    private void openFile() throws IOException {
+        final RandomAccessFile file =
+                new RandomAccessFile(getFile(this.fileNumber), "rw");
+        try {
+            file.setLength(0);
+            // the mapping stays valid after the file has been closed.
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE,
+                    0, this.fileSize);
+        }
+        finally {
+            file.close();
+        }
+        this.buffer.putInt(MAGIC);
+        this.buffer.putInt(VERSION);
+        this.buffer.putLong(System.currentTimeMillis());
+        this.stringTable.clear();
+
+        final int obsolete = this.fileNumber - this.maxFiles;
+        if (obsolete >= 0) {
+            getFile(obsolete).delete();
+        }
+    }
+
+    /**
+     * Writes the current file to disk and continues with the next file.
+     *
+     * @throws IOException if the next file cannot be mapped.
+     */
+    private void roll() throws IOException {
+        this.buffer.force();
+        this.buffer = null;
+        this.fileNumber += 1;
+        openFile();
+    }
+
+    /**
+     * Logs a message at a specified log level.
+     *
+     * @param level   the log level.
+     * @param message the log message.
+     */
+    public void log(final int level, final Object message) {
+        log(level, message, null);
+    }
+
+    /**
+     * Logs a message at a specified log level.
+     *
+     * @param level   the log level.
+     * @param message the log message.
+     * @param e       the exception (<code>null</code> permitted).
+     */
+    public synchronized void log(final int level, final Object message,
+                                 final Exception e) {
+        if (this.buffer == null) {
+            this.dropped += 1;
+            return;
+        }
+        try {
+            encode(Math.min(level, DEBUG), message, e);
+            if (getEncodedSize() > this.buffer.remaining()) {
+                roll();
+                encode(Math.min(level, DEBUG), message, e);
+                if (getEncodedSize() > this.buffer.remaining()) {
+                    // the record is larger than a whole file.
+                    this.stringTable.clear();
+                    this.dropped += 1;
+                    return;
+                }
+            }
+            this.definitions.flip();
+            this.event.flip();
+            this.buffer.put(this.definitions);
+            this.buffer.put(this.event);
+        }
+        catch (IOException ioe) {
+            this.buffer = null;
+            this.dropped += 1;
+        }
+    }
+
+    /**
+     * Returns the size of the encoded record including its string table
+     * entries.
+     *
+     * @return the size in bytes.
+     */
+    private int getEncodedSize() {
+        return this.definitions.position() + this.event.position();
+    }
+
+    /**
+     * Encodes a log event into the scratch buffers.
+     *
+     * @param level   the log level.
+     * @param message the message.
+     * @param e       the exception, may be null.
+     */
+    private void encode(final int level, final Object message,
+                        final Exception e) {
+        this.definitions.clear();
+        this.event.clear();
+
+        String context = null;
+        Object content = message;
+        if (message instanceof Log.ContextMessage) {
+            final Log.ContextMessage cm = (Log.ContextMessage) message;
+            context = cm.getContext();
+            content = cm.getContent();
+        }
+
+        Exception exception = e;
+        String template = "{}";
+        Object[] args = new Object[] {content};
+        int argCount = 1;
+        if (content instanceof Log.ParameterizedMessage) {
+            final Log.ParameterizedMessage pm =
+                    (Log.ParameterizedMessage) content;
+            template = pm.getPattern();
+            args = pm.getParameters();
+            argCount = (args == null) ? 0 : args.length;
+            if (pm.getException() != null) {
+                // the exception is stored separately.
+                argCount -= 1;
+                exception = pm.getException();
+            }
+        }
+        else if (content instanceof Log.SimpleMessage) {
+            final Log.SimpleMessage sm = (Log.SimpleMessage) content;
+            final String text = String.valueOf(sm.getMessage());
+            if (text.indexOf("{}") < 0) {
+                args = sm.getParameters();
+                argCount = (args == null) ? 0 : args.length;
+                final StringBuffer b = new StringBuffer(text);
+                for (int i = 0; i < argCount; i++) {
+                    b.append("{}");
+                }
+                template = b.toString();
+            }
+        }
+        else if (content instanceof String
+                && ((String) content).indexOf("{}") < 0) {
+            template = (String) content;
+            argCount = 0;
+        }
+        argCount = Math.min(argCount, MAX_ARGUMENTS);
+
+        ensureCapacity(14);
+        this.event.put((byte) RECORD_EVENT);
+        this.event.putLong(System.currentTimeMillis());
+        this.event.put((byte) level);
+        writeStringReference(context);
+        writeStringReference(template);
+        ensureCapacity(1);
+        this.event.put((byte) argCount);
+        for (int i = 0; i < argCount; i++) {
+            writeArgument(args[i]);
+        }
+        ensureCapacity(1);
+        if (exception == null) {
+            this.event.put((byte) 0);
+        }
+        else {
+            final StringWriter stackTrace = new StringWriter();
+            exception.printStackTrace(new PrintWriter(stackTrace));
+            this.event.put((byte) 1);
+            writeString(stackTrace.toString());
+        }
+    }
+
+    /**
+     * Makes sure that the event buffer has room for the given number of
+     * bytes.
+     *
+     * @param size the number of bytes.
+     */
+    private void ensureCapacity(final int size) {
+        this.event = ensureCapacity(this.event, size);
+    }
+
+    /**
+     * Returns a buffer with the contents of the given buffer and room for
+     * the given number of bytes.
+     *
+     * @param buffer the buffer.
+     * @param size   the number of bytes.
+     *
+     * @return the given buffer or a larger copy.
+     */
+    private static ByteBuffer ensureCapacity(final ByteBuffer buffer,
+                                             final int size) {
+        if (buffer.remaining() >= size) {
+            return buffer;
+        }
+        final int capacity = Math.max(buffer.capacity() * 2,
+                buffer.position() + size);
+        final ByteBuffer larger = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Writes a string with its length into the event buffer.
+     *
+     * @param s the string.
+     */
+    private void writeString(final String s) {
+        final byte[] bytes = s.getBytes(UTF8);
+        ensureCapacity(4 + bytes.length);
+        this.event.putInt(bytes.length);
+        this.event.put(bytes);
+    }
+
+    /**
+     * Writes a reference to a string table entry, adding the entry if
+     * required. Long strings and strings that no longer fit into the table
+     * are written inline.
+     *
+     * @param s the string (<code>null</code> permitted).
+     */
+    private void writeStringReference(final String s) {
+        ensureCapacity(4);
+        if (s == null) {
+            this.event.putInt(STRING_NULL);
+            return;
+        }
+        Integer id = (Integer) this.stringTable.get(s);
+        if (id == null && s.length() <= MAX_TABLE_STRING_LENGTH
+                && this.stringTable.size() < MAX_STRING_TABLE_SIZE) {
+            id = new Integer(this.stringTable.size() + 1);
+            this.stringTable.put(s, id);
+            final byte[] bytes = s.getBytes(UTF8);
+            this.definitions = ensureCapacity(this.definitions,
+                    9 + bytes.length);
+            this.definitions.put((byte) RECORD_STRING);
+            this.definitions.putInt(id.intValue());
+            this.definitions.putInt(bytes.length);
+            this.definitions.put(bytes);
+        }
+        if (id == null) {
+            this.event.putInt(STRING_INLINE);
+            writeString(s);
+        }
+        else {
+            this.event.putInt(id.intValue());
+        }
+    }
+
+    /**
+     * Writes a message argument.
+     *
+     * @param arg the argument (<code>null</code> permitted).
+     */
+    private void writeArgument(final Object arg) {
+        ensureCapacity(9);
+        if (arg == null) {
+            this.event.put((byte) ARG_NULL);
+        }
+        else if (arg instanceof Integer || arg instanceof Short
+                || arg instanceof Byte) {
+            this.event.put((byte) ARG_INT);
+            this.event.putInt(((Number) arg).intValue());
+        }
+        else if (arg instanceof Long) {
+            this.event.put((byte) ARG_LONG);
+            this.event.putLong(((Long) arg).longValue());
+        }
+        else if (arg instanceof Double || arg instanceof Float) {
+            this.event.put((byte) ARG_DOUBLE);
+            this.event.putDouble(((Number) arg).doubleValue());
+        }
+        else if (arg instanceof Boolean) {
+            this.event.put((byte) ARG_BOOLEAN);
+            this.event.put((byte) (((Boolean) arg).booleanValue() ? 1 : 0));
+        }
+        else {
+            this.event.put((byte) ARG_STRING);
+            writeString(String.valueOf(arg));
+        }
+    }
+
+    /**
+     * Writes the contents of the current file to disk.
+     */
+    public synchronized void flush() {
+        if (this.buffer != null) {
+            this.buffer.force();
+        }
+    }
+
+    /**
+     * Returns the number of events that could not be written, because the
+     * target was closed, a file could not be created or the event was
+     * larger than a file.
+     *
+     * @return the number of dropped events.
+     */
+    public synchronized long getDroppedCount() {
+        return this.dropped;
+    }
+
+    /**
+     * Writes the current file to disk and stops logging. Events logged after
+     * this call are dropped.
+     */
+    public synchronized void close() {
+        if (this.buffer != null) {
+            this.buffer.force();
+            this.buffer = null;
+        }
+    }
+}
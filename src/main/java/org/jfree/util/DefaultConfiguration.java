@@ -37,16 +37,25 @@
  * Changes
  * -------
  * 04.06.2003 : Initial version (TM);
+ * 18-Oct-2026 : Answer prefix searches from a sorted key index;
+ * 18-Oct-2026 : Count modifications, so that parsed values can be cached;
+ * 18-Oct-2026 : Count modifications made through the key, entry and value
+ *               views;
  *
  */
 
 package org.jfree.util;
 
-import java.util.Collections;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Properties;
-import java.util.TreeSet;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.jfree.base.config.ModifiableConfiguration;
 
@@ -58,6 +67,307 @@ import org.jfree.base.config.ModifiableConfiguration;
 public class DefaultConfiguration extends Properties
     implements ModifiableConfiguration
 {
+  /**
+   * An iterator over one of the views that counts removals as
+   * modifications.
+   */
+  private class ViewIterator implements Iterator
+  {
+    /** The iterator of the underlying view. */
+    private final Iterator parent;
+
+    /** Whether the elements are map entries that must be wrapped. */
+    private final boolean entries;
+
+    /**
+     * Creates a new iterator.
+     *
+     * @param parent  the iterator of the underlying view.
+     * @param entries true, if the elements are map entries.
+     */
+    private ViewIterator(final Iterator parent, final boolean entries)
+    {
+      this.parent = parent;
+      this.entries = entries;
+    }
+
+    /**
+     * Checks, whether there are more elements.
+     *
+     * @return true, if there are more elements.
+     */
+    public boolean hasNext()
+    {
+      return this.parent.hasNext();
+    }
+
+    /**
+     * Returns the next element.
+     *
+     * @return the next element.
+     */
+    public Object next()
+    {
+      final Object next = this.parent.next();
+      if (this.entries)
+      {
+        return new ViewEntry((Map.Entry) next);
+      }
+      return next;
+    }
+
+    /**
+     * Removes the last returned element from the configuration.
+     */
+    public void remove()
+    {
+      synchronized (DefaultConfiguration.this)
+      {
+        this.parent.remove();
+        contentsChanged();
+      }
+    }
+  }
+
+  /**
+   * A map entry of the entry view that counts value changes as
+   * modifications.
+   */
+  private class ViewEntry implements Map.Entry
+  {
+    /** The underlying entry. */
+    private final Map.Entry parent;
+
+    /**
+     * Creates a new entry.
+     *
+     * @param parent the underlying entry.
+     */
+    private ViewEntry(final Map.Entry parent)
+    {
+      this.parent = parent;
+    }
+
+    /**
+     * Returns the key.
+     *
+     * @return the key.
+     */
+    public Object getKey()
+    {
+      return this.parent.getKey();
+    }
+
+    /**
+     * Returns the value.
+     *
+     * @return the value.
+     */
+    public Object getValue()
+    {
+      return this.parent.getValue();
+    }
+
+    /**
+     * Changes the value in the configuration.
+     *
+     * @param value the new value.
+     * @return the previous value.
+     */
+    public Object setValue(final Object value)
+    {
+      synchronized (DefaultConfiguration.this)
+      {
+        final Object result = this.parent.setValue(value);
+        contentsChanged();
+        return result;
+      }
+    }
+
+    /**
+     * Compares this entry with another entry.
+     *
+     * @param o the other object.
+     * @return true, if the other object is an equal entry.
+     */
+    public boolean equals(final Object o)
+    {
+      return this.parent.equals(o);
+    }
+
+    /**
+     * Returns the hash code of the entry.
+     *
+     * @return the hash code.
+     */
+    public int hashCode()
+    {
+      return this.parent.hashCode();
+    }
+
+    /**
+     * Returns the entry as text.
+     *
+     * @return the text.
+     */
+    public String toString()
+    {
+      return this.parent.toString();
+    }
+  }
+
+  /**
+   * The key or entry view. All removals go through the iterator or the
+   * configuration, so that they are counted.
+   */
+  private class ViewSet extends AbstractSet
+  {
+    /** The underlying view. */
+    private final Set parent;
+
+    /** Whether this is the entry view. */
+    private final boolean entries;
+
+    /**
+     * Creates a new view.
+     *
+     * @param parent  the underlying view.
+     * @param entries true, if this is the entry view.
+     */
+    private ViewSet(final Set parent, final boolean entries)
+    {
+      this.parent = parent;
+      this.entries = entries;
+    }
+
+    /**
+     * Returns an iterator over the view.
+     *
+     * @return the iterator.
+     */
+    public Iterator iterator()
+    {
+      return new ViewIterator(this.parent.iterator(), this.entries);
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+      return this.parent.size();
+    }
+
+    /**
+     * Checks, whether the view contains the given element.
+     *
+     * @param o the element.
+     * @return true, if the element is contained.
+     */
+    public boolean contains(final Object o)
+    {
+      return this.parent.contains(o);
+    }
+
+    /**
+     * Removes the given element from the configuration.
+     *
+     * @param o the element.
+     * @return true, if the element was removed.
+     */
+    public boolean remove(final Object o)
+    {
+      synchronized (DefaultConfiguration.this)
+      {
+        if (this.parent.remove(o) == false)
+        {
+          return false;
+        }
+        contentsChanged();
+        return true;
+      }
+    }
+
+    /**
+     * Removes all properties.
+     */
+    public void clear()
+    {
+      DefaultConfiguration.this.clear();
+    }
+  }
+
+  /**
+   * The value view. All removals go through the iterator or the
+   * configuration, so that they are counted.
+   */
+  private class ViewCollection extends AbstractCollection
+  {
+    /** The underlying view. */
+    private final Collection parent;
+
+    /**
+     * Creates a new view.
+     *
+     * @param parent the underlying view.
+     */
+    private ViewCollection(final Collection parent)
+    {
+      this.parent = parent;
+    }
+
+    /**
+     * Returns an iterator over the view.
+     *
+     * @return the iterator.
+     */
+    public Iterator iterator()
+    {
+      return new ViewIterator(this.parent.iterator(), false);
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+      return this.parent.size();
+    }
+
+    /**
+     * Checks, whether the view contains the given element.
+     *
+     * @param o the element.
+     * @return true, if the element is contained.
+     */
+    public boolean contains(final Object o)
+    {
+      return this.parent.contains(o);
+    }
+
+    /**
+     * Removes all properties.
+     */
+    public void clear()
+    {
+      DefaultConfiguration.this.clear();
+    }
+  }
+
+  /**
+   * The sorted keys, or null if the keys have changed since the index was
+   * built.
+   */
+  private transient volatile PropertyKeyIndex keyIndex;
+
+  /**
+   * The number of modifications made to this configuration.
+   */
+  private transient volatile long modificationCount;
 
   /**
    * Creates an empty property list with no default values.
@@ -102,20 +412,261 @@ public class DefaultConfiguration extends Properties
    */
   public Iterator findPropertyKeys(final String prefix)
   {
-    final TreeSet collector = new TreeSet();
-    final Enumeration enum1 = keys();
-    while (enum1.hasMoreElements())
+    return getKeyIndex().findKeys(prefix).iterator();
+  }
+
+  /**
+   * Returns the sorted index of the keys, building it if necessary.
+   *
+   * @return the key index.
+   */
+  private PropertyKeyIndex getKeyIndex()
+  {
+    PropertyKeyIndex index = this.keyIndex;
+    if (index == null)
     {
-      final String key = (String) enum1.nextElement();
-      if (key.startsWith(prefix))
+      synchronized (this)
       {
-        if (collector.contains(key) == false)
+        index = this.keyIndex;
+        if (index == null)
         {
-          collector.add(key);
+          index = new PropertyKeyIndex(keys());
+          this.keyIndex = index;
         }
       }
     }
-    return Collections.unmodifiableSet(collector).iterator();
+    return index;
+  }
+
+  /**
+   * Returns the number of modifications made to this configuration. The
+   * number changes whenever a property is added, changed or removed.
+   *
+   * @return the modification count.
+   */
+  public long getModificationCount()
+  {
+    return this.modificationCount;
+  }
+
+  /**
+   * Discards the key index and counts the modification. Callers must hold
+   * the lock of this configuration.
+   */
+  private void contentsChanged()
+  {
+    this.keyIndex = null;
+    this.modificationCount += 1;
+  }
+
+  /**
+   * Stores a property and discards the key index.
+   *
+   * @param key   the key.
+   * @param value the value.
+   * @return the previous value.
+   */
+  public synchronized Object put(final Object key, final Object value)
+  {
+    final Object result = super.put(key, value);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Stores all given properties and discards the key index.
+   *
+   * @param t the properties.
+   */
+  public synchronized void putAll(final Map t)
+  {
+    super.putAll(t);
+    contentsChanged();
+  }
+
+  /**
+   * Removes a property and discards the key index.
+   *
+   * @param key the key.
+   * @return the previous value.
+   */
+  public synchronized Object remove(final Object key)
+  {
+    final Object result = super.remove(key);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Removes all properties and discards the key index.
+   */
+  public synchronized void clear()
+  {
+    super.clear();
+    contentsChanged();
+  }
+
+  /**
+   * Stores a property if it is not yet defined and discards the key index.
+   *
+   * @param key   the key.
+   * @param value the value.
+   * @return the current value.
+   */
+  public synchronized Object putIfAbsent(final Object key, final Object value)
+  {
+    final Object result = super.putIfAbsent(key, value);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Removes a property if it has the given value and discards the key index.
+   *
+   * @param key   the key.
+   * @param value the expected value.
+   * @return true, if the property was removed.
+   */
+  public synchronized boolean remove(final Object key, final Object value)
+  {
+    final boolean result = super.remove(key, value);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Replaces the value of a property.
+   *
+   * @param key   the key.
+   * @param value the new value.
+   * @return the previous value.
+   */
+  public synchronized Object replace(final Object key, final Object value)
+  {
+    final Object result = super.replace(key, value);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Replaces the value of a property if it has the given value.
+   *
+   * @param key      the key.
+   * @param oldValue the expected value.
+   * @param newValue the new value.
+   * @return true, if the value was replaced.
+   */
+  public synchronized boolean replace(final Object key, final Object oldValue,
+                                      final Object newValue)
+  {
+    final boolean result = super.replace(key, oldValue, newValue);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Replaces all property values.
+   *
+   * @param function the function computing the new values.
+   */
+  public synchronized void replaceAll(final BiFunction function)
+  {
+    super.replaceAll(function);
+    contentsChanged();
+  }
+
+  /**
+   * Computes a property value and discards the key index.
+   *
+   * @param key               the key.
+   * @param remappingFunction the function.
+   * @return the new value.
+   */
+  public synchronized Object compute(final Object key,
+                                     final BiFunction remappingFunction)
+  {
+    final Object result = super.compute(key, remappingFunction);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Computes a missing property value and discards the key index.
+   *
+   * @param key             the key.
+   * @param mappingFunction the function.
+   * @return the current value.
+   */
+  public synchronized Object computeIfAbsent(final Object key,
+                                             final Function mappingFunction)
+  {
+    final Object result = super.computeIfAbsent(key, mappingFunction);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Recomputes an existing property value and discards the key index.
+   *
+   * @param key               the key.
+   * @param remappingFunction the function.
+   * @return the new value.
+   */
+  public synchronized Object computeIfPresent(final Object key,
+                                              final BiFunction remappingFunction)
+  {
+    final Object result = super.computeIfPresent(key, remappingFunction);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Merges a property value and discards the key index.
+   *
+   * @param key               the key.
+   * @param value             the value.
+   * @param remappingFunction the function.
+   * @return the new value.
+   */
+  public synchronized Object merge(final Object key, final Object value,
+                                   final BiFunction remappingFunction)
+  {
+    final Object result = super.merge(key, value, remappingFunction);
+    contentsChanged();
+    return result;
+  }
+
+  /**
+   * Returns the keys of the properties. Removing keys from the returned set
+   * removes the properties from this configuration.
+   *
+   * @return the keys.
+   */
+  public Set keySet()
+  {
+    return new ViewSet(super.keySet(), false);
+  }
+
+  /**
+   * Returns the properties as map entries. Removing entries or changing
+   * their values changes this configuration.
+   *
+   * @return the entries.
+   */
+  public Set entrySet()
+  {
+    return new ViewSet(super.entrySet(), true);
+  }
+
+  /**
+   * Returns the property values. Removing values removes the properties
+   * from this configuration.
+   *
+   * @return the values.
+   */
+  public Collection values()
+  {
+    return new ViewCollection(super.values());
   }
 
   /**
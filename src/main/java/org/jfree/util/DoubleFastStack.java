@@ -0,0 +1,274 @@
+/**
+ * ========================================
+ * JCommon : a free Java report library
+ * ========================================
+ *
+ * Project Info:  http://www.jfree.org/jcommon/
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation;
+ * either version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with this
+ * library; if not, write to the Free Software Foundation, Inc., 59 Temple Place, Suite 330,
+ * Boston, MA 02111-1307, USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * DoubleFastStack.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited.
+ */
+
+package org.jfree.util;
+
+import java.io.Serializable;
+import java.util.EmptyStackException;
+
+/**
+ * A very simple unsynchronized stack of double values. It follows the design of
+ * {@link FastStack}, but stores the values without boxing them.
+ */
+public final class DoubleFastStack implements Serializable, Cloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4417208935164702578L;
+
+    private double[] contents;
+    private int size;
+    private int initialSize;
+    private boolean shrinking;
+
+    /**
+     * Creates a new empty stack.
+     */
+    public DoubleFastStack() {
+        this.initialSize = 10;
+    }
+
+    /**
+     * Creates a new empty stack with the specified initial storage size.
+     *
+     * @param size  the initial storage elements.
+     */
+    public DoubleFastStack(int size) {
+        this.initialSize = Math.max(1, size);
+    }
+
+    /**
+     * Creates a new empty stack with the specified initial storage size.
+     *
+     * @param size  the initial storage elements.
+     * @param shrinking  a flag that controls whether the storage is reduced
+     *                   again when the stack gets popped.
+     */
+    public DoubleFastStack(int size, boolean shrinking) {
+        this.initialSize = Math.max(1, size);
+        this.shrinking = shrinking;
+    }
+
+    /**
+     * Returns <code>true</code> if the stack is empty, and <code>false</code>
+     * otherwise.
+     *
+     * @return A boolean.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     *
+     * @return The element count.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Makes sure the storage can hold the given number of elements.
+     *
+     * @param capacity  the number of elements.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (this.contents == null) {
+            this.contents = new double[Math.max(capacity, this.initialSize)];
+        }
+        else if (this.contents.length < capacity) {
+            // grow ..
+            final double[] newContents = new double[capacity
+                    + this.initialSize];
+            System.arraycopy(this.contents, 0, newContents, 0, this.size);
+            this.contents = newContents;
+        }
+    }
+
+    /**
+     * Reduces the storage if this is a shrinking stack and most of the
+     * storage is unused.
+     */
+    private void shrinkIfNeeded() {
+        if (this.shrinking == false) {
+            return;
+        }
+        final int length = this.contents.length;
+        if (length > this.initialSize && this.size <= length / 4) {
+            final double[] newContents = new double[Math.max(this.initialSize,
+                    length / 2)];
+            System.arraycopy(this.contents, 0, newContents, 0, this.size);
+            this.contents = newContents;
+        }
+    }
+
+    /**
+     * Pushes a value onto the stack.
+     *
+     * @param o  the value.
+     */
+    public void push(double o) {
+        ensureCapacity(this.size + 1);
+        this.contents[this.size] = o;
+        this.size += 1;
+    }
+
+    /**
+     * Pushes all elements of the given array onto the stack. The last
+     * element of the array will be the top of the stack.
+     *
+     * @param items  the values.
+     */
+    public void pushAll(double[] items) {
+        pushAll(items, 0, items.length);
+    }
+
+    /**
+     * Pushes a range of the given array onto the stack. The last element of
+     * the range will be the top of the stack.
+     *
+     * @param items  the values.
+     * @param offset  the index of the first element to push.
+     * @param length  the number of elements to push.
+     */
+    public void pushAll(double[] items, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > items.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(this.size + length);
+        System.arraycopy(items, offset, this.contents, this.size, length);
+        this.size += length;
+    }
+
+    /**
+     * Returns the value at the top of the stack without removing it.
+     *
+     * @return The object at the top of the stack.
+     */
+    public double peek() {
+        if (this.size == 0) {
+            throw new EmptyStackException();
+        }
+        return this.contents[this.size - 1];
+    }
+
+    /**
+     * Removes and returns the value from the top of the stack.
+     *
+     * @return The value.
+     */
+    public double pop() {
+        if (this.size == 0) {
+            throw new EmptyStackException();
+        }
+        this.size -= 1;
+        final double retval = this.contents[this.size];
+        shrinkIfNeeded();
+        return retval;
+    }
+
+    /**
+     * Removes the given number of values from the top of the stack.
+     *
+     * @param count  the number of values to remove.
+     */
+    public void pop(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative.");
+        }
+        if (count > this.size) {
+            throw new EmptyStackException();
+        }
+        if (count == 0) {
+            return;
+        }
+        this.size -= count;
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Reduces the storage to the current number of elements, but not below
+     * the initial storage size.
+     */
+    public void trimToSize() {
+        if (this.contents == null) {
+            return;
+        }
+        final int length = Math.max(this.size, this.initialSize);
+        if (length < this.contents.length) {
+            final double[] newContents = new double[length];
+            System.arraycopy(this.contents, 0, newContents, 0, this.size);
+            this.contents = newContents;
+        }
+    }
+
+    /**
+     * Returns a clone of the stack.
+     *
+     * @return A clone.
+     */
+    public Object clone() {
+        try {
+            DoubleFastStack stack = (DoubleFastStack) super.clone();
+            if (this.contents != null) {
+                stack.contents = this.contents.clone();
+            }
+            return stack;
+        }
+        catch (CloneNotSupportedException cne) {
+            throw new IllegalStateException("Clone not supported? Why?");
+        }
+    }
+
+    /**
+     * Clears the stack.
+     */
+    public void clear() {
+        this.size = 0;
+        if (this.shrinking && this.contents != null
+                && this.contents.length > this.initialSize) {
+            this.contents = null;
+        }
+    }
+
+    /**
+     * Returns the value at the specified slot in the stack.
+     *
+     * @param index  the index.
+     *
+     * @return The value.
+     */
+    public double get(final int index) {
+        if (index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.contents[index];
+    }
+}
@@ -37,24 +37,118 @@
  * Changes
  * -------
  * 20-May-2005 : Initial version.
+ * 18-Oct-2026 : Added typed accessors that cache the parsed values.
+ * 18-Oct-2026 : Only trust the modification count of hierarchies without
+ *               system properties.
+ * 18-Oct-2026 : clone() returns the cloned wrapper; int values are trimmed
+ *               like the other numbers.
  */
 
 package org.jfree.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jfree.base.config.HierarchicalConfiguration;
+import org.jfree.base.config.ModifiableConfiguration;
 
 /**
  * A wrapper for the extended configuration interface around a plain configuration.
+ * <p>
+ * The typed accessors parse a property value once and cache the result. If the
+ * wrapped configuration is a {@link DefaultConfiguration} or a
+ * {@link HierarchicalConfiguration} whose hierarchy counts all its
+ * modifications, the cached values are reused until the configuration
+ * reports a modification. For all other configurations, including every
+ * hierarchy that contains the system properties, the property string is
+ * fetched on each call and only the parsing is saved, so the accessors
+ * always return the current value.
  *
  * @author Thomas Morgner
  */
 public class ExtendedConfigurationWrapper
         implements ExtendedConfiguration
 {
+  /**
+   * A parsed property value.
+   */
+  private static final class ParsedValue
+  {
+    /** The modification count of the configuration when it was parsed. */
+    private final long modificationCount;
+
+    /** The value type. */
+    private final int type;
+
+    /** The enum class for enum values, null otherwise. */
+    private final Class enumType;
+
+    /** The property string. */
+    private final String source;
+
+    /** The parsed value, or INVALID. */
+    private final Object value;
+
+    /**
+     * Creates a new parsed value.
+     *
+     * @param modificationCount the modification count.
+     * @param type              the value type.
+     * @param enumType          the enum class, or null.
+     * @param source            the property string.
+     * @param value             the parsed value.
+     */
+    private ParsedValue(final long modificationCount, final int type,
+                        final Class enumType, final String source,
+                        final Object value)
+    {
+      this.modificationCount = modificationCount;
+      this.type = type;
+      this.enumType = enumType;
+      this.source = source;
+      this.value = value;
+    }
+  }
+
+  /** The modification count used for configurations that do not count. */
+  private static final long UNTRACKED = Long.MIN_VALUE;
+
+  /** Marks a property that is not set or could not be parsed. */
+  private static final Object INVALID = new Object();
+
+  /** Value type: boolean. */
+  private static final int TYPE_BOOLEAN = 0;
+
+  /** Value type: int. */
+  private static final int TYPE_INT = 1;
+
+  /** Value type: long. */
+  private static final int TYPE_LONG = 2;
+
+  /** Value type: double. */
+  private static final int TYPE_DOUBLE = 3;
+
+  /** Value type: enum constant. */
+  private static final int TYPE_ENUM = 4;
+
+  /** Value type: duration in milliseconds. */
+  private static final int TYPE_DURATION = 5;
+
+  /** Value type: size in bytes. */
+  private static final int TYPE_SIZE = 6;
+
   /** The base configuration. */
   private Configuration parent;
 
+  /** The parsed values (String to ParsedValue). */
+  private transient ConcurrentHashMap cache;
+
   /**
    * Creates a wrapper around the given configuration.
    *
@@ -68,6 +162,7 @@ public class ExtendedConfigurationWrapper
       throw new NullPointerException("Parent given must not be null");
     }
     this.parent = parent;
+    this.cache = new ConcurrentHashMap();
   }
 
   /**
@@ -94,7 +189,12 @@ public class ExtendedConfigurationWrapper
   public boolean getBoolProperty (final String name,
                                   final boolean defaultValue)
   {
-    return "true".equals(this.parent.getConfigProperty(name, String.valueOf(defaultValue)));
+    final Object value = getParsedValue(name, TYPE_BOOLEAN, null);
+    if (value == INVALID)
+    {
+      return defaultValue;
+    }
+    return ((Boolean) value).booleanValue();
   }
 
   /**
@@ -120,21 +220,379 @@ public class ExtendedConfigurationWrapper
   public int getIntProperty (final String name,
                              final int defaultValue)
   {
-    final String retval = this.parent.getConfigProperty(name);
-    if (retval == null)
+    final Object value = getParsedValue(name, TYPE_INT, null);
+    if (value == INVALID)
     {
       return defaultValue;
     }
-    try
+    return ((Integer) value).intValue();
+  }
+
+  /**
+   * Returns a given property as long value. The specified default value is
+   * returned if the property value is no number or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no long value
+   * @return the parsed number value or the specified default value
+   */
+  public long getLongProperty (final String name,
+                               final long defaultValue)
+  {
+    final Object value = getParsedValue(name, TYPE_LONG, null);
+    if (value == INVALID)
+    {
+      return defaultValue;
+    }
+    return ((Long) value).longValue();
+  }
+
+  /**
+   * Returns a given property as double value. The specified default value is
+   * returned if the property value is no number or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the value to be returned if the property is no number
+   * @return the parsed number value or the specified default value
+   */
+  public double getDoubleProperty (final String name,
+                                   final double defaultValue)
+  {
+    final Object value = getParsedValue(name, TYPE_DOUBLE, null);
+    if (value == INVALID)
     {
-      return Integer.parseInt(retval);
+      return defaultValue;
+    }
+    return ((Double) value).doubleValue();
+  }
+
+  /**
+   * Returns a given property as enum constant. The property value must be
+   * the name of one of the constants of the given enum class. The specified
+   * default value is returned if there is no such constant or the property
+   * is not set.
+   *
+   * @param name the name of the property
+   * @param enumType the enum class
+   * @param defaultValue the value to be returned if the property is no valid
+   *                     constant name
+   * @return the enum constant or the specified default value
+   */
+  public <E extends Enum<E>> E getEnumProperty (final String name,
+                                                final Class<E> enumType,
+                                                final E defaultValue)
+  {
+    if (enumType == null)
+    {
+      throw new NullPointerException();
+    }
+    final Object value = getParsedValue(name, TYPE_ENUM, enumType);
+    if (value == INVALID)
+    {
+      return defaultValue;
+    }
+    return enumType.cast(value);
+  }
+
+  /**
+   * Returns a given property as duration in milliseconds. The property value
+   * is either a number followed by one of the units 'ms', 's', 'm', 'min',
+   * 'h' or 'd', a plain number of milliseconds, or an ISO-8601 duration such
+   * as 'PT1M30S'. The specified default value is returned if the property
+   * value cannot be parsed or the property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the duration in milliseconds to be returned if the
+   *                     property is no valid duration
+   * @return the duration in milliseconds or the specified default value
+   */
+  public long getDurationProperty (final String name,
+                                   final long defaultValue)
+  {
+    final Object value = getParsedValue(name, TYPE_DURATION, null);
+    if (value == INVALID)
+    {
+      return defaultValue;
     }
-    catch (Exception e)
+    return ((Long) value).longValue();
+  }
+
+  /**
+   * Returns a given property as size in bytes. The property value is a
+   * number optionally followed by one of the units 'b', 'k', 'kb', 'm',
+   * 'mb', 'g', 'gb', 't' or 'tb'; the units are powers of 1024. The specified
+   * default value is returned if the property value cannot be parsed or the
+   * property is not set.
+   *
+   * @param name the name of the property
+   * @param defaultValue the size to be returned if the property is no valid
+   *                     size
+   * @return the size in bytes or the specified default value
+   */
+  public long getSizeProperty (final String name,
+                               final long defaultValue)
+  {
+    final Object value = getParsedValue(name, TYPE_SIZE, null);
+    if (value == INVALID)
     {
       return defaultValue;
     }
+    return ((Long) value).longValue();
+  }
+
+  /**
+   * Sets a configuration property in the wrapped configuration, which must be
+   * a {@link ModifiableConfiguration}.
+   *
+   * @param name the name of the property
+   * @param value the new value, or null to remove the property
+   * @throws UnsupportedOperationException if the wrapped configuration cannot
+   *         be modified.
+   */
+  public void setConfigProperty (final String name, final String value)
+  {
+    if (this.parent instanceof ModifiableConfiguration == false)
+    {
+      throw new UnsupportedOperationException
+          ("The wrapped configuration is not modifiable");
+    }
+    ((ModifiableConfiguration) this.parent).setConfigProperty(name, value);
+    this.cache.remove(name);
+  }
+
+  /**
+   * Discards all cached property values.
+   */
+  public void invalidateCache ()
+  {
+    this.cache.clear();
+  }
+
+  /**
+   * Returns the modification count of the wrapped configuration.
+   *
+   * @return the modification count, or UNTRACKED if the configuration does
+   *         not count its modifications.
+   */
+  private long getModificationCount ()
+  {
+    if (this.parent instanceof HierarchicalConfiguration)
+    {
+      final long count = ((HierarchicalConfiguration) this.parent)
+          .getHierarchyModificationCount();
+      if (count == HierarchicalConfiguration.UNTRACKED)
+      {
+        return UNTRACKED;
+      }
+      return count;
+    }
+    if (this.parent instanceof DefaultConfiguration)
+    {
+      return ((DefaultConfiguration) this.parent).getModificationCount();
+    }
+    return UNTRACKED;
+  }
+
+  /**
+   * Returns the parsed value of a property, parsing the property string only
+   * if it has not been parsed since the configuration was last modified.
+   *
+   * @param name the name of the property
+   * @param type the value type
+   * @param enumType the enum class for enum values, null otherwise
+   * @return the parsed value, or INVALID if the property is not set or
+   *         cannot be parsed.
+   */
+  private Object getParsedValue (final String name, final int type,
+                                 final Class enumType)
+  {
+    final long modificationCount = getModificationCount();
+    final ParsedValue cached = (ParsedValue) this.cache.get(name);
+    if (cached != null && cached.type == type && cached.enumType == enumType
+        && cached.modificationCount == modificationCount
+        && modificationCount != UNTRACKED)
+    {
+      return cached.value;
+    }
+
+    final String source = this.parent.getConfigProperty(name);
+    if (cached != null && cached.type == type && cached.enumType == enumType
+        && ObjectUtilities.equal(cached.source, source))
+    {
+      if (cached.modificationCount != modificationCount)
+      {
+        this.cache.put(name, new ParsedValue
+            (modificationCount, type, enumType, source, cached.value));
+      }
+      return cached.value;
+    }
+    final Object value = parse(source, type, enumType);
+    this.cache.put(name, new ParsedValue
+        (modificationCount, type, enumType, source, value));
+    return value;
+  }
+
+  /**
+   * Parses a property string.
+   *
+   * @param source the property string, may be null
+   * @param type the value type
+   * @param enumType the enum class for enum values, null otherwise
+   * @return the parsed value, or INVALID.
+   */
+  private static Object parse (final String source, final int type,
+                               final Class enumType)
+  {
+    if (source == null)
+    {
+      return INVALID;
+    }
+    try
+    {
+      switch (type)
+      {
+        case TYPE_BOOLEAN:
+          return Boolean.valueOf("true".equals(source));
+        case TYPE_INT:
+          return Integer.valueOf(Integer.parseInt(source.trim()));
+        case TYPE_LONG:
+          return Long.valueOf(Long.parseLong(source.trim()));
+        case TYPE_DOUBLE:
+          return Double.valueOf(Double.parseDouble(source.trim()));
+        case TYPE_ENUM:
+          return Enum.valueOf(enumType, source.trim());
+        case TYPE_DURATION:
+          return Long.valueOf(parseDuration(source));
+        case TYPE_SIZE:
+          return Long.valueOf(parseSize(source));
+        default:
+          throw new IllegalArgumentException();
+      }
+    }
+    catch (RuntimeException e)
+    {
+      // NumberFormatException, ArithmeticException and invalid names.
+      return INVALID;
+    }
+  }
+
+  /**
+   * Parses a duration.
+   *
+   * @param source the property string
+   * @return the duration in milliseconds.
+   */
+  private static long parseDuration (final String source)
+  {
+    final String text = source.trim().toLowerCase(Locale.ENGLISH);
+    if (text.startsWith("p") || text.startsWith("-p"))
+    {
+      return Duration.parse(text.toUpperCase(Locale.ENGLISH)).toMillis();
+    }
+    final int unitStart = findUnitStart(text);
+    final String unit = text.substring(unitStart).trim();
+    final long factor;
+    if (unit.length() == 0 || unit.equals("ms"))
+    {
+      factor = 1;
+    }
+    else if (unit.equals("s"))
+    {
+      factor = 1000L;
+    }
+    else if (unit.equals("m") || unit.equals("min"))
+    {
+      factor = 60L * 1000L;
+    }
+    else if (unit.equals("h"))
+    {
+      factor = 60L * 60L * 1000L;
+    }
+    else if (unit.equals("d"))
+    {
+      factor = 24L * 60L * 60L * 1000L;
+    }
+    else
+    {
+      throw new IllegalArgumentException("Unknown unit: " + unit);
+    }
+    return scale(text.substring(0, unitStart), factor);
+  }
+
+  /**
+   * Parses a size.
+   *
+   * @param source the property string
+   * @return the size in bytes.
+   */
+  private static long parseSize (final String source)
+  {
+    final String text = source.trim().toLowerCase(Locale.ENGLISH);
+    final int unitStart = findUnitStart(text);
+    String unit = text.substring(unitStart).trim();
+    if (unit.length() == 2 && unit.charAt(1) == 'b')
+    {
+      unit = unit.substring(0, 1);
+    }
+    final int shift;
+    if (unit.length() == 0 || unit.equals("b"))
+    {
+      shift = 0;
+    }
+    else if (unit.equals("k"))
+    {
+      shift = 10;
+    }
+    else if (unit.equals("m"))
+    {
+      shift = 20;
+    }
+    else if (unit.equals("g"))
+    {
+      shift = 30;
+    }
+    else if (unit.equals("t"))
+    {
+      shift = 40;
+    }
+    else
+    {
+      throw new IllegalArgumentException("Unknown unit: " + unit);
+    }
+    return scale(text.substring(0, unitStart), 1L << shift);
+  }
+
+  /**
+   * Returns the position of the first letter in the given text.
+   *
+   * @param text the text
+   * @return the position, or the length of the text if there is no letter.
+   */
+  private static int findUnitStart (final String text)
+  {
+    for (int i = 0; i < text.length(); i++)
+    {
+      if (Character.isLetter(text.charAt(i)))
+      {
+        return i;
+      }
+    }
+    return text.length();
   }
 
+  /**
+   * Multiplies a decimal number with a factor.
+   *
+   * @param number the number
+   * @param factor the factor
+   * @return the product, rounded towards zero.
+   * @throws ArithmeticException if the result does not fit into a long.
+   */
+  private static long scale (final String number, final long factor)
+  {
+    return new BigDecimal(number.trim()).multiply(BigDecimal.valueOf(factor))
+        .toBigInteger().longValueExact();
+  }
   /**
    * Checks, whether a given property is defined.
    *
@@ -205,6 +663,22 @@ public class ExtendedConfigurationWrapper
   {
     ExtendedConfigurationWrapper wrapper = (ExtendedConfigurationWrapper) super.clone();
     wrapper.parent = (Configuration) this.parent.clone();
-    return this.parent;
+    wrapper.cache = new ConcurrentHashMap();
+    return wrapper;
+  }
+
+  /**
+   * Helper method for serialization.
+   *
+   * @param in the input stream from where to read the serialized object.
+   * @throws IOException            when reading the stream fails.
+   * @throws ClassNotFoundException if a class definition for a serialized
+   *                                object could not be found.
+   */
+  private void readObject (final ObjectInputStream in)
+      throws IOException, ClassNotFoundException
+  {
+    in.defaultReadObject();
+    this.cache = new ConcurrentHashMap();
   }
 }
@@ -37,13 +37,28 @@ import java.util.EmptyStackException;
 /**
  * A very simple unsynchronized stack. This one is faster than the
  * java.util-Version.
+ * <p>
+ * If the stack is created as shrinking stack, the storage is reduced again
+ * when the stack has been popped down to a quarter of its capacity. This
+ * keeps long-lived parser stacks from holding on to the memory of a single
+ * deeply nested document.
+ * <p>
+ * See {@link IntFastStack} and {@link DoubleFastStack} for stacks of
+ * primitive values.
+ *
+ * @param <T> the type of the elements.
  *
  * @author Thomas Morgner
  */
-public final class FastStack implements Serializable, Cloneable {
+public final class FastStack<T> implements Serializable, Cloneable {
+
+    /** For serialization, the value computed for the non-generic version. */
+    private static final long serialVersionUID = -7163589617509600412L;
+
     private Object[] contents;
     private int size;
     private int initialSize;
+    private boolean shrinking;
 
     /**
      * Creates a new empty stack.
@@ -61,6 +76,18 @@ public final class FastStack implements Serializable, Cloneable {
         this.initialSize = Math.max(1, size);
     }
 
+    /**
+     * Creates a new empty stack with the specified initial storage size.
+     *
+     * @param size  the initial storage elements.
+     * @param shrinking  a flag that controls whether the storage is reduced
+     *                   again when the stack gets popped.
+     */
+    public FastStack(int size, boolean shrinking) {
+        this.initialSize = Math.max(1, size);
+        this.shrinking = shrinking;
+    }
+
     /**
      * Returns <code>true</code> if the stack is empty, and <code>false</code>
      * otherwise.
@@ -81,28 +108,76 @@ public final class FastStack implements Serializable, Cloneable {
     }
 
     /**
-     * Pushes an object onto the stack.
+     * Makes sure the storage can hold the given number of elements.
      *
-     * @param o  the object.
+     * @param capacity  the number of elements.
      */
-    public void push(Object o) {
+    private void ensureCapacity(final int capacity) {
         if (this.contents == null) {
-            this.contents = new Object[this.initialSize];
-            this.contents[0] = o;
-            this.size = 1;
-            return;
+            this.contents = new Object[Math.max(capacity, this.initialSize)];
         }
-
-        final int oldSize = this.size;
-        this.size += 1;
-        if (this.contents.length == this.size) {
+        else if (this.contents.length < capacity) {
             // grow ..
-            final Object[] newContents = new Object[this.size
+            final Object[] newContents = new Object[capacity
                     + this.initialSize];
             System.arraycopy(this.contents, 0, newContents, 0, this.size);
             this.contents = newContents;
         }
-        this.contents[oldSize] = o;
+    }
+
+    /**
+     * Reduces the storage if this is a shrinking stack and most of the
+     * storage is unused.
+     */
+    private void shrinkIfNeeded() {
+        if (this.shrinking == false) {
+            return;
+        }
+        final int length = this.contents.length;
+        if (length > this.initialSize && this.size <= length / 4) {
+            final Object[] newContents = new Object[Math.max(this.initialSize,
+                    length / 2)];
+            System.arraycopy(this.contents, 0, newContents, 0, this.size);
+            this.contents = newContents;
+        }
+    }
+
+    /**
+     * Pushes an object onto the stack.
+     *
+     * @param o  the object.
+     */
+    public void push(T o) {
+        ensureCapacity(this.size + 1);
+        this.contents[this.size] = o;
+        this.size += 1;
+    }
+
+    /**
+     * Pushes all elements of the given array onto the stack. The last
+     * element of the array will be the top of the stack.
+     *
+     * @param items  the objects.
+     */
+    public void pushAll(T[] items) {
+        pushAll(items, 0, items.length);
+    }
+
+    /**
+     * Pushes a range of the given array onto the stack. The last element of
+     * the range will be the top of the stack.
+     *
+     * @param items  the objects.
+     * @param offset  the index of the first element to push.
+     * @param length  the number of elements to push.
+     */
+    public void pushAll(T[] items, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > items.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(this.size + length);
+        System.arraycopy(items, offset, this.contents, this.size, length);
+        this.size += length;
     }
 
     /**
@@ -110,11 +185,11 @@ public final class FastStack implements Serializable, Cloneable {
      *
      * @return The object at the top of the stack.
      */
-    public Object peek() {
+    public T peek() {
         if (this.size == 0) {
             throw new EmptyStackException();
         }
-        return this.contents[this.size - 1];
+        return (T) this.contents[this.size - 1];
     }
 
     /**
@@ -122,16 +197,54 @@ public final class FastStack implements Serializable, Cloneable {
      *
      * @return The object.
      */
-    public Object pop() {
+    public T pop() {
         if (this.size == 0) {
             throw new EmptyStackException();
         }
         this.size -= 1;
-        final Object retval = this.contents[this.size];
+        final T retval = (T) this.contents[this.size];
         this.contents[this.size] = null;
+        shrinkIfNeeded();
         return retval;
     }
 
+    /**
+     * Removes the given number of objects from the top of the stack.
+     *
+     * @param count  the number of objects to remove.
+     */
+    public void pop(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative.");
+        }
+        if (count > this.size) {
+            throw new EmptyStackException();
+        }
+        if (count == 0) {
+            return;
+        }
+        final int oldSize = this.size;
+        this.size -= count;
+        Arrays.fill(this.contents, this.size, oldSize, null);
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Reduces the storage to the current number of elements, but not below
+     * the initial storage size.
+     */
+    public void trimToSize() {
+        if (this.contents == null) {
+            return;
+        }
+        final int length = Math.max(this.size, this.initialSize);
+        if (length < this.contents.length) {
+            final Object[] newContents = new Object[length];
+            System.arraycopy(this.contents, 0, newContents, 0, this.size);
+            this.contents = newContents;
+        }
+    }
+
     /**
      * Returns a clone of the stack.
      *
@@ -141,7 +254,7 @@ public final class FastStack implements Serializable, Cloneable {
         try {
             FastStack stack = (FastStack) super.clone();
             if (this.contents != null) {
-                stack.contents = (Object[]) this.contents.clone();
+                stack.contents = this.contents.clone();
             }
             return stack;
         }
@@ -156,7 +269,12 @@ public final class FastStack implements Serializable, Cloneable {
     public void clear() {
         this.size = 0;
         if (this.contents != null) {
-            Arrays.fill(this.contents, null);
+            if (this.shrinking && this.contents.length > this.initialSize) {
+                this.contents = null;
+            }
+            else {
+                Arrays.fill(this.contents, null);
+            }
         }
     }
 
@@ -167,10 +285,10 @@ public final class FastStack implements Serializable, Cloneable {
      *
      * @return The item.
      */
-    public Object get(final int index) {
+    public T get(final int index) {
         if (index >= this.size) {
             throw new IndexOutOfBoundsException();
         }
-        return this.contents[index];
+        return (T) this.contents[index];
     }
 }
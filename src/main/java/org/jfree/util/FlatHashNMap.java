@@ -0,0 +1,959 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------
+ * FlatHashNMap.java
+ * -----------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version, an open-addressing variant of HashNMap;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link HashNMap} that keeps its keys in a single open-addressing table
+ * and stores the values of all keys in one shared array. The values of a
+ * key occupy a contiguous run in that array, so lookups and iteration do not
+ * touch any per-key list objects.
+ * <p>
+ * In addition to the inherited API, this map maintains a reverse index over
+ * all values, which makes {@link #containsValue(Object)} a hash lookup
+ * instead of a scan over all keys, and offers visitor-style iteration via
+ * {@link #visit(Object, EntryVisitor)} and {@link #visitAll(EntryVisitor)}
+ * that does not create any iterator objects.
+ * <p>
+ * The iterators returned by this map do not support <code>remove()</code>.
+ * The behaviour of an iterator or visitor is undefined if the map is
+ * modified while the iteration is in progress.
+ */
+public class FlatHashNMap extends HashNMap {
+
+    /** Serialization support. */
+    private static final long serialVersionUID = 4315282409561378409L;
+
+    /**
+     * A callback that receives key/value pairs from the visit methods.
+     */
+    public interface EntryVisitor {
+
+        /**
+         * Receives a single key/value pair.
+         *
+         * @param key   the key.
+         * @param value the value.
+         * @return true, to continue the iteration, false to stop it.
+         */
+        public boolean visit(Object key, Object value);
+    }
+
+    /**
+     * An iterator over the values of a single key.
+     */
+    private final class ValueIterator implements Iterator {
+
+        /** The next position in the value array. */
+        private int position;
+
+        /** The end position (exclusive). */
+        private final int end;
+
+        /**
+         * Creates a new iterator over the given range of the value array.
+         *
+         * @param start the start position.
+         * @param end   the end position (exclusive).
+         */
+        private ValueIterator(final int start, final int end) {
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * Returns <tt>true</tt> if the iteration has more elements.
+         *
+         * @return <tt>true</tt> if the iterator has more elements.
+         */
+        public boolean hasNext() {
+            return this.position < this.end;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration.
+         * @throws NoSuchElementException iteration has no more elements.
+         */
+        public Object next() {
+            if (this.position >= this.end) {
+                throw new NoSuchElementException();
+            }
+            final Object value = FlatHashNMap.this.values[this.position];
+            this.position += 1;
+            return value;
+        }
+
+        /**
+         * Not supported.
+         *
+         * @throws UnsupportedOperationException always.
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * An iterator over the keys of the map.
+     */
+    private final class KeyIterator implements Iterator {
+
+        /** The next slot to inspect. */
+        private int slot;
+
+        /**
+         * Creates a new key iterator.
+         */
+        private KeyIterator() {
+            advance();
+        }
+
+        /**
+         * Moves the slot pointer to the next used slot.
+         */
+        private void advance() {
+            final Object[] keys = FlatHashNMap.this.keys;
+            while (this.slot < keys.length && keys[this.slot] == null) {
+                this.slot += 1;
+            }
+        }
+
+        /**
+         * Returns <tt>true</tt> if the iteration has more elements.
+         *
+         * @return <tt>true</tt> if the iterator has more elements.
+         */
+        public boolean hasNext() {
+            return this.slot < FlatHashNMap.this.keys.length;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration.
+         * @throws NoSuchElementException iteration has no more elements.
+         */
+        public Object next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            final Object key = unmask(FlatHashNMap.this.keys[this.slot]);
+            this.slot += 1;
+            advance();
+            return key;
+        }
+
+        /**
+         * Not supported.
+         *
+         * @throws UnsupportedOperationException always.
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A read-only set view of the keys.
+     */
+    private final class KeySet extends AbstractSet {
+
+        /**
+         * Returns an iterator over the keys.
+         *
+         * @return an iterator.
+         */
+        public Iterator iterator() {
+            return new KeyIterator();
+        }
+
+        /**
+         * Returns the number of keys.
+         *
+         * @return the number of keys.
+         */
+        public int size() {
+            return FlatHashNMap.this.keyCount;
+        }
+
+        /**
+         * Tests whether the given key is contained in the map.
+         *
+         * @param o the key.
+         * @return true, if the key is contained in the map.
+         */
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+    }
+
+    /** Stands in for the <code>null</code> key, as null marks free slots. */
+    private static final Object NULL_KEY = new Object();
+
+    /** The initial number of key slots. */
+    private static final int INITIAL_SLOTS = 16;
+
+    /** The initial run length reserved for the values of a key. */
+    private static final int INITIAL_RUN = 2;
+
+    /** The keys, <code>null</code> marks a free slot. */
+    private transient Object[] keys;
+
+    /** The start of each key's run in the value array. */
+    private transient int[] starts;
+
+    /** The number of values stored for each key. */
+    private transient int[] counts;
+
+    /** The reserved length of each key's run in the value array. */
+    private transient int[] capacities;
+
+    /** The number of keys in the map. */
+    private transient int keyCount;
+
+    /** The shared value array. */
+    private transient Object[] values;
+
+    /** The first unused position of the value array. */
+    private transient int valuesEnd;
+
+    /** The number of positions in the value array that are no longer used. */
+    private transient int garbage;
+
+    /** Maps each value to the number of times it is stored (int[1]). */
+    private transient HashMap valueIndex;
+
+    /**
+     * Default constructor.
+     */
+    public FlatHashNMap() {
+        initStorage(INITIAL_SLOTS);
+    }
+
+    /**
+     * Creates the empty storage structures.
+     *
+     * @param slots the number of key slots, a power of two.
+     */
+    private void initStorage(final int slots) {
+        this.keys = new Object[slots];
+        this.starts = new int[slots];
+        this.counts = new int[slots];
+        this.capacities = new int[slots];
+        this.keyCount = 0;
+        this.values = new Object[slots * INITIAL_RUN];
+        this.valuesEnd = 0;
+        this.garbage = 0;
+        this.valueIndex = new HashMap();
+    }
+
+    /**
+     * Replaces the null key with its placeholder.
+     *
+     * @param key the key.
+     * @return the stored form of the key.
+     */
+    private static Object mask(final Object key) {
+        if (key == null) {
+            return NULL_KEY;
+        }
+        return key;
+    }
+
+    /**
+     * Replaces the null-key placeholder with null.
+     *
+     * @param key the stored form of the key.
+     * @return the key.
+     */
+    private static Object unmask(final Object key) {
+        if (key == NULL_KEY) {
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * Computes the home slot for a stored key.
+     *
+     * @param key  the stored form of the key.
+     * @param mask the table size minus one.
+     * @return the slot.
+     */
+    private static int home(final Object key, final int mask) {
+        final int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the slot of the given key, or -1 if the key is not present.
+     *
+     * @param key the key.
+     * @return the slot or -1.
+     */
+    private int findSlot(final Object key) {
+        final Object k = mask(key);
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int i = home(k, mask);
+        while (true) {
+            final Object current = keys[i];
+            if (current == null) {
+                return -1;
+            }
+            if (current == k || current.equals(k)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds a key that is known not to be present and returns its slot.
+     *
+     * @param key the key.
+     * @return the slot.
+     */
+    private int insertKey(final Object key) {
+        if ((this.keyCount + 1) * 2 > this.keys.length) {
+            growKeys();
+        }
+        final Object k = mask(key);
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int i = home(k, mask);
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = k;
+        this.starts[i] = 0;
+        this.counts[i] = 0;
+        this.capacities[i] = 0;
+        this.keyCount += 1;
+        return i;
+    }
+
+    /**
+     * Doubles the number of key slots. The value array is not touched.
+     */
+    private void growKeys() {
+        final Object[] oldKeys = this.keys;
+        final int[] oldStarts = this.starts;
+        final int[] oldCounts = this.counts;
+        final int[] oldCapacities = this.capacities;
+
+        final int slots = oldKeys.length * 2;
+        final int mask = slots - 1;
+        this.keys = new Object[slots];
+        this.starts = new int[slots];
+        this.counts = new int[slots];
+        this.capacities = new int[slots];
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object k = oldKeys[i];
+            if (k == null) {
+                continue;
+            }
+            int j = home(k, mask);
+            while (this.keys[j] != null) {
+                j = (j + 1) & mask;
+            }
+            this.keys[j] = k;
+            this.starts[j] = oldStarts[i];
+            this.counts[j] = oldCounts[i];
+            this.capacities[j] = oldCapacities[i];
+        }
+    }
+
+    /**
+     * Removes the key in the given slot together with its values and closes
+     * the gap in the probe sequence.
+     *
+     * @param slot the slot.
+     */
+    private void removeSlot(final int slot) {
+        final int start = this.starts[slot];
+        final int count = this.counts[slot];
+        for (int i = start; i < start + count; i++) {
+            unindexValue(this.values[i]);
+        }
+        Arrays.fill(this.values, start, start + count, null);
+        this.garbage += this.capacities[slot];
+        if (start + this.capacities[slot] == this.valuesEnd) {
+            // the run was the last one in the array, reclaim it directly.
+            this.valuesEnd = start;
+            this.garbage -= this.capacities[slot];
+        }
+
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int gap = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            final Object k = keys[i];
+            if (k == null) {
+                break;
+            }
+            final int home = home(k, mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                this.starts[gap] = this.starts[i];
+                this.counts[gap] = this.counts[i];
+                this.capacities[gap] = this.capacities[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+        this.starts[gap] = 0;
+        this.counts[gap] = 0;
+        this.capacities[gap] = 0;
+        this.keyCount -= 1;
+    }
+
+    /**
+     * Makes sure that at least the given number of positions is available
+     * at the end of the value array. If there is not enough room, all runs
+     * are copied into a new, compact array.
+     *
+     * @param length the number of positions required.
+     */
+    private void reserve(final int length) {
+        if (this.valuesEnd + length <= this.values.length) {
+            return;
+        }
+        final int used = this.valuesEnd - this.garbage;
+        final int size = Math.max(this.values.length, (used + length) * 2);
+        final Object[] compact = new Object[size];
+        int end = 0;
+        final Object[] keys = this.keys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                continue;
+            }
+            System.arraycopy(this.values, this.starts[i], compact, end,
+                    this.counts[i]);
+            this.starts[i] = end;
+            end += this.capacities[i];
+        }
+        this.values = compact;
+        this.valuesEnd = end;
+        this.garbage = 0;
+    }
+
+    /**
+     * Appends a value to the run of the key in the given slot, enlarging
+     * the run if necessary.
+     *
+     * @param slot  the slot.
+     * @param value the value.
+     */
+    private void appendValue(final int slot, final Object value) {
+        final int count = this.counts[slot];
+        final int capacity = this.capacities[slot];
+        if (count == capacity) {
+            final int enlarged = Math.max(INITIAL_RUN, capacity * 2);
+            if (this.starts[slot] + capacity == this.valuesEnd
+                    && this.starts[slot] + enlarged <= this.values.length) {
+                // the run is the last one in the array, grow it in place.
+                this.valuesEnd = this.starts[slot] + enlarged;
+            }
+            else {
+                reserve(enlarged);
+                final int oldStart = this.starts[slot];
+                final int newStart = this.valuesEnd;
+                System.arraycopy(this.values, oldStart, this.values, newStart,
+                        count);
+                Arrays.fill(this.values, oldStart, oldStart + count, null);
+                this.garbage += capacity;
+                this.starts[slot] = newStart;
+                this.valuesEnd = newStart + enlarged;
+            }
+            this.capacities[slot] = enlarged;
+        }
+        this.values[this.starts[slot] + count] = value;
+        this.counts[slot] = count + 1;
+        indexValue(value);
+    }
+
+    /**
+     * Records a value in the reverse index.
+     *
+     * @param value the value.
+     */
+    private void indexValue(final Object value) {
+        final int[] counter = (int[]) this.valueIndex.get(value);
+        if (counter == null) {
+            this.valueIndex.put(value, new int[] {1});
+        }
+        else {
+            counter[0] += 1;
+        }
+    }
+
+    /**
+     * Removes one occurrence of a value from the reverse index.
+     *
+     * @param value the value.
+     */
+    private void unindexValue(final Object value) {
+        final int[] counter = (int[]) this.valueIndex.get(value);
+        if (counter == null) {
+            return;
+        }
+        counter[0] -= 1;
+        if (counter[0] == 0) {
+            this.valueIndex.remove(value);
+        }
+    }
+
+    /**
+     * Inserts a new key/value pair into the map.  If such a pair already
+     * exists, it gets replaced with the given values.
+     *
+     * @param key the key.
+     * @param val the value.
+     * @return A boolean.
+     */
+    public boolean put(final Object key, final Object val) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            slot = insertKey(key);
+        }
+        else {
+            final int start = this.starts[slot];
+            final int count = this.counts[slot];
+            for (int i = start; i < start + count; i++) {
+                unindexValue(this.values[i]);
+            }
+            Arrays.fill(this.values, start, start + count, null);
+            this.counts[slot] = 0;
+        }
+        appendValue(slot, val);
+        return true;
+    }
+
+    /**
+     * Adds a new key/value pair into this map. If the key is not yet in the
+     * map, it gets added to the map and the call is equal to
+     * put(Object,Object).
+     *
+     * @param key the key.
+     * @param val the value.
+     * @return true, if  the value has been added, false otherwise
+     */
+    public boolean add(final Object key, final Object val) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            slot = insertKey(key);
+        }
+        appendValue(slot, val);
+        return true;
+    }
+
+    /**
+     * Retrieves the n-th value registered for an key or null if there was no
+     * such key in the list. An index out of bounds exception is thrown if
+     * there are less than n elements registered to this key.
+     *
+     * @param key the key.
+     * @param n   the index.
+     * @return the object.
+     */
+    public Object get(final Object key, final int n) {
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        if (n < 0 || n >= this.counts[slot]) {
+            throw new IndexOutOfBoundsException("Index: " + n + ", Size: "
+                    + this.counts[slot]);
+        }
+        return this.values[this.starts[slot] + n];
+    }
+
+    /**
+     * Returns an iterator over all elements registered to the given key.
+     *
+     * @param key the key.
+     * @return an iterator.
+     */
+    public Iterator getAll(final Object key) {
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return new ValueIterator(0, 0);
+        }
+        final int start = this.starts[slot];
+        return new ValueIterator(start, start + this.counts[slot]);
+    }
+
+    /**
+     * Returns all registered keys as an enumeration.
+     *
+     * @return an enumeration of the keys.
+     */
+    public Iterator keys() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns all registered keys as a read-only set view.
+     *
+     * @return a set of keys.
+     */
+    public Set keySet() {
+        return new KeySet();
+    }
+
+    /**
+     * Removes the key/value pair from the map. If the removed entry was the
+     * last entry for this key, the key gets also removed.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return true, if removing the element was successfull, false otherwise.
+     */
+    public boolean remove(final Object key, final Object value) {
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        final int start = this.starts[slot];
+        final int count = this.counts[slot];
+        for (int i = start; i < start + count; i++) {
+            if (ObjectUtilities.equal(this.values[i], value)) {
+                final Object removed = this.values[i];
+                if (count == 1) {
+                    removeSlot(slot);
+                }
+                else {
+                    System.arraycopy(this.values, i + 1, this.values, i,
+                            start + count - i - 1);
+                    this.values[start + count - 1] = null;
+                    this.counts[slot] = count - 1;
+                    unindexValue(removed);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all elements for the given key.
+     *
+     * @param key the key.
+     */
+    public void removeAll(final Object key) {
+        final int slot = findSlot(key);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+    }
+
+    /**
+     * Clears all keys and values of this map.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.starts, 0);
+        Arrays.fill(this.counts, 0);
+        Arrays.fill(this.capacities, 0);
+        Arrays.fill(this.values, 0, this.valuesEnd, null);
+        this.keyCount = 0;
+        this.valuesEnd = 0;
+        this.garbage = 0;
+        this.valueIndex.clear();
+    }
+
+    /**
+     * Tests whether this map contains the given key.
+     *
+     * @param key the key.
+     * @return true if the key is contained in the map
+     */
+    public boolean containsKey(final Object key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Tests whether this map contains the given value. This is answered
+     * from the reverse value index.
+     *
+     * @param value the value.
+     * @return true if the value is registered in the map for an key.
+     */
+    public boolean containsValue(final Object value) {
+        return this.valueIndex.containsKey(value);
+    }
+
+    /**
+     * Tests whether this map contains the given value.
+     *
+     * @param value the value.
+     * @param key   the key under which to find the value
+     * @return true if the value is registered in the map for an key.
+     */
+    public boolean containsValue(final Object key, final Object value) {
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        final int start = this.starts[slot];
+        final int end = start + this.counts[slot];
+        for (int i = start; i < end; i++) {
+            if (ObjectUtilities.equal(this.values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Passes all values registered for the given key to the visitor, in the
+     * order in which they were added.
+     *
+     * @param key     the key.
+     * @param visitor the visitor.
+     * @return false, if the visitor stopped the iteration, true otherwise.
+     */
+    public boolean visit(final Object key, final EntryVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("Visitor must not be null.");
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return true;
+        }
+        return visitSlot(slot, visitor);
+    }
+
+    /**
+     * Passes all key/value pairs of this map to the visitor. The values of
+     * each key are visited in the order in which they were added.
+     *
+     * @param visitor the visitor.
+     * @return false, if the visitor stopped the iteration, true otherwise.
+     */
+    public boolean visitAll(final EntryVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("Visitor must not be null.");
+        }
+        final Object[] keys = this.keys;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && visitSlot(slot, visitor) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Passes the values of the key in the given slot to the visitor.
+     *
+     * @param slot    the slot.
+     * @param visitor the visitor.
+     * @return false, if the visitor stopped the iteration, true otherwise.
+     */
+    private boolean visitSlot(final int slot, final EntryVisitor visitor) {
+        final Object key = unmask(this.keys[slot]);
+        final int start = this.starts[slot];
+        final int end = start + this.counts[slot];
+        for (int i = start; i < end; i++) {
+            if (visitor.visit(key, this.values[i]) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a deep copy of this map. The values themselves are not cloned.
+     *
+     * @return a clone.
+     * @throws CloneNotSupportedException this should never happen.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        final FlatHashNMap map = (FlatHashNMap) super.clone();
+        map.keys = this.keys.clone();
+        map.starts = this.starts.clone();
+        map.counts = this.counts.clone();
+        map.capacities = this.capacities.clone();
+        map.values = this.values.clone();
+        map.valueIndex = new HashMap(this.valueIndex.size() * 2);
+        final Iterator it = this.valueIndex.keySet().iterator();
+        while (it.hasNext()) {
+            final Object value = it.next();
+            final int[] counter = (int[]) this.valueIndex.get(value);
+            map.valueIndex.put(value, new int[] {counter[0]});
+        }
+        return map;
+    }
+
+    /**
+     * Returns the contents for the given key as object array. If there were
+     * no objects registered with that key, an empty object array is returned.
+     *
+     * @param key  the key.
+     * @param data the object array to receive the contents.
+     * @return the contents.
+     */
+    public Object[] toArray(final Object key, final Object[] data) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            if (data.length > 0) {
+                data[0] = null;
+            }
+            return data;
+        }
+        final int count = this.counts[slot];
+        Object[] result = data;
+        if (result.length < count) {
+            result = (Object[]) Array.newInstance(
+                    data.getClass().getComponentType(), count);
+        }
+        System.arraycopy(this.values, this.starts[slot], result, 0, count);
+        if (result.length > count) {
+            result[count] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the contents for the given key as object array. If there were
+     * no objects registered with that key, an empty object array is returned.
+     *
+     * @param key the key.
+     * @return the contents.
+     */
+    public Object[] toArray(final Object key) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return new Object[0];
+        }
+        final int count = this.counts[slot];
+        final Object[] result = new Object[count];
+        System.arraycopy(this.values, this.starts[slot], result, 0, count);
+        return result;
+    }
+
+    /**
+     * Returns the number of elements registered with the given key.
+     *
+     * @param key the key.
+     * @return the number of element for this key, or 0 if there are no elements
+     *         registered.
+     */
+    public int getValueCount(final Object key) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null.");
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return 0;
+        }
+        return this.counts[slot];
+    }
+
+    /**
+     * Handles serialization. Keys and values are written as a sequence of
+     * key, count and values, as the slot layout depends on hash codes.
+     *
+     * @param stream the output stream.
+     * @throws IOException if there is an I/O problem.
+     */
+    private void writeObject(final ObjectOutputStream stream)
+            throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(this.keyCount);
+        final Object[] keys = this.keys;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == null) {
+                continue;
+            }
+            stream.writeObject(unmask(keys[slot]));
+            final int start = this.starts[slot];
+            final int count = this.counts[slot];
+            stream.writeInt(count);
+            for (int i = start; i < start + count; i++) {
+                stream.writeObject(this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Restores a serialized object.
+     *
+     * @param stream the input stream.
+     * @throws IOException            if there is an I/O problem.
+     * @throws ClassNotFoundException if a class cannot be found.
+     */
+    private void readObject(final ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initStorage(INITIAL_SLOTS);
+        final int keyCount = stream.readInt();
+        for (int k = 0; k < keyCount; k++) {
+            final Object key = stream.readObject();
+            final int count = stream.readInt();
+            for (int i = 0; i < count; i++) {
+                add(key, stream.readObject());
+            }
+        }
+    }
+}
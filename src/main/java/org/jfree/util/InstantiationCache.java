@@ -0,0 +1,385 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * InstantiationCache.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ * 18-Oct-2026 : Added cached clone method handles;
+ *
+ */
+
+package org.jfree.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the classes resolved by name and the method handles used to
+ * create or clone instances of them, so that repeated instantiations neither
+ * ask the class loader nor go through reflection again.
+ * <p>
+ * Classes are cached per class loader. The cache holds class loaders and
+ * classes only weakly, so it never keeps a class loader alive. The method
+ * handles are attached to their classes and go away with them.
+ */
+final class InstantiationCache {
+
+    /** The marker for a missing constructor or factory method. */
+    private static final Object NO_HANDLE = new Object();
+
+    /** The type of all cached factory method handles. */
+    private static final MethodType OBJECT_FACTORY =
+        MethodType.methodType(Object.class);
+
+    /** The type of the cached clone method handles. */
+    private static final MethodType OBJECT_COPY =
+        MethodType.methodType(Object.class, Object.class);
+
+    /** The warning for objects without a usable clone() method. */
+    private static final String NO_CLONE_METHOD =
+        "Object without clone() method is impossible.";
+
+    /** The warning for clone() methods that cannot be called. */
+    private static final String INACCESSIBLE_CLONE_METHOD =
+        "Object.clone(): unable to call method.";
+
+    /**
+     * The method handles of a class.
+     */
+    private static final class ClassHandles {
+
+        /** The public no-argument constructor, or NO_HANDLE. */
+        private final Object constructor;
+
+        /** The static factory methods (name to MethodHandle or NO_HANDLE). */
+        private final ConcurrentHashMap factories;
+
+        /**
+         * The public clone() method, or the warning to log if the class
+         * cannot be cloned that way. Null until first used.
+         */
+        private volatile Object cloneMethod;
+
+        /**
+         * Creates the handles for the given class.
+         *
+         * @param type  the class.
+         */
+        private ClassHandles(final Class type) {
+            this.constructor = findConstructor(type);
+            this.factories = new ConcurrentHashMap();
+        }
+    }
+
+    /**
+     * The classes resolved by one class loader.
+     */
+    private static final class LoaderClasses {
+
+        /** The class loader. */
+        private final Reference loader;
+
+        /** The classes (class name to a weak reference of the class). */
+        private final ConcurrentHashMap classes;
+
+        /**
+         * Creates a new, empty cache for the given class loader.
+         *
+         * @param loader  the class loader.
+         */
+        private LoaderClasses(final ClassLoader loader) {
+            this.loader = new WeakReference(loader);
+            this.classes = new ConcurrentHashMap();
+        }
+    }
+
+    /** The method handles per class. */
+    private static final ClassValue HANDLES = new ClassValue() {
+        protected Object computeValue(final Class type) {
+            return new ClassHandles(type);
+        }
+    };
+
+    /** The class caches per class loader (ClassLoader to LoaderClasses). */
+    private static final WeakHashMap LOADERS = new WeakHashMap();
+
+    /** The most recently used class cache, checked without locking. */
+    private static volatile LoaderClasses lastLoader;
+
+    /**
+     * Private constructor - no instances.
+     */
+    private InstantiationCache() {
+    }
+
+    /**
+     * Loads the class with the given name from the given class loader.
+     *
+     * @param className  the class name.
+     * @param loader  the class loader.
+     *
+     * @return the class, never null.
+     *
+     * @throws ClassNotFoundException if the class loader cannot find the
+     *         class.
+     */
+    public static Class loadClass(final String className,
+                                  final ClassLoader loader)
+        throws ClassNotFoundException {
+        final ConcurrentHashMap classes = getClasses(loader);
+        final Reference ref = (Reference) classes.get(className);
+        if (ref != null) {
+            final Class c = (Class) ref.get();
+            if (c != null) {
+                return c;
+            }
+        }
+        final Class c = loader.loadClass(className);
+        classes.put(className, new WeakReference(c));
+        return c;
+    }
+
+    /**
+     * Creates a new instance of the given class using its no-argument
+     * constructor.
+     *
+     * @param c  the class.
+     *
+     * @return the new instance.
+     *
+     * @throws Exception if the class cannot be instantiated or the
+     *         constructor failed.
+     */
+    public static Object newInstance(final Class c) throws Exception {
+        final Object handle = ((ClassHandles) HANDLES.get(c)).constructor;
+        if (handle == NO_HANDLE) {
+            throw new InstantiationException(c.getName());
+        }
+        try {
+            return (Object) ((MethodHandle) handle).invokeExact();
+        }
+        catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Invokes the public static method with the given name and no parameters
+     * on the given class.
+     *
+     * @param c  the class.
+     * @param methodName  the name of the factory method.
+     *
+     * @return the result of the method.
+     *
+     * @throws Exception if there is no such method or the method failed.
+     */
+    public static Object invokeFactory(final Class c, final String methodName)
+        throws Exception {
+        final ConcurrentHashMap factories =
+            ((ClassHandles) HANDLES.get(c)).factories;
+        Object handle = factories.get(methodName);
+        if (handle == null) {
+            handle = findFactory(c, methodName);
+            factories.put(methodName, handle);
+        }
+        if (handle == NO_HANDLE) {
+            throw new NoSuchMethodException(c.getName() + "." + methodName);
+        }
+        try {
+            return (Object) ((MethodHandle) handle).invokeExact();
+        }
+        catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Clones the given object by calling its public clone() method.
+     *
+     * @param object  the object (<code>null</code> not permitted).
+     *
+     * @return the clone.
+     *
+     * @throws CloneNotSupportedException if the object has no public clone()
+     *         method or the clone() method failed.
+     */
+    public static Object cloneObject(final Object object)
+        throws CloneNotSupportedException {
+        final ClassHandles handles =
+            (ClassHandles) HANDLES.get(object.getClass());
+        Object handle = handles.cloneMethod;
+        if (handle == null) {
+            handle = findCloneMethod(object.getClass());
+            handles.cloneMethod = handle;
+        }
+        if (handle instanceof String) {
+            Log.warn(handle);
+            throw new CloneNotSupportedException("Failed to clone.");
+        }
+        try {
+            return (Object) ((MethodHandle) handle).invokeExact(object);
+        }
+        catch (Throwable t) {
+            Log.warn(NO_CLONE_METHOD);
+            throw new CloneNotSupportedException("Failed to clone.");
+        }
+    }
+
+    /**
+     * Removes all cached classes.
+     */
+    public static void clear() {
+        synchronized (LOADERS) {
+            LOADERS.clear();
+            lastLoader = null;
+        }
+    }
+
+    /**
+     * Returns the class cache of the given class loader.
+     *
+     * @param loader  the class loader.
+     *
+     * @return the class cache.
+     */
+    private static ConcurrentHashMap getClasses(final ClassLoader loader) {
+        final LoaderClasses last = lastLoader;
+        if (last != null && last.loader.get() == loader) {
+            return last.classes;
+        }
+        synchronized (LOADERS) {
+            LoaderClasses classes = (LoaderClasses) LOADERS.get(loader);
+            if (classes == null) {
+                classes = new LoaderClasses(loader);
+                LOADERS.put(loader, classes);
+            }
+            lastLoader = classes;
+            return classes.classes;
+        }
+    }
+
+    /**
+     * Looks up the no-argument constructor of the given class.
+     *
+     * @param type  the class.
+     *
+     * @return the method handle, or NO_HANDLE if the class cannot be
+     *         instantiated this way.
+     */
+    private static Object findConstructor(final Class type) {
+        try {
+            return MethodHandles.lookup().findConstructor
+                (type, MethodType.methodType(void.class)).asType(OBJECT_FACTORY);
+        }
+        catch (NoSuchMethodException e) {
+            return NO_HANDLE;
+        }
+        catch (IllegalAccessException e) {
+            return NO_HANDLE;
+        }
+    }
+
+    /**
+     * Looks up a public static method without parameters.
+     *
+     * @param type  the class.
+     * @param methodName  the method name.
+     *
+     * @return the method handle, or NO_HANDLE if there is no such method.
+     */
+    private static Object findFactory(final Class type,
+                                      final String methodName) {
+        try {
+            final Method m = type.getMethod(methodName, (Class[]) null);
+            if (Modifier.isStatic(m.getModifiers()) == false) {
+                return NO_HANDLE;
+            }
+            return MethodHandles.lookup().unreflect(m).asType(OBJECT_FACTORY);
+        }
+        catch (NoSuchMethodException e) {
+            return NO_HANDLE;
+        }
+        catch (IllegalAccessException e) {
+            return NO_HANDLE;
+        }
+    }
+
+    /**
+     * Looks up the public clone() method of the given class.
+     *
+     * @param type  the class.
+     *
+     * @return the method handle, or the warning to log if the class cannot
+     *         be cloned.
+     */
+    private static Object findCloneMethod(final Class type) {
+        try {
+            final Method m = type.getMethod("clone", (Class[]) null);
+            return MethodHandles.lookup().unreflect(m).asType(OBJECT_COPY);
+        }
+        catch (NoSuchMethodException e) {
+            return NO_CLONE_METHOD;
+        }
+        catch (IllegalAccessException e) {
+            return INACCESSIBLE_CLONE_METHOD;
+        }
+    }
+
+    /**
+     * Rethrows errors as they are and returns exceptions, so that they can
+     * be thrown by the caller. Other throwables are wrapped.
+     *
+     * @param t  the throwable.
+     *
+     * @return the exception.
+     */
+    private static Exception rethrow(final Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t instanceof Exception) {
+            return (Exception) t;
+        }
+        return new UndeclaredThrowableException(t);
+    }
+}
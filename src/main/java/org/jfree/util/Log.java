@@ -38,14 +38,22 @@
  * -------
  * 29-Apr-2003 : Distilled from the JFreeReport project and moved into JCommon
  * 11-Jun-2003 : Removing LogTarget did not work. 
+ * 18-Oct-2026 : Added parameterized messages that are formatted lazily.
+ * 18-Oct-2026 : Added per-context log levels.
+ * 18-Oct-2026 : Log targets, contexts and the singleton are published
+ *               without locking on the logging path.
+ * 18-Oct-2026 : Added ContextMessage and accessors for the message parts.
+ * 18-Oct-2026 : Context messages pass through doLog() where the debug-level
+ *               permits.
  * 
  */
 
 package org.jfree.util;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A simple logging facility. Create a class implementing the {@link org.jfree.util.LogTarget}
@@ -135,6 +143,24 @@ public class Log {
             this.param = param;
         }
 
+        /**
+         * Returns the message text.
+         *
+         * @return the message text.
+         */
+        public String getMessage() {
+            return this.message;
+        }
+
+        /**
+         * Returns the parameters that are appended to the message text.
+         *
+         * @return the parameters, may be null.
+         */
+        public Object[] getParameters() {
+            return this.param;
+        }
+
         /**
          * Returns a string representation of the message (useful for debugging).
          *
@@ -153,30 +179,217 @@ public class Log {
     }
 
 
+    /**
+     * A message logged through a {@link LogContext}. The message text is the
+     * name of the context, followed by a colon and the original message.
+     */
+    public static class ContextMessage extends SimpleMessage {
+
+        /**
+         * Creates a new message.
+         *
+         * @param context the name of the log context.
+         * @param message the original message.
+         */
+        public ContextMessage(final String context, final Object message) {
+            super(context, ":", message);
+        }
+
+        /**
+         * Returns the name of the log context.
+         *
+         * @return the context name.
+         */
+        public String getContext() {
+            return getMessage();
+        }
+
+        /**
+         * Returns the original message.
+         *
+         * @return the message.
+         */
+        public Object getContent() {
+            return getParameters()[1];
+        }
+    }
+
+    /**
+     * A message with <code>{}</code> placeholders. The placeholders are only
+     * replaced by the parameters when the message is converted into a
+     * string, which usually happens in a log target that actually prints the
+     * message.
+     * <p>
+     * If the last parameter is an exception that is not consumed by a
+     * placeholder, it is treated as the exception of the log event.
+     */
+    public static class ParameterizedMessage {
+
+        /**
+         * Formatting buffers are not kept for reuse beyond this size.
+         */
+        private static final int MAX_BUFFER_SIZE = 4096;
+
+        /**
+         * A reusable formatting buffer for each thread.
+         */
+        private static final ThreadLocal BUFFER = new ThreadLocal() {
+            protected Object initialValue() {
+                return new StringBuilder(256);
+            }
+        };
+
+        /**
+         * The message pattern.
+         */
+        private String pattern;
+
+        /**
+         * The parameters.
+         */
+        private Object[] param;
+
+        /**
+         * The exception passed as trailing parameter, or null.
+         */
+        private Exception exception;
+
+        /**
+         * Creates a new message.
+         *
+         * @param pattern the message text with <code>{}</code> placeholders.
+         * @param param   the parameters.
+         */
+        public ParameterizedMessage(final String pattern, final Object[] param) {
+            this.pattern = pattern;
+            this.param = param;
+            if (param != null && param.length > 0
+                    && param[param.length - 1] instanceof Exception
+                    && countPlaceholders(pattern) < param.length) {
+                this.exception = (Exception) param[param.length - 1];
+            }
+        }
+
+        /**
+         * Counts the placeholders in a pattern.
+         *
+         * @param pattern the pattern.
+         * @return the number of placeholders.
+         */
+        private static int countPlaceholders(final String pattern) {
+            if (pattern == null) {
+                return 0;
+            }
+            int count = 0;
+            int index = pattern.indexOf("{}");
+            while (index >= 0) {
+                count += 1;
+                index = pattern.indexOf("{}", index + 2);
+            }
+            return count;
+        }
+
+        /**
+         * Returns the message pattern.
+         *
+         * @return the pattern.
+         */
+        public String getPattern() {
+            return this.pattern;
+        }
+
+        /**
+         * Returns the parameters.
+         *
+         * @return the parameters, may be null.
+         */
+        public Object[] getParameters() {
+            return this.param;
+        }
+
+        /**
+         * Returns the exception given as trailing parameter.
+         *
+         * @return the exception or null.
+         */
+        public Exception getException() {
+            return this.exception;
+        }
+
+        /**
+         * Returns the formatted message.
+         *
+         * @return the string.
+         */
+        public String toString() {
+            if (this.pattern == null) {
+                return "null";
+            }
+            StringBuilder b = (StringBuilder) BUFFER.get();
+            if (b.length() > 0) {
+                // a parameter's toString() logged a message itself.
+                b = new StringBuilder(256);
+            }
+            try {
+                int start = 0;
+                int index = this.pattern.indexOf("{}");
+                int paramIndex = 0;
+                while (index >= 0 && this.param != null
+                        && paramIndex < this.param.length) {
+                    b.append(this.pattern, start, index);
+                    b.append(this.param[paramIndex]);
+                    paramIndex += 1;
+                    start = index + 2;
+                    index = this.pattern.indexOf("{}", start);
+                }
+                b.append(this.pattern, start, this.pattern.length());
+                return b.toString();
+            }
+            finally {
+                if (b.capacity() > MAX_BUFFER_SIZE) {
+                    BUFFER.remove();
+                }
+                else {
+                    b.setLength(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * The key under which the context with a null name is registered.
+     */
+    private static final Object NULL_CONTEXT = new Object();
+
     /**
      * The logging threshold.
      */
-    private int debuglevel;
+    private volatile int debuglevel;
 
     /**
-     * Storage for the log targets.
+     * Storage for the log targets. The array is never modified once it has
+     * been published; changes replace the whole array.
      */
-    private LogTarget[] logTargets;
+    private final AtomicReference logTargets;
 
     /** The log contexts. */
-    private HashMap logContexts;
+    private final ConcurrentHashMap logContexts;
+
+    /** The log levels defined for context prefixes (String to Integer). */
+    private HashMap contextLevels;
 
     /**
      * the singleton instance of the Log system.
      */
-    private static Log singleton;
+    private static volatile Log singleton;
 
     /**
      * Creates a new Log instance. The Log is used to manage the log targets.
      */
     protected Log() {
-        this.logContexts = new HashMap();
-        this.logTargets = new LogTarget[0];
+        this.logContexts = new ConcurrentHashMap();
+        this.contextLevels = new HashMap();
+        this.logTargets = new AtomicReference(new LogTarget[0]);
         this.debuglevel = 100;
     }
 
@@ -185,11 +398,17 @@ public class Log {
      *
      * @return the singleton instance.
      */
-    public static synchronized Log getInstance() {
-        if (singleton == null) {
-            singleton = new Log();
+    public static Log getInstance() {
+        final Log log = singleton;
+        if (log != null) {
+            return log;
+        }
+        synchronized (Log.class) {
+            if (singleton == null) {
+                singleton = new Log();
+            }
+            return singleton;
         }
-        return singleton;
     }
 
     /**
@@ -198,7 +417,14 @@ public class Log {
      * @param log the new log instance or null, to return to the default implementation.
      */
     protected static synchronized void defineLog(final Log log) {
+        final Log oldLog = singleton;
         singleton = log;
+        if (oldLog != null && oldLog != log) {
+            if (log != null) {
+                log.adoptContexts(oldLog);
+            }
+            oldLog.invalidateContextLevels();
+        }
     }
 
     /**
@@ -219,6 +445,129 @@ public class Log {
      */
     protected void setDebuglevel(final int debuglevel) {
         this.debuglevel = debuglevel;
+        invalidateContextLevels();
+    }
+
+    /**
+     * Defines the log level for all contexts whose name equals the given
+     * prefix or starts with the prefix followed by a dot. The most specific
+     * prefix wins; contexts without a matching prefix use the global debug
+     * level.
+     *
+     * @param contextPrefix the context prefix (<code>null</code> not
+     *                      permitted).
+     * @param level         the log level.
+     */
+    public synchronized void setContextLevel(final String contextPrefix,
+                                             final int level) {
+        if (contextPrefix == null) {
+            throw new NullPointerException();
+        }
+        this.contextLevels.put(contextPrefix, new Integer(level));
+        invalidateContextLevels();
+    }
+
+    /**
+     * Removes the log level defined for the given context prefix.
+     *
+     * @param contextPrefix the context prefix.
+     */
+    public synchronized void removeContextLevel(final String contextPrefix) {
+        if (this.contextLevels.remove(contextPrefix) != null) {
+            invalidateContextLevels();
+        }
+    }
+
+    /**
+     * Removes all context specific log levels.
+     */
+    public synchronized void clearContextLevels() {
+        this.contextLevels.clear();
+        invalidateContextLevels();
+    }
+
+    /**
+     * Returns the effective log level for the given context, searching the
+     * context name and all its parent prefixes before falling back to the
+     * global debug level.
+     *
+     * @param context the context name (<code>null</code> permitted).
+     * @return the log level.
+     */
+    public synchronized int getContextLevel(final String context) {
+        String prefix = context;
+        while (prefix != null) {
+            final Integer level = (Integer) this.contextLevels.get(prefix);
+            if (level != null) {
+                return level.intValue();
+            }
+            final int dot = prefix.lastIndexOf('.');
+            if (dot < 0) {
+                break;
+            }
+            prefix = prefix.substring(0, dot);
+        }
+        return this.debuglevel;
+    }
+
+    /**
+     * Resolves the log level of a context. If the context has been created
+     * by this log, the level is stored in the context until the levels
+     * change again.
+     *
+     * @param context the context.
+     * @return the log level.
+     */
+    synchronized int resolveContextLevel(final LogContext context) {
+        final String prefix = context.getContextPrefix();
+        final int level = getContextLevel(prefix);
+        if (this.logContexts.get(contextKey(prefix)) == context) {
+            context.setCachedLevel(level);
+        }
+        return level;
+    }
+
+    /**
+     * Discards the log levels stored in the contexts of this log. This is
+     * called whenever a log level changes.
+     */
+    protected void invalidateContextLevels() {
+        synchronized (this) {
+            final Iterator it = this.logContexts.values().iterator();
+            while (it.hasNext()) {
+                ((LogContext) it.next()).invalidateLevel();
+            }
+        }
+    }
+
+    /**
+     * Registers the contexts of a previously installed log with this log,
+     * unless this log has its own context for the same name.
+     *
+     * @param log the previous log.
+     */
+    private void adoptContexts(final Log log) {
+        final Iterator it = log.logContexts.values().iterator();
+        while (it.hasNext()) {
+            final LogContext ctx = (LogContext) it.next();
+            this.logContexts.putIfAbsent(contextKey(ctx.getContextPrefix()),
+                    ctx);
+        }
+        invalidateContextLevels();
+    }
+
+    /**
+     * Returns the key for the given context name in the context registry,
+     * which does not accept null keys.
+     *
+     * @param context the context name (<code>null</code> permitted).
+     * @return the key.
+     */
+    private static Object contextKey(final String context) {
+        if (context == null) {
+            return NULL_CONTEXT;
+        }
+        return context;
     }
 
     /**
@@ -227,14 +576,19 @@ public class Log {
      *
      * @param target the target.
      */
-    public synchronized void addTarget(final LogTarget target) {
+    public void addTarget(final LogTarget target) {
         if (target == null) {
             throw new NullPointerException();
         }
-        final LogTarget[] data = new LogTarget[this.logTargets.length + 1];
-        System.arraycopy(this.logTargets, 0, data, 0, this.logTargets.length);
-        data[this.logTargets.length] = target;
-        this.logTargets = data;
+        LogTarget[] targets;
+        LogTarget[] data;
+        do {
+            targets = (LogTarget[]) this.logTargets.get();
+            data = new LogTarget[targets.length + 1];
+            System.arraycopy(targets, 0, data, 0, targets.length);
+            data[targets.length] = target;
+        }
+        while (this.logTargets.compareAndSet(targets, data) == false);
     }
 
     /**
@@ -242,16 +596,30 @@ public class Log {
      *
      * @param target the target to remove.
      */
-    public synchronized void removeTarget(final LogTarget target) {
+    public void removeTarget(final LogTarget target) {
         if (target == null) {
             throw new NullPointerException();
         }
-        final ArrayList l = new ArrayList();
-        l.addAll(Arrays.asList(this.logTargets));
-        l.remove(target);
-
-        final LogTarget[] targets = new LogTarget[l.size()];
-        this.logTargets = (LogTarget[]) l.toArray(targets);
+        LogTarget[] targets;
+        LogTarget[] data;
+        do {
+            targets = (LogTarget[]) this.logTargets.get();
+            int index = -1;
+            for (int i = 0; i < targets.length; i++) {
+                if (target.equals(targets[i])) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index == -1) {
+                return;
+            }
+            data = new LogTarget[targets.length - 1];
+            System.arraycopy(targets, 0, data, 0, index);
+            System.arraycopy(targets, index + 1, data, index,
+                    data.length - index);
+        }
+        while (this.logTargets.compareAndSet(targets, data) == false);
     }
 
     /**
@@ -260,7 +628,7 @@ public class Log {
      * @return the logtargets.
      */
     public LogTarget[] getTargets() {
-        return (LogTarget[]) this.logTargets.clone();
+        return ((LogTarget[]) this.logTargets.get()).clone();
     }
 
     /**
@@ -268,11 +636,11 @@ public class Log {
      *
      * @param target the new and only logtarget.
      */
-    public synchronized void replaceTargets(final LogTarget target) {
+    public void replaceTargets(final LogTarget target) {
         if (target == null) {
             throw new NullPointerException();
         }
-        this.logTargets = new LogTarget[]{target};
+        this.logTargets.set(new LogTarget[]{target});
     }
 
     /**
@@ -351,6 +719,95 @@ public class Log {
         log(LogTarget.ERROR, message, e);
     }
 
+    /**
+     * A convenience method for logging a parameterized 'debug' message. The
+     * message is not formatted unless debug messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public static void debug(final String format, final Object... args) {
+        log(LogTarget.DEBUG, format, args);
+    }
+
+    /**
+     * A convenience method for logging a parameterized 'info' message. The
+     * message is not formatted unless info messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public static void info(final String format, final Object... args) {
+        log(LogTarget.INFO, format, args);
+    }
+
+    /**
+     * A convenience method for logging a parameterized 'warning' message.
+     * The message is not formatted unless warning messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public static void warn(final String format, final Object... args) {
+        log(LogTarget.WARN, format, args);
+    }
+
+    /**
+     * A convenience method for logging a parameterized 'error' message. The
+     * message is not formatted unless error messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public static void error(final String format, final Object... args) {
+        log(LogTarget.ERROR, format, args);
+    }
+
+    /**
+     * Logs a parameterized message to the main log stream. No message object
+     * is created if the given log-level is higher than the current
+     * debug-level, and the message text is only formatted by the log targets.
+     *
+     * @param level  log level of the message.
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public static void log(final int level, final String format,
+                           final Object... args) {
+        final Log log = getInstance();
+        if (log.isLevelEnabled(level)) {
+            log.doLog(level, new ParameterizedMessage(format, args));
+        }
+    }
+
+    /**
+     * Returns true, if messages of the given level pass the current
+     * debug-level.
+     *
+     * @param level the log level.
+     * @return true, if messages with the given level are logged.
+     */
+    protected boolean isLevelEnabled(final int level) {
+        return Math.min(level, LogTarget.DEBUG) <= this.debuglevel;
+    }
+
+    /**
+     * Logs a parameterized message, passing a trailing exception parameter
+     * to the log targets as exception.
+     *
+     * @param level   log level of the message.
+     * @param message the message.
+     */
+    protected void doLog(final int level, final ParameterizedMessage message) {
+        final Exception e = message.getException();
+        if (e != null) {
+            doLog(level, (Object) message, e);
+        }
+        else {
+            doLog(level, (Object) message);
+        }
+    }
+
     /**
      * Logs a message to the main log stream.  All attached log targets will also
      * receive this message. If the given log-level is higher than the given debug-level
@@ -364,10 +821,73 @@ public class Log {
             level = 3;
         }
         if (level <= this.debuglevel) {
-            for (int i = 0; i < this.logTargets.length; i++) {
-                final LogTarget t = this.logTargets[i];
-                t.log(level, message);
-            }
+            dispatch(level, message);
+        }
+    }
+
+    /**
+     * Passes a message to all log targets without checking the debug level.
+     *
+     * @param level   log level of the message.
+     * @param message text to be logged.
+     */
+    protected void dispatch(final int level, final Object message) {
+        final LogTarget[] targets = (LogTarget[]) this.logTargets.get();
+        for (int i = 0; i < targets.length; i++) {
+            targets[i].log(level, message);
+        }
+    }
+
+    /**
+     * Passes a message to all log targets without checking the debug level.
+     *
+     * @param level   log level of the message.
+     * @param message text to be logged.
+     * @param e       the exception, which should be logged.
+     */
+    protected void dispatch(final int level, final Object message,
+                            final Exception e) {
+        final LogTarget[] targets = (LogTarget[]) this.logTargets.get();
+        for (int i = 0; i < targets.length; i++) {
+            targets[i].log(level, message, e);
+        }
+    }
+
+    /**
+     * Logs a message of a log context. The context has already checked the
+     * message against its own log level. Messages that pass the debug-level
+     * of this log as well are handed to {@link #doLog(int, Object)}, so that
+     * subclasses overriding that method still receive them; messages that
+     * are enabled by the context level only go to the log targets directly.
+     *
+     * @param level   log level of the message.
+     * @param message text to be logged.
+     */
+    protected void doContextLog(final int level, final Object message) {
+        if (isLevelEnabled(level)) {
+            doLog(level, message);
+        }
+        else {
+            dispatch(level, message);
+        }
+    }
+
+    /**
+     * Logs a message of a log context. The context has already checked the
+     * message against its own log level, see
+     * {@link #doContextLog(int, Object)}.
+     *
+     * @param level   log level of the message.
+     * @param message text to be logged.
+     * @param e       the exception, which should be logged.
+     */
+    protected void doContextLog(final int level, final Object message,
+                                final Exception e) {
+        if (isLevelEnabled(level)) {
+            doLog(level, message, e);
+        }
+        else {
+            dispatch(level, message, e);
         }
     }
 
@@ -415,10 +935,7 @@ public class Log {
         }
 
         if (level <= this.debuglevel) {
-            for (int i = 0; i < this.logTargets.length; i++) {
-                final LogTarget t = this.logTargets[i];
-                t.log(level, message, e);
-            }
+            dispatch(level, message, e);
         }
     }
 
@@ -500,14 +1017,18 @@ public class Log {
      * @return A log context.
      */
     protected LogContext internalCreateContext(final String context) {
-        synchronized (this) {
-            LogContext ctx = (LogContext) this.logContexts.get(context);
-            if (ctx == null) {
-                ctx = new LogContext(context);
-                this.logContexts.put(context, ctx);
-            }
+        final Object key = contextKey(context);
+        final LogContext ctx = (LogContext) this.logContexts.get(key);
+        if (ctx != null) {
             return ctx;
         }
+        final LogContext newCtx = new LogContext(context);
+        final LogContext oldCtx =
+                (LogContext) this.logContexts.putIfAbsent(key, newCtx);
+        if (oldCtx != null) {
+            return oldCtx;
+        }
+        return newCtx;
     }
     
 }
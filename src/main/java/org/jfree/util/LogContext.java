@@ -37,21 +37,35 @@
  * Changes 
  * -------
  * 26-Apr-2004 : Initial version (TM);
+ * 18-Oct-2026 : Added parameterized log methods;
+ * 18-Oct-2026 : Added per-context log levels;
+ * 18-Oct-2026 : Context messages keep the context name separate;
  *  
  */
 
 package org.jfree.util;
 
 /**
- * A log context.
+ * A log context. Each context has its own log level, which is defined by
+ * the most specific context prefix registered with
+ * {@link Log#setContextLevel(String, int)} or, if there is none, by the
+ * global debug level. Contexts obtained from {@link Log#createContext(String)}
+ * remember their resolved level until the levels change, so checking a
+ * disabled level costs a single field read.
  *
  * @author Thomas Morgner
  */
 public class LogContext {
 
+    /** Marks a log level that has not been resolved yet. */
+    private static final int UNRESOLVED = Integer.MIN_VALUE;
+
     /** The prefix string. */
     private String contextPrefix;
 
+    /** The cached log level of this context. */
+    private volatile int level;
+
     /**
      * Creates a new log context.
      * 
@@ -59,6 +73,57 @@ public class LogContext {
      */
     public LogContext(final String contextPrefix) {
         this.contextPrefix = contextPrefix;
+        this.level = UNRESOLVED;
+    }
+
+    /**
+     * Returns the prefix of this context.
+     *
+     * @return the prefix, may be null.
+     */
+    public String getContextPrefix() {
+        return this.contextPrefix;
+    }
+
+    /**
+     * Returns the log level of this context.
+     *
+     * @return the log level.
+     */
+    public int getLevel() {
+        final int level = this.level;
+        if (level != UNRESOLVED) {
+            return level;
+        }
+        return Log.getInstance().resolveContextLevel(this);
+    }
+
+    /**
+     * Stores the resolved log level.
+     *
+     * @param level the log level.
+     */
+    void setCachedLevel(final int level) {
+        this.level = level;
+    }
+
+    /**
+     * Discards the stored log level, so that it gets resolved again on the
+     * next use.
+     */
+    void invalidateLevel() {
+        this.level = UNRESOLVED;
+    }
+
+    /**
+     * Returns true, if messages of the given level are logged by this
+     * context.
+     *
+     * @param level the log level.
+     * @return true, if messages with the given level are logged.
+     */
+    private boolean isLevelEnabled(final int level) {
+        return Math.min(level, LogTarget.DEBUG) <= getLevel();
     }
 
     /**
@@ -68,7 +133,7 @@ public class LogContext {
      * @return true, if messages with an log level of DEBUG are allowed.
      */
     public boolean isDebugEnabled() {
-        return Log.isDebugEnabled();
+        return getLevel() >= LogTarget.DEBUG;
     }
 
     /**
@@ -78,7 +143,7 @@ public class LogContext {
      * @return true, if messages with an log level of INFO are allowed.
      */
     public boolean isInfoEnabled() {
-        return Log.isInfoEnabled();
+        return getLevel() >= LogTarget.INFO;
     }
 
     /**
@@ -88,7 +153,7 @@ public class LogContext {
      * @return true, if messages with an log level of WARN are allowed.
      */
     public boolean isWarningEnabled() {
-        return Log.isWarningEnabled();
+        return getLevel() >= LogTarget.WARN;
     }
 
     /**
@@ -98,7 +163,7 @@ public class LogContext {
      * @return true, if messages with an log level of ERROR are allowed.
      */
     public boolean isErrorEnabled() {
-        return Log.isErrorEnabled();
+        return getLevel() >= LogTarget.ERROR;
     }
 
 
@@ -178,27 +243,102 @@ public class LogContext {
         log(LogTarget.ERROR, message, e);
     }
 
+    /**
+     * A convenience method for logging a parameterized 'debug' message. The
+     * message is not formatted unless debug messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public void debug(final String format, final Object... args) {
+        log(LogTarget.DEBUG, format, args);
+    }
+
+    /**
+     * A convenience method for logging a parameterized 'info' message. The
+     * message is not formatted unless info messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public void info(final String format, final Object... args) {
+        log(LogTarget.INFO, format, args);
+    }
+
+    /**
+     * A convenience method for logging a parameterized 'warning' message.
+     * The message is not formatted unless warning messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public void warn(final String format, final Object... args) {
+        log(LogTarget.WARN, format, args);
+    }
+
+    /**
+     * A convenience method for logging a parameterized 'error' message. The
+     * message is not formatted unless error messages are enabled.
+     *
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public void error(final String format, final Object... args) {
+        log(LogTarget.ERROR, format, args);
+    }
+
+    /**
+     * Logs a parameterized message to the main log stream. No message object
+     * is created if the given log-level is higher than the current
+     * debug-level, and the message text is only formatted by the log targets.
+     *
+     * @param level  log level of the message.
+     * @param format the message text with <code>{}</code> placeholders.
+     * @param args   the parameters.
+     */
+    public void log(final int level, final String format,
+                    final Object... args) {
+        if (isLevelEnabled(level) == false) {
+            return;
+        }
+        final Log.ParameterizedMessage message =
+            new Log.ParameterizedMessage(format, args);
+        final Exception e = message.getException();
+        if (e != null) {
+            log(level, message, e);
+        }
+        else {
+            log(level, message);
+        }
+    }
+
     /**
      * Logs a message to the main log stream.  All attached log targets will also
-     * receive this message. If the given log-level is higher than the given debug-level
-     * in the main config file, no logging will be done.
+     * receive this message. If the given log-level is higher than the log level
+     * of this context, no logging will be done.
      *
      * @param level   log level of the message.
      * @param message text to be logged.
      */
-    public void log(final int level, final Object message) {
+    public void log(int level, final Object message) {
+        if (isLevelEnabled(level) == false) {
+            return;
+        }
+        if (level > 3) {
+            level = 3;
+        }
         if (this.contextPrefix != null) {
-            Log.getInstance().doLog(level, new Log.SimpleMessage(this.contextPrefix, ":", message));
+            Log.getInstance().doContextLog(level, new Log.ContextMessage(this.contextPrefix, message));
         }
         else {
-            Log.getInstance().doLog(level, message);
+            Log.getInstance().doContextLog(level, message);
         }
     }
 
     /**
      * Logs a message to the main log stream. All attached logTargets will also
-     * receive this message. If the given log-level is higher than the given debug-level
-     * in the main config file, no logging will be done.
+     * receive this message. If the given log-level is higher than the log level
+     * of this context, no logging will be done.
      * <p>
      * The exception's stacktrace will be appended to the log-stream</p>
      *
@@ -206,14 +346,20 @@ public class LogContext {
      * @param message text to be logged.
      * @param e       the exception, which should be logged.
      */
-    public void log(final int level, final Object message, final Exception e) {
+    public void log(int level, final Object message, final Exception e) {
+        if (isLevelEnabled(level) == false) {
+            return;
+        }
+        if (level > 3) {
+            level = 3;
+        }
         if (this.contextPrefix != null) {
-            Log.getInstance().doLog(
-                level, new Log.SimpleMessage(this.contextPrefix, ":", message), e
+            Log.getInstance().doContextLog(
+                level, new Log.ContextMessage(this.contextPrefix, message), e
             );
         }
         else {
-            Log.getInstance().doLog(level, message, e);
+            Log.getInstance().doContextLog(level, message, e);
         }
     }
 
@@ -44,6 +44,10 @@
  * 11-Jan-2005 : Removed deprecated code in preparation for 1.0.0 release (DG);
  * 18-Aug-2005 : Added casts to suppress compiler warnings, as suggested in
  *               patch 1260622 (DG);
+ * 18-Oct-2026 : Cache loaded classes and instantiate them through method
+ *               handles, added loadClass() and invokeFactory();
+ * 18-Oct-2026 : Call clone() through cached method handles;
+ * 18-Oct-2026 : Added newInstance();
  *
  */
 
@@ -51,9 +55,6 @@ package org.jfree.util;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -80,11 +81,11 @@ public final class ObjectUtilities {
     /**
      * By default use the thread context.
      */
-    private static String classLoaderSource = THREAD_CONTEXT;
+    private static volatile String classLoaderSource = THREAD_CONTEXT;
     /**
      * The custom classloader to be used (if not null).
      */
-    private static ClassLoader classLoader;
+    private static volatile ClassLoader classLoader;
 
     /**
      * Default constructor - private.
@@ -154,7 +155,9 @@ public final class ObjectUtilities {
 
     /**
      * Returns a clone of the specified object, if it can be cloned, otherwise
-     * throws a CloneNotSupportedException.
+     * throws a CloneNotSupportedException. Objects that do not implement
+     * {@link PublicCloneable} are cloned through their public clone() method,
+     * which is looked up only once per class.
      *
      * @param object the object to clone (<code>null</code> not permitted).
      * @return A clone of the specified object.
@@ -170,24 +173,8 @@ public final class ObjectUtilities {
             return pc.clone();
         }
         else {
-            try {
-                final Method method = object.getClass().getMethod("clone",
-                        (Class[]) null);
-                if (Modifier.isPublic(method.getModifiers())) {
-                    return method.invoke(object, (Object[]) null);
-                }
-            }
-            catch (NoSuchMethodException e) {
-                Log.warn("Object without clone() method is impossible.");
-            }
-            catch (IllegalAccessException e) {
-                Log.warn("Object.clone(): unable to call method.");
-            }
-            catch (InvocationTargetException e) {
-                Log.warn("Object without clone() method is impossible.");
-            }
+            return InstantiationCache.cloneObject(object);
         }
-        throw new CloneNotSupportedException("Failed to clone.");
     }
 
     /**
@@ -255,16 +242,12 @@ public final class ObjectUtilities {
      *                           the context classloader.
      */
     public static ClassLoader getClassLoader(final Class c) {
-        final String localClassLoaderSource;
-        synchronized(ObjectUtilities.class)
-        {
-          if (classLoader != null) {
-              return classLoader;
-          }
-          localClassLoaderSource = classLoaderSource;
+        final ClassLoader customLoader = classLoader;
+        if (customLoader != null) {
+            return customLoader;
         }
 
-        if ("ThreadContext".equals(localClassLoaderSource)) {
+        if (THREAD_CONTEXT.equals(classLoaderSource)) {
             final ClassLoader threadLoader = Thread.currentThread().getContextClassLoader();
             if (threadLoader != null) {
                 return threadLoader;
@@ -390,6 +373,29 @@ public final class ObjectUtilities {
         }
     }
 
+    /**
+     * Loads the class with the given name from the classloader returned by
+     * {@link #getClassLoader(Class)}. Loaded classes are cached per
+     * classloader.
+     *
+     * @param className the class name as String, never null.
+     * @param source    the source class, from where to get the classloader.
+     * @return the class, never null.
+     * @throws ClassNotFoundException if the class cannot be found.
+     */
+    public static Class loadClass(final String className, final Class source)
+        throws ClassNotFoundException {
+        return InstantiationCache.loadClass(className, getClassLoader(source));
+    }
+
+    /**
+     * Removes all cached classes, so that the next call to
+     * {@link #loadClass(String, Class)} asks the classloader again.
+     */
+    public static void clearClassCache() {
+        InstantiationCache.clear();
+    }
+
     /**
      * Tries to create a new instance of the given class. This is a short cut
      * for the common bean instantiation code.
@@ -401,9 +407,8 @@ public final class ObjectUtilities {
     public static Object loadAndInstantiate(final String className,
                                             final Class source) {
         try {
-            final ClassLoader loader = getClassLoader(source);
-            final Class c = loader.loadClass(className);
-            return c.newInstance();
+            final Class c = loadClass(className, source);
+            return InstantiationCache.newInstance(c);
         }
         catch (Exception e) {
             return null;
@@ -425,10 +430,9 @@ public final class ObjectUtilities {
                                             final Class source,
                                             final Class type) {
         try {
-            final ClassLoader loader = getClassLoader(source);
-            final Class c = loader.loadClass(className);
+            final Class c = loadClass(className, source);
             if (type.isAssignableFrom(c)) {
-                return c.newInstance();
+                return InstantiationCache.newInstance(c);
             }
         }
         catch (Exception e) {
@@ -437,6 +441,35 @@ public final class ObjectUtilities {
         return null;
     }
 
+    /**
+     * Calls the public static factory method with the given name on the given
+     * class, for instance a singleton's <code>getInstance()</code>. The
+     * factory method must not have parameters. The method handle is looked
+     * up once per class and method name.
+     *
+     * @param c the class, never null.
+     * @param methodName the name of the factory method, never null.
+     * @return the result of the factory method.
+     * @throws Exception if there is no such method or the method failed.
+     */
+    public static Object invokeFactory(final Class c, final String methodName)
+        throws Exception {
+        return InstantiationCache.invokeFactory(c, methodName);
+    }
+
+    /**
+     * Creates a new instance of the given class using its public no-argument
+     * constructor. The constructor handle is looked up once per class.
+     *
+     * @param c the class, never null.
+     * @return the new instance.
+     * @throws Exception if the class cannot be instantiated or the
+     *         constructor failed.
+     */
+    public static Object newInstance(final Class c) throws Exception {
+        return InstantiationCache.newInstance(c);
+    }
+
     /**
      * Returns <code>true</code> if this is version 1.4 or later of the
      * Java runtime.
@@ -171,7 +171,7 @@ public class PaintUtilities {
               return (Color) f.get(null);
           }
           catch (Exception ce) {
-              Log.info("No such Color : " + value);
+              Log.info("No such Color : {}", value);
               // if we can't get any color return black
               return Color.black;
           }
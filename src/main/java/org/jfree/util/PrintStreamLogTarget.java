@@ -38,20 +38,29 @@
  * -------
  * 02-Dec-2003 : Initial version
  * 11-Feb-2004 : Added missing Javadocs (DG);
+ * 18-Oct-2026 : Flush the target stream instead of System.out and allow the
+ *               flushing to be deferred to the caller;
  * 
  */
 
 package org.jfree.util;
 
+import java.io.Flushable;
 import java.io.PrintStream;
 import java.io.Serializable;
 
 /**
  * A log target that sends output to a {@link PrintStream}.
+ * <p>
+ * By default, the stream is flushed after every message that is not a
+ * debug message. Targets that are fed in batches, for instance by an
+ * {@link AsyncLogTarget}, can defer the flushing and call {@link #flush()}
+ * once per batch instead.
  *
  * @author Thomas Morgner
  */
-public class PrintStreamLogTarget implements LogTarget, Serializable {
+public class PrintStreamLogTarget
+    implements LogTarget, Flushable, Serializable {
 
   /** For serialization. */
   private static final long serialVersionUID = 6510564403264504688L;
@@ -59,6 +68,9 @@ public class PrintStreamLogTarget implements LogTarget, Serializable {
   /** The printstream we use .. */
   private PrintStream printStream;
 
+  /** A flag that controls whether flushing is left to the caller. */
+  private boolean deferFlush;
+
   /**
    * The default constructor. Initializes this target with the system.out 
    * stream.
@@ -82,6 +94,26 @@ public class PrintStreamLogTarget implements LogTarget, Serializable {
     this.printStream = printStream;
   }
 
+  /**
+   * Creates a new target for the given stream.
+   *
+   * @param printStream the print stream that is used to write the content.
+   * @param deferFlush  if true, messages are not flushed individually and the
+   *                    caller is responsible for calling {@link #flush()}.
+   */
+  public PrintStreamLogTarget(final PrintStream printStream,
+                              final boolean deferFlush) {
+    this(printStream);
+    this.deferFlush = deferFlush;
+  }
+
+  /**
+   * Flushes the underlying stream.
+   */
+  public void flush() {
+    this.printStream.flush();
+  }
+
   /**
    * Logs a message to the main log stream. All attached logStreams will also
    * receive this message. If the given log-level is higher than the given 
@@ -96,8 +128,8 @@ public class PrintStreamLogTarget implements LogTarget, Serializable {
     }
     this.printStream.print(LEVELS[level]);
     this.printStream.println(message);
-    if (level < 3) {
-      System.out.flush();
+    if (level < 3 && this.deferFlush == false) {
+      this.printStream.flush();
     }
   }
 
@@ -119,8 +151,8 @@ public class PrintStreamLogTarget implements LogTarget, Serializable {
     this.printStream.print(LEVELS[level]);
     this.printStream.println(message);
     e.printStackTrace(this.printStream);
-    if (level < 3) {
-      System.out.flush();
+    if (level < 3 && this.deferFlush == false) {
+      this.printStream.flush();
     }
   }
 }
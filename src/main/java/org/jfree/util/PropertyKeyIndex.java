@@ -0,0 +1,266 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * PropertyKeyIndex.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Initial version;
+ *
+ */
+
+package org.jfree.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, sorted index of property keys, which answers prefix queries
+ * with a binary search instead of testing every key. Configurations build
+ * the index on demand and discard it whenever their keys change.
+ */
+public final class PropertyKeyIndex {
+
+    /** The sorted keys. */
+    private final String[] keys;
+
+    /**
+     * Creates a new index. Keys that are not strings are ignored.
+     *
+     * @param keys the keys.
+     */
+    public PropertyKeyIndex(final Enumeration keys) {
+        final ArrayList list = new ArrayList();
+        while (keys.hasMoreElements()) {
+            final Object key = keys.nextElement();
+            if (key instanceof String) {
+                list.add(key);
+            }
+        }
+        this.keys = (String[]) list.toArray(new String[list.size()]);
+        Arrays.sort(this.keys);
+    }
+
+    /**
+     * Returns the number of keys in this index.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns all keys that start with the given prefix, in ascending order.
+     *
+     * @param prefix the prefix.
+     *
+     * @return an unmodifiable list of the keys.
+     */
+    public List findKeys(final String prefix) {
+        final int start = findStart(prefix);
+        int end = start;
+        while (end < this.keys.length && this.keys[end].startsWith(prefix)) {
+            end += 1;
+        }
+        if (start == end) {
+            return Collections.EMPTY_LIST;
+        }
+        return Collections.unmodifiableList
+            (Arrays.asList(this.keys).subList(start, end));
+    }
+
+    /**
+     * Returns the position of the first key that is not less than the
+     * given prefix.
+     *
+     * @param prefix the prefix.
+     *
+     * @return the position.
+     */
+    private int findStart(final String prefix) {
+        int low = 0;
+        int high = this.keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * An iterator that merges sorted iterators of keys while it is consumed.
+     */
+    private static final class MergeIterator implements Iterator {
+
+        /** The source iterators. */
+        private final Iterator[] sources;
+
+        /** The current key of each source, null if the source is exhausted. */
+        private final String[] heads;
+
+        /** The last key returned. */
+        private String last;
+
+        /**
+         * Creates a new iterator.
+         *
+         * @param sources the sorted source iterators.
+         */
+        private MergeIterator(final Iterator[] sources) {
+            this.sources = sources;
+            this.heads = new String[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                advance(i);
+            }
+        }
+
+        /**
+         * Moves a source to its next key.
+         *
+         * @param source the index of the source.
+         */
+        private void advance(final int source) {
+            if (this.sources[source].hasNext()) {
+                this.heads[source] = (String) this.sources[source].next();
+            }
+            else {
+                this.heads[source] = null;
+            }
+        }
+
+        /**
+         * Returns the index of the source with the smallest current key.
+         *
+         * @return the index, or -1 if all sources are exhausted.
+         */
+        private int findSmallest() {
+            int smallest = -1;
+            for (int i = 0; i < this.heads.length; i++) {
+                if (this.heads[i] != null && (smallest == -1
+                        || this.heads[i].compareTo(this.heads[smallest]) < 0)) {
+                    smallest = i;
+                }
+            }
+            return smallest;
+        }
+
+        /**
+         * Returns true, if there are more keys.
+         *
+         * @return true, if there are more keys.
+         */
+        public boolean hasNext() {
+            int smallest = findSmallest();
+            while (smallest != -1 && this.heads[smallest].equals(this.last)) {
+                advance(smallest);
+                smallest = findSmallest();
+            }
+            return smallest != -1;
+        }
+
+        /**
+         * Returns the next key.
+         *
+         * @return the next key.
+         */
+        public Object next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            final int smallest = findSmallest();
+            this.last = this.heads[smallest];
+            advance(smallest);
+            return this.last;
+        }
+
+        /**
+         * Not supported.
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Merges sorted lists of keys into a single sorted sequence, in which
+     * every key appears only once.
+     *
+     * @param lists the sorted lists of keys.
+     *
+     * @return an iterator over the merged keys.
+     */
+    public static Iterator merge(final List lists) {
+        final ArrayList nonEmpty = new ArrayList(lists.size());
+        for (int i = 0; i < lists.size(); i++) {
+            final List list = (List) lists.get(i);
+            if (list.isEmpty() == false) {
+                nonEmpty.add(list);
+            }
+        }
+        if (nonEmpty.isEmpty()) {
+            return Collections.EMPTY_LIST.iterator();
+        }
+        if (nonEmpty.size() == 1) {
+            return ((List) nonEmpty.get(0)).iterator();
+        }
+        final Iterator[] iterators = new Iterator[nonEmpty.size()];
+        for (int i = 0; i < iterators.length; i++) {
+            iterators[i] = Collections.unmodifiableList
+                ((List) nonEmpty.get(i)).iterator();
+        }
+        return new MergeIterator(iterators);
+    }
+
+    /**
+     * Merges sorted iterators of keys into a single sorted sequence, in which
+     * every key appears only once. The keys are merged while the returned
+     * iterator is consumed, so the sources must not change in the meantime.
+     *
+     * @param sorted the iterators over sorted keys.
+     *
+     * @return an iterator over the merged keys.
+     */
+    public static Iterator merge(final Iterator[] sorted) {
+        return new MergeIterator(sorted.clone());
+    }
+}
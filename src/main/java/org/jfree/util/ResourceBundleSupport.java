@@ -483,7 +483,7 @@ public class ResourceBundleSupport
     final URL in = ObjectUtilities.getResource(name, ResourceBundleSupport.class);
     if (in == null)
     {
-      Log.warn("Unable to find file in the class path: " + name + "; key=" + key);
+      Log.warn("Unable to find file in the class path: {}; key={}", name, key);
     }
     return in;
   }
@@ -507,13 +507,13 @@ public class ResourceBundleSupport
     ;
     if (in == null)
     {
-      Log.warn("Unable to find file in the class path: " + resourceName);
+      Log.warn("Unable to find file in the class path: {}", resourceName);
       return new ImageIcon(createTransparentImage(1, 1));
     }
     final Image img = Toolkit.getDefaultToolkit().createImage(in);
     if (img == null)
     {
-      Log.warn("Unable to instantiate the image: " + resourceName);
+      Log.warn("Unable to instantiate the image: {}", resourceName);
       return new ImageIcon(createTransparentImage(1, 1));
     }
     if (scale)
@@ -36,26 +36,37 @@
  *
  * Changes
  * -------
+ * 18-Oct-2026 : Stream sorted keys through a table driven escaping buffer,
+ *               added merging of layers and output to Writers and
+ *               FileChannels;
  *
  */
 
 package org.jfree.util;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 
+import org.jfree.base.config.HierarchicalConfiguration;
+
 /**
  * Writes a <code>Configuration</code> instance into a property file, where
  * the keys are sorted by their name. Writing sorted keys make it easier for
  * users to find and change properties in the file.
+ * <p>
+ * The keys of {@link HierarchicalConfiguration} and
+ * {@link DefaultConfiguration} instances are already sorted and are written
+ * while they are enumerated; the keys of other configurations are collected
+ * and sorted first. Several configurations can be written as one file, in
+ * which case the first configuration that defines a key provides its value.
  *
  * @author Thomas Morgner
  */
@@ -79,12 +90,264 @@ public class SortedConfigurationWriter {
     /** The system-dependent End-Of-Line separator. */
     private static final String END_OF_LINE = StringUtils.getLineSeparator();
 
+    /** A lookup-table. */
+    private static final char[] HEX_CHARS =
+        {'0', '1', '2', '3', '4', '5', '6', '7',
+         '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    /**
+     * The replacement of each ASCII character for each escape mode, or null
+     * if the character is written unchanged.
+     */
+    private static final String[][] ESCAPES = createEscapeTable();
+
+    /** The size of the output buffer in characters. */
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * Collects escaped text in a large buffer and passes it to a
+     * <code>Writer</code>, an <code>OutputStream</code> or a
+     * <code>FileChannel</code>. All escaped text is ASCII, so it is passed to
+     * byte based targets without a charset encoder.
+     */
+    private static final class PropertyOutput {
+
+        /** The target writer, or null. */
+        private final Writer writer;
+
+        /** The target stream, or null. */
+        private final OutputStream stream;
+
+        /** The target channel, or null. */
+        private final FileChannel channel;
+
+        /** The character buffer. */
+        private final char[] buffer;
+
+        /** The byte buffer used for byte based targets. */
+        private final byte[] bytes;
+
+        /** The number of characters in the buffer. */
+        private int length;
+
+        /**
+         * Creates a new output.
+         *
+         * @param writer  the target writer, or null.
+         * @param stream  the target stream, or null.
+         * @param channel the target channel, or null.
+         */
+        private PropertyOutput(final Writer writer, final OutputStream stream,
+                               final FileChannel channel) {
+            this.writer = writer;
+            this.stream = stream;
+            this.channel = channel;
+            this.buffer = new char[BUFFER_SIZE];
+            this.bytes = (writer == null) ? new byte[BUFFER_SIZE] : null;
+        }
+
+        /**
+         * Writes a part of a string without escaping it.
+         *
+         * @param text  the text.
+         * @param start the index of the first character.
+         * @param end   the index after the last character.
+         * @throws IOException if writing fails.
+         */
+        private void write(final String text, int start, final int end)
+            throws IOException {
+            while (start < end) {
+                if (this.length == this.buffer.length) {
+                    flushBuffer();
+                }
+                final int count =
+                    Math.min(end - start, this.buffer.length - this.length);
+                text.getChars(start, start + count, this.buffer, this.length);
+                this.length += count;
+                start += count;
+            }
+        }
+
+        /**
+         * Writes a string without escaping it.
+         *
+         * @param text the text.
+         * @throws IOException if writing fails.
+         */
+        private void write(final String text) throws IOException {
+            write(text, 0, text.length());
+        }
+
+        /**
+         * Writes a single character without escaping it.
+         *
+         * @param c the character.
+         * @throws IOException if writing fails.
+         */
+        private void write(final char c) throws IOException {
+            if (this.length == this.buffer.length) {
+                flushBuffer();
+            }
+            this.buffer[this.length] = c;
+            this.length += 1;
+        }
+
+        /**
+         * Writes a string, escaping it for the given mode. Runs of characters
+         * that need no escaping are copied in one step.
+         *
+         * @param text       the text.
+         * @param escapeMode the escape mode.
+         * @throws IOException if writing fails.
+         */
+        private void writeEscaped(final String text, final int escapeMode)
+            throws IOException {
+            final String[] table = ESCAPES[escapeMode];
+            final int textLength = text.length();
+            int start = 0;
+            for (int x = 0; x < textLength; x++) {
+                final char aChar = text.charAt(x);
+                if (aChar >= 0x80) {
+                    write(text, start, x);
+                    writeUnicode(aChar);
+                    start = x + 1;
+                    continue;
+                }
+                String escape = table[aChar];
+                if (escape == null && aChar == ' ' && x == 0
+                        && escapeMode == ESCAPE_VALUE) {
+                    escape = "\\ ";
+                }
+                if (escape != null) {
+                    write(text, start, x);
+                    write(escape);
+                    start = x + 1;
+                }
+            }
+            write(text, start, textLength);
+        }
+
+        /**
+         * Writes a unicode escape sequence.
+         *
+         * @param aChar the character.
+         * @throws IOException if writing fails.
+         */
+        private void writeUnicode(final char aChar) throws IOException {
+            write('\\');
+            write('u');
+            write(HEX_CHARS[(aChar >> 12) & 0xF]);
+            write(HEX_CHARS[(aChar >> 8) & 0xF]);
+            write(HEX_CHARS[(aChar >> 4) & 0xF]);
+            write(HEX_CHARS[aChar & 0xF]);
+        }
+
+        /**
+         * Passes the buffered text to the target.
+         *
+         * @throws IOException if writing fails.
+         */
+        private void flushBuffer() throws IOException {
+            if (this.writer != null) {
+                this.writer.write(this.buffer, 0, this.length);
+            }
+            else {
+                for (int i = 0; i < this.length; i++) {
+                    this.bytes[i] = (byte) this.buffer[i];
+                }
+                if (this.stream != null) {
+                    this.stream.write(this.bytes, 0, this.length);
+                }
+                else {
+                    final ByteBuffer data =
+                        ByteBuffer.wrap(this.bytes, 0, this.length);
+                    while (data.hasRemaining()) {
+                        this.channel.write(data);
+                    }
+                }
+            }
+            this.length = 0;
+        }
+
+        /**
+         * Passes the buffered text to the target and flushes the target.
+         *
+         * @throws IOException if writing fails.
+         */
+        private void flush() throws IOException {
+            flushBuffer();
+            if (this.writer != null) {
+                this.writer.flush();
+            }
+            else if (this.stream != null) {
+                this.stream.flush();
+            }
+        }
+    }
+
     /**
      * The default constructor, does nothing.
      */
     public SortedConfigurationWriter() {
     }
 
+    /**
+     * Creates the table of escape sequences for all ASCII characters.
+     *
+     * @return the table, indexed by escape mode and character.
+     */
+    private static String[][] createEscapeTable() {
+        final String[][] table = new String[3][0x80];
+        for (int mode = ESCAPE_KEY; mode <= ESCAPE_COMMENT; mode++) {
+            for (char aChar = 0; aChar < 0x80; aChar++) {
+                table[mode][aChar] = createEscape(aChar, mode);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the escape sequence for an ASCII character. A space at the
+     * start of a value is handled separately.
+     *
+     * @param aChar      the character.
+     * @param escapeMode the escape mode.
+     * @return the escape sequence, or null if the character is written
+     *         unchanged.
+     */
+    private static String createEscape(final char aChar,
+                                       final int escapeMode) {
+        switch (aChar) {
+            case ' ':
+                return (escapeMode == ESCAPE_KEY) ? "\\ " : null;
+            case '\\':
+                return "\\\\";
+            case '\t':
+                return (escapeMode == ESCAPE_COMMENT) ? null : "\\t";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\f':
+                return (escapeMode == ESCAPE_COMMENT) ? null : "\\f";
+            case '#':
+            case '"':
+            case '!':
+            case '=':
+            case ':':
+                return (escapeMode == ESCAPE_COMMENT) ? null : "\\" + aChar;
+            default:
+                if ((aChar < 0x0020) || (aChar > 0x007e)) {
+                    return "\\u"
+                        + HEX_CHARS[(aChar >> 12) & 0xF]
+                        + HEX_CHARS[(aChar >> 8) & 0xF]
+                        + HEX_CHARS[(aChar >> 4) & 0xF]
+                        + HEX_CHARS[aChar & 0xF];
+                }
+                return null;
+        }
+    }
+
     /**
      * Returns a description for the given key. This implementation returns
      * null to indicate that no description should be written. Subclasses can
@@ -121,12 +384,28 @@ public class SortedConfigurationWriter {
      */
     public void save(final File file, final Configuration config)
         throws IOException {
-        final BufferedOutputStream out =
-            new BufferedOutputStream(new FileOutputStream(file));
-        save(out, config);
-        out.close();
+        save(file, new Configuration[] {config});
     }
 
+    /**
+     * Saves the given configurations into a file specified by the given
+     * file object.
+     *
+     * @param file the target file
+     * @param layers the configurations, the first configuration defining a
+     *               key provides its value
+     * @throws IOException if an IOError occurs.
+     */
+    public void save(final File file, final Configuration[] layers)
+        throws IOException {
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            save(out.getChannel(), layers);
+        }
+        finally {
+            out.close();
+        }
+    }
 
     /**
      * Writes the configuration into the given output stream.
@@ -137,161 +416,155 @@ public class SortedConfigurationWriter {
      */
     public void save(final OutputStream outStream, final Configuration config)
         throws IOException {
-        final ArrayList names = new ArrayList();
+        save(outStream, new Configuration[] {config});
+    }
 
-        // clear all previously set configuration settings ...
-        final Iterator defaults = config.findPropertyKeys("");
-        while (defaults.hasNext()) {
-            final String key = (String) defaults.next();
-            names.add(key);
-        }
+    /**
+     * Writes the configurations into the given output stream, using the
+     * ISO-8859-1 encoding.
+     *
+     * @param outStream the target output stream
+     * @param layers the configurations, the first configuration defining a
+     *               key provides its value
+     * @throws IOException if writing fails.
+     */
+    public void save(final OutputStream outStream, final Configuration[] layers)
+        throws IOException {
+        write(new PropertyOutput(null, outStream, null), layers);
+    }
 
+    /**
+     * Writes the configuration into the given writer.
+     *
+     * @param writer the target writer
+     * @param config the configuration
+     * @throws IOException if writing fails.
+     */
+    public void save(final Writer writer, final Configuration config)
+        throws IOException {
+        save(writer, new Configuration[] {config});
+    }
+
+    /**
+     * Writes the configurations into the given writer.
+     *
+     * @param writer the target writer
+     * @param layers the configurations, the first configuration defining a
+     *               key provides its value
+     * @throws IOException if writing fails.
+     */
+    public void save(final Writer writer, final Configuration[] layers)
+        throws IOException {
+        write(new PropertyOutput(writer, null, null), layers);
+    }
+
+    /**
+     * Writes the configuration into the given channel, using the ISO-8859-1
+     * encoding. The channel is not closed.
+     *
+     * @param channel the target channel
+     * @param config the configuration
+     * @throws IOException if writing fails.
+     */
+    public void save(final FileChannel channel, final Configuration config)
+        throws IOException {
+        save(channel, new Configuration[] {config});
+    }
+
+    /**
+     * Writes the configurations into the given channel, using the ISO-8859-1
+     * encoding. The channel is not closed.
+     *
+     * @param channel the target channel
+     * @param layers the configurations, the first configuration defining a
+     *               key provides its value
+     * @throws IOException if writing fails.
+     */
+    public void save(final FileChannel channel, final Configuration[] layers)
+        throws IOException {
+        write(new PropertyOutput(null, null, channel), layers);
+    }
+
+    /**
+     * Returns the keys of a configuration in ascending order.
+     *
+     * @param config the configuration
+     * @return an iterator over the sorted keys.
+     */
+    private static Iterator getSortedKeys(final Configuration config) {
+        final Iterator keys = config.findPropertyKeys("");
+        if (config instanceof HierarchicalConfiguration
+                || config instanceof DefaultConfiguration) {
+            return keys;
+        }
+        final ArrayList names = new ArrayList();
+        while (keys.hasNext()) {
+            names.add(keys.next());
+        }
         Collections.sort(names);
+        return names.iterator();
+    }
 
-        final OutputStreamWriter out =
-            new OutputStreamWriter(outStream, "iso-8859-1");
+    /**
+     * Writes the merged keys of the given configurations.
+     *
+     * @param out the output
+     * @param layers the configurations
+     * @throws IOException if writing fails.
+     */
+    private void write(final PropertyOutput out, final Configuration[] layers)
+        throws IOException {
+        final Iterator[] sources = new Iterator[layers.length];
+        for (int i = 0; i < layers.length; i++) {
+            sources[i] = getSortedKeys(layers[i]);
+        }
+        final Iterator keys = (sources.length == 1)
+            ? sources[0] : PropertyKeyIndex.merge(sources);
 
-        for (int i = 0; i < names.size(); i++) {
-            final String key = (String) names.get(i);
-            final String value = config.getConfigProperty(key);
+        while (keys.hasNext()) {
+            final String key = (String) keys.next();
+            String value = null;
+            for (int i = 0; i < layers.length && value == null; i++) {
+                value = layers[i].getConfigProperty(key);
+            }
+            if (value == null) {
+                continue;
+            }
 
             final String description = getDescription(key);
             if (description != null) {
                 writeDescription(description, out);
             }
-            saveConvert(key, ESCAPE_KEY, out);
-            out.write("=");
-            saveConvert(value, ESCAPE_VALUE, out);
+            out.writeEscaped(key, ESCAPE_KEY);
+            out.write('=');
+            out.writeEscaped(value, ESCAPE_VALUE);
             out.write(END_OF_LINE);
         }
         out.flush();
-
     }
 
     /**
-     * Writes a descriptive comment into the given print writer.
+     * Writes a descriptive comment into the given output.
      *
      * @param text   the text to be written. If it contains more than
      *               one line, every line will be prepended by the comment character.
-     * @param writer the writer that should receive the content.
+     * @param out    the output that should receive the content.
      * @throws IOException if writing fails
      */
-    private void writeDescription(final String text, final Writer writer)
+    private void writeDescription(final String text, final PropertyOutput out)
         throws IOException {
         // check if empty content ... this case is easy ...
         if (text.length() == 0) {
             return;
         }
 
-        writer.write("# ");
-        writer.write(END_OF_LINE);
+        out.write("# ");
+        out.write(END_OF_LINE);
         final LineBreakIterator iterator = new LineBreakIterator(text);
         while (iterator.hasNext()) {
-            writer.write("# ");
-            saveConvert((String) iterator.next(), ESCAPE_COMMENT, writer);
-            writer.write(END_OF_LINE);
-        }
-    }
-
-    /**
-     * Performs the necessary conversion of an java string into a property
-     * escaped string.
-     *
-     * @param text       the text to be escaped
-     * @param escapeMode the mode that should be applied.
-     * @param writer     the writer that should receive the content.
-     * @throws IOException if writing fails
-     */
-    private void saveConvert(final String text, final int escapeMode,
-                             final Writer writer)
-        throws IOException {
-        final char[] string = text.toCharArray();
-
-        for (int x = 0; x < string.length; x++) {
-            final char aChar = string[x];
-            switch (aChar) {
-                case ' ':
-                    {
-                        if ((escapeMode != ESCAPE_COMMENT) 
-                                && (x == 0 || escapeMode == ESCAPE_KEY)) {
-                            writer.write('\\');
-                        }
-                        writer.write(' ');
-                        break;
-                    }
-                case '\\':
-                    {
-                        writer.write('\\');
-                        writer.write('\\');
-                        break;
-                    }
-                case '\t':
-                    {
-                        if (escapeMode == ESCAPE_COMMENT) {
-                            writer.write(aChar);
-                        }
-                        else {
-                            writer.write('\\');
-                            writer.write('t');
-                        }
-                        break;
-                    }
-                case '\n':
-                    {
-                        writer.write('\\');
-                        writer.write('n');
-                        break;
-                    }
-                case '\r':
-                    {
-                        writer.write('\\');
-                        writer.write('r');
-                        break;
-                    }
-                case '\f':
-                    {
-                        if (escapeMode == ESCAPE_COMMENT) {
-                            writer.write(aChar);
-                        }
-                        else {
-                            writer.write('\\');
-                            writer.write('f');
-                        }
-                        break;
-                    }
-                case '#':
-                case '"':
-                case '!':
-                case '=':
-                case ':':
-                    {
-                        if (escapeMode == ESCAPE_COMMENT) {
-                            writer.write(aChar);
-                        }
-                        else {
-                            writer.write('\\');
-                            writer.write(aChar);
-                        }
-                        break;
-                    }
-                default:
-                    if ((aChar < 0x0020) || (aChar > 0x007e)) {
-                        writer.write('\\');
-                        writer.write('u');
-                        writer.write(HEX_CHARS[(aChar >> 12) & 0xF]);
-                        writer.write(HEX_CHARS[(aChar >> 8) & 0xF]);
-                        writer.write(HEX_CHARS[(aChar >> 4) & 0xF]);
-                        writer.write(HEX_CHARS[aChar & 0xF]);
-                    }
-                    else {
-                        writer.write(aChar);
-                    }
-            }
+            out.write("# ");
+            out.writeEscaped((String) iterator.next(), ESCAPE_COMMENT);
+            out.write(END_OF_LINE);
         }
     }
-
-    /** A lookup-table. */
-    private static final char[] HEX_CHARS =
-        {'0', '1', '2', '3', '4', '5', '6', '7',
-         '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
 }
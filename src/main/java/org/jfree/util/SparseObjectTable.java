@@ -0,0 +1,590 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------
+ * SparseObjectTable.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1, a hashed variant of ObjectTable for tables that
+ *               are mostly empty;
+ */
+
+package org.jfree.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+/**
+ * A lookup table for objects that stores only the populated cells. The
+ * cells are kept in an open-addressing hash table keyed by row and column,
+ * so memory use, <code>equals</code> and serialization are proportional to
+ * the number of non-null cells instead of the bounding rectangle of the
+ * table.
+ * <p>
+ * Storing <code>null</code> in a cell removes the cell. The semantics of
+ * {@link #getObject(int, int)} and {@link #setObject(int, int, Object)} are
+ * the same as in {@link ObjectTable}, and a sparse table is equal to a dense
+ * table holding the same cells.
+ * <p>
+ * This implementation is not synchronized, it is up to the caller to
+ * synchronize it properly.
+ */
+public class SparseObjectTable extends ObjectTable
+{
+
+  /**
+   * For serialization.
+   */
+  private static final long serialVersionUID = 2218574402452915846L;
+
+  /**
+   * The key used to mark an unused slot. Row and column are never negative,
+   * so no valid cell maps to this key.
+   */
+  private static final long FREE = -1L;
+
+  /**
+   * The number of rows.
+   */
+  private int rows;
+
+  /**
+   * The number of columns.
+   */
+  private int columns;
+
+  /**
+   * The packed row/column keys of the populated cells.
+   */
+  private transient long[] keys;
+
+  /**
+   * The cell values, parallel to the keys array.
+   */
+  private transient Object[] values;
+
+  /**
+   * The number of populated cells.
+   */
+  private transient int size;
+
+  /**
+   * Creates a new table.
+   */
+  public SparseObjectTable()
+  {
+    this(16);
+  }
+
+  /**
+   * Creates a new table.
+   *
+   * @param expectedCells the number of cells the table should be able to
+   *                      hold without resizing.
+   */
+  public SparseObjectTable(final int expectedCells)
+  {
+    super(1);
+    if (expectedCells < 0)
+    {
+      throw new IllegalArgumentException("Capacity must not be negative.");
+    }
+    allocate(capacityFor(expectedCells));
+  }
+
+  /**
+   * Computes a power-of-two table size that holds the given number of
+   * cells with a load factor of at most one half.
+   *
+   * @param cells the number of cells.
+   * @return the table size.
+   */
+  private static int capacityFor(final int cells)
+  {
+    int capacity = 8;
+    while (capacity < cells * 2)
+    {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * Creates empty storage of the given size.
+   *
+   * @param capacity the number of slots, a power of two.
+   */
+  private void allocate(final int capacity)
+  {
+    this.keys = new long[capacity];
+    Arrays.fill(this.keys, FREE);
+    this.values = new Object[capacity];
+    this.size = 0;
+  }
+
+  /**
+   * Packs a row and column index into a single key.
+   *
+   * @param row    the row index.
+   * @param column the column index.
+   * @return the key.
+   */
+  private static long key(final int row, final int column)
+  {
+    return ((long) row << 32) | (column & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Computes the home slot of a key.
+   *
+   * @param key  the key.
+   * @param mask the table size minus one.
+   * @return the slot index.
+   */
+  private static int slot(final long key, final int mask)
+  {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  /**
+   * Returns the slot holding the given key, or -1 if the key is not
+   * present.
+   *
+   * @param key the key.
+   * @return the slot index or -1.
+   */
+  private int find(final long key)
+  {
+    final long[] keys = this.keys;
+    final int mask = keys.length - 1;
+    int i = slot(key, mask);
+    while (true)
+    {
+      final long k = keys[i];
+      if (k == key)
+      {
+        return i;
+      }
+      if (k == FREE)
+      {
+        return -1;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Stores a non-null value under the given key.
+   *
+   * @param key   the key.
+   * @param value the value.
+   */
+  private void put(final long key, final Object value)
+  {
+    if ((this.size + 1) * 2 > this.keys.length)
+    {
+      rehash(this.keys.length * 2);
+    }
+    final long[] keys = this.keys;
+    final int mask = keys.length - 1;
+    int i = slot(key, mask);
+    while (true)
+    {
+      final long k = keys[i];
+      if (k == key)
+      {
+        this.values[i] = value;
+        return;
+      }
+      if (k == FREE)
+      {
+        keys[i] = key;
+        this.values[i] = value;
+        this.size += 1;
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Removes the given key, shifting back the following entries of the
+   * probe sequence so that lookups never need tombstones.
+   *
+   * @param key the key.
+   */
+  private void remove(final long key)
+  {
+    int gap = find(key);
+    if (gap < 0)
+    {
+      return;
+    }
+    final long[] keys = this.keys;
+    final Object[] values = this.values;
+    final int mask = keys.length - 1;
+    int i = gap;
+    while (true)
+    {
+      i = (i + 1) & mask;
+      final long k = keys[i];
+      if (k == FREE)
+      {
+        break;
+      }
+      final int home = slot(k, mask);
+      // move the entry into the gap if its home slot does not lie
+      // cyclically between the gap and its current position.
+      if (((i - home) & mask) >= ((i - gap) & mask))
+      {
+        keys[gap] = k;
+        values[gap] = values[i];
+        gap = i;
+      }
+    }
+    keys[gap] = FREE;
+    values[gap] = null;
+    this.size -= 1;
+  }
+
+  /**
+   * Rebuilds the hash table with a new size.
+   *
+   * @param capacity the new number of slots, a power of two.
+   */
+  private void rehash(final int capacity)
+  {
+    final long[] oldKeys = this.keys;
+    final Object[] oldValues = this.values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++)
+    {
+      if (oldKeys[i] != FREE)
+      {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  /**
+   * Validates the given cell position. A sparse table does not reserve
+   * storage in advance, so no capacity is allocated.
+   *
+   * @param row    the row index.
+   * @param column the column index.
+   */
+  public void ensureCapacity(final int row, final int column)
+  {
+    if (row < 0)
+    {
+      throw new IndexOutOfBoundsException("Row is invalid. " + row);
+    }
+    if (column < 0)
+    {
+      throw new IndexOutOfBoundsException("Column is invalid. " + column);
+    }
+  }
+
+  /**
+   * Returns the number of rows in the table.
+   *
+   * @return The row count.
+   */
+  public int getRowCount()
+  {
+    return this.rows;
+  }
+
+  /**
+   * Returns the number of columns in the table.
+   *
+   * @return The column count.
+   */
+  public int getColumnCount()
+  {
+    return this.columns;
+  }
+
+  /**
+   * Returns the number of non-null cells in the table.
+   *
+   * @return The cell count.
+   */
+  public int getCellCount()
+  {
+    return this.size;
+  }
+
+  /**
+   * Returns the object from a particular cell in the table. Returns null, if
+   * there is no object at the given position.
+   * <p>
+   * Note: throws IndexOutOfBoundsException if row or column is negative.</p>
+   *
+   * @param row    the row index (zero-based).
+   * @param column the column index (zero-based).
+   * @return The object.
+   */
+  protected Object getObject(final int row, final int column)
+  {
+    ensureCapacity(row, column);
+    final int i = find(key(row, column));
+    if (i < 0)
+    {
+      return null;
+    }
+    return this.values[i];
+  }
+
+  /**
+   * Sets the object for a cell in the table. Setting a cell to
+   * <code>null</code> releases its storage, but like in
+   * {@link ObjectTable} the row and column count never shrink.
+   *
+   * @param row    the row index (zero-based).
+   * @param column the column index (zero-based).
+   * @param object the object.
+   */
+  protected void setObject(final int row, final int column,
+                           final Object object)
+  {
+    ensureCapacity(row, column);
+
+    if (object == null)
+    {
+      remove(key(row, column));
+    }
+    else
+    {
+      put(key(row, column), object);
+    }
+    this.rows = Math.max(this.rows, row + 1);
+    this.columns = Math.max(this.columns, column + 1);
+  }
+
+  /**
+   * Tests this table for equality with another object (typically also an
+   * <code>ObjectTable</code>). Two sparse tables are compared cell by cell
+   * over their populated cells only.
+   *
+   * @param o the other object.
+   * @return A boolean.
+   */
+  public boolean equals(final Object o)
+  {
+    if (this == o)
+    {
+      return true;
+    }
+    if ((o instanceof SparseObjectTable) == false)
+    {
+      return super.equals(o);
+    }
+
+    final SparseObjectTable ot = (SparseObjectTable) o;
+    if (this.rows != ot.rows || this.columns != ot.columns
+        || this.size != ot.size)
+    {
+      return false;
+    }
+    final long[] keys = this.keys;
+    for (int i = 0; i < keys.length; i++)
+    {
+      if (keys[i] == FREE)
+      {
+        continue;
+      }
+      final int j = ot.find(keys[i]);
+      if (j < 0 || ObjectUtilities.equal(this.values[i], ot.values[j]) == false)
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a hash code value for the object. This is computed the same way
+   * as in {@link ObjectTable} so that equal sparse and dense tables share
+   * the same hash code.
+   *
+   * @return the hashcode
+   */
+  public int hashCode()
+  {
+    int result;
+    result = this.rows;
+    result = 29 * result + this.columns;
+    return result;
+  }
+
+  /**
+   * Clears the table.
+   */
+  public void clear()
+  {
+    this.rows = 0;
+    this.columns = 0;
+    Arrays.fill(this.keys, FREE);
+    Arrays.fill(this.values, null);
+    this.size = 0;
+  }
+
+  /**
+   * Copys the contents of the old row to the new row.
+   *
+   * @param oldRow the index of the old row
+   * @param newRow the index of the new row
+   */
+  protected void copyRow(final int oldRow, final int newRow)
+  {
+    final int columnCount = getColumnCount();
+    for (int c = 0; c < columnCount; c++)
+    {
+      setObject(newRow, c, getObject(oldRow, c));
+    }
+  }
+
+  /**
+   * Sets the table data. The populated cells of the given array are copied
+   * into the sparse storage.
+   *
+   * @param data     the data.
+   * @param colCount the number of columns.
+   */
+  protected void setData(final Object[][] data, final int colCount)
+  {
+    if (data == null)
+    {
+      throw new NullPointerException();
+    }
+    if (colCount < 0)
+    {
+      throw new IndexOutOfBoundsException();
+    }
+
+    clear();
+    for (int r = 0; r < data.length; r++)
+    {
+      final Object[] row = data[r];
+      if (row == null)
+      {
+        continue;
+      }
+      for (int c = 0; c < row.length; c++)
+      {
+        if (row[c] != null)
+        {
+          put(key(r, c), row[c]);
+        }
+      }
+    }
+    this.rows = data.length;
+    this.columns = colCount;
+  }
+
+  /**
+   * Returns the table data as a newly created dense array. Changes to the
+   * returned array are not reflected in the table.
+   *
+   * @return The table data.
+   */
+  protected Object[][] getData()
+  {
+    final Object[][] data = new Object[this.rows][];
+    final long[] keys = this.keys;
+    for (int i = 0; i < keys.length; i++)
+    {
+      final long key = keys[i];
+      if (key == FREE)
+      {
+        continue;
+      }
+      final int row = (int) (key >>> 32);
+      if (data[row] == null)
+      {
+        data[row] = new Object[this.columns];
+      }
+      data[row][(int) key] = this.values[i];
+    }
+    return data;
+  }
+
+  /**
+   * Handles serialization. Only the populated cells are written.
+   *
+   * @param stream the output stream.
+   * @throws java.io.IOException if there is an I/O problem.
+   */
+  private void writeObject(final ObjectOutputStream stream)
+      throws IOException
+  {
+    stream.defaultWriteObject();
+    stream.writeInt(this.size);
+    final long[] keys = this.keys;
+    for (int i = 0; i < keys.length; i++)
+    {
+      if (keys[i] != FREE)
+      {
+        stream.writeLong(keys[i]);
+        writeSerializedData(stream, this.values[i]);
+      }
+    }
+  }
+
+  /**
+   * Restores a serialized object.
+   *
+   * @param stream the input stream.
+   * @throws java.io.IOException    if there is an I/O problem.
+   * @throws ClassNotFoundException if a class cannot be found.
+   */
+  private void readObject(final ObjectInputStream stream)
+      throws IOException, ClassNotFoundException
+  {
+    stream.defaultReadObject();
+    final int cellCount = stream.readInt();
+    allocate(capacityFor(cellCount));
+    for (int i = 0; i < cellCount; i++)
+    {
+      final long key = stream.readLong();
+      final Object value = readSerializedData(stream);
+      if (value != null)
+      {
+        put(key, value);
+      }
+    }
+  }
+}
@@ -45,8 +45,8 @@
 package org.jfree.xml;
 
 import java.util.HashMap;
-import java.util.Stack;
 
+import org.jfree.util.FastStack;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -65,7 +65,7 @@ public abstract class Parser extends FrontendDefaultHandler {
     public static final String CONTENTBASE_KEY = "content-base";
 
     /** A stack for the active factories. */
-    private Stack activeFactories;
+    private FastStack activeFactories;
 
     /** The initial factory. */
     private ElementDefinitionHandler initialFactory;
@@ -77,7 +77,7 @@ public abstract class Parser extends FrontendDefaultHandler {
      * Creates a new parser.
      */
     public Parser() {
-        this.activeFactories = new Stack();
+        this.activeFactories = new FastStack();
         this.parserHelperObjects = new HashMap();
     }
 
@@ -58,6 +58,7 @@ import java.util.List;
 import java.util.Stack;
 import java.util.Vector;
 
+import org.jfree.util.FastStack;
 import org.jfree.util.ObjectUtilities;
 import org.jfree.xml.FrontendDefaultHandler;
 import org.jfree.xml.ParseException;
@@ -87,10 +88,10 @@ import org.xml.sax.SAXException;
 public abstract class RootXmlReadHandler extends FrontendDefaultHandler {
 
     /** The current handlers. */
-    private Stack currentHandlers;
+    private FastStack currentHandlers;
 
     /** ??. */
-    private Stack outerScopes;
+    private FastStack outerScopes;
 
     /** The root handler. */
     private XmlReadHandler rootHandler;
@@ -361,7 +362,7 @@ public abstract class RootXmlReadHandler extends FrontendDefaultHandler {
         throws XmlReaderException, SAXException {
 
         this.outerScopes.push(this.currentHandlers);
-        this.currentHandlers = new Stack();
+        this.currentHandlers = new FastStack();
         this.currentHandlers.push(handler);
         handler.startElement(tagName, attrs);
 
@@ -398,7 +399,7 @@ public abstract class RootXmlReadHandler extends FrontendDefaultHandler {
         if (this.currentHandlers.isEmpty() && !this.outerScopes.isEmpty()) {
             // if empty, but "recurse" had been called, then restore the old handler stack ..
             // but do not end the recursed element ..
-            this.currentHandlers = (Stack) this.outerScopes.pop();
+            this.currentHandlers = (FastStack) this.outerScopes.pop();
         }
         else if (!this.currentHandlers.isEmpty()) {
             // if there are some handlers open, close them too (these handlers must be delegates)..
@@ -421,8 +422,8 @@ public abstract class RootXmlReadHandler extends FrontendDefaultHandler {
      * @throws SAXException not in this implementation.
      */
     public void startDocument() throws SAXException {
-        this.outerScopes = new Stack();
-        this.currentHandlers = new Stack();
+        this.outerScopes = new FastStack();
+        this.currentHandlers = new FastStack();
         this.currentHandlers.push(this.rootHandler);
     }
 
@@ -46,11 +46,11 @@ package org.jfree.xml.util;
 import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.Stack;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import org.jfree.util.FastStack;
 import org.jfree.util.Log;
 import org.jfree.util.ObjectUtilities;
 import org.jfree.xml.CommentHandler;
@@ -97,7 +97,7 @@ public abstract class AbstractModelReader {
         private int state;
         
         /** Open comments. */
-        private Stack openComments;
+        private FastStack openComments;
         
         /** Flag to track includes. */
         private boolean isInclude;
@@ -113,7 +113,7 @@ public abstract class AbstractModelReader {
                 throw new NullPointerException();
             }
             this.resource = resource;
-            this.openComments = new Stack();
+            this.openComments = new FastStack();
             this.isInclude = isInclude;
         }
 
@@ -42,6 +42,10 @@
  * 09-Jan-2004 : Added new org.jfree.ui package tests (DG);
  * 22-Mar-2004 : Added tests for the org.jfree.text package (DG);
  * 18-Jan-2005 : Added main() method (DG);
+ * 18-Oct-2026 : Added org.jfree.threads package tests;
+ * 18-Oct-2026 : Added org.jfree.base.modules package tests;
+ * 18-Oct-2026 : Added org.jfree.base package tests;
+ * 18-Oct-2026 : Added org.jfree.base.config package tests;
  *
  */
 
@@ -50,9 +54,13 @@ package org.jfree;
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
+import org.jfree.base.BasePackageTests;
+import org.jfree.base.config.ConfigPackageTests;
+import org.jfree.base.modules.ModulesPackageTests;
 import org.jfree.date.DatePackageTests;
 import org.jfree.io.IOPackageTests;
 import org.jfree.text.TextPackageTests;
+import org.jfree.threads.ThreadsPackageTests;
 import org.jfree.ui.UIPackageTests;
 import org.jfree.util.UtilPackageTests;
 
@@ -69,9 +77,13 @@ public class JCommonTestSuite extends TestCase {
      */
     public static Test suite() {
         final TestSuite suite = new TestSuite("JCommon");
+        suite.addTest(BasePackageTests.suite());
+        suite.addTest(ConfigPackageTests.suite());
         suite.addTest(DatePackageTests.suite());
         suite.addTest(IOPackageTests.suite());
+        suite.addTest(ModulesPackageTests.suite());
         suite.addTest(TextPackageTests.suite());
+        suite.addTest(ThreadsPackageTests.suite());
         suite.addTest(UIPackageTests.suite());
         suite.addTest(UtilPackageTests.suite());
         return suite;
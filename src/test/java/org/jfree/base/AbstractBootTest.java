@@ -0,0 +1,457 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * AbstractBootTest.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.base.config.HierarchicalConfiguration;
+import org.jfree.util.Configuration;
+
+/**
+ * Tests for the boot process of the {@link AbstractBoot} class.
+ */
+public class AbstractBootTest extends TestCase {
+
+    /**
+     * A booter that runs an action as its boot.
+     */
+    private static class StubBoot extends AbstractBoot {
+
+        /** The project info. */
+        private final BootableProjectInfo info;
+
+        /** The boot action, or null. */
+        private volatile Runnable action;
+
+        /** The number of times performBoot() was called. */
+        private volatile int bootCount;
+
+        /**
+         * Creates a new booter.
+         *
+         * @param name  the project name.
+         */
+        protected StubBoot(final String name) {
+            this.info = new BootableProjectInfo(name, "1.0", "Test", "",
+                "LGPL");
+        }
+
+        /**
+         * Adds a dependency that is booted before this booter.
+         *
+         * @param bootClass  the class of the dependent booter.
+         */
+        public void addDependency(final Class bootClass) {
+            final BootableProjectInfo dependency = new BootableProjectInfo
+                (bootClass.getName(), "1.0", "Test", "", "LGPL");
+            dependency.setBootClass(bootClass.getName());
+            this.info.addLibrary(dependency);
+        }
+
+        /**
+         * Defines the boot action.
+         *
+         * @param action  the action.
+         */
+        public void setAction(final Runnable action) {
+            this.action = action;
+        }
+
+        /**
+         * Returns the number of times performBoot() was called.
+         *
+         * @return the count.
+         */
+        public int getBootCount() {
+            return this.bootCount;
+        }
+
+        protected Configuration loadConfiguration() {
+            return new HierarchicalConfiguration();
+        }
+
+        protected void performBoot() {
+            this.bootCount += 1;
+            if (this.action != null) {
+                this.action.run();
+            }
+        }
+
+        protected BootableProjectInfo getProjectInfo() {
+            return this.info;
+        }
+    }
+
+    /**
+     * A dependent booter, loaded by its class name.
+     */
+    public static class FirstBoot extends StubBoot {
+
+        /** The current instance. */
+        private static volatile FirstBoot instance;
+
+        /** Creates the booter. */
+        private FirstBoot() {
+            super("first");
+        }
+
+        /**
+         * Returns the current instance.
+         *
+         * @return the booter.
+         */
+        public static FirstBoot getInstance() {
+            return instance;
+        }
+    }
+
+    /**
+     * An other dependent booter, loaded by its class name.
+     */
+    public static class SecondBoot extends StubBoot {
+
+        /** The current instance. */
+        private static volatile SecondBoot instance;
+
+        /** Creates the booter. */
+        private SecondBoot() {
+            super("second");
+        }
+
+        /**
+         * Returns the current instance.
+         *
+         * @return the booter.
+         */
+        public static SecondBoot getInstance() {
+            return instance;
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(AbstractBootTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public AbstractBootTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates fresh dependent booters.
+     */
+    protected void setUp() {
+        FirstBoot.instance = new FirstBoot();
+        SecondBoot.instance = new SecondBoot();
+    }
+
+    /**
+     * Creates an action that waits for the given latch.
+     *
+     * @param latch  the latch.
+     * @param failure  thrown once the latch is released, or null.
+     *
+     * @return the action.
+     */
+    private static Runnable await(final CountDownLatch latch,
+                                  final RuntimeException failure) {
+        return new Runnable() {
+            public void run() {
+                try {
+                    latch.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException("Interrupted.");
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        };
+    }
+
+    /**
+     * The dependent booters are booted at the same time, and before the
+     * booter that depends on them.
+     */
+    public void testDependenciesBootInParallel() {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Runnable meet = new Runnable() {
+            public void run() {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                }
+                catch (Exception e) {
+                    throw new IllegalStateException("Not booted in parallel.");
+                }
+            }
+        };
+        FirstBoot.instance.setAction(meet);
+        SecondBoot.instance.setAction(meet);
+
+        final StubBoot main = new StubBoot("main");
+        main.addDependency(FirstBoot.class);
+        main.addDependency(SecondBoot.class);
+        final boolean[] dependenciesDone = new boolean[1];
+        main.setAction(new Runnable() {
+            public void run() {
+                dependenciesDone[0] = FirstBoot.instance.isBootDone()
+                    && SecondBoot.instance.isBootDone();
+            }
+        });
+
+        main.start();
+        assertTrue(main.isBootDone());
+        assertTrue(dependenciesDone[0]);
+        assertEquals(1, FirstBoot.instance.getBootCount());
+        assertEquals(1, SecondBoot.instance.getBootCount());
+
+        // a second start does not boot again.
+        main.start();
+        assertEquals(1, main.getBootCount());
+    }
+
+    /**
+     * A synchronous start boots the last dependent booter on the calling
+     * thread, and only the others in the background.
+     */
+    public void testLastDependencyBootsOnCallingThread() {
+        final Thread[] threads = new Thread[2];
+        FirstBoot.instance.setAction(new Runnable() {
+            public void run() {
+                threads[0] = Thread.currentThread();
+            }
+        });
+        SecondBoot.instance.setAction(new Runnable() {
+            public void run() {
+                threads[1] = Thread.currentThread();
+            }
+        });
+
+        final StubBoot main = new StubBoot("main");
+        main.addDependency(FirstBoot.class);
+        main.addDependency(SecondBoot.class);
+        main.start();
+        assertNotNull(threads[0]);
+        assertNotSame(Thread.currentThread(), threads[0]);
+        assertSame(Thread.currentThread(), threads[1]);
+
+        // a single dependency needs no background thread at all.
+        setUp();
+        final Thread[] single = new Thread[1];
+        FirstBoot.instance.setAction(new Runnable() {
+            public void run() {
+                single[0] = Thread.currentThread();
+            }
+        });
+        final StubBoot other = new StubBoot("other");
+        other.addDependency(FirstBoot.class);
+        other.start();
+        assertSame(Thread.currentThread(), single[0]);
+    }
+
+    /**
+     * start(timeout) returns false while the boot is still running and the
+     * boot continues in the background.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testStartWithTimeout() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final StubBoot boot = new StubBoot("slow");
+        boot.setAction(await(latch, null));
+
+        assertFalse(boot.start(50, TimeUnit.MILLISECONDS));
+        assertTrue(boot.isBootInProgress());
+        assertFalse(boot.isBootDone());
+
+        latch.countDown();
+        assertTrue(boot.start(5, TimeUnit.SECONDS));
+        assertTrue(boot.isBootDone());
+        assertFalse(boot.isBootInProgress());
+        assertEquals(1, boot.getBootCount());
+    }
+
+    /**
+     * An interrupt does not abort start(), but the interrupt status is set
+     * again when it returns.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testStartRestoresInterrupt() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final StubBoot boot = new StubBoot("interrupted");
+        boot.setAction(await(latch, null));
+        boot.startAsync();
+
+        final Thread releaser = new Thread() {
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                }
+                catch (InterruptedException e) {
+                    // release anyway
+                }
+                latch.countDown();
+            }
+        };
+        releaser.start();
+        Thread.currentThread().interrupt();
+        try {
+            boot.start();
+            assertTrue(boot.isBootDone());
+        }
+        finally {
+            assertTrue(Thread.interrupted());
+            releaser.join();
+        }
+    }
+
+    /**
+     * A failed boot reaches every waiting caller with the original
+     * exception, including booters that depend on the failed one.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testFailureReachesAllWaiters() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RuntimeException failure = new IllegalStateException("failed");
+        final StubBoot boot = FirstBoot.instance;
+        boot.setAction(await(latch, failure));
+        boot.startAsync();
+
+        final List errors = new ArrayList();
+        final Thread[] waiters = new Thread[3];
+        for (int i = 0; i < waiters.length; i++) {
+            waiters[i] = new Thread() {
+                public void run() {
+                    try {
+                        boot.start();
+                    }
+                    catch (Throwable t) {
+                        synchronized (errors) {
+                            errors.add(t);
+                        }
+                    }
+                }
+            };
+            waiters[i].start();
+        }
+        final StubBoot dependent = new StubBoot("dependent");
+        dependent.addDependency(FirstBoot.class);
+        dependent.startAsync();
+
+        latch.countDown();
+        for (int i = 0; i < waiters.length; i++) {
+            waiters[i].join();
+        }
+        assertEquals(waiters.length, errors.size());
+        for (int i = 0; i < errors.size(); i++) {
+            assertSame(failure, errors.get(i));
+        }
+
+        try {
+            boot.start(5, TimeUnit.SECONDS);
+            fail("The failure must be rethrown.");
+        }
+        catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        try {
+            dependent.start();
+            fail("The failure of the dependency must be rethrown.");
+        }
+        catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        assertFalse(boot.isBootDone());
+        assertFalse(dependent.isBootDone());
+        assertEquals(0, dependent.getBootCount());
+        assertEquals(1, boot.getBootCount());
+    }
+
+    /**
+     * Errors are rethrown as they are.
+     */
+    public void testErrorIsRethrown() {
+        final Error failure = new Error("failed");
+        final StubBoot boot = new StubBoot("error");
+        boot.setAction(new Runnable() {
+            public void run() {
+                throw failure;
+            }
+        });
+        try {
+            boot.start();
+            fail("The error must be rethrown.");
+        }
+        catch (Error e) {
+            assertSame(failure, e);
+        }
+        try {
+            boot.startAsync().join();
+            fail("The future must fail.");
+        }
+        catch (CompletionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+}
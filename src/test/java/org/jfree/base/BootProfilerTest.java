@@ -0,0 +1,229 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ---------------------
+ * BootProfilerTest.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.base;
+
+import java.io.StringWriter;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link BootProfiler} class.
+ */
+public class BootProfilerTest extends TestCase {
+
+    /** The state of the shared profiler before the test. */
+    private boolean wasEnabled;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(BootProfilerTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public BootProfilerTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Clears the shared profiler.
+     */
+    protected void setUp() {
+        this.wasEnabled = BootProfiler.getInstance().isEnabled();
+        BootProfiler.getInstance().clear();
+    }
+
+    /**
+     * Restores the shared profiler.
+     */
+    protected void tearDown() {
+        BootProfiler.getInstance().setEnabled(this.wasEnabled);
+        BootProfiler.getInstance().clear();
+    }
+
+    /**
+     * A disabled profiler opens no spans and records nothing.
+     */
+    public void testDisabled() {
+        final BootProfiler profiler = BootProfiler.getInstance();
+        profiler.setEnabled(false);
+        assertNull(BootProfiler.begin(BootProfiler.CATEGORY_BOOT, "boot"));
+        assertNull(BootProfiler.begin(BootProfiler.CATEGORY_MODULE,
+            "configure", "module"));
+        BootProfiler.end(null);
+        assertEquals(0, profiler.getSpans().length);
+    }
+
+    /**
+     * Spans carry their name, thread and counters, are recorded once and
+     * are ordered by their start time.
+     */
+    public void testSpanAccounting() {
+        final BootProfiler profiler = BootProfiler.getInstance();
+        profiler.setEnabled(true);
+        final BootProfiler.Span outer =
+            BootProfiler.begin(BootProfiler.CATEGORY_BOOT, "outer");
+        final BootProfiler.Span inner = BootProfiler.begin
+            (BootProfiler.CATEGORY_MODULE, "configure", "module");
+        final byte[][] garbage = new byte[64][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[1024];
+        }
+        assertEquals(-1, inner.getDuration());
+        BootProfiler.end(inner);
+        BootProfiler.end(outer);
+        inner.end();
+
+        final BootProfiler.Span[] spans = profiler.getSpans();
+        assertEquals(2, spans.length);
+        assertSame(outer, spans[0]);
+        assertSame(inner, spans[1]);
+        assertEquals("configure: module", inner.getName());
+        assertEquals(BootProfiler.CATEGORY_MODULE, inner.getCategory());
+        assertEquals(Thread.currentThread().getId(), inner.getThreadId());
+        assertEquals(Thread.currentThread().getName(), inner.getThreadName());
+        assertTrue(inner.getDuration() >= 0);
+        assertTrue(outer.getDuration() >= inner.getDuration());
+        assertTrue(inner.getStartTime() >= outer.getStartTime());
+        assertTrue(inner.getLoadedClasses() >= 0);
+        assertTrue(inner.getAllocatedBytes() == -1
+            || inner.getAllocatedBytes() >= 64 * 1024);
+
+        final BootProfiler.Span[] modules =
+            profiler.getSpans(BootProfiler.CATEGORY_MODULE);
+        assertEquals(1, modules.length);
+        assertSame(inner, modules[0]);
+        assertEquals(0, profiler.getSpans("other").length);
+    }
+
+    /**
+     * clear() removes all recorded spans.
+     */
+    public void testClear() {
+        final BootProfiler profiler = BootProfiler.getInstance();
+        profiler.setEnabled(true);
+        BootProfiler.end(BootProfiler.begin(BootProfiler.CATEGORY_BOOT, "a"));
+        assertEquals(1, profiler.getSpans().length);
+        profiler.clear();
+        assertEquals(0, profiler.getSpans().length);
+    }
+
+    /**
+     * The number of recorded spans is limited.
+     */
+    public void testSpanLimit() {
+        final BootProfiler profiler = BootProfiler.getInstance();
+        profiler.setEnabled(true);
+        for (int i = 0; i < BootProfiler.MAX_SPANS + 10; i++) {
+            BootProfiler.end(BootProfiler.begin
+                (BootProfiler.CATEGORY_MODULE, "span", Integer.valueOf(i)));
+        }
+        final BootProfiler.Span[] spans = profiler.getSpans();
+        assertEquals(BootProfiler.MAX_SPANS, spans.length);
+        assertEquals("span: 0", spans[0].getName());
+
+        profiler.clear();
+        BootProfiler.end(BootProfiler.begin(BootProfiler.CATEGORY_BOOT, "b"));
+        assertEquals(1, profiler.getSpans().length);
+    }
+
+    /**
+     * The Chrome trace contains one complete event per span, with the
+     * strings escaped for JSON.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testChromeTrace() throws Exception {
+        final BootProfiler profiler = BootProfiler.getInstance();
+        profiler.setEnabled(true);
+        BootProfiler.end(BootProfiler.begin
+            (BootProfiler.CATEGORY_CONFIG, "a\"b\\c\nd\u0001"));
+        BootProfiler.end(BootProfiler.begin(BootProfiler.CATEGORY_BOOT, "e"));
+
+        final StringWriter w = new StringWriter();
+        profiler.writeChromeTrace(w);
+        final String trace = w.toString();
+        assertTrue(trace, trace.startsWith("{\"traceEvents\":["));
+        assertTrue(trace, trace.trim().endsWith("],\"displayTimeUnit\":\"ms\"}"));
+        assertTrue(trace, trace.indexOf(
+            "{\"name\":\"a\\\"b\\\\c\\u000ad\\u0001\",\"cat\":\"config\","
+            + "\"ph\":\"X\",\"pid\":1,\"tid\":"
+            + Thread.currentThread().getId() + ",\"ts\":") >= 0);
+        assertTrue(trace, trace.indexOf("{\"name\":\"e\",\"cat\":\"boot\"") > 0);
+        assertEquals(2, count(trace, "\"ph\":\"X\""));
+        assertEquals(2, count(trace, "\"allocatedBytes\":"));
+
+        // an empty trace is still valid.
+        profiler.clear();
+        final StringWriter empty = new StringWriter();
+        profiler.writeChromeTrace(empty);
+        assertEquals("{\"traceEvents\":[\n],\"displayTimeUnit\":\"ms\"}\n",
+            empty.toString());
+    }
+
+    /**
+     * Counts the occurrences of a string.
+     *
+     * @param text  the text.
+     * @param s  the string.
+     *
+     * @return the number of occurrences.
+     */
+    private static int count(final String text, final String s) {
+        int count = 0;
+        int index = text.indexOf(s);
+        while (index >= 0) {
+            count += 1;
+            index = text.indexOf(s, index + s.length());
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,263 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * --------------------------
+ * UserConfigurationTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.base.config.HierarchicalConfiguration;
+import org.jfree.util.Configuration;
+
+/**
+ * Tests for loading the user configuration files in the
+ * {@link AbstractBoot} class.
+ */
+public class UserConfigurationTest extends TestCase {
+
+    /**
+     * A class loader that returns predefined resource URLs.
+     */
+    private static class ResourceLoader extends ClassLoader {
+
+        /** The URLs of every resource name (String to URL[]). */
+        private final HashMap resources = new HashMap();
+
+        /** The number of resource lookups. */
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        /**
+         * Creates a new class loader.
+         */
+        public ResourceLoader() {
+            super(UserConfigurationTest.class.getClassLoader());
+        }
+
+        /**
+         * Defines the URLs returned for a resource name.
+         *
+         * @param name  the resource name.
+         * @param urls  the URLs.
+         */
+        public void setResources(final String name, final URL[] urls) {
+            this.resources.put(name, urls);
+        }
+
+        /**
+         * Returns the defined URLs of the resource name.
+         *
+         * @param name  the resource name.
+         *
+         * @return the URLs.
+         *
+         * @throws IOException if the lookup fails.
+         */
+        public Enumeration getResources(final String name) throws IOException {
+            final URL[] urls = (URL[]) this.resources.get(name);
+            if (urls == null) {
+                return super.getResources(name);
+            }
+            this.lookups.incrementAndGet();
+            final List list = new ArrayList();
+            Collections.addAll(list, urls);
+            return Collections.enumeration(list);
+        }
+    }
+
+    /**
+     * A booter that builds configurations from user configuration files.
+     */
+    private static class ConfigBoot extends AbstractBoot {
+
+        /**
+         * Creates a configuration from the user configuration files with the
+         * given name, using the context class loader of the current thread.
+         *
+         * @param resourceName  the resource name.
+         *
+         * @return the configuration.
+         */
+        public Configuration load(final String resourceName) {
+            return createDefaultHierarchicalConfiguration(null, resourceName,
+                false);
+        }
+
+        protected Configuration loadConfiguration() {
+            return new HierarchicalConfiguration();
+        }
+
+        protected void performBoot() {
+            // not used
+        }
+
+        protected BootableProjectInfo getProjectInfo() {
+            return null;
+        }
+    }
+
+    /** The number of configuration files. */
+    private static final int FILES = 8;
+
+    /** The configuration files. */
+    private File[] files;
+
+    /** The class loader. */
+    private ResourceLoader loader;
+
+    /** The context class loader of the test thread. */
+    private ClassLoader contextLoader;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(UserConfigurationTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public UserConfigurationTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates the configuration files and the class loader. File
+     * <code>i</code> defines the keys <code>key.0</code> to
+     * <code>key.i</code> with the value <code>i</code>, so the value of
+     * <code>key.j</code> reveals which file was placed first.
+     *
+     * @throws Exception if the files cannot be written.
+     */
+    protected void setUp() throws Exception {
+        this.files = new File[FILES];
+        final URL[] urls = new URL[FILES + 1];
+        for (int i = 0; i < FILES; i++) {
+            final Properties p = new Properties();
+            for (int k = 0; k <= i; k++) {
+                p.setProperty("key." + k, String.valueOf(i));
+            }
+            this.files[i] = File.createTempFile("jcommon-user", ".properties");
+            final OutputStream out = new FileOutputStream(this.files[i]);
+            try {
+                p.store(out, null);
+            }
+            finally {
+                out.close();
+            }
+            urls[i < 2 ? i : i + 1] = this.files[i].toURI().toURL();
+        }
+        // an unreadable resource between the second and the third file.
+        final File missing = File.createTempFile("jcommon-missing", ".properties");
+        missing.delete();
+        urls[2] = missing.toURI().toURL();
+
+        this.loader = new ResourceLoader();
+        this.loader.setResources("user.properties", urls);
+        this.contextLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(this.loader);
+    }
+
+    /**
+     * Deletes the files and restores the context class loader.
+     */
+    protected void tearDown() {
+        Thread.currentThread().setContextClassLoader(this.contextLoader);
+        for (int i = 0; i < this.files.length; i++) {
+            this.files[i].delete();
+        }
+    }
+
+    /**
+     * Asserts that the configuration contains the files in the order in
+     * which the class loader returned them.
+     *
+     * @param config  the configuration.
+     */
+    private static void assertFileOrder(final Configuration config) {
+        for (int k = 0; k < FILES; k++) {
+            assertEquals(String.valueOf(k), config.getConfigProperty("key." + k));
+        }
+    }
+
+    /**
+     * The files are layered in class loader order, although they are loaded
+     * in parallel, and unreadable resources are skipped.
+     */
+    public void testLoadOrder() {
+        assertFileOrder(new ConfigBoot().load("user.properties"));
+        // a leading slash is ignored.
+        assertFileOrder(new ConfigBoot().load("/user.properties"));
+        assertEquals(2, this.loader.lookups.get());
+    }
+
+    /**
+     * Every boot reads the files again.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testReadOnEveryBoot() throws Exception {
+        new ConfigBoot().load("user.properties");
+        this.files[0].delete();
+        final Configuration config = new ConfigBoot().load("user.properties");
+        assertEquals("1", config.getConfigProperty("key.0"));
+        assertEquals(2, this.loader.lookups.get());
+    }
+
+}
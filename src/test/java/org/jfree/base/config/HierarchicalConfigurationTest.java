@@ -0,0 +1,228 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ----------------------------------
+ * HierarchicalConfigurationTest.java
+ * ----------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Added test for swapped parents;
+ *
+ */
+
+package org.jfree.base.config;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.util.DefaultConfiguration;
+
+/**
+ * Tests for the snapshot mode of the {@link HierarchicalConfiguration}
+ * class.
+ */
+public class HierarchicalConfigurationTest extends TestCase {
+
+    /**
+     * A configuration that can change its properties without reporting the
+     * change, as subclasses that forget to call configurationChanged() do.
+     */
+    private static class SilentConfiguration extends HierarchicalConfiguration {
+
+        /**
+         * Sets a property without reporting the change.
+         *
+         * @param key  the key.
+         * @param value  the value.
+         */
+        public void setSilently(final String key, final String value) {
+            getConfiguration().setProperty(key, value);
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(HierarchicalConfigurationTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public HierarchicalConfigurationTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Changes of the configuration itself invalidate its snapshot.
+     */
+    public void testSnapshotLocalChange() {
+        final HierarchicalConfiguration config = new HierarchicalConfiguration();
+        config.setSnapshotEnabled(true);
+        config.setConfigProperty("a", "1");
+        assertEquals("1", config.getConfigProperty("a"));
+        config.setConfigProperty("a", "2");
+        assertEquals("2", config.getConfigProperty("a"));
+        config.setConfigProperty("a", null);
+        assertNull(config.getConfigProperty("a"));
+        assertEquals("x", config.getConfigProperty("a", "x"));
+    }
+
+    /**
+     * Changes of a parent, and replacing a parent, invalidate the snapshot.
+     */
+    public void testSnapshotParentChange() {
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        root.setConfigProperty("a", "root");
+        root.setConfigProperty("b", "root");
+        final HierarchicalConfiguration child =
+            new HierarchicalConfiguration(root);
+        child.setConfigProperty("b", "child");
+        child.setSnapshotEnabled(true);
+
+        assertEquals("root", child.getConfigProperty("a"));
+        assertEquals("child", child.getConfigProperty("b"));
+
+        root.setConfigProperty("a", "root2");
+        assertEquals("root2", child.getConfigProperty("a"));
+        child.setConfigProperty("b", null);
+        assertEquals("root", child.getConfigProperty("b"));
+
+        final HierarchicalConfiguration middle = new HierarchicalConfiguration();
+        middle.setConfigProperty("a", "middle");
+        child.insertConfiguration(middle);
+        assertEquals("middle", child.getConfigProperty("a"));
+        assertEquals("root", child.getConfigProperty("b"));
+
+        // a change two levels up
+        root.setConfigProperty("b", "root3");
+        assertEquals("root3", child.getConfigProperty("b"));
+    }
+
+    /**
+     * Swapping the parent for one with fewer own modifications invalidates
+     * the snapshot, although the modification counts of the two hierarchies
+     * add up to the same number.
+     */
+    public void testSnapshotParentSwap() {
+        final HierarchicalConfiguration first = new HierarchicalConfiguration();
+        for (int i = 0; i < 5; i++) {
+            first.setConfigProperty("k", "first" + i);
+        }
+        final HierarchicalConfiguration second = new HierarchicalConfiguration();
+        for (int i = 0; i < 4; i++) {
+            second.setConfigProperty("k", "second" + i);
+        }
+        final HierarchicalConfiguration child = new HierarchicalConfiguration();
+        child.setSnapshotEnabled(true);
+        child.setParentConfig(first);
+        assertEquals("first4", child.getConfigProperty("k"));
+
+        child.setParentConfig(second);
+        assertEquals("second3", child.getConfigProperty("k"));
+
+        // re-parenting a shared layer through insertConfiguration.
+        final HierarchicalConfiguration layer = new HierarchicalConfiguration();
+        child.insertConfiguration(layer);
+        assertEquals("second3", child.getConfigProperty("k"));
+        layer.setParentConfig(first);
+        assertEquals("first4", child.getConfigProperty("k"));
+    }
+
+    /**
+     * Changes of configurations outside the hierarchy do not discard the
+     * snapshot, but invalidateSnapshot() discards all snapshots.
+     */
+    public void testSnapshotScope() {
+        final SilentConfiguration root = new SilentConfiguration();
+        root.setConfigProperty("a", "1");
+        final HierarchicalConfiguration child =
+            new HierarchicalConfiguration(root);
+        child.setSnapshotEnabled(true);
+        assertEquals("1", child.getConfigProperty("a"));
+
+        // the unreported change is not seen, even if an unrelated
+        // configuration changes.
+        root.setSilently("a", "2");
+        new HierarchicalConfiguration().setConfigProperty("other", "x");
+        assertEquals("1", child.getConfigProperty("a"));
+
+        HierarchicalConfiguration.invalidateSnapshot();
+        assertEquals("2", child.getConfigProperty("a"));
+    }
+
+    /**
+     * System properties are copied into the snapshot and refreshed by
+     * invalidateSnapshot().
+     */
+    public void testSnapshotSystemProperties() {
+        final String key = "org.jfree.base.config.HierarchicalConfigurationTest";
+        System.setProperty(key, "1");
+        try {
+            final HierarchicalConfiguration config =
+                new HierarchicalConfiguration();
+            config.insertConfiguration(new SystemPropertyConfiguration());
+            config.setSnapshotEnabled(true);
+            assertEquals("1", config.getConfigProperty(key));
+
+            System.setProperty(key, "2");
+            assertEquals("1", config.getConfigProperty(key));
+            HierarchicalConfiguration.invalidateSnapshot();
+            assertEquals("2", config.getConfigProperty(key));
+        }
+        finally {
+            System.getProperties().remove(key);
+        }
+    }
+
+    /**
+     * A parent that is no hierarchical configuration is queried on every
+     * lookup.
+     */
+    public void testSnapshotFallback() {
+        final DefaultConfiguration fallback = new DefaultConfiguration();
+        fallback.setProperty("a", "1");
+        final HierarchicalConfiguration config =
+            new HierarchicalConfiguration(fallback);
+        config.setSnapshotEnabled(true);
+        assertEquals("1", config.getConfigProperty("a"));
+        fallback.setProperty("a", "2");
+        assertEquals("2", config.getConfigProperty("a"));
+    }
+
+}
@@ -0,0 +1,449 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ----------------------------------
+ * PropertyFileConfigurationTest.java
+ * ----------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Added tests for the file watcher and clone();
+ *
+ */
+
+
+package org.jfree.base.config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for loading, watching and reloading a
+ * {@link PropertyFileConfiguration}. Most tests call reload() directly
+ * rather than waiting for the file watcher. As the watcher may reload the
+ * file at the same time, the file is always replaced atomically.
+ */
+public class PropertyFileConfigurationTest extends TestCase {
+
+    /**
+     * A listener that records the events it receives.
+     */
+    private static class RecordingListener
+            implements ConfigurationChangeListener {
+
+        /** The received events. */
+        private final List events = new ArrayList();
+
+        /** The values of "a" and "b" seen while the events were fired. */
+        private final List values = new ArrayList();
+
+        /**
+         * Records the event and the current values of the configuration.
+         *
+         * @param event  the event.
+         */
+        public synchronized void configurationChanged
+                (final ConfigurationChangeEvent event) {
+            this.events.add(event);
+            this.values.add(event.getConfiguration().getConfigProperty("a"));
+            this.values.add(event.getConfiguration().getConfigProperty("b"));
+            notifyAll();
+        }
+
+        /**
+         * Returns the number of received events, after waiting briefly for
+         * the first one. The file watcher may have reloaded the file before
+         * the test did and still be informing the listeners.
+         *
+         * @return the number of events.
+         * @throws InterruptedException if interrupted.
+         */
+        public int awaitEvents() throws InterruptedException {
+            return awaitEvents(1, 5000);
+        }
+
+        /**
+         * Waits until the given number of events has been received or the
+         * time elapsed.
+         *
+         * @param count  the number of events.
+         * @param timeout  the maximum time to wait in milliseconds.
+         *
+         * @return the number of events.
+         * @throws InterruptedException if interrupted.
+         */
+        public synchronized int awaitEvents(final int count, final long timeout)
+                throws InterruptedException {
+            final long end = System.currentTimeMillis() + timeout;
+            while (this.events.size() < count
+                    && System.currentTimeMillis() < end) {
+                wait(100);
+            }
+            return this.events.size();
+        }
+    }
+
+    /** The temporary property file. */
+    private File file;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(PropertyFileConfigurationTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public PropertyFileConfigurationTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates the temporary property file.
+     *
+     * @throws Exception if the file cannot be created.
+     */
+    protected void setUp() throws Exception {
+        this.file = File.createTempFile("jcommon", ".properties");
+    }
+
+    /**
+     * Deletes the temporary property file.
+     */
+    protected void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * Replaces the property file with one containing the given key/value
+     * pairs.
+     *
+     * @param keyValues  alternating keys and values.
+     * @throws IOException if the file cannot be written.
+     */
+    private void write(final String[] keyValues) throws IOException {
+        final Properties p = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            p.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        final File temp = new File(this.file.getPath() + ".tmp");
+        final OutputStream out = new FileOutputStream(temp);
+        try {
+            p.store(out, null);
+        }
+        finally {
+            out.close();
+        }
+        Files.move(temp.toPath(), this.file.toPath(),
+            new StandardCopyOption[] {StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE});
+    }
+
+    /**
+     * load(File) appends the contents of the file and releases the file.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testLoadFile() throws Exception {
+        write(new String[] {"a", "1", "b", "2"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.setConfigProperty("c", "3");
+        config.load(this.file);
+        assertEquals("1", config.getConfigProperty("a"));
+        assertEquals("2", config.getConfigProperty("b"));
+        assertEquals("3", config.getConfigProperty("c"));
+        assertTrue(this.file.delete());
+
+        // a missing file keeps the current properties.
+        config.load(this.file);
+        assertEquals("1", config.getConfigProperty("a"));
+    }
+
+    /**
+     * watch() loads the file, reload() replaces all properties, and the
+     * listener is informed about the added, changed and removed keys.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testWatchAndReload() throws Exception {
+        write(new String[] {"a", "1", "b", "1", "gone", "x"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.setConfigProperty("local", "y");
+        config.watch(this.file);
+        try {
+            assertEquals(this.file, config.getWatchedFile());
+            assertEquals("1", config.getConfigProperty("a"));
+            assertEquals("x", config.getConfigProperty("gone"));
+            assertNull(config.getConfigProperty("local"));
+
+            final RecordingListener listener = new RecordingListener();
+            config.addConfigurationChangeListener(listener);
+            write(new String[] {"a", "2", "b", "1", "new", "z"});
+            config.reload();
+
+            assertEquals(1, listener.awaitEvents());
+            final ConfigurationChangeEvent event =
+                (ConfigurationChangeEvent) listener.events.get(0);
+            assertSame(config, event.getConfiguration());
+            assertEquals(new HashSet(Arrays.asList(
+                new String[] {"a", "gone", "new"})), event.getChangedKeys());
+            // the listener already sees the new properties.
+            assertEquals(Arrays.asList(new String[] {"2", "1"}),
+                listener.values);
+            assertEquals("2", config.getConfigProperty("a"));
+            assertNull(config.getConfigProperty("gone"));
+            assertEquals("z", config.getConfigProperty("new"));
+
+            // an unchanged file fires no event.
+            config.reload();
+            assertEquals(1, listener.events.size());
+
+            // an unreadable file keeps the current properties.
+            assertTrue(this.file.delete());
+            config.reload();
+            assertEquals("2", config.getConfigProperty("a"));
+            assertEquals(1, listener.events.size());
+        }
+        finally {
+            config.stopWatching();
+        }
+    }
+
+    /**
+     * Readers never see a mixture of the old and the new properties while
+     * the file is reloaded.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testReloadIsAtomic() throws Exception {
+        write(new String[] {"a", "0", "b", "0"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.watch(this.file);
+        final boolean[] stop = new boolean[1];
+        final String[] mismatch = new String[1];
+        final Thread reader = new Thread() {
+            public void run() {
+                while (true) {
+                    synchronized (stop) {
+                        if (stop[0]) {
+                            return;
+                        }
+                    }
+                    // the properties are replaced as a whole.
+                    final Properties p = config.getConfiguration();
+                    final String a = p.getProperty("a");
+                    final String b = p.getProperty("b");
+                    if (a == null || a.equals(b) == false) {
+                        synchronized (stop) {
+                            mismatch[0] = a + "/" + b;
+                        }
+                        return;
+                    }
+                }
+            }
+        };
+        reader.start();
+        try {
+            for (int i = 1; i <= 50; i++) {
+                final String value = String.valueOf(i);
+                write(new String[] {"a", value, "b", value});
+                config.reload();
+                assertEquals(value, config.getConfigProperty("b"));
+            }
+        }
+        finally {
+            synchronized (stop) {
+                stop[0] = true;
+            }
+            reader.join();
+            config.stopWatching();
+        }
+        assertNull(mismatch[0]);
+    }
+
+    /**
+     * replaceConfiguration() swaps the properties and informs the listener.
+     */
+    public void testReplaceConfiguration() {
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.setConfigProperty("a", "1");
+        final RecordingListener listener = new RecordingListener();
+        config.addConfigurationChangeListener(listener);
+        final Properties p = new Properties();
+        p.setProperty("b", "2");
+        config.replaceConfiguration(p);
+        assertNull(config.getConfigProperty("a"));
+        assertEquals("2", config.getConfigProperty("b"));
+        assertEquals(1, listener.events.size());
+        assertEquals(new HashSet(Arrays.asList(new String[] {"a", "b"})),
+            ((ConfigurationChangeEvent) listener.events.get(0))
+                .getChangedKeys());
+
+        config.removeConfigurationChangeListener(listener);
+        config.replaceConfiguration(new Properties());
+        assertEquals(1, listener.events.size());
+    }
+
+    /**
+     * After stopWatching() the properties are kept and reload() does
+     * nothing.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testStopWatching() throws Exception {
+        write(new String[] {"a", "1"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.watch(this.file);
+        config.stopWatching();
+        assertNull(config.getWatchedFile());
+        write(new String[] {"a", "2"});
+        config.reload();
+        assertEquals("1", config.getConfigProperty("a"));
+        // stopping twice is harmless.
+        config.stopWatching();
+    }
+
+    /**
+     * The file watcher reloads the configuration when the file changes,
+     * without anyone calling reload().
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testFileWatcherReloads() throws Exception {
+        write(new String[] {"a", "1", "b", "1"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.watch(this.file);
+        try {
+            final RecordingListener listener = new RecordingListener();
+            config.addConfigurationChangeListener(listener);
+            write(new String[] {"a", "2", "b", "2"});
+            assertTrue("no reload", listener.awaitEvents(1, 20000) >= 1);
+            assertEquals("2", config.getConfigProperty("a"));
+            assertEquals("2", config.getConfigProperty("b"));
+
+            write(new String[] {"a", "3", "b", "3"});
+            assertTrue("no reload", listener.awaitEvents(2, 20000) >= 2);
+            assertEquals("3", config.getConfigProperty("a"));
+        }
+        finally {
+            config.stopWatching();
+        }
+    }
+
+    /**
+     * Returns the references the file watcher holds for the test file.
+     *
+     * @return the weak references, or null if the file is not watched.
+     * @throws Exception if the watcher cannot be inspected.
+     */
+    private List getWatcherReferences() throws Exception {
+        final PropertyFileWatcher watcher = PropertyFileWatcher.getInstance();
+        final Field field = PropertyFileWatcher.class.getDeclaredField("files");
+        field.setAccessible(true);
+        synchronized (watcher) {
+            final Map files = (Map) field.get(watcher);
+            final List refs = (List) files.get
+                (this.file.getAbsoluteFile().toPath().normalize());
+            return refs == null ? null : new ArrayList(refs);
+        }
+    }
+
+    /**
+     * The watcher only holds weak references, and stops watching the file
+     * once the configuration has been collected. The collection is simulated
+     * by clearing the reference, as System.gc() gives no guarantees.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testWatcherDoesNotRetainConfiguration() throws Exception {
+        write(new String[] {"a", "1"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.watch(this.file);
+        final List refs = getWatcherReferences();
+        assertEquals(1, refs.size());
+        final WeakReference ref = (WeakReference) refs.get(0);
+        assertSame(config, ref.get());
+
+        ref.clear();
+        write(new String[] {"a", "2"});
+        final long end = System.currentTimeMillis() + 20000;
+        while (getWatcherReferences() != null
+                && System.currentTimeMillis() < end) {
+            Thread.sleep(20);
+        }
+        assertNull("still watched", getWatcherReferences());
+        assertEquals("1", config.getConfigProperty("a"));
+    }
+
+    /**
+     * A clone keeps the properties, but does not watch the file.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testClone() throws Exception {
+        write(new String[] {"a", "1"});
+        final PropertyFileConfiguration config = new PropertyFileConfiguration();
+        config.watch(this.file);
+        try {
+            final PropertyFileConfiguration clone =
+                (PropertyFileConfiguration) config.clone();
+            assertNull(clone.getWatchedFile());
+            assertEquals("1", clone.getConfigProperty("a"));
+            assertEquals(1, getWatcherReferences().size());
+        }
+        finally {
+            config.stopWatching();
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ------------------------------
+ * ModuleInfoParserBenchmark.java
+ * ------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.base.modules;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+/**
+ * Measures the time needed to parse module description files. The bundled
+ * module descriptions are always measured; additional files can be given on
+ * the command line.
+ * <p>
+ * This is not a unit test. Run it with
+ * <code>java org.jfree.base.modules.ModuleInfoParserBenchmark
+ * [iterations] [file...]</code>.
+ */
+public class ModuleInfoParserBenchmark {
+
+    /** The module descriptions bundled with JCommon. */
+    private static final String[] BUNDLED = {
+        "/org/jfree/base/log/module.properties"
+    };
+
+    /**
+     * A module that only exposes the module info parsing.
+     */
+    private static class ParsedModule extends AbstractModule {
+
+        /**
+         * Parses the given module description.
+         *
+         * @param data  the file contents.
+         *
+         * @throws ModuleInitializeException if parsing fails.
+         */
+        public void parse(final byte[] data) throws ModuleInitializeException {
+            loadModuleInfo(new ByteArrayInputStream(data));
+        }
+
+        public void initialize(final SubSystem subSystem) {
+            // nothing to do
+        }
+    }
+
+    /**
+     * Reads the stream fully and closes it.
+     *
+     * @param in  the input stream.
+     *
+     * @return the contents.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private static byte[] readFully(final InputStream in) throws IOException {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args  the optional number of iterations, followed by optional
+     *              file names.
+     *
+     * @throws Exception if a file cannot be read or parsed.
+     */
+    public static void main(final String[] args) throws Exception {
+        int iterations = 20000;
+        int firstFile = 0;
+        if (args.length > 0) {
+            try {
+                iterations = Integer.parseInt(args[0]);
+                firstFile = 1;
+            }
+            catch (NumberFormatException nfe) {
+                // not a number, so it is a file name
+            }
+        }
+
+        final ArrayList names = new ArrayList();
+        final ArrayList contents = new ArrayList();
+        for (int i = 0; i < BUNDLED.length; i++) {
+            final InputStream in
+                = ModuleInfoParserBenchmark.class.getResourceAsStream(BUNDLED[i]);
+            if (in == null) {
+                throw new IOException("Resource not found: " + BUNDLED[i]);
+            }
+            names.add(BUNDLED[i]);
+            contents.add(readFully(in));
+        }
+        for (int i = firstFile; i < args.length; i++) {
+            names.add(args[i]);
+            contents.add(readFully(new FileInputStream(args[i])));
+        }
+
+        System.out.println("parse (us)  file");
+        for (int f = 0; f < contents.size(); f++) {
+            final byte[] data = (byte[]) contents.get(f);
+
+            // warm up
+            for (int i = 0; i < iterations; i++) {
+                new ParsedModule().parse(data);
+            }
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                new ParsedModule().parse(data);
+            }
+            final double time = (System.nanoTime() - start) / 1000.0 / iterations;
+            final StringBuffer b = new StringBuffer();
+            final String text = String.valueOf(Math.round(time * 100) / 100.0);
+            for (int i = text.length(); i < 10; i++) {
+                b.append(' ');
+            }
+            b.append(text);
+            b.append("  ");
+            b.append(names.get(f));
+            System.out.println(b);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * -------------------------
+ * ModuleInfoParserTest.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Regression tests for the {@link ModuleInfoParser} class. The expected
+ * values are those of the line based parser the class replaced.
+ */
+public class ModuleInfoParserTest extends TestCase {
+
+    /**
+     * A module that receives the parsed description.
+     */
+    private static class ParsedModule extends AbstractModule {
+
+        /**
+         * Does nothing.
+         *
+         * @param subSystem  the subsystem.
+         */
+        public void initialize(final SubSystem subSystem) {
+            // nothing required
+        }
+    }
+
+    /** A complete description with comments and a multi-line value. */
+    private static final String FULL =
+        "# module description\n"
+        + "module-info:\n"
+        + "  name: test-module\n"
+        + "  producer: The JFree project\n"
+        + "  description: A description that\n"
+        + "    spans multiple\n"
+        + "\n"
+        + "    lines\n"
+        + "  # an indented comment\n"
+        + "  subsystem: test\n"
+        + "  version.major: 1\n"
+        + "  version.minor: 2\n"
+        + "  version.patchlevel: 3\n"
+        + "#comment between sections\n"
+        + "depends:\n"
+        + "  module: org.jfree.Required\n"
+        + "  version.major: 1\n"
+        + "  version.minor: 0\n"
+        + "optional:\n"
+        + "  module: org.jfree.Optional\n"
+        + "  version.major: 2\n"
+        + "depends:\n"
+        + "  module: org.jfree.Second\n";
+
+    /** A description with empty and missing values. */
+    private static final String MISSING =
+        "module-info:\n"
+        + "  name:\n"
+        + "  producer:   \n"
+        + "  version.major: 1\n"
+        + "depends:\n"
+        + "  module: org.jfree.NoVersion\n"
+        + "  version.minor:\n";
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ModuleInfoParserTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ModuleInfoParserTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Parses the given text.
+     *
+     * @param text  the module description.
+     *
+     * @return the module.
+     *
+     * @throws IOException if parsing fails.
+     */
+    private static AbstractModule parse(final String text) throws IOException {
+        final AbstractModule module = new ParsedModule();
+        ModuleInfoParser.parse(new ByteArrayInputStream
+            (text.getBytes("ISO-8859-1")), module);
+        return module;
+    }
+
+    /**
+     * Checks a module info.
+     *
+     * @param info  the module info.
+     * @param moduleClass  the expected module class.
+     * @param major  the expected major version.
+     * @param minor  the expected minor version.
+     * @param patch  the expected patch level.
+     */
+    private static void assertInfo(final ModuleInfo info,
+                                   final String moduleClass,
+                                   final String major, final String minor,
+                                   final String patch) {
+        assertEquals(moduleClass, info.getModuleClass());
+        assertEquals(major, info.getMajorVersion());
+        assertEquals(minor, info.getMinorVersion());
+        assertEquals(patch, info.getPatchLevel());
+    }
+
+    /**
+     * Checks the result of parsing {@link #FULL} with the given line
+     * separator.
+     *
+     * @param separator  the line separator.
+     *
+     * @throws IOException if parsing fails.
+     */
+    private static void checkFull(final String separator) throws IOException {
+        final AbstractModule module = parse(FULL.replaceAll("\n", separator));
+        assertEquals("test-module", module.getName());
+        assertEquals("The JFree project", module.getProducer());
+        // continuation lines, including the empty and the indented comment
+        // line, are part of the value.
+        assertEquals("A description thatspans multiple lines # an indented "
+            + "comment", module.getDescription());
+        assertEquals("test", module.getSubSystem());
+        assertEquals("1", module.getMajorVersion());
+        assertEquals("2", module.getMinorVersion());
+        assertEquals("3", module.getPatchLevel());
+
+        final ModuleInfo[] required = module.getRequiredModules();
+        assertEquals(2, required.length);
+        assertInfo(required[0], "org.jfree.Required", "1", "0", null);
+        assertInfo(required[1], "org.jfree.Second", null, null, null);
+        final ModuleInfo[] optional = module.getOptionalModules();
+        assertEquals(1, optional.length);
+        assertInfo(optional[0], "org.jfree.Optional", "2", null, null);
+    }
+
+    /**
+     * Parses a file with LF line separators.
+     *
+     * @throws IOException if parsing fails.
+     */
+    public void testLineFeed() throws IOException {
+        checkFull("\n");
+    }
+
+    /**
+     * Parses a file with CRLF line separators.
+     *
+     * @throws IOException if parsing fails.
+     */
+    public void testCarriageReturnLineFeed() throws IOException {
+        checkFull("\r\n");
+    }
+
+    /**
+     * Parses a file with CR line separators.
+     *
+     * @throws IOException if parsing fails.
+     */
+    public void testCarriageReturn() throws IOException {
+        checkFull("\r");
+    }
+
+    /**
+     * Empty values are kept as empty strings, absent values stay null.
+     *
+     * @throws IOException if parsing fails.
+     */
+    public void testMissingValues() throws IOException {
+        final AbstractModule module = parse(MISSING);
+        assertEquals("", module.getName());
+        assertEquals("", module.getProducer());
+        assertNull(module.getDescription());
+        assertEquals("1", module.getMajorVersion());
+        assertNull(module.getMinorVersion());
+        assertNull(module.getPatchLevel());
+        final ModuleInfo[] required = module.getRequiredModules();
+        assertEquals(1, required.length);
+        assertInfo(required[0], "org.jfree.NoVersion", null, "", null);
+        assertEquals(0, module.getOptionalModules().length);
+    }
+
+    /**
+     * Empty files, a section header without properties and properties
+     * without a section header leave the module undescribed.
+     *
+     * @throws IOException if parsing fails.
+     */
+    public void testEmptyInput() throws IOException {
+        final String[] inputs = {"", "module-info:", "  name: x\n"};
+        for (int i = 0; i < inputs.length; i++) {
+            final AbstractModule module = parse(inputs[i]);
+            assertNull(module.getName());
+            assertNull(module.getMajorVersion());
+            assertEquals(0, module.getRequiredModules().length);
+            assertEquals(0, module.getOptionalModules().length);
+        }
+    }
+
+}
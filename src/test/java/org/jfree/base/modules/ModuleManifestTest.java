@@ -0,0 +1,499 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * ModuleManifestTest.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link ModuleManifest} class and its use by the
+ * {@link PackageManager}. Every test records a manifest and loads it again
+ * with a fresh booter.
+ */
+public class ModuleManifestTest extends TestCase {
+
+    /** The module prefix used by the tests. */
+    private static final String PREFIX = "org.jfree.base.modules.test.";
+
+    /** Counts the modules that described themselves without a manifest. */
+    private static final AtomicInteger PARSED = new AtomicInteger();
+
+    /**
+     * A module without dependencies. Like real modules it reads its
+     * description in the constructor; as there is no module.properties
+     * file, it describes itself if the manifest does not.
+     */
+    public static class ModuleA extends AbstractModule {
+
+        /**
+         * Creates the module.
+         */
+        public ModuleA() {
+            try {
+                loadModuleInfo();
+            }
+            catch (ModuleInitializeException e) {
+                describe(this, "Module A", new ModuleInfo[0]);
+            }
+        }
+
+        /**
+         * Does nothing.
+         *
+         * @param subSystem  the subsystem.
+         */
+        public void initialize(final SubSystem subSystem) {
+            // nothing required
+        }
+    }
+
+    /**
+     * A module that requires {@link ModuleA}.
+     */
+    public static class ModuleB extends AbstractModule {
+
+        /**
+         * Creates the module.
+         */
+        public ModuleB() {
+            try {
+                loadModuleInfo();
+            }
+            catch (ModuleInitializeException e) {
+                describe(this, "Module B", new ModuleInfo[] {
+                    new DefaultModuleInfo(ModuleA.class.getName(), "1", null,
+                        null)});
+            }
+        }
+
+        /**
+         * Does nothing.
+         *
+         * @param subSystem  the subsystem.
+         */
+        public void initialize(final SubSystem subSystem) {
+            // nothing required
+        }
+    }
+
+    /** The manifest directory. */
+    private File directory;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ModuleManifestTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ModuleManifestTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates an empty manifest directory.
+     *
+     * @throws IOException if the directory cannot be created.
+     */
+    protected void setUp() throws IOException {
+        this.directory = File.createTempFile("jcommon", "-manifest");
+        this.directory.delete();
+        this.directory.mkdir();
+    }
+
+    /**
+     * Deletes the manifest directory.
+     */
+    protected void tearDown() {
+        delete(this.directory);
+    }
+
+    /**
+     * Deletes a file or a directory with its contents.
+     *
+     * @param file  the file.
+     */
+    private static void delete(final File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (int i = 0; i < files.length; i++) {
+                delete(files[i]);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Writes a text file.
+     *
+     * @param file  the file.
+     * @param text  the contents.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private static void write(final File file, final String text)
+        throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(text.getBytes("ISO-8859-1"));
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Describes a test module in code.
+     *
+     * @param module  the module.
+     * @param name  the module name.
+     * @param required  the required modules.
+     */
+    static void describe(final AbstractModule module, final String name,
+                         final ModuleInfo[] required) {
+        module.setName(name);
+        module.setProducer("Test");
+        module.setDescription(name);
+        module.setSubSystem("manifest-test");
+        module.setMajorVersion("1");
+        module.setMinorVersion("0");
+        module.setPatchLevel("0");
+        module.setRequiredModules(required);
+        module.setOptionalModules(new ModuleInfo[0]);
+        PARSED.incrementAndGet();
+    }
+
+    /**
+     * Returns the manifest file written by the test booter.
+     *
+     * @return the file.
+     */
+    private File getManifestFile() {
+        return new File(this.directory, StubBoot.class.getName() + ".modules");
+    }
+
+    /**
+     * Loads the modules configured under the test prefix with a new booter.
+     *
+     * @param roots  the configured module classes.
+     *
+     * @return the number of modules that were not described by the manifest.
+     */
+    private int load(final Class[] roots) {
+        final StubBoot boot = new StubBoot();
+        boot.setConfigProperty(PackageManager.MANIFEST_DIRECTORY_KEY,
+            this.directory.getPath());
+        for (int i = 0; i < roots.length; i++) {
+            boot.setConfigProperty(PREFIX + i + ".Module", roots[i].getName());
+        }
+        final int before = PARSED.get();
+        final PackageManager manager = boot.getPackageManager();
+        manager.load(PREFIX);
+        manager.initializeModules();
+        assertNotNull(manager.getModule(ModuleA.class.getName()));
+        if (roots.length > 0 && roots[roots.length - 1] == ModuleB.class) {
+            final Module b = manager.getModule(ModuleB.class.getName());
+            assertNotNull(b);
+            assertEquals("Module B", b.getName());
+        }
+        return PARSED.get() - before;
+    }
+
+    /**
+     * Reads the manifest file.
+     *
+     * @return the manifest properties.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    private Properties readManifest() throws IOException {
+        final Properties p = new Properties();
+        final InputStream in = new FileInputStream(getManifestFile());
+        try {
+            p.load(in);
+        }
+        finally {
+            in.close();
+        }
+        return p;
+    }
+
+    /**
+     * Writes the manifest file.
+     *
+     * @param p  the manifest properties.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeManifest(final Properties p) throws IOException {
+        final OutputStream out = new FileOutputStream(getManifestFile());
+        try {
+            p.store(out, null);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Returns the key prefix of the manifest section of the test prefix.
+     *
+     * @param p  the manifest properties.
+     *
+     * @return the key prefix.
+     */
+    private static String findSection(final Properties p) {
+        final int count = Integer.parseInt(p.getProperty("section.count"));
+        for (int i = 0; i < count; i++) {
+            if (PREFIX.equals(p.getProperty("section." + i + ".prefix"))) {
+                return "section." + i + ".";
+            }
+        }
+        fail("No section recorded for " + PREFIX);
+        return null;
+    }
+
+    /**
+     * A recorded manifest is used by the next boot, and the modules take
+     * their descriptions from it.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testRecordAndReload() throws Exception {
+        final Class[] roots = new Class[] {ModuleB.class};
+        assertEquals(2, load(roots));
+        assertTrue(getManifestFile().isFile());
+        assertEquals(0, load(roots));
+        assertEquals(0, load(roots));
+    }
+
+    /**
+     * A manifest written for an other class path is ignored and replaced.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testFingerprintMismatch() throws Exception {
+        final Class[] roots = new Class[] {ModuleB.class};
+        load(roots);
+        final Properties p = readManifest();
+        p.setProperty("manifest.fingerprint", "0000");
+        writeManifest(p);
+        assertEquals(2, load(roots));
+        assertEquals(0, load(roots));
+
+        final ModuleManifest manifest =
+            ModuleManifest.load(getManifestFile(), "0000");
+        assertNull(manifest.getEntries(PREFIX,
+            new String[] {ModuleB.class.getName()}));
+    }
+
+    /**
+     * A section recorded for other configured modules is resolved again.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testRootsChanged() throws Exception {
+        load(new Class[] {ModuleB.class});
+        final Class[] roots = new Class[] {ModuleA.class, ModuleB.class};
+        // module A is created once as root and once as dependency of B.
+        assertEquals(3, load(roots));
+        assertEquals(0, load(roots));
+    }
+
+    /**
+     * If a recorded module class no longer loads, the section is dropped and
+     * resolved again. The other descriptions of the dropped section are not
+     * used.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testRecordedClassMissing() throws Exception {
+        final Class[] roots = new Class[] {ModuleB.class};
+        load(roots);
+        final Properties p = readManifest();
+        final String section = findSection(p);
+        p.setProperty("module." + ModuleB.class.getName() + ".name", "Stale");
+        for (int m = 0; m < 2; m++) {
+            if (ModuleA.class.getName().equals(
+                    p.getProperty(section + "module." + m))) {
+                p.setProperty(section + "module." + m,
+                    "org.jfree.base.modules.DoesNotExist");
+            }
+        }
+        writeManifest(p);
+        // load() checks that module B is not named "Stale".
+        assertEquals(2, load(roots));
+        assertEquals(0, load(roots));
+    }
+
+    /**
+     * A section that does not contain a required module, which has not been
+     * loaded otherwise either, is dropped and resolved again.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testRequiredModuleMissing() throws Exception {
+        final Class[] roots = new Class[] {ModuleB.class};
+        load(roots);
+        final Properties p = readManifest();
+        final String section = findSection(p);
+        p.setProperty(section + "count", "1");
+        p.setProperty(section + "module.0", ModuleB.class.getName());
+        p.remove(section + "module.1");
+        writeManifest(p);
+        assertEquals(2, load(roots));
+        assertEquals(0, load(roots));
+    }
+
+    /**
+     * Descriptions are only offered to the class they were recorded for,
+     * and only while it is instantiated.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testDescriptionScope() throws Exception {
+        load(new Class[] {ModuleB.class});
+        final ModuleManifest manifest = ModuleManifest.load(getManifestFile(),
+            readManifest().getProperty("manifest.fingerprint"));
+        final ModuleManifest.Entry[] entries = manifest.getEntries(PREFIX,
+            new String[] {ModuleB.class.getName()});
+        assertEquals(2, entries.length);
+        // dependencies are recorded first.
+        final ModuleManifest.ModuleDescription description =
+            entries[0].getDescription();
+        assertEquals(ModuleA.class.getName(), description.getModuleClass());
+
+        final int before = PARSED.get();
+        final Module module =
+            ModuleManifest.instantiate(ModuleA.class, description);
+        assertEquals("Module A", module.getName());
+        assertEquals(before, PARSED.get());
+        assertNull(ModuleManifest.getCachedDescription(ModuleA.class));
+
+        try {
+            ModuleManifest.instantiate(ModuleB.class, description);
+            fail("A description must not be used for an other class.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        new ModuleA();
+        assertEquals(before + 1, PARSED.get());
+    }
+
+    /**
+     * Modules added one by one are recorded in memory, and the manifest is
+     * written once when the modules are initialized.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testStoredOnce() throws Exception {
+        final StubBoot boot = new StubBoot();
+        boot.setConfigProperty(PackageManager.MANIFEST_DIRECTORY_KEY,
+            this.directory.getPath());
+        final PackageManager manager = boot.getPackageManager();
+        manager.addModule(ModuleA.class.getName());
+        manager.addModule(ModuleB.class.getName());
+        assertFalse(getManifestFile().exists());
+
+        manager.initializeModules();
+        assertTrue(getManifestFile().isFile());
+        final long stored = getManifestFile().lastModified();
+        getManifestFile().setLastModified(stored - 10000);
+        manager.initializeModules();
+        assertEquals(stored - 10000, getManifestFile().lastModified());
+
+        final Properties p = readManifest();
+        assertEquals("2", p.getProperty("section.count"));
+    }
+
+    /**
+     * An edited module description in a class path directory changes the
+     * fingerprint, even if the size and modification time of the file stay
+     * the same.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testDirectoryFingerprint() throws Exception {
+        final File classes = new File(this.directory, "classes");
+        final File packageDir = new File(classes, "org/example");
+        assertTrue(packageDir.mkdirs());
+        final File properties = new File(packageDir, "module.properties");
+        write(properties, "module.name=first\n");
+        final long modified = properties.lastModified();
+
+        final URLClassLoader loader = new URLClassLoader(
+            new URL[] {classes.toURI().toURL()}, null);
+        final String before = ModuleManifest.computeFingerprint
+            (StubBoot.class, loader);
+        assertEquals(before, ModuleManifest.computeFingerprint
+            (StubBoot.class, loader));
+
+        write(properties, "module.name=other\n");
+        properties.setLastModified(modified);
+        classes.setLastModified(modified);
+        packageDir.setLastModified(modified);
+        final String after = ModuleManifest.computeFingerprint
+            (StubBoot.class, loader);
+        assertFalse(before.equals(after));
+    }
+
+}
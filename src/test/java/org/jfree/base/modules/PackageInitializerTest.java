@@ -0,0 +1,275 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * PackageInitializerTest.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.util.Configuration;
+import org.jfree.util.ExtendedConfiguration;
+
+/**
+ * Tests for the {@link PackageInitializer} class.
+ */
+public class PackageInitializerTest extends TestCase {
+
+    /**
+     * A subsystem without configuration, the stub modules do not use it.
+     */
+    private static class NullSubSystem implements SubSystem {
+        public Configuration getGlobalConfig() {
+            return null;
+        }
+
+        public ExtendedConfiguration getExtendedConfig() {
+            return null;
+        }
+
+        public PackageManager getPackageManager() {
+            return null;
+        }
+    }
+
+    /** The clock shared by the modules of a test. */
+    private AtomicInteger clock;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(PackageInitializerTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public PackageInitializerTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates the clock.
+     */
+    protected void setUp() {
+        this.clock = new AtomicInteger();
+    }
+
+    /**
+     * Creates a stub module.
+     *
+     * @param name  the module name.
+     * @param subSystem  the subsystem.
+     * @param required  the required modules.
+     *
+     * @return the module.
+     */
+    private StubModule module(final String name, final String subSystem,
+                              final ModuleInfo[] required) {
+        final StubModule module = new StubModule(name, subSystem, this.clock);
+        module.setRequiredModules(required);
+        return module;
+    }
+
+    /**
+     * Sorts, configures and initializes the given modules.
+     *
+     * @param modules  the modules.
+     * @param threads  the number of threads.
+     *
+     * @return the sorted package states.
+     */
+    private ArrayList run(final Module[] modules, final int threads) {
+        final ArrayList states = new ArrayList();
+        StubModule.addStates(modules, states);
+        PackageSorter.sort(states);
+        final PackageInitializer initializer =
+            new PackageInitializer(new NullSubSystem(), threads);
+        initializer.configure(states);
+        initializer.initialize(states);
+        return states;
+    }
+
+    /**
+     * Asserts that the module <code>first</code> finished both phases before
+     * the module <code>second</code> started them.
+     *
+     * @param first  the module that must be processed first.
+     * @param second  the module that must be processed later.
+     */
+    private static void assertBefore(final StubModule first,
+                                     final StubModule second) {
+        assertTrue(first + " configured before " + second,
+            first.getConfigureEnd() < second.getConfigureStart());
+        assertTrue(first + " initialized before " + second,
+            first.getInitializeEnd() < second.getInitializeStart());
+    }
+
+    /**
+     * Every module finishes the configure phase before the first module is
+     * initialized.
+     */
+    public void testConfigureBeforeInitialize() {
+        final Random random = new Random(42);
+        final StubModule[] modules = new StubModule[20];
+        for (int i = 0; i < modules.length; i++) {
+            final int count = Math.min(i, random.nextInt(3));
+            final ModuleInfo[] required = new ModuleInfo[count];
+            for (int d = 0; d < count; d++) {
+                required[d] = modules[random.nextInt(i)];
+            }
+            modules[i] = module("m" + i, "s" + (i / 5), required);
+        }
+        final ArrayList states = run(modules, 4);
+
+        int lastConfigure = -1;
+        int firstInitialize = Integer.MAX_VALUE;
+        for (int i = 0; i < modules.length; i++) {
+            lastConfigure = Math.max(lastConfigure, modules[i].getConfigureEnd());
+            firstInitialize = Math.min(firstInitialize,
+                modules[i].getInitializeStart());
+            final ModuleInfo[] required = modules[i].getRequiredModules();
+            for (int d = 0; d < required.length; d++) {
+                assertBefore((StubModule) required[d], modules[i]);
+            }
+        }
+        assertTrue(lastConfigure < firstInitialize);
+        for (int i = 0; i < states.size(); i++) {
+            assertEquals(PackageState.STATE_INITIALIZED,
+                ((PackageState) states.get(i)).getState());
+        }
+    }
+
+    /**
+     * Required and subsystem dependencies are respected when
+     * several threads are used.
+     */
+    public void testDependencyOrder() {
+        final StubModule a = module("a", "base", new ModuleInfo[0]);
+        final StubModule b = module("b", "base", new ModuleInfo[0]);
+        final StubModule x = module("x", "base", new ModuleInfo[0]);
+        final StubModule c = module("c", "ext", new ModuleInfo[] {a});
+        final StubModule d = module("d", "ext", new ModuleInfo[] {c});
+        final StubModule e = module("e", "other", new ModuleInfo[] {d});
+        final StubModule f = module("f", "other", new ModuleInfo[0]);
+
+        run(new Module[] {e, f, d, c, x, b, a}, 4);
+
+        assertBefore(a, c);
+        assertBefore(c, d);
+        assertBefore(d, e);
+        // c uses the base subsystem, so all of it is done first.
+        assertBefore(b, c);
+        assertBefore(x, c);
+        // e uses the ext subsystem.
+        assertBefore(c, e);
+        assertTrue(f.getInitializeEnd() != -1);
+    }
+
+    /**
+     * Modules that do not depend on each other are initialized at the same
+     * time.
+     */
+    public void testIndependentModulesRunConcurrently() {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Runnable meet = new Runnable() {
+            public void run() {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                }
+                catch (Exception e) {
+                    throw new IllegalStateException("Not run concurrently.");
+                }
+            }
+        };
+        final StubModule a = module("a", "a", new ModuleInfo[0]);
+        final StubModule b = module("b", "b", new ModuleInfo[0]);
+        a.setAction(meet);
+        b.setAction(meet);
+        final ArrayList states = run(new Module[] {a, b}, 2);
+        for (int i = 0; i < states.size(); i++) {
+            assertEquals(PackageState.STATE_INITIALIZED,
+                ((PackageState) states.get(i)).getState());
+        }
+    }
+
+    /**
+     * A module that fails with an error still releases the modules waiting
+     * for it, and the error is rethrown once the phase is done.
+     */
+    public void testFailureReleasesSuccessors() {
+        final StubModule a = module("a", "s", new ModuleInfo[0]);
+        final StubModule b = module("b", "s", new ModuleInfo[] {a});
+        final StubModule c = module("c", "s", new ModuleInfo[] {b});
+        final StubModule other = module("other", "t", new ModuleInfo[0]);
+        final Error failure = new Error("boom");
+        a.setFailure(failure);
+
+        final ArrayList states = new ArrayList();
+        StubModule.addStates(new Module[] {c, b, a, other}, states);
+        PackageSorter.sort(states);
+        final PackageInitializer initializer =
+            new PackageInitializer(new NullSubSystem(), 3);
+        initializer.configure(states);
+        try {
+            initializer.initialize(states);
+            fail("The error must be rethrown.");
+        }
+        catch (Error e) {
+            assertSame(failure, e);
+        }
+        assertBefore(a, b);
+        assertBefore(b, c);
+        assertTrue(other.getInitializeEnd() != -1);
+    }
+
+}
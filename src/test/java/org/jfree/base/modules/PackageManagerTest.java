@@ -0,0 +1,326 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * -----------------------
+ * PackageManagerTest.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the lazy initialization of deferrable modules in the
+ * {@link PackageManager} class.
+ */
+public class PackageManagerTest extends TestCase {
+
+    /** The classes of the initialized modules, in initialization order. */
+    private static final List INITIALIZED =
+        Collections.synchronizedList(new ArrayList());
+
+    /**
+     * A module that records its initialization.
+     */
+    private abstract static class RecordingModule extends AbstractModule
+            implements DeferrableModule {
+
+        /** True, if the initialization may be deferred. */
+        private final boolean deferrable;
+
+        /**
+         * Creates a new module.
+         *
+         * @param required  the required module classes.
+         * @param deferrable  true, if the initialization may be deferred.
+         */
+        protected RecordingModule(final Class[] required,
+                                  final boolean deferrable) {
+            this.deferrable = deferrable;
+            final ModuleInfo[] infos = new ModuleInfo[required.length];
+            for (int i = 0; i < required.length; i++) {
+                infos[i] = new DefaultModuleInfo(required[i].getName(), null,
+                    null, null);
+            }
+            setName(getClass().getName());
+            setProducer("Test");
+            setDescription(getClass().getName());
+            setSubSystem("lazy-test");
+            setMajorVersion("1");
+            setMinorVersion("0");
+            setPatchLevel("0");
+            setRequiredModules(infos);
+            setOptionalModules(new ModuleInfo[0]);
+        }
+
+        /**
+         * Returns whether the initialization may be deferred.
+         *
+         * @param subSystem  the subsystem.
+         *
+         * @return true, if the initialization may be deferred.
+         */
+        public boolean isDeferrable(final SubSystem subSystem) {
+            return this.deferrable;
+        }
+
+        /**
+         * Records the initialization.
+         *
+         * @param subSystem  the subsystem.
+         */
+        public void initialize(final SubSystem subSystem) {
+            INITIALIZED.add(getClass());
+        }
+    }
+
+    /**
+     * A deferrable module nothing depends on.
+     */
+    public static class Unused extends RecordingModule {
+        /** Creates the module. */
+        public Unused() {
+            super(new Class[0], true);
+        }
+    }
+
+    /**
+     * A deferrable module used indirectly by {@link Eager}.
+     */
+    public static class Shared extends RecordingModule {
+        /** Creates the module. */
+        public Shared() {
+            super(new Class[0], true);
+        }
+    }
+
+    /**
+     * A deferrable module that requires {@link Shared}.
+     */
+    public static class Middle extends RecordingModule {
+        /** Creates the module. */
+        public Middle() {
+            super(new Class[] {Shared.class}, true);
+        }
+    }
+
+    /**
+     * A module that is always initialized during the boot.
+     */
+    public static class Eager extends RecordingModule {
+        /** Creates the module. */
+        public Eager() {
+            super(new Class[] {Middle.class}, false);
+        }
+    }
+
+    /**
+     * A deferrable module used by {@link User}.
+     */
+    public static class Dependency extends RecordingModule {
+        /** Creates the module. */
+        public Dependency() {
+            super(new Class[0], true);
+        }
+    }
+
+    /**
+     * A deferrable module that requires {@link Dependency}.
+     */
+    public static class User extends RecordingModule {
+        /** Creates the module. */
+        public User() {
+            super(new Class[] {Dependency.class}, true);
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(PackageManagerTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public PackageManagerTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Clears the recorded initializations.
+     */
+    protected void setUp() {
+        INITIALIZED.clear();
+    }
+
+    /**
+     * Loads and boots the given modules.
+     *
+     * @param modules  the module classes.
+     * @param lazy  true, to enable the lazy initialization.
+     *
+     * @return the package manager.
+     */
+    private static PackageManager boot(final Class[] modules,
+                                       final boolean lazy) {
+        final StubBoot boot = new StubBoot();
+        boot.setConfigProperty(PackageManager.LAZY_INITIALIZATION_KEY,
+            String.valueOf(lazy));
+        final PackageManager manager = boot.getPackageManager();
+        for (int i = 0; i < modules.length; i++) {
+            manager.addModule(modules[i].getName());
+        }
+        manager.initializeModules();
+        return manager;
+    }
+
+    /**
+     * Checks, whether a module of the given class is active, without
+     * activating deferred modules.
+     *
+     * @param manager  the package manager.
+     * @param c  the module class.
+     *
+     * @return true, if the module is initialized.
+     */
+    private static boolean isActive(final PackageManager manager,
+                                    final Class c) {
+        final Module[] modules = manager.getActiveModules();
+        for (int i = 0; i < modules.length; i++) {
+            if (modules[i].getClass() == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A deferrable module is not initialized during a lazy boot.
+     */
+    public void testDeferredAfterBoot() {
+        final PackageManager manager = boot(new Class[] {Unused.class}, true);
+        assertFalse(isActive(manager, Unused.class));
+        assertTrue(INITIALIZED.isEmpty());
+        assertEquals(1, manager.getAllModules().length);
+    }
+
+    /**
+     * Without the lazy initialization deferrable modules are initialized
+     * during the boot.
+     */
+    public void testEagerWithoutLazyInitialization() {
+        final PackageManager manager = boot(new Class[] {Unused.class}, false);
+        assertTrue(isActive(manager, Unused.class));
+        assertEquals(Arrays.asList(new Class[] {Unused.class}), INITIALIZED);
+    }
+
+    /**
+     * Deferrable modules that a boot module depends on, directly or through
+     * other deferrable modules, are initialized during the boot.
+     */
+    public void testTransitiveBootDependency() {
+        final PackageManager manager =
+            boot(new Class[] {Eager.class, Unused.class}, true);
+        assertEquals(Arrays.asList(new Class[] {
+            Shared.class, Middle.class, Eager.class}), INITIALIZED);
+        assertTrue(isActive(manager, Shared.class));
+        assertTrue(isActive(manager, Middle.class));
+        assertFalse(isActive(manager, Unused.class));
+    }
+
+    /**
+     * getModule() initializes a deferred module after the deferred modules
+     * it depends on, and only once.
+     */
+    public void testGetModuleActivatesDependenciesFirst() {
+        final PackageManager manager = boot(new Class[] {User.class}, true);
+        assertTrue(INITIALIZED.isEmpty());
+
+        final Module user = manager.getModule(User.class.getName());
+        assertNotNull(user);
+        assertEquals(Arrays.asList(new Class[] {
+            Dependency.class, User.class}), INITIALIZED);
+
+        assertSame(user, manager.getModule(User.class.getName()));
+        assertNotNull(manager.getModule(Dependency.class.getName()));
+        assertEquals(2, INITIALIZED.size());
+    }
+
+    /**
+     * isModuleAvailable() initializes a deferred module as well.
+     */
+    public void testIsModuleAvailableActivates() {
+        final PackageManager manager = boot(new Class[] {Unused.class}, true);
+        assertTrue(manager.isModuleAvailable(new Unused()));
+        assertTrue(isActive(manager, Unused.class));
+        assertFalse(manager.isModuleAvailable(new DefaultModuleInfo
+            ("org.jfree.base.modules.DoesNotExist", null, null, null)));
+    }
+
+    /**
+     * Printing the used modules does not initialize deferred modules.
+     */
+    public void testPrintUsedModulesDoesNotActivate() {
+        final PackageManager manager =
+            boot(new Class[] {Eager.class, Unused.class}, true);
+        INITIALIZED.clear();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        manager.printUsedModules(new PrintStream(out, true));
+        final String text = out.toString();
+        assertTrue(text.indexOf(Eager.class.getName()) >= 0);
+        assertTrue(text.indexOf(Unused.class.getName()) < 0);
+        assertTrue(INITIALIZED.isEmpty());
+        assertFalse(isActive(manager, Unused.class));
+    }
+
+}
@@ -0,0 +1,270 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * PackageSorterBenchmark.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.base.modules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Measures the time needed to sort and boot synthetic module graphs of 10,
+ * 100 and 1000 modules. Every module requires up to three randomly chosen
+ * modules and the modules are grouped into subsystems, so that the subsystem
+ * ordering of the {@link PackageSorter} is exercised as well.
+ * <p>
+ * This is not a unit test. Run it with
+ * <code>java org.jfree.base.modules.PackageSorterBenchmark [iterations]</code>;
+ * the optional argument is the number of measured runs per graph size.
+ */
+public class PackageSorterBenchmark {
+
+    /** The graph sizes. */
+    private static final int[] SIZES = {10, 100, 1000};
+
+    /** The number of modules in each subsystem. */
+    private static final int SUBSYSTEM_SIZE = 10;
+
+    /**
+     * A module without any behaviour.
+     */
+    private static class SyntheticModule implements Module {
+
+        /** The module class name. */
+        private final String name;
+
+        /** The subsystem. */
+        private final String subSystem;
+
+        /** The required modules. */
+        private final ModuleInfo[] required;
+
+        /**
+         * Creates a new module.
+         *
+         * @param name  the module class name.
+         * @param subSystem  the subsystem.
+         * @param required  the required modules.
+         */
+        public SyntheticModule(final String name, final String subSystem,
+                               final ModuleInfo[] required) {
+            this.name = name;
+            this.subSystem = subSystem;
+            this.required = required;
+        }
+
+        public ModuleInfo[] getRequiredModules() {
+            return this.required;
+        }
+
+        public ModuleInfo[] getOptionalModules() {
+            return new ModuleInfo[0];
+        }
+
+        public void initialize(final SubSystem subSystem) {
+            // nothing to do
+        }
+
+        public void configure(final SubSystem subSystem) {
+            // nothing to do
+        }
+
+        public String getDescription() {
+            return this.name;
+        }
+
+        public String getProducer() {
+            return "Benchmark";
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getSubSystem() {
+            return this.subSystem;
+        }
+
+        public String getModuleClass() {
+            return this.name;
+        }
+
+        public String getMajorVersion() {
+            return "1";
+        }
+
+        public String getMinorVersion() {
+            return "0";
+        }
+
+        public String getPatchLevel() {
+            return "0";
+        }
+    }
+
+    /**
+     * Creates a shuffled list of modules. Modules only depend on modules with
+     * a lower number, and subsystems are consecutive blocks of modules, so
+     * the graph is free of cycles.
+     *
+     * @param size  the number of modules.
+     * @param random  the random number source.
+     *
+     * @return the modules.
+     */
+    private static Module[] createModules(final int size, final Random random) {
+        final Module[] modules = new Module[size];
+        for (int i = 0; i < size; i++) {
+            final int count = Math.min(i, random.nextInt(4));
+            final ModuleInfo[] required = new ModuleInfo[count];
+            for (int d = 0; d < count; d++) {
+                required[d] = modules[random.nextInt(i)];
+            }
+            modules[i] = new SyntheticModule("module" + i,
+                "subsystem" + (i / SUBSYSTEM_SIZE), required);
+        }
+        final ArrayList list = new ArrayList();
+        Collections.addAll(list, modules);
+        Collections.shuffle(list, random);
+        return (Module[]) list.toArray(new Module[size]);
+    }
+
+    /**
+     * Creates fresh package states for the given modules.
+     *
+     * @param modules  the modules.
+     *
+     * @return the package states.
+     */
+    private static ArrayList createStates(final Module[] modules) {
+        final ArrayList states = new ArrayList(modules.length);
+        for (int i = 0; i < modules.length; i++) {
+            states.add(new PackageState(modules[i]));
+        }
+        return states;
+    }
+
+    /**
+     * Sorts, configures and initializes the given modules.
+     *
+     * @param modules  the modules.
+     *
+     * @return the number of initialized modules.
+     */
+    private static int boot(final Module[] modules) {
+        final ArrayList states = createStates(modules);
+        PackageSorter.sort(states);
+        int count = 0;
+        for (int i = 0; i < states.size(); i++) {
+            ((PackageState) states.get(i)).configure(null);
+        }
+        for (int i = 0; i < states.size(); i++) {
+            if (((PackageState) states.get(i)).initialize(null)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args  the optional number of iterations.
+     */
+    public static void main(final String[] args) {
+        final int iterations;
+        if (args.length > 0) {
+            iterations = Integer.parseInt(args[0]);
+        }
+        else {
+            iterations = 50;
+        }
+
+        final Random random = new Random(42);
+        System.out.println("modules     sort (us)     boot (us)");
+        for (int s = 0; s < SIZES.length; s++) {
+            final Module[] modules = createModules(SIZES[s], random);
+
+            // warm up
+            int check = 0;
+            for (int i = 0; i < iterations; i++) {
+                PackageSorter.sort(createStates(modules));
+                check += boot(modules);
+            }
+
+            long sortTime = 0;
+            long bootTime = 0;
+            for (int i = 0; i < iterations; i++) {
+                final ArrayList states = createStates(modules);
+                long start = System.nanoTime();
+                PackageSorter.sort(states);
+                sortTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                check += boot(modules);
+                bootTime += System.nanoTime() - start;
+            }
+            if (check != SIZES[s] * iterations * 2) {
+                throw new IllegalStateException("Not all modules were initialized.");
+            }
+            System.out.println(pad(SIZES[s], 7)
+                + pad(sortTime / iterations / 1000, 14)
+                + pad(bootTime / iterations / 1000, 14));
+        }
+    }
+
+    /**
+     * Right-aligns a number.
+     *
+     * @param value  the number.
+     * @param width  the column width.
+     *
+     * @return the padded text.
+     */
+    private static String pad(final long value, final int width) {
+        final StringBuffer b = new StringBuffer();
+        final String text = String.valueOf(value);
+        for (int i = text.length(); i < width; i++) {
+            b.append(' ');
+        }
+        b.append(text);
+        return b.toString();
+    }
+}
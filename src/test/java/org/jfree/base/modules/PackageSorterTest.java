@@ -0,0 +1,206 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ----------------------
+ * PackageSorterTest.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link PackageSorter} class.
+ */
+public class PackageSorterTest extends TestCase {
+
+    /** The clock passed to the modules, unused by these tests. */
+    private final AtomicInteger clock = new AtomicInteger();
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(PackageSorterTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public PackageSorterTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates a stub module.
+     *
+     * @param name  the module name.
+     * @param subSystem  the subsystem.
+     * @param required  the required modules.
+     *
+     * @return the module.
+     */
+    private StubModule module(final String name, final String subSystem,
+                              final ModuleInfo[] required) {
+        final StubModule module = new StubModule(name, subSystem, this.clock);
+        module.setRequiredModules(required);
+        return module;
+    }
+
+    /**
+     * Sorts the given modules.
+     *
+     * @param modules  the modules.
+     *
+     * @return the sorted module names, separated by spaces.
+     */
+    private static String sort(final Module[] modules) {
+        final ArrayList states = new ArrayList();
+        StubModule.addStates(modules, states);
+        return sortStates(states);
+    }
+
+    /**
+     * Sorts the given package states.
+     *
+     * @param states  the package states.
+     *
+     * @return the sorted module names, separated by spaces.
+     */
+    private static String sortStates(final ArrayList states) {
+        PackageSorter.sort(states);
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < states.size(); i++) {
+            if (i > 0) {
+                buffer.append(' ');
+            }
+            buffer.append(((PackageState) states.get(i)).getModule().getName());
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Dependencies are placed first, independent modules keep their order.
+     */
+    public void testDependencies() {
+        final StubModule a = module("a", "s", new ModuleInfo[0]);
+        final StubModule b = module("b", "s", new ModuleInfo[] {a});
+        final StubModule c = module("c", "s", new ModuleInfo[] {b});
+        final StubModule d = module("d", "s", new ModuleInfo[0]);
+        assertEquals("d a b c", sort(new Module[] {c, d, b, a}));
+    }
+
+    /**
+     * A module that uses an other subsystem is placed after all modules of
+     * that subsystem.
+     */
+    public void testSubSystemOrder() {
+        final StubModule a = module("a", "base", new ModuleInfo[0]);
+        final StubModule b = module("b", "base", new ModuleInfo[0]);
+        final StubModule c = module("c", "ext", new ModuleInfo[] {a});
+        assertEquals("a b c", sort(new Module[] {c, a, b}));
+    }
+
+    /**
+     * Present optional dependencies are ordered like required ones, missing
+     * optional dependencies are ignored.
+     */
+    public void testOptionalDependencies() {
+        final StubModule a = module("a", "base", new ModuleInfo[0]);
+        final StubModule x = module("x", "base", new ModuleInfo[0]);
+        final StubModule missing = module("missing", "none", new ModuleInfo[0]);
+        final StubModule c = module("c", "ext", new ModuleInfo[0]);
+        c.setOptionalModules(new ModuleInfo[] {a, missing});
+        assertEquals("a x c", sort(new Module[] {c, a, x}));
+    }
+
+    /**
+     * A cycle of subsystem relations falls back to the direct dependencies
+     * instead of looping forever.
+     */
+    public void testSubSystemCycle() {
+        final StubModule a1 = module("a1", "A", new ModuleInfo[0]);
+        final StubModule a2 = module("a2", "A", new ModuleInfo[0]);
+        final StubModule b1 = module("b1", "B", new ModuleInfo[0]);
+        final StubModule b2 = module("b2", "B", new ModuleInfo[0]);
+        a1.setRequiredModules(new ModuleInfo[] {b1});
+        b2.setRequiredModules(new ModuleInfo[] {a2});
+        final StubModule free = module("free", "C", new ModuleInfo[0]);
+
+        final String sorted = sort(new Module[] {a1, b2, free, a2, b1});
+        assertEquals(5, sorted.split(" ").length);
+        assertTrue(sorted.indexOf("b1") < sorted.indexOf("a1"));
+        assertTrue(sorted.indexOf("a2") < sorted.indexOf("b2"));
+    }
+
+    /**
+     * Modules on a cycle of direct dependencies are placed after all other
+     * modules.
+     */
+    public void testDirectCyclePlacedLast() {
+        final StubModule x = module("x", "s", new ModuleInfo[0]);
+        final StubModule y = module("y", "s", new ModuleInfo[] {x});
+        x.setRequiredModules(new ModuleInfo[] {y});
+        final StubModule a = module("a", "s", new ModuleInfo[0]);
+        final StubModule b = module("b", "s", new ModuleInfo[] {a});
+        assertEquals("a b x y", sort(new Module[] {x, b, y, a}));
+    }
+
+    /**
+     * Modules in the error state are moved to the end of the list.
+     */
+    public void testErrorModulesLast() {
+        final StubModule a = module("a", "s", new ModuleInfo[0]);
+        final StubModule failed = module("failed", "s", new ModuleInfo[0]);
+        final StubModule b = module("b", "s", new ModuleInfo[] {a});
+        final ArrayList states = new ArrayList();
+        states.add(new PackageState(failed, PackageState.STATE_ERROR));
+        states.add(new PackageState(b));
+        states.add(new PackageState(a));
+        assertEquals("a b failed", sortStates(states));
+    }
+
+}
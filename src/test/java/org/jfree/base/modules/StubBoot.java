@@ -0,0 +1,86 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * -------------
+ * StubBoot.java
+ * -------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import org.jfree.base.AbstractBoot;
+import org.jfree.base.BootableProjectInfo;
+import org.jfree.base.config.HierarchicalConfiguration;
+import org.jfree.util.Configuration;
+
+/**
+ * A booter with a configuration defined by the module tests. It is never
+ * started; the tests use its package manager directly.
+ */
+class StubBoot extends AbstractBoot {
+
+    /** The configuration. */
+    private final HierarchicalConfiguration config;
+
+    /**
+     * Creates a booter with an empty configuration.
+     */
+    public StubBoot() {
+        this.config = new HierarchicalConfiguration();
+    }
+
+    /**
+     * Defines a configuration property.
+     *
+     * @param key  the key.
+     * @param value  the value.
+     */
+    public void setConfigProperty(final String key, final String value) {
+        this.config.setConfigProperty(key, value);
+    }
+
+    protected Configuration loadConfiguration() {
+        return this.config;
+    }
+
+    protected void performBoot() {
+        // not used
+    }
+
+    protected BootableProjectInfo getProjectInfo() {
+        return null;
+    }
+}
@@ -0,0 +1,265 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ---------------
+ * StubModule.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+
+package org.jfree.base.modules;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A configurable module used by the module tests. The module records the
+ * start and the end of its configure and initialize phases as ticks of a
+ * shared clock, and can be made to fail or to run an action while it is
+ * initialized.
+ */
+class StubModule implements Module {
+
+    /** The module class name. */
+    private final String name;
+
+    /** The subsystem. */
+    private final String subSystem;
+
+    /** The required modules. */
+    private ModuleInfo[] required;
+
+    /** The optional modules. */
+    private ModuleInfo[] optional;
+
+    /** The clock shared by all modules of a test. */
+    private final AtomicInteger clock;
+
+    /** The tick at which the configure phase started. */
+    private volatile int configureStart = -1;
+
+    /** The tick at which the configure phase ended. */
+    private volatile int configureEnd = -1;
+
+    /** The tick at which the initialize phase started. */
+    private volatile int initializeStart = -1;
+
+    /** The tick at which the initialize phase ended. */
+    private volatile int initializeEnd = -1;
+
+    /** The error thrown by initialize(), or null. */
+    private Error failure;
+
+    /** An action run during initialize(), or null. */
+    private Runnable action;
+
+    /**
+     * Creates a new module without dependencies.
+     *
+     * @param name  the module class name.
+     * @param subSystem  the subsystem.
+     * @param clock  the clock shared by all modules of a test.
+     */
+    public StubModule(final String name, final String subSystem,
+                      final AtomicInteger clock) {
+        this.name = name;
+        this.subSystem = subSystem;
+        this.clock = clock;
+        this.required = new ModuleInfo[0];
+        this.optional = new ModuleInfo[0];
+    }
+
+    /**
+     * Defines the required modules.
+     *
+     * @param required  the required modules.
+     */
+    public void setRequiredModules(final ModuleInfo[] required) {
+        this.required = required;
+    }
+
+    /**
+     * Defines the optional modules.
+     *
+     * @param optional  the optional modules.
+     */
+    public void setOptionalModules(final ModuleInfo[] optional) {
+        this.optional = optional;
+    }
+
+    /**
+     * Defines an error thrown by initialize().
+     *
+     * @param failure  the error.
+     */
+    public void setFailure(final Error failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Defines an action that is run during initialize().
+     *
+     * @param action  the action.
+     */
+    public void setAction(final Runnable action) {
+        this.action = action;
+    }
+
+    /**
+     * Creates package states for the given modules.
+     *
+     * @param modules  the modules.
+     * @param states  receives the package states.
+     */
+    public static void addStates(final Module[] modules, final List states) {
+        for (int i = 0; i < modules.length; i++) {
+            states.add(new PackageState(modules[i]));
+        }
+    }
+
+    public ModuleInfo[] getRequiredModules() {
+        return this.required;
+    }
+
+    public ModuleInfo[] getOptionalModules() {
+        return this.optional;
+    }
+
+    public void configure(final SubSystem subSystem) {
+        this.configureStart = this.clock.incrementAndGet();
+        pause();
+        this.configureEnd = this.clock.incrementAndGet();
+    }
+
+    public void initialize(final SubSystem subSystem) {
+        this.initializeStart = this.clock.incrementAndGet();
+        try {
+            pause();
+            if (this.action != null) {
+                this.action.run();
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+        finally {
+            this.initializeEnd = this.clock.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gives other modules the chance to run at the same time.
+     */
+    private static void pause() {
+        try {
+            Thread.sleep(1);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the tick at which the configure phase started.
+     *
+     * @return the tick, or -1 if the module was not configured.
+     */
+    public int getConfigureStart() {
+        return this.configureStart;
+    }
+
+    /**
+     * Returns the tick at which the configure phase ended.
+     *
+     * @return the tick, or -1 if the module was not configured.
+     */
+    public int getConfigureEnd() {
+        return this.configureEnd;
+    }
+
+    /**
+     * Returns the tick at which the initialize phase started.
+     *
+     * @return the tick, or -1 if the module was not initialized.
+     */
+    public int getInitializeStart() {
+        return this.initializeStart;
+    }
+
+    /**
+     * Returns the tick at which the initialize phase ended.
+     *
+     * @return the tick, or -1 if the module was not initialized.
+     */
+    public int getInitializeEnd() {
+        return this.initializeEnd;
+    }
+
+    public String getDescription() {
+        return this.name;
+    }
+
+    public String getProducer() {
+        return "Test";
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getSubSystem() {
+        return this.subSystem;
+    }
+
+    public String getModuleClass() {
+        return this.name;
+    }
+
+    public String getMajorVersion() {
+        return "1";
+    }
+
+    public String getMinorVersion() {
+        return "0";
+    }
+
+    public String getPatchLevel() {
+        return "0";
+    }
+
+    public String toString() {
+        return this.name;
+    }
+}
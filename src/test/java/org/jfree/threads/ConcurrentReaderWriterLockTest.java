@@ -0,0 +1,256 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * -----------------------------------
+ * ConcurrentReaderWriterLockTest.java
+ * -----------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link ConcurrentReaderWriterLock} class.
+ */
+public class ConcurrentReaderWriterLockTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ConcurrentReaderWriterLockTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ConcurrentReaderWriterLockTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Runs the given task on another thread and waits for its result.
+     *
+     * @param task  the task, returning true on success.
+     *
+     * @return the result of the task.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    private static boolean runOnOtherThread(final LockTask task)
+        throws InterruptedException {
+        final boolean[] result = new boolean[1];
+        final Thread t = new Thread() {
+            public void run() {
+                try {
+                    result[0] = task.run();
+                }
+                catch (InterruptedException e) {
+                    result[0] = false;
+                }
+            }
+        };
+        t.start();
+        t.join(10000);
+        assertFalse(t.isAlive());
+        return result[0];
+    }
+
+    /**
+     * A task that runs on another thread.
+     */
+    private interface LockTask {
+
+        /**
+         * Runs the task.
+         *
+         * @return the result.
+         *
+         * @throws InterruptedException if the thread is interrupted.
+         */
+        public boolean run() throws InterruptedException;
+    }
+
+    /**
+     * The read lock can be acquired several times and must be released once
+     * per acquisition.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    public void testReentrantRead() throws InterruptedException {
+        final ConcurrentReaderWriterLock lock = new ConcurrentReaderWriterLock();
+        lock.lockRead();
+        lock.lockRead();
+        assertEquals(1, lock.getReadLockCount());
+        lock.unlock();
+        assertEquals(1, lock.getReadLockCount());
+
+        // other readers are not blocked, writers are
+        assertTrue(runOnOtherThread(new LockTask() {
+            public boolean run() throws InterruptedException {
+                if (lock.tryLockRead(0, TimeUnit.MILLISECONDS) == false) {
+                    return false;
+                }
+                lock.unlock();
+                return true;
+            }
+        }));
+        assertFalse(runOnOtherThread(new LockTask() {
+            public boolean run() throws InterruptedException {
+                return lock.tryLockWrite(10, TimeUnit.MILLISECONDS);
+            }
+        }));
+
+        lock.unlock();
+        assertEquals(0, lock.getReadLockCount());
+        try {
+            lock.unlock();
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * The write lock can be acquired several times, and the writer may also
+     * acquire the read lock.
+     */
+    public void testReentrantWrite() {
+        final ConcurrentReaderWriterLock lock = new ConcurrentReaderWriterLock();
+        lock.lockWrite();
+        lock.lockWrite();
+        lock.lockRead();
+        assertTrue(lock.isWriteLocked());
+        lock.unlock();
+        lock.unlock();
+        assertTrue(lock.isWriteLocked());
+        lock.unlock();
+        assertFalse(lock.isWriteLocked());
+
+        // the lock is free again
+        lock.lockWrite();
+        lock.unlock();
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * A reader cannot upgrade to the write lock.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    public void testUpgradeRejected() throws InterruptedException {
+        final ConcurrentReaderWriterLock lock = new ConcurrentReaderWriterLock();
+        lock.lockRead();
+        try {
+            lock.lockWrite();
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            lock.tryLockWrite(1, TimeUnit.MILLISECONDS);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+        // the read lock is still held exactly once
+        assertEquals(1, lock.getReadLockCount());
+        lock.unlock();
+        assertEquals(0, lock.getReadLockCount());
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * Timed acquisitions give up while another thread holds the write lock,
+     * and succeed once it has been released.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    public void testTryLockTimeout() throws InterruptedException {
+        final ConcurrentReaderWriterLock lock = new ConcurrentReaderWriterLock();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread writer = new Thread() {
+            public void run() {
+                lock.lockWrite();
+                locked.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    // release the lock
+                }
+                lock.unlock();
+            }
+        };
+        writer.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        final long start = System.nanoTime();
+        assertFalse(lock.tryLockRead(50, TimeUnit.MILLISECONDS));
+        assertFalse(lock.tryLockWrite(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(lock.getReadContentionCount() >= 1);
+        assertTrue(lock.getWriteContentionCount() >= 1);
+
+        // a failed attempt leaves nothing to unlock
+        try {
+            lock.unlock();
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        release.countDown();
+        writer.join(10000);
+        assertTrue(lock.tryLockWrite(1, TimeUnit.SECONDS));
+        lock.unlock();
+    }
+
+}
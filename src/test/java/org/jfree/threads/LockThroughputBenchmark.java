@@ -0,0 +1,277 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------------
+ * LockThroughputBenchmark.java
+ * ----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+import java.util.HashMap;
+
+/**
+ * Compares the read throughput of {@link ReaderWriterLock},
+ * {@link ConcurrentReaderWriterLock} and {@link OptimisticReadGuard} with
+ * 1, 4, 16 and 64 reader threads and a single writer that updates the
+ * guarded map once per millisecond.
+ * <p>
+ * This is not a unit test. Run it with
+ * <code>java org.jfree.threads.LockThroughputBenchmark [millis]</code>;
+ * the optional argument is the measurement time per run.
+ */
+public class LockThroughputBenchmark {
+
+    /** The reader thread counts. */
+    private static final int[] READERS = {1, 4, 16, 64};
+
+    /** The number of keys in the guarded map. */
+    private static final int KEYS = 64;
+
+    /**
+     * A locking strategy under test.
+     */
+    private interface Subject {
+
+        /**
+         * Reads a value from the guarded map.
+         *
+         * @param key  the key.
+         *
+         * @return the value.
+         */
+        public Object read(Object key);
+
+        /**
+         * Writes a value into the guarded map.
+         *
+         * @param key  the key.
+         * @param value  the value.
+         */
+        public void write(Object key, Object value);
+    }
+
+    /** The current measurement is running while this is true. */
+    private static volatile boolean running;
+
+    /**
+     * Creates a map with the benchmark keys.
+     *
+     * @return the map.
+     */
+    private static HashMap createMap() {
+        final HashMap map = new HashMap();
+        for (int i = 0; i < KEYS; i++) {
+            map.put(new Integer(i), new Integer(i));
+        }
+        return map;
+    }
+
+    /**
+     * Creates a subject using the monitor-based lock.
+     *
+     * @return the subject.
+     */
+    private static Subject createMonitorSubject() {
+        final HashMap map = createMap();
+        final ReaderWriterLock lock = new ReaderWriterLock();
+        return new Subject() {
+            public Object read(final Object key) {
+                lock.lockRead();
+                try {
+                    return map.get(key);
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+            public void write(final Object key, final Object value) {
+                lock.lockWrite();
+                try {
+                    map.put(key, value);
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a subject using the stamped lock.
+     *
+     * @return the subject.
+     */
+    private static Subject createConcurrentSubject() {
+        final HashMap map = createMap();
+        final ConcurrentReaderWriterLock lock = new ConcurrentReaderWriterLock();
+        return new Subject() {
+            public Object read(final Object key) {
+                lock.lockRead();
+                try {
+                    return map.get(key);
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+            public void write(final Object key, final Object value) {
+                lock.lockWrite();
+                try {
+                    map.put(key, value);
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a subject using optimistic reads.
+     *
+     * @return the subject.
+     */
+    private static Subject createOptimisticSubject() {
+        final OptimisticReadGuard guard = new OptimisticReadGuard(createMap());
+        return new Subject() {
+            public Object read(final Object key) {
+                return guard.read(new OptimisticReadGuard.ReadAction() {
+                    public Object read(final Object target) {
+                        return ((HashMap) target).get(key);
+                    }
+                });
+            }
+            public void write(final Object key, final Object value) {
+                guard.write(new OptimisticReadGuard.WriteAction() {
+                    public void write(final Object target) {
+                        ((HashMap) target).put(key, value);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Measures the read throughput of a subject.
+     *
+     * @param subject  the subject.
+     * @param readers  the number of reader threads.
+     * @param millis  the measurement time.
+     *
+     * @return the number of reads per millisecond.
+     *
+     * @throws InterruptedException if the benchmark is interrupted.
+     */
+    private static long measure(final Subject subject, final int readers,
+                                final long millis)
+        throws InterruptedException {
+        final long[] counts = new long[readers];
+        final Thread[] threads = new Thread[readers + 1];
+        for (int i = 0; i < readers; i++) {
+            final int index = i;
+            final Integer key = new Integer(i % KEYS);
+            threads[i] = new Thread() {
+                public void run() {
+                    long count = 0;
+                    while (running) {
+                        subject.read(key);
+                        count++;
+                    }
+                    counts[index] = count;
+                }
+            };
+        }
+        threads[readers] = new Thread() {
+            public void run() {
+                int value = 0;
+                while (running) {
+                    subject.write(new Integer(value % KEYS), new Integer(value));
+                    value++;
+                    try {
+                        Thread.sleep(1);
+                    }
+                    catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        };
+
+        running = true;
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].start();
+        }
+        Thread.sleep(millis);
+        running = false;
+        long total = 0;
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+        for (int i = 0; i < readers; i++) {
+            total += counts[i];
+        }
+        return total / millis;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args  the measurement time per run in milliseconds (optional).
+     *
+     * @throws InterruptedException if the benchmark is interrupted.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final long millis;
+        if (args.length > 0) {
+            millis = Long.parseLong(args[0]);
+        }
+        else {
+            millis = 2000;
+        }
+        System.out.println("readers  monitor  stamped  optimistic  (reads/ms)");
+        for (int i = 0; i < READERS.length; i++) {
+            final int readers = READERS[i];
+            // warm up once, then measure
+            measure(createOptimisticSubject(), readers, millis / 4);
+            final long monitor = measure(createMonitorSubject(), readers, millis);
+            final long stamped = measure(createConcurrentSubject(), readers, millis);
+            final long optimistic = measure(createOptimisticSubject(), readers, millis);
+            System.out.println(readers + "\t " + monitor + "\t  " + stamped
+                    + "\t   " + optimistic);
+        }
+    }
+
+}
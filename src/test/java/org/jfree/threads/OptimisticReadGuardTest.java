@@ -0,0 +1,215 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ----------------------------
+ * OptimisticReadGuardTest.java
+ * ----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link OptimisticReadGuard} class.
+ */
+public class OptimisticReadGuardTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(OptimisticReadGuardTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public OptimisticReadGuardTest(String name) {
+        super(name);
+    }
+
+    /**
+     * Adds a value to the guarded list on another thread and waits until
+     * the write is done.
+     *
+     * @param guard  the guard.
+     * @param value  the value.
+     */
+    private static void writeOnOtherThread(final OptimisticReadGuard guard,
+                                           final Object value) {
+        final Thread t = new Thread() {
+            public void run() {
+                guard.write(new OptimisticReadGuard.WriteAction() {
+                    public void write(final Object target) {
+                        ((List) target).add(value);
+                    }
+                });
+            }
+        };
+        t.start();
+        try {
+            t.join(10000);
+        }
+        catch (InterruptedException e) {
+            fail();
+        }
+        assertFalse(t.isAlive());
+    }
+
+    /**
+     * Without writers, the read action runs exactly once.
+     */
+    public void testReadWithoutWriter() {
+        final List list = new ArrayList();
+        list.add("a");
+        final OptimisticReadGuard guard = new OptimisticReadGuard(list);
+        final int[] runs = new int[1];
+        final Object result = guard.read(new OptimisticReadGuard.ReadAction() {
+            public Object read(final Object target) {
+                runs[0]++;
+                return Integer.valueOf(((List) target).size());
+            }
+        });
+        assertEquals(Integer.valueOf(1), result);
+        assertEquals(1, runs[0]);
+        assertEquals(0, guard.getLock().getFailedOptimisticReadCount());
+    }
+
+    /**
+     * A write during the optimistic attempt invalidates it, and the action
+     * is repeated under the read lock and sees the written value.
+     */
+    public void testReadFallsBackOnConcurrentWrite() {
+        final List list = new ArrayList();
+        final OptimisticReadGuard guard = new OptimisticReadGuard(list);
+        final int[] runs = new int[1];
+        final Object result = guard.read(new OptimisticReadGuard.ReadAction() {
+            public Object read(final Object target) {
+                runs[0]++;
+                if (runs[0] == 1) {
+                    writeOnOtherThread(guard, "b");
+                }
+                return Integer.valueOf(((List) target).size());
+            }
+        });
+        assertEquals(2, runs[0]);
+        assertEquals(Integer.valueOf(1), result);
+        assertEquals(1, guard.getLock().getFailedOptimisticReadCount());
+        assertEquals(0, guard.getLock().getReadLockCount());
+    }
+
+    /**
+     * Exceptions of invalidated attempts are discarded, exceptions of valid
+     * attempts reach the caller.
+     */
+    public void testReadExceptions() {
+        final List list = new ArrayList();
+        final OptimisticReadGuard guard = new OptimisticReadGuard(list);
+        final int[] runs = new int[1];
+        final Object result = guard.read(new OptimisticReadGuard.ReadAction() {
+            public Object read(final Object target) {
+                runs[0]++;
+                if (runs[0] == 1) {
+                    writeOnOtherThread(guard, "c");
+                    throw new IllegalStateException("inconsistent");
+                }
+                return ((List) target).get(0);
+            }
+        });
+        assertEquals(2, runs[0]);
+        assertEquals("c", result);
+
+        runs[0] = 0;
+        try {
+            guard.read(new OptimisticReadGuard.ReadAction() {
+                public Object read(final Object target) {
+                    runs[0]++;
+                    throw new IllegalStateException("valid");
+                }
+            });
+            fail();
+        }
+        catch (IllegalStateException e) {
+            assertEquals("valid", e.getMessage());
+        }
+        assertEquals(1, runs[0]);
+    }
+
+    /**
+     * While the write lock is held, readers wait under the read lock
+     * instead of reading optimistically.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    public void testReadWaitsForWriter() throws InterruptedException {
+        final List list = new ArrayList();
+        final OptimisticReadGuard guard = new OptimisticReadGuard(list);
+        final Object[] result = new Object[1];
+        final Thread reader = new Thread() {
+            public void run() {
+                result[0] = guard.read(new OptimisticReadGuard.ReadAction() {
+                    public Object read(final Object target) {
+                        return Integer.valueOf(((List) target).size());
+                    }
+                });
+            }
+        };
+
+        guard.getLock().lockWrite();
+        try {
+            reader.start();
+            reader.join(50);
+            assertTrue(reader.isAlive());
+            list.add("d");
+        }
+        finally {
+            guard.getLock().unlock();
+        }
+        reader.join(10000);
+        assertFalse(reader.isAlive());
+        assertEquals(Integer.valueOf(1), result[0]);
+    }
+
+}
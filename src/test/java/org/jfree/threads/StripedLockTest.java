@@ -0,0 +1,175 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * --------------------
+ * StripedLockTest.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.threads;
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link StripedLock} class.
+ */
+public class StripedLockTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(StripedLockTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public StripedLockTest(String name) {
+        super(name);
+    }
+
+    /**
+     * The number of stripes is rounded up to a power of two.
+     */
+    public void testStripeCount() {
+        assertEquals(16, new StripedLock().getStripeCount());
+        assertEquals(1, new StripedLock(1).getStripeCount());
+        assertEquals(8, new StripedLock(5).getStripeCount());
+        assertEquals(64, new StripedLock(64).getStripeCount());
+        try {
+            new StripedLock(0);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Equal keys always map to the same stripe, null maps to the first
+     * stripe, and the keys are spread over all stripes.
+     */
+    public void testStripeSelection() {
+        final StripedLock lock = new StripedLock(16);
+        assertEquals(0, lock.getStripeIndex(null));
+        assertSame(lock.getLock("key"), lock.getLock(new String("key")));
+        assertEquals(lock.getStripeIndex(Integer.valueOf(42)),
+                lock.getStripeIndex(Integer.valueOf(42)));
+
+        final boolean[] used = new boolean[lock.getStripeCount()];
+        for (int i = 0; i < 1000; i++) {
+            final int index = lock.getStripeIndex(Integer.valueOf(i));
+            assertTrue(index >= 0 && index < lock.getStripeCount());
+            used[index] = true;
+        }
+        for (int i = 0; i < used.length; i++) {
+            assertTrue("Stripe " + i + " not used", used[i]);
+        }
+    }
+
+    /**
+     * Locking a key blocks the keys of the same stripe only.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    public void testStripesAreIndependent() throws InterruptedException {
+        final StripedLock lock = new StripedLock(16);
+        final Object key = "key";
+        Object sameStripe = null;
+        Object otherStripe = null;
+        for (int i = 0; sameStripe == null || otherStripe == null; i++) {
+            final Object candidate = "key" + i;
+            if (lock.getStripeIndex(candidate) == lock.getStripeIndex(key)) {
+                sameStripe = candidate;
+            }
+            else {
+                otherStripe = candidate;
+            }
+        }
+
+        lock.lockWrite(key);
+        try {
+            assertFalse(tryLockWrite(lock, sameStripe));
+            assertTrue(tryLockWrite(lock, otherStripe));
+        }
+        finally {
+            lock.unlock(key);
+        }
+        assertTrue(tryLockWrite(lock, sameStripe));
+    }
+
+    /**
+     * Tries to write-lock the given key on another thread.
+     *
+     * @param lock  the striped lock.
+     * @param key  the key.
+     *
+     * @return true, if the lock could be acquired.
+     *
+     * @throws InterruptedException if the test thread is interrupted.
+     */
+    private static boolean tryLockWrite(final StripedLock lock,
+                                        final Object key)
+        throws InterruptedException {
+        final boolean[] result = new boolean[1];
+        final Thread t = new Thread() {
+            public void run() {
+                try {
+                    final ConcurrentReaderWriterLock stripe = lock.getLock(key);
+                    if (stripe.tryLockWrite(20, TimeUnit.MILLISECONDS)) {
+                        stripe.unlock();
+                        result[0] = true;
+                    }
+                }
+                catch (InterruptedException e) {
+                    result[0] = false;
+                }
+            }
+        };
+        t.start();
+        t.join(10000);
+        return result[0];
+    }
+
+}
@@ -0,0 +1,145 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * -----------------------
+ * AsyncLogTargetTest.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link AsyncLogTarget} class.
+ */
+public class AsyncLogTargetTest extends TestCase {
+
+    /**
+     * A log target that records the messages.
+     */
+    private static class RecordingLogTarget implements LogTarget {
+
+        /** The recorded messages. */
+        private final List messages = new ArrayList();
+
+        /** Messages are delayed while this is true. */
+        private volatile boolean stalled;
+
+        /**
+         * Logs a message at a specified log level.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         */
+        public void log(final int level, final Object message) {
+            while (this.stalled) {
+                Thread.yield();
+            }
+            synchronized (this.messages) {
+                this.messages.add(message);
+            }
+        }
+
+        /**
+         * Logs a message at a specified log level.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         * @param e  the exception
+         */
+        public void log(final int level, final Object message, final Exception e) {
+            log(level, message);
+        }
+    }
+
+    /**
+     * Creates a new test.
+     *
+     * @param s  the test name.
+     */
+    public AsyncLogTargetTest(final String s) {
+        super(s);
+    }
+
+    /**
+     * All messages logged from several threads arrive at the target.
+     */
+    public void testDelivery() throws Exception {
+        final RecordingLogTarget target = new RecordingLogTarget();
+        final AsyncLogTarget async = new AsyncLogTarget(target, 16,
+                AsyncLogTarget.OVERFLOW_BLOCK);
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final String prefix = String.valueOf(t);
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        async.log(LogTarget.INFO, new Integer(i), null);
+                        async.log(LogTarget.INFO, prefix);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        async.close();
+        assertEquals(8000, target.messages.size());
+        assertEquals(0, async.getDroppedCount());
+    }
+
+    /**
+     * With the drop policy, a full buffer rejects messages and counts them.
+     */
+    public void testDrop() throws Exception {
+        final RecordingLogTarget target = new RecordingLogTarget();
+        target.stalled = true;
+        final AsyncLogTarget async = new AsyncLogTarget(target, 4,
+                AsyncLogTarget.OVERFLOW_DROP);
+        for (int i = 0; i < 100; i++) {
+            async.log(LogTarget.WARN, "message");
+        }
+        assertTrue(async.getDroppedCount() >= 100 - 5);
+        target.stalled = false;
+        async.close();
+        assertEquals(100, target.messages.size() + async.getDroppedCount());
+    }
+
+}
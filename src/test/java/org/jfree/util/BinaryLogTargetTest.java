@@ -0,0 +1,160 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * ------------------------
+ * BinaryLogTargetTest.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link BinaryLogTarget} and {@link BinaryLogDecoder}
+ * classes.
+ */
+public class BinaryLogTargetTest extends TestCase {
+
+    /** The directory for the log files. */
+    private File directory;
+
+    /**
+     * Creates an empty directory for the log files.
+     *
+     * @throws IOException if the directory cannot be created.
+     */
+    protected void setUp() throws IOException {
+        this.directory = File.createTempFile("binarylog", "");
+        this.directory.delete();
+        this.directory.mkdirs();
+    }
+
+    /**
+     * Deletes the log files.
+     */
+    protected void tearDown() {
+        final File[] files = this.directory.listFiles();
+        for (int i = 0; i < files.length; i++) {
+            files[i].delete();
+        }
+        this.directory.delete();
+    }
+
+    /**
+     * Decodes all log files of the test directory.
+     *
+     * @return the text.
+     *
+     * @throws IOException if decoding fails.
+     */
+    private String decodeAll() throws IOException {
+        final StringWriter text = new StringWriter();
+        final PrintWriter out = new PrintWriter(text);
+        final BinaryLogDecoder decoder = new BinaryLogDecoder();
+        final File[] files = BinaryLogDecoder.findLogFiles(this.directory);
+        for (int i = 0; i < files.length; i++) {
+            decoder.decode(files[i], out);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the different message types and decodes them again.
+     *
+     * @throws IOException if the test fails.
+     */
+    public void testRoundTrip() throws IOException {
+        final BinaryLogTarget target = new BinaryLogTarget(this.directory,
+                "test");
+        target.log(LogTarget.INFO, "plain text");
+        target.log(LogTarget.WARN, new Log.ParameterizedMessage(
+                "a={}, b={}, c={}", new Object[] {new Integer(1),
+                new Double(2.5), Boolean.TRUE}));
+        target.log(LogTarget.DEBUG, new Log.ContextMessage("org.jfree",
+                new Log.SimpleMessage("x=", new Long(3))));
+        target.log(LogTarget.ERROR, "failed", new Exception("boom"));
+        target.log(LogTarget.INFO, "with {} braces");
+        target.close();
+        target.log(LogTarget.INFO, "dropped");
+        assertEquals(1, target.getDroppedCount());
+
+        final String text = decodeAll();
+        final String[] lines = text.split(System.getProperty("line.separator"));
+        assertTrue(lines[0].endsWith("INFO:  plain text"));
+        assertTrue(lines[1].endsWith("WARN:  a=1, b=2.5, c=true"));
+        assertTrue(lines[2].endsWith("DEBUG: org.jfree: x=3"));
+        assertTrue(lines[3].endsWith("ERROR: failed"));
+        assertTrue(lines[4].startsWith("java.lang.Exception: boom"));
+        assertTrue(text.indexOf("INFO:  with {} braces") > 0);
+        assertTrue(text.indexOf("dropped") < 0);
+    }
+
+    /**
+     * Checks that the target starts new files and deletes old ones.
+     *
+     * @throws IOException if the test fails.
+     */
+    public void testRolling() throws IOException {
+        final BinaryLogTarget target = new BinaryLogTarget(this.directory,
+                "roll", 1024, 3);
+        for (int i = 0; i < 500; i++) {
+            target.log(LogTarget.INFO, new Log.ParameterizedMessage(
+                    "message {}", new Object[] {new Integer(i)}));
+        }
+        target.close();
+        assertEquals(0, target.getDroppedCount());
+
+        final File[] files = BinaryLogDecoder.findLogFiles(this.directory);
+        assertEquals(3, files.length);
+        assertEquals(target.getCurrentFile(), files[2]);
+
+        // each file has its own string table.
+        final StringWriter text = new StringWriter();
+        new BinaryLogDecoder().decode(files[2], new PrintWriter(text));
+        assertTrue(text.toString().endsWith(
+                "INFO:  message 499" + System.getProperty("line.separator")));
+
+        final String all = decodeAll();
+        assertTrue(all.indexOf("message 498") > 0);
+        assertTrue(all.indexOf("message 0" + System.getProperty(
+                "line.separator")) < 0);
+    }
+}
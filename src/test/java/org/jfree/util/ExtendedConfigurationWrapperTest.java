@@ -0,0 +1,267 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * -------------------------------------
+ * ExtendedConfigurationWrapperTest.java
+ * -------------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Added checks for system property changes;
+ * 18-Oct-2026 : Added tests for swapped parents and clone();
+ *
+ */
+
+package org.jfree.util;
+
+import java.math.RoundingMode;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.base.config.HierarchicalConfiguration;
+import org.jfree.base.config.SystemPropertyConfiguration;
+
+/**
+ * Tests for the {@link ExtendedConfigurationWrapper} class.
+ */
+public class ExtendedConfigurationWrapperTest extends TestCase {
+
+    /**
+     * A configuration whose parent can be replaced.
+     */
+    private static class SwappableConfiguration
+            extends HierarchicalConfiguration {
+
+        /**
+         * Replaces the parent configuration.
+         *
+         * @param parent  the new parent.
+         */
+        public void setParent(final Configuration parent) {
+            setParentConfig(parent);
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(ExtendedConfigurationWrapperTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public ExtendedConfigurationWrapperTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Checks the typed accessors.
+     */
+    public void testTypedProperties() {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        final ExtendedConfigurationWrapper w =
+                new ExtendedConfigurationWrapper(config);
+        config.setConfigProperty("int", " 42 ");
+        config.setConfigProperty("long", " 5000000000 ");
+        config.setConfigProperty("double", "2.5");
+        config.setConfigProperty("bool", "true");
+        config.setConfigProperty("enum", "DESCENDING");
+        config.setConfigProperty("bad", "x");
+
+        assertEquals(42, w.getIntProperty("int"));
+        assertEquals(7, w.getIntProperty("bad", 7));
+        assertEquals(0, w.getIntProperty("missing"));
+        assertEquals(5000000000L, w.getLongProperty("long", 0));
+        assertEquals(2.5, w.getDoubleProperty("double", 0), 0.0);
+        assertTrue(w.getBoolProperty("bool"));
+        assertFalse(w.getBoolProperty("bad", true));
+        assertTrue(w.getBoolProperty("missing", true));
+        assertEquals(RoundingMode.UNNECESSARY, w.getEnumProperty(
+                "bad", RoundingMode.class,
+                RoundingMode.UNNECESSARY));
+        config.setConfigProperty("enum", "HALF_UP");
+        assertEquals(RoundingMode.HALF_UP, w.getEnumProperty(
+                "enum", RoundingMode.class, null));
+    }
+
+    /**
+     * Checks the duration and size formats.
+     */
+    public void testDurationAndSize() {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        final ExtendedConfigurationWrapper w =
+                new ExtendedConfigurationWrapper(config);
+        final String[][] durations = {
+            {"250", "250"}, {"250ms", "250"}, {"1.5s", "1500"},
+            {"2 min", "120000"}, {"1h", "3600000"}, {"PT1M30S", "90000"},
+            {"5 parsecs", "-1"}
+        };
+        for (int i = 0; i < durations.length; i++) {
+            config.setConfigProperty("d", durations[i][0]);
+            assertEquals(durations[i][0], Long.parseLong(durations[i][1]),
+                    w.getDurationProperty("d", -1));
+        }
+        final String[][] sizes = {
+            {"512", "512"}, {"64k", "65536"}, {"64 KB", "65536"},
+            {"1.5m", "1572864"}, {"2g", "2147483648"}, {"9999999t", "-1"}
+        };
+        for (int i = 0; i < sizes.length; i++) {
+            config.setConfigProperty("s", sizes[i][0]);
+            assertEquals(sizes[i][0], Long.parseLong(sizes[i][1]),
+                    w.getSizeProperty("s", -1));
+        }
+    }
+
+    /**
+     * Checks that cached values follow changes of the configuration.
+     */
+    public void testInvalidation() {
+        final HierarchicalConfiguration config =
+                new HierarchicalConfiguration();
+        final ExtendedConfigurationWrapper w =
+                new ExtendedConfigurationWrapper(config);
+        config.setConfigProperty("a", "1");
+        assertEquals(1, w.getIntProperty("a"));
+        config.setConfigProperty("a", "2");
+        assertEquals(2, w.getIntProperty("a"));
+        w.setConfigProperty("a", "3");
+        assertEquals(3, w.getIntProperty("a"));
+        assertEquals(3L, w.getLongProperty("a", 0));
+        w.setConfigProperty("a", null);
+        assertEquals(-1, w.getIntProperty("a", -1));
+    }
+
+    /**
+     * Changes to the system properties are seen immediately if the system
+     * properties are part of the configuration hierarchy.
+     */
+    public void testSystemProperties() {
+        final String key = "org.jfree.util.ExtendedConfigurationWrapperTest";
+        // the layers of a booter's global configuration
+        final HierarchicalConfiguration global =
+                new HierarchicalConfiguration();
+        final HierarchicalConfiguration defaults =
+                new HierarchicalConfiguration();
+        defaults.setConfigProperty(key, "1");
+        defaults.setConfigProperty(key + ".bool", "false");
+        global.insertConfiguration(defaults);
+        global.insertConfiguration(new SystemPropertyConfiguration());
+        final ExtendedConfigurationWrapper w =
+                new ExtendedConfigurationWrapper(global);
+        assertEquals(HierarchicalConfiguration.UNTRACKED,
+                global.getHierarchyModificationCount());
+
+        try {
+            assertEquals(1, w.getIntProperty(key));
+            assertFalse(w.getBoolProperty(key + ".bool"));
+            System.setProperty(key, "7");
+            System.setProperty(key + ".bool", "true");
+            assertEquals(7, w.getIntProperty(key));
+            assertTrue(w.getBoolProperty(key + ".bool"));
+            assertEquals("7", w.getConfigProperty(key));
+        }
+        finally {
+            System.getProperties().remove(key);
+            System.getProperties().remove(key + ".bool");
+        }
+        assertEquals(1, w.getIntProperty(key));
+    }
+
+    /**
+     * Without system properties, the modification count of the hierarchy
+     * follows changes of all layers.
+     */
+    public void testHierarchyModificationCount() {
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        final HierarchicalConfiguration child =
+                new HierarchicalConfiguration(root);
+        final long count = child.getHierarchyModificationCount();
+        assertTrue(count != HierarchicalConfiguration.UNTRACKED);
+        root.setConfigProperty("a", "1");
+        assertTrue(child.getHierarchyModificationCount() > count);
+
+        // unrelated configurations do not count
+        final long count2 = child.getHierarchyModificationCount();
+        new HierarchicalConfiguration().setConfigProperty("a", "1");
+        assertEquals(count2, child.getHierarchyModificationCount());
+    }
+
+    /**
+     * Swapping the parent of the wrapped configuration discards the cached
+     * values, even if the modification counts of the old and the new
+     * hierarchy add up to the same number.
+     */
+    public void testParentSwap() {
+        final HierarchicalConfiguration first = new HierarchicalConfiguration();
+        for (int i = 0; i < 5; i++) {
+            first.setConfigProperty("k", String.valueOf(i));
+        }
+        final HierarchicalConfiguration second = new HierarchicalConfiguration();
+        for (int i = 0; i < 4; i++) {
+            second.setConfigProperty("k", String.valueOf(10 + i));
+        }
+        final SwappableConfiguration config = new SwappableConfiguration();
+        config.setParent(first);
+        final ExtendedConfigurationWrapper w =
+                new ExtendedConfigurationWrapper(config);
+        assertEquals(4, w.getIntProperty("k"));
+        config.setParent(second);
+        assertEquals(13, w.getIntProperty("k"));
+    }
+
+    /**
+     * A clone is a wrapper around a copy of the configuration.
+     *
+     * @throws CloneNotSupportedException if cloning fails.
+     */
+    public void testClone() throws CloneNotSupportedException {
+        final HierarchicalConfiguration config =
+                new HierarchicalConfiguration();
+        config.setConfigProperty("a", "1");
+        final ExtendedConfigurationWrapper w =
+                new ExtendedConfigurationWrapper(config);
+        assertEquals(1, w.getIntProperty("a"));
+        final ExtendedConfigurationWrapper clone =
+                (ExtendedConfigurationWrapper) w.clone();
+        clone.setConfigProperty("a", "2");
+        assertEquals(2, clone.getIntProperty("a"));
+        assertEquals(1, w.getIntProperty("a"));
+        assertEquals("1", config.getConfigProperty("a"));
+    }
+}
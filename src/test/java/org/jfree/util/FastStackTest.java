@@ -0,0 +1,134 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * ------------------
+ * FastStackTest.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.util.EmptyStackException;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link FastStack}, {@link IntFastStack} and
+ * {@link DoubleFastStack} classes.
+ */
+public class FastStackTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(FastStackTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public FastStackTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Push and pop beyond the initial size on a shrinking stack.
+     */
+    public void testPushPop() {
+        final FastStack<String> stack = new FastStack<String>(2, true);
+        for (int i = 0; i < 100; i++) {
+            stack.push(String.valueOf(i));
+        }
+        assertEquals(100, stack.size());
+        assertEquals("99", stack.peek());
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(String.valueOf(i), stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+        try {
+            stack.pop();
+            fail();
+        }
+        catch (EmptyStackException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Bulk operations keep the element order.
+     */
+    public void testBulk() {
+        final FastStack<String> stack = new FastStack<String>();
+        stack.push("a");
+        stack.pushAll(new String[] {"x", "b", "c", "y"}, 1, 2);
+        assertEquals(3, stack.size());
+        assertEquals("c", stack.peek());
+        assertEquals("b", stack.get(1));
+        stack.pop(2);
+        assertEquals("a", stack.peek());
+        stack.trimToSize();
+        assertEquals(1, stack.size());
+    }
+
+    /**
+     * The primitive stacks share the behaviour of the object stack.
+     */
+    public void testPrimitiveStacks() {
+        final IntFastStack ints = new IntFastStack(1, true);
+        ints.pushAll(new int[] {1, 2, 3});
+        ints.push(4);
+        assertEquals(4, ints.pop());
+        ints.pop(2);
+        assertEquals(1, ints.peek());
+
+        final DoubleFastStack doubles = new DoubleFastStack();
+        doubles.push(1.5);
+        final DoubleFastStack clone = (DoubleFastStack) doubles.clone();
+        doubles.push(2.5);
+        assertEquals(2.5, doubles.pop(), 0.0);
+        assertEquals(1, clone.size());
+        clone.clear();
+        assertTrue(clone.isEmpty());
+        assertEquals(1.5, doubles.peek(), 0.0);
+    }
+
+}
@@ -0,0 +1,205 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * ---------------------
+ * FlatHashNMapTest.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link FlatHashNMap} class.
+ */
+public class FlatHashNMapTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(FlatHashNMapTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public FlatHashNMapTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Checks the put/add semantics inherited from HashNMap.
+     */
+    public void testPutAndAdd() {
+        final FlatHashNMap map = new FlatHashNMap();
+        map.add("A", "1");
+        map.add("A", "2");
+        map.add("A", "3");
+        assertEquals(3, map.getValueCount("A"));
+        assertEquals("1", map.getFirst("A"));
+        assertEquals("3", map.get("A", 2));
+
+        map.put("A", "4");
+        assertEquals(1, map.getValueCount("A"));
+        assertEquals("4", map.getFirst("A"));
+        assertFalse(map.containsValue("1"));
+        assertTrue(map.containsValue("4"));
+        assertNull(map.getFirst("B"));
+    }
+
+    /**
+     * Interleaved additions force the values of the keys to be relocated
+     * and compacted; the values must stay in insertion order.
+     */
+    public void testManyKeys() {
+        final FlatHashNMap map = new FlatHashNMap();
+        for (int v = 0; v < 50; v++) {
+            for (int k = 0; k < 40; k++) {
+                map.add(new Integer(k), new Integer(k * 100 + v));
+            }
+        }
+        for (int k = 0; k < 40; k += 2) {
+            map.removeAll(new Integer(k));
+        }
+        for (int k = 1; k < 40; k += 2) {
+            map.add(new Integer(k), "x");
+        }
+        assertEquals(20, map.keySet().size());
+        for (int k = 0; k < 40; k++) {
+            final Integer key = new Integer(k);
+            if (k % 2 == 0) {
+                assertFalse(map.containsKey(key));
+                assertFalse(map.containsValue(new Integer(k * 100)));
+                continue;
+            }
+            final Iterator it = map.getAll(key);
+            for (int v = 0; v < 50; v++) {
+                assertEquals(new Integer(k * 100 + v), it.next());
+            }
+            assertEquals("x", it.next());
+            assertFalse(it.hasNext());
+        }
+    }
+
+    /**
+     * Removing single values updates the reverse value index.
+     */
+    public void testRemove() {
+        final FlatHashNMap map = new FlatHashNMap();
+        map.add("A", "1");
+        map.add("B", "1");
+        map.add("B", "2");
+        assertTrue(map.remove("A", "1"));
+        assertFalse(map.containsKey("A"));
+        assertTrue(map.containsValue("1"));
+        assertTrue(map.remove("B", "1"));
+        assertFalse(map.containsValue("1"));
+        assertFalse(map.remove("B", "1"));
+        assertEquals("2", map.getFirst("B"));
+        assertTrue(map.contains("B"));
+        map.clear();
+        assertFalse(map.contains("B"));
+        assertFalse(map.containsValue("2"));
+    }
+
+    /**
+     * The visitor receives all pairs and can stop the iteration.
+     */
+    public void testVisit() {
+        final FlatHashNMap map = new FlatHashNMap();
+        map.add(null, "1");
+        map.add(null, "2");
+        map.add("A", "3");
+        final int[] visited = new int[1];
+        assertTrue(map.visitAll(new FlatHashNMap.EntryVisitor() {
+            public boolean visit(final Object key, final Object value) {
+                visited[0] += 1;
+                return true;
+            }
+        }));
+        assertEquals(3, visited[0]);
+        assertFalse(map.visit(null, new FlatHashNMap.EntryVisitor() {
+            public boolean visit(final Object key, final Object value) {
+                assertNull(key);
+                assertEquals("1", value);
+                return false;
+            }
+        }));
+    }
+
+    /**
+     * Clones and serialized copies are independent of the original.
+     */
+    public void testCloneAndSerialization() throws Exception {
+        final FlatHashNMap map = new FlatHashNMap();
+        map.add("A", "1");
+        map.add("A", "2");
+        map.add("B", "3");
+
+        final FlatHashNMap clone = (FlatHashNMap) map.clone();
+        clone.add("A", "4");
+        assertEquals(2, map.getValueCount("A"));
+        assertFalse(map.containsValue("4"));
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutputStream(buffer);
+        out.writeObject(map);
+        out.close();
+        final ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray()));
+        final FlatHashNMap copy = (FlatHashNMap) in.readObject();
+        in.close();
+        assertEquals(2, copy.getValueCount("A"));
+        assertEquals("2", copy.get("A", 1));
+        assertTrue(copy.containsValue("3"));
+    }
+
+}
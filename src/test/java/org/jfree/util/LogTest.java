@@ -38,10 +38,17 @@
  * -------
  * 21-Feb-2004 : Initial version
  * 07-Jun-2004 : Added JCommon header (DG);
+ * 18-Oct-2026 : Added test for parameterized messages;
+ * 18-Oct-2026 : Added test for context log levels;
+ * 18-Oct-2026 : Added test for concurrent target and context updates;
+ * 18-Oct-2026 : Added test for context messages in Log subclasses;
  */
 
 package org.jfree.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import junit.framework.TestCase;
 
 /**
@@ -80,6 +87,56 @@ public class LogTest extends TestCase {
         }
     }
 
+    /**
+     * A log that records the messages passed to doLog().
+     */
+    private static class RecordingLog extends Log {
+
+        /** The messages passed to doLog(). */
+        private final List messages = new ArrayList();
+
+        /**
+         * Records the message and logs it.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         */
+        protected void doLog(final int level, final Object message) {
+            this.messages.add(String.valueOf(message));
+            super.doLog(level, message);
+        }
+    }
+
+    /**
+     * A log target that records the messages.
+     */
+    private static class RecordingTarget implements LogTarget {
+
+        /** The logged messages. */
+        private final List messages = new ArrayList();
+
+        /**
+         * Records the message.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         */
+        public void log(final int level, final Object message) {
+            this.messages.add(String.valueOf(message));
+        }
+
+        /**
+         * Records the message.
+         *
+         * @param level  the log level.
+         * @param message  the log message.
+         * @param e  the exception
+         */
+        public void log(final int level, final Object message, final Exception e) {
+            this.messages.add(String.valueOf(message));
+        }
+    }
+
     /**
      * Creates a new test.
      * 
@@ -124,6 +181,28 @@ public class LogTest extends TestCase {
         Log.error("Test");
     }
 
+    /**
+     * Tests the formatting of parameterized messages.
+     */
+    public void testParameterizedMessage() {
+        Log.ParameterizedMessage m = new Log.ParameterizedMessage(
+                "a={}, b={}", new Object[] {"1", null});
+        assertEquals("a=1, b=null", m.toString());
+        assertNull(m.getException());
+
+        final Exception e = new Exception();
+        m = new Log.ParameterizedMessage("a={}, b={}", new Object[] {"1"});
+        assertEquals("a=1, b={}", m.toString());
+        m = new Log.ParameterizedMessage("a={}", new Object[] {"1", e});
+        assertEquals("a=1", m.toString());
+        assertSame(e, m.getException());
+        m = new Log.ParameterizedMessage("a={}", new Object[] {e});
+        assertNull(m.getException());
+
+        Log.debug("Test {}", "debug");
+        Log.createContext("Test").info("Test {} {}", "info", e);
+    }
+
     /**
      * Tests the log context.
      */
@@ -135,4 +214,99 @@ public class LogTest extends TestCase {
         assertEquals("Context Test", ctx2, Log.createContext("Test"));
 
     }
+
+    /**
+     * Tests the per-context log levels.
+     */
+    public void testContextLevels() {
+        final Log log = Log.getInstance();
+        final int oldLevel = log.getDebuglevel();
+        try {
+            log.setDebuglevel(LogTarget.ERROR);
+            final LogContext ctx = Log.createContext("a.b.c");
+            assertFalse(ctx.isDebugEnabled());
+
+            log.setContextLevel("a.b", LogTarget.DEBUG);
+            assertEquals(LogTarget.DEBUG, log.getContextLevel("a.b.c"));
+            assertTrue(ctx.isDebugEnabled());
+            assertFalse(Log.createContext("a.x").isDebugEnabled());
+
+            log.setContextLevel("a.b.c", LogTarget.WARN);
+            assertFalse(ctx.isInfoEnabled());
+            assertTrue(ctx.isWarningEnabled());
+
+            log.removeContextLevel("a.b.c");
+            assertTrue(ctx.isDebugEnabled());
+            log.clearContextLevels();
+            assertFalse(ctx.isDebugEnabled());
+        }
+        finally {
+            log.clearContextLevels();
+            log.setDebuglevel(oldLevel);
+        }
+    }
+
+    /**
+     * Context messages reach a Log subclass that overrides doLog() as long as
+     * the debug-level of the log permits them; messages enabled only by a
+     * context level still reach the log targets.
+     */
+    public void testContextMessagesPassDoLog() {
+        final Log previous = Log.getInstance();
+        final RecordingLog log = new RecordingLog();
+        final RecordingTarget target = new RecordingTarget();
+        log.addTarget(target);
+        Log.defineLog(log);
+        try {
+            log.setDebuglevel(LogTarget.WARN);
+            final LogContext ctx = Log.createContext("ctx");
+            ctx.warn("warn");
+            ctx.info("info");
+            assertEquals(1, log.messages.size());
+            assertEquals("ctx:warn", log.messages.get(0));
+            assertEquals(1, target.messages.size());
+
+            log.setContextLevel("ctx", LogTarget.DEBUG);
+            ctx.debug("debug");
+            ctx.error("error");
+            assertEquals(2, log.messages.size());
+            assertEquals("ctx:error", log.messages.get(1));
+            assertEquals(3, target.messages.size());
+            assertEquals("ctx:debug", target.messages.get(1));
+        }
+        finally {
+            Log.defineLog(previous);
+        }
+    }
+
+    /**
+     * Adds and removes targets and creates contexts from several threads.
+     */
+    public void testConcurrentUpdates() throws InterruptedException {
+        final Log log = Log.getInstance();
+        final int before = log.getTargets().length;
+        final LogContext[] contexts = new LogContext[4];
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    for (int j = 0; j < 200; j++) {
+                        final LogTarget t = new LogTargetImpl();
+                        log.addTarget(t);
+                        contexts[index] = Log.createContext("concurrent");
+                        log.removeTarget(t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+        assertEquals(before, log.getTargets().length);
+        for (int i = 0; i < contexts.length; i++) {
+            assertSame(Log.createContext("concurrent"), contexts[i]);
+        }
+    }
 }
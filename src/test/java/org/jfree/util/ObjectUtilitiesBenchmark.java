@@ -0,0 +1,288 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2026, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------------------
+ * ObjectUtilitiesBenchmark.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Added clone benchmarks;
+ *
+ */
+
+package org.jfree.util;
+
+import java.awt.Point;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Compares repeated instantiation by class name through
+ * {@link ObjectUtilities#loadAndInstantiate(String, Class)} and repeated
+ * factory calls through {@link ObjectUtilities#invokeFactory(Class, String)}
+ * with plain reflection that resolves the class on every call. It also
+ * compares {@link ObjectUtilities#deepClone(Collection)} with cloning the
+ * elements of the same collection through reflection.
+ * <p>
+ * This is not a unit test. Run it with
+ * <code>java org.jfree.util.ObjectUtilitiesBenchmark [iterations]</code>.
+ */
+public class ObjectUtilitiesBenchmark {
+
+    /** The class that is instantiated. */
+    private static final String INSTANTIATED_CLASS = "java.util.ArrayList";
+
+    /** The class providing the factory method. */
+    private static final String FACTORY_CLASS = "org.jfree.base.BaseBoot";
+
+    /** The factory method. */
+    private static final String FACTORY_METHOD = "getInstance";
+
+    /** The size of the cloned collection. */
+    private static final int COLLECTION_SIZE = 100;
+
+    /**
+     * Instantiates the class with reflection.
+     *
+     * @param iterations  the number of instances.
+     *
+     * @return a value that depends on the instances.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int instantiateReflective(final int iterations)
+        throws Exception {
+        int check = 0;
+        for (int i = 0; i < iterations; i++) {
+            final ClassLoader loader = ObjectUtilities.getClassLoader
+                (ObjectUtilitiesBenchmark.class);
+            final Class c = loader.loadClass(INSTANTIATED_CLASS);
+            check += c.newInstance().hashCode();
+        }
+        return check;
+    }
+
+    /**
+     * Instantiates the class through the class cache.
+     *
+     * @param iterations  the number of instances.
+     *
+     * @return a value that depends on the instances.
+     */
+    private static int instantiateCached(final int iterations) {
+        int check = 0;
+        for (int i = 0; i < iterations; i++) {
+            check += ObjectUtilities.loadAndInstantiate(INSTANTIATED_CLASS,
+                ObjectUtilitiesBenchmark.class).hashCode();
+        }
+        return check;
+    }
+
+    /**
+     * Calls the factory method with reflection.
+     *
+     * @param iterations  the number of calls.
+     *
+     * @return a value that depends on the results.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int invokeReflective(final int iterations)
+        throws Exception {
+        int check = 0;
+        for (int i = 0; i < iterations; i++) {
+            final ClassLoader loader = ObjectUtilities.getClassLoader
+                (ObjectUtilitiesBenchmark.class);
+            final Class c = loader.loadClass(FACTORY_CLASS);
+            final Method m = c.getMethod(FACTORY_METHOD, (Class[]) null);
+            check += m.invoke(null, (Object[]) null).hashCode();
+        }
+        return check;
+    }
+
+    /**
+     * Calls the factory method through the class cache.
+     *
+     * @param iterations  the number of calls.
+     *
+     * @return a value that depends on the results.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int invokeCached(final int iterations) throws Exception {
+        int check = 0;
+        for (int i = 0; i < iterations; i++) {
+            final Class c = ObjectUtilities.loadClass(FACTORY_CLASS,
+                ObjectUtilitiesBenchmark.class);
+            check += ObjectUtilities.invokeFactory(c, FACTORY_METHOD).hashCode();
+        }
+        return check;
+    }
+
+    /**
+     * Creates the collection that is cloned.
+     *
+     * @return the collection.
+     */
+    private static Collection createCollection() {
+        final ArrayList list = new ArrayList(COLLECTION_SIZE);
+        for (int i = 0; i < COLLECTION_SIZE; i++) {
+            list.add(new Point(i, i));
+        }
+        return list;
+    }
+
+    /**
+     * Clones the elements of a collection with reflection.
+     *
+     * @param iterations  the number of collections cloned.
+     *
+     * @return a value that depends on the results.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int cloneReflective(final int iterations)
+        throws Exception {
+        final Collection collection = createCollection();
+        int check = 0;
+        for (int i = 0; i < iterations / COLLECTION_SIZE; i++) {
+            final ArrayList result = new ArrayList(collection.size());
+            final Object[] items = collection.toArray();
+            for (int j = 0; j < items.length; j++) {
+                final Method m = items[j].getClass().getMethod("clone",
+                    (Class[]) null);
+                result.add(m.invoke(items[j], (Object[]) null));
+            }
+            check += result.size();
+        }
+        return check;
+    }
+
+    /**
+     * Clones the elements of a collection through the cached clone methods.
+     *
+     * @param iterations  the number of collections cloned.
+     *
+     * @return a value that depends on the results.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int cloneCached(final int iterations) throws Exception {
+        final Collection collection = createCollection();
+        int check = 0;
+        for (int i = 0; i < iterations / COLLECTION_SIZE; i++) {
+            check += ObjectUtilities.deepClone(collection).size();
+        }
+        return check;
+    }
+
+    /**
+     * Runs one benchmark and prints the time per call.
+     *
+     * @param name  the name of the benchmark.
+     * @param run  the benchmark number.
+     * @param iterations  the number of calls.
+     *
+     * @return a value that depends on the results.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int measure(final String name, final int run,
+                               final int iterations) throws Exception {
+        int check = 0;
+        // warm up
+        check += execute(run, iterations);
+        final long start = System.nanoTime();
+        check += execute(run, iterations);
+        final long time = (System.nanoTime() - start) / iterations;
+        final StringBuffer b = new StringBuffer(name);
+        while (b.length() < 24) {
+            b.append(' ');
+        }
+        b.append(time);
+        System.out.println(b);
+        return check;
+    }
+
+    /**
+     * Executes the benchmark with the given number.
+     *
+     * @param run  the benchmark number.
+     * @param iterations  the number of calls.
+     *
+     * @return a value that depends on the results.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static int execute(final int run, final int iterations)
+        throws Exception {
+        switch (run) {
+            case 0: return instantiateReflective(iterations);
+            case 1: return instantiateCached(iterations);
+            case 2: return invokeReflective(iterations);
+            case 3: return invokeCached(iterations);
+            case 4: return cloneReflective(iterations);
+            default: return cloneCached(iterations);
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args  the optional number of iterations.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public static void main(final String[] args) throws Exception {
+        final int iterations;
+        if (args.length > 0) {
+            iterations = Integer.parseInt(args[0]);
+        }
+        else {
+            iterations = 1000000;
+        }
+
+        System.out.println("benchmark               ns per call");
+        int check = 0;
+        check += measure("newInstance, reflection", 0, iterations);
+        check += measure("newInstance, cached", 1, iterations);
+        check += measure("getInstance, reflection", 2, iterations);
+        check += measure("getInstance, cached", 3, iterations);
+        check += measure("clone, reflection", 4, iterations);
+        check += measure("clone, cached", 5, iterations);
+        if (check == 42) {
+            // keeps the results alive
+            System.out.println();
+        }
+    }
+}
@@ -38,6 +38,8 @@
  * -------
  * 15-Sep-2004 : Version 1 (DG);
  * 25-Nov-2004 : Added new checks (DG);
+ * 18-Oct-2026 : Added checks for the class cache and factory methods;
+ * 18-Oct-2026 : Added checks for repeated cloning;
  *
  */
 
@@ -46,6 +48,8 @@ package org.jfree.util;
 import java.awt.Point;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -200,4 +204,135 @@ public class ObjectUtilitiesTest extends TestCase {
 
     }
 
+    /**
+     * Some checks for the loadAndInstantiate() methods.
+     */
+    public void testLoadAndInstantiate() {
+        Object o = ObjectUtilities.loadAndInstantiate("java.util.ArrayList",
+                ObjectUtilitiesTest.class);
+        assertTrue(o instanceof ArrayList);
+        Object o2 = ObjectUtilities.loadAndInstantiate("java.util.ArrayList",
+                ObjectUtilitiesTest.class);
+        assertNotSame(o, o2);
+
+        // type checks
+        assertTrue(ObjectUtilities.loadAndInstantiate("java.util.ArrayList",
+                ObjectUtilitiesTest.class, List.class) instanceof ArrayList);
+        assertNull(ObjectUtilities.loadAndInstantiate("java.util.ArrayList",
+                ObjectUtilitiesTest.class, String.class));
+
+        // abstract classes, interfaces and unknown classes
+        assertNull(ObjectUtilities.loadAndInstantiate("java.util.AbstractList",
+                ObjectUtilitiesTest.class));
+        assertNull(ObjectUtilities.loadAndInstantiate("java.util.List",
+                ObjectUtilitiesTest.class));
+        assertNull(ObjectUtilities.loadAndInstantiate("org.jfree.NoSuchClass",
+                ObjectUtilitiesTest.class));
+    }
+
+    /**
+     * Classes are cached, but the cache can be cleared.
+     *
+     * @throws ClassNotFoundException if a class is not found.
+     */
+    public void testLoadClass() throws ClassNotFoundException {
+        Class c1 = ObjectUtilities.loadClass("java.awt.Point",
+                ObjectUtilitiesTest.class);
+        assertEquals(Point.class, c1);
+        assertSame(c1, ObjectUtilities.loadClass("java.awt.Point",
+                ObjectUtilitiesTest.class));
+        ObjectUtilities.clearClassCache();
+        assertSame(c1, ObjectUtilities.loadClass("java.awt.Point",
+                ObjectUtilitiesTest.class));
+        try {
+            ObjectUtilities.loadClass("org.jfree.NoSuchClass",
+                    ObjectUtilitiesTest.class);
+            fail();
+        }
+        catch (ClassNotFoundException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Some checks for the invokeFactory() method.
+     *
+     * @throws Exception if there is a problem.
+     */
+    public void testInvokeFactory() throws Exception {
+        assertSame(Collections.EMPTY_LIST,
+                ObjectUtilities.invokeFactory(Collections.class, "emptyList"));
+        assertSame(Runtime.getRuntime(),
+                ObjectUtilities.invokeFactory(Runtime.class, "getRuntime"));
+
+        // instance methods and missing methods are not factories
+        try {
+            ObjectUtilities.invokeFactory(Point.class, "getLocation");
+            fail();
+        }
+        catch (NoSuchMethodException e) {
+            // expected
+        }
+        try {
+            ObjectUtilities.invokeFactory(Point.class, "noSuchMethod");
+            fail();
+        }
+        catch (NoSuchMethodException e) {
+            // expected
+        }
+    }
+
+    /**
+     * A cloneable class with a clone() method that fails.
+     */
+    public static class FailingCloneable implements Cloneable {
+
+        /**
+         * Always fails.
+         *
+         * @return never.
+         *
+         * @throws CloneNotSupportedException always.
+         */
+        public Object clone() throws CloneNotSupportedException {
+            throw new CloneNotSupportedException();
+        }
+    }
+
+    /**
+     * Repeated cloning of the same class must give the same results as the
+     * first call.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    public void testCloneRepeated() throws CloneNotSupportedException {
+        for (int i = 0; i < 3; i++) {
+            Point p = new Point(i, i);
+            Point clone = (Point) ObjectUtilities.clone(p);
+            assertNotSame(p, clone);
+            assertEquals(p, clone);
+
+            ArrayList list = new ArrayList();
+            list.add(p);
+            ArrayList listClone = (ArrayList) ObjectUtilities.clone(list);
+            assertNotSame(list, listClone);
+            assertEquals(list, listClone);
+
+            try {
+                ObjectUtilities.clone("Hello World");
+                fail();
+            }
+            catch (CloneNotSupportedException e) {
+                // expected
+            }
+            try {
+                ObjectUtilities.clone(new FailingCloneable());
+                fail();
+            }
+            catch (CloneNotSupportedException e) {
+                // expected
+            }
+        }
+    }
+
 }
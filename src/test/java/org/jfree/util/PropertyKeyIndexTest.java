@@ -0,0 +1,210 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * -------------------------
+ * PropertyKeyIndexTest.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Added checks for changes made through the views;
+ *
+ */
+
+package org.jfree.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.function.Predicate;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.base.config.HierarchicalConfiguration;
+
+/**
+ * Tests for the {@link PropertyKeyIndex} class and the prefix search of the
+ * configurations that use it.
+ */
+public class PropertyKeyIndexTest extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(PropertyKeyIndexTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public PropertyKeyIndexTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Copies the elements of an iterator into a list.
+     *
+     * @param it  the iterator.
+     *
+     * @return The list.
+     */
+    private static List toList(final Iterator it) {
+        final ArrayList result = new ArrayList();
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * Some checks for the findKeys() method.
+     */
+    public void testFindKeys() {
+        final PropertyKeyIndex index = new PropertyKeyIndex(
+                new Vector(Arrays.asList(new String[] {
+                    "b.x", "a", "a.b", "a.c", "ab", "b"})).elements());
+        assertEquals(6, index.size());
+        assertEquals(Arrays.asList(new String[] {"a.b", "a.c"}),
+                index.findKeys("a."));
+        assertEquals(Arrays.asList(new String[] {"a", "a.b", "a.c", "ab"}),
+                index.findKeys("a"));
+        assertEquals(6, index.findKeys("").size());
+        assertTrue(index.findKeys("c").isEmpty());
+        assertTrue(index.findKeys("b.y").isEmpty());
+    }
+
+    /**
+     * Some checks for the merge() method.
+     */
+    public void testMerge() {
+        final List lists = new ArrayList();
+        lists.add(Arrays.asList(new String[] {"a", "c", "e"}));
+        lists.add(new ArrayList());
+        lists.add(Arrays.asList(new String[] {"b", "c", "f"}));
+        assertEquals(Arrays.asList(new String[] {"a", "b", "c", "e", "f"}),
+                toList(PropertyKeyIndex.merge(lists)));
+    }
+
+    /**
+     * Checks that the index of a DefaultConfiguration follows changes.
+     */
+    public void testDefaultConfiguration() {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        config.setConfigProperty("org.jfree.b", "1");
+        config.setConfigProperty("org.jfree.a", "2");
+        assertEquals(Arrays.asList(new String[] {"org.jfree.a", "org.jfree.b"}),
+                toList(config.findPropertyKeys("org.")));
+        config.setConfigProperty("org.jfree.a", null);
+        config.put("org.jfree.c", "3");
+        assertEquals(Arrays.asList(new String[] {"org.jfree.b", "org.jfree.c"}),
+                toList(config.findPropertyKeys("org.")));
+    }
+
+    /**
+     * Checks that changes made through the views of a DefaultConfiguration
+     * update the index and the modification count.
+     */
+    public void testDefaultConfigurationViews() {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        config.setConfigProperty("a.x", "1");
+        config.setConfigProperty("a.y", "2");
+        config.setConfigProperty("a.z", "3");
+        assertEquals(3, toList(config.findPropertyKeys("a.")).size());
+
+        long count = config.getModificationCount();
+        assertTrue(config.keySet().remove("a.x"));
+        assertFalse(config.keySet().remove("a.x"));
+        assertEquals(Arrays.asList(new String[] {"a.y", "a.z"}),
+                toList(config.findPropertyKeys("a.")));
+        assertTrue(config.getModificationCount() > count);
+
+        count = config.getModificationCount();
+        Iterator it = config.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry entry = (Map.Entry) it.next();
+            if ("a.y".equals(entry.getKey())) {
+                entry.setValue("changed");
+            }
+        }
+        assertEquals("changed", config.getConfigProperty("a.y"));
+        assertTrue(config.getModificationCount() > count);
+
+        config.entrySet().removeIf(new Predicate() {
+            public boolean test(final Object o) {
+                return "a.y".equals(((Map.Entry) o).getKey());
+            }
+        });
+        assertEquals(Arrays.asList(new String[] {"a.z"}),
+                toList(config.findPropertyKeys("a.")));
+
+        it = config.values().iterator();
+        it.next();
+        it.remove();
+        assertTrue(config.isEmpty());
+        assertEquals(0, toList(config.findPropertyKeys("a.")).size());
+
+        config.setConfigProperty("a.w", "4");
+        assertEquals(1, toList(config.findPropertyKeys("a.")).size());
+        config.keySet().clear();
+        assertEquals(0, toList(config.findPropertyKeys("a.")).size());
+    }
+
+    /**
+     * Checks the prefix search over several configuration layers.
+     */
+    public void testHierarchicalConfiguration() {
+        final HierarchicalConfiguration root = new HierarchicalConfiguration();
+        final HierarchicalConfiguration parent =
+                new HierarchicalConfiguration();
+        root.insertConfiguration(parent);
+        parent.setConfigProperty("x.b", "1");
+        parent.setConfigProperty("x.c", "1");
+        root.setConfigProperty("x.a", "2");
+        root.setConfigProperty("x.c", "2");
+        final List expected = Arrays.asList(new String[] {"x.a", "x.b", "x.c"});
+        assertEquals(expected, toList(root.findPropertyKeys("x.")));
+
+        root.setSnapshotEnabled(true);
+        assertEquals(expected, toList(root.findPropertyKeys("x.")));
+        parent.setConfigProperty("x.d", "1");
+        assertEquals(4, toList(root.findPropertyKeys("x.")).size());
+    }
+}
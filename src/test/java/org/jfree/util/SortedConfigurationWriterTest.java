@@ -0,0 +1,141 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * ----------------------------------
+ * SortedConfigurationWriterTest.java
+ * ----------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Properties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link SortedConfigurationWriter} class.
+ */
+public class SortedConfigurationWriterTest extends TestCase {
+
+    /** The line separator. */
+    private static final String EOL = StringUtils.getLineSeparator();
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(SortedConfigurationWriterTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public SortedConfigurationWriterTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * Checks the escaping and the order of the keys.
+     *
+     * @throws IOException if the test fails.
+     */
+    public void testEscaping() throws IOException {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        config.setConfigProperty("b key", " value=1");
+        config.setConfigProperty("a", "x\u00e9\ty");
+        final StringWriter out = new StringWriter();
+        new SortedConfigurationWriter().save(out, config);
+        assertEquals("a=x\\u00e9\\ty" + EOL + "b\\ key=\\ value\\=1" + EOL,
+                out.toString());
+    }
+
+    /**
+     * Checks that layers are merged and that the first layer wins.
+     *
+     * @throws IOException if the test fails.
+     */
+    public void testLayers() throws IOException {
+        final DefaultConfiguration tenant = new DefaultConfiguration();
+        tenant.setConfigProperty("b", "tenant");
+        final DefaultConfiguration defaults = new DefaultConfiguration();
+        defaults.setConfigProperty("a", "1");
+        defaults.setConfigProperty("b", "default");
+        defaults.setConfigProperty("c", "3");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SortedConfigurationWriter().save(out,
+                new Configuration[] {tenant, defaults});
+        assertEquals("a=1" + EOL + "b=tenant" + EOL + "c=3" + EOL,
+                out.toString("ISO-8859-1"));
+    }
+
+    /**
+     * Writes a large configuration into a file and reads it back.
+     *
+     * @throws IOException if the test fails.
+     */
+    public void testFile() throws IOException {
+        final DefaultConfiguration config = new DefaultConfiguration();
+        for (int i = 0; i < 20000; i++) {
+            config.setConfigProperty("key." + i, "value " + i + "\u20ac");
+        }
+        final File file = File.createTempFile("config", ".properties");
+        try {
+            new SortedConfigurationWriter().save(file, config);
+            final Properties p = new Properties();
+            final FileInputStream in = new FileInputStream(file);
+            try {
+                p.load(in);
+            }
+            finally {
+                in.close();
+            }
+            assertEquals(config, p);
+        }
+        finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/* ========================================================================
+ * JCommon : a free general purpose class library for the Java(tm) platform
+ * ========================================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ * 
+ * Project Info:  http://www.jfree.org/jcommon/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ * 
+ * --------------------------
+ * SparseObjectTableTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.util;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for the {@link SparseObjectTable} class.
+ */
+public class SparseObjectTableTest extends TestCase {
+
+    /**
+     * Sparse object table with public accessors.
+     */
+    public static class TSparseObjectTable extends SparseObjectTable {
+
+        /**
+         * Returns the object from a particular cell in the table.
+         *
+         * @param row  the row index (zero-based).
+         * @param column  the column index (zero-based).
+         *
+         * @return The object.
+         */
+        public Object getObject(final int row, final int column) {
+            return super.getObject(row, column);
+        }
+
+        /**
+         * Sets the object for a cell in the table.
+         *
+         * @param row  the row index (zero-based).
+         * @param column  the column index (zero-based).
+         * @param object  the object.
+         */
+        public void setObject(final int row, final int column, final Object object) {
+            super.setObject(row, column, object);
+        }
+    }
+
+    /**
+     * Dense object table with public accessors.
+     */
+    public static class TObjectTable extends ObjectTable {
+
+        /**
+         * Sets the object for a cell in the table.
+         *
+         * @param row  the row index (zero-based).
+         * @param column  the column index (zero-based).
+         * @param object  the object.
+         */
+        public void setObject(final int row, final int column, final Object object) {
+            super.setObject(row, column, object);
+        }
+    }
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(SparseObjectTableTest.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public SparseObjectTableTest(final String name) {
+        super(name);
+    }
+
+    /**
+     * A new table should be empty and return null for all lookups.
+     */
+    public void testCreate() {
+        final TSparseObjectTable t = new TSparseObjectTable();
+        assertEquals(0, t.getColumnCount());
+        assertEquals(0, t.getRowCount());
+        assertEquals(0, t.getCellCount());
+        assertNull(t.getObject(0, 0));
+        assertNull(t.getObject(12, 12));
+    }
+
+    /**
+     * Setting a cell outside the current bounds grows the table, setting it
+     * to null again releases the cell but keeps the bounds.
+     */
+    public void testSetObject() {
+        final TSparseObjectTable t = new TSparseObjectTable();
+        t.setObject(8, 5, Color.red);
+        assertEquals(6, t.getColumnCount());
+        assertEquals(9, t.getRowCount());
+        assertEquals(1, t.getCellCount());
+        assertNull(t.getObject(7, 4));
+        assertEquals(Color.red, t.getObject(8, 5));
+
+        t.setObject(8, 5, null);
+        assertNull(t.getObject(8, 5));
+        assertEquals(0, t.getCellCount());
+        assertEquals(9, t.getRowCount());
+    }
+
+    /**
+     * Fill and empty enough cells to force rehashing and backward shifting.
+     */
+    public void testManyCells() {
+        final TSparseObjectTable t = new TSparseObjectTable();
+        for (int r = 0; r < 100; r++) {
+            for (int c = 0; c < 30; c++) {
+                t.setObject(r, c, new Integer(r * 1000 + c));
+            }
+        }
+        assertEquals(3000, t.getCellCount());
+        for (int r = 0; r < 100; r += 2) {
+            for (int c = 0; c < 30; c++) {
+                t.setObject(r, c, null);
+            }
+        }
+        assertEquals(1500, t.getCellCount());
+        for (int r = 0; r < 100; r++) {
+            for (int c = 0; c < 30; c++) {
+                if (r % 2 == 0) {
+                    assertNull(t.getObject(r, c));
+                }
+                else {
+                    assertEquals(new Integer(r * 1000 + c), t.getObject(r, c));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sparse and dense tables with the same content are equal.
+     */
+    public void testEquals() {
+        final TSparseObjectTable t1 = new TSparseObjectTable();
+        final TSparseObjectTable t2 = new TSparseObjectTable();
+        final TObjectTable t3 = new TObjectTable();
+        assertEquals(t1, t2);
+
+        t1.setObject(3, 7, Color.blue);
+        assertFalse(t1.equals(t2));
+        t2.setObject(3, 7, Color.blue);
+        assertEquals(t1, t2);
+        t3.setObject(3, 7, Color.blue);
+        assertEquals(t1, t3);
+        assertEquals(t3, t1);
+        assertEquals(t1.hashCode(), t3.hashCode());
+
+        t2.setObject(1, 1, Color.red);
+        assertFalse(t1.equals(t2));
+        t2.setObject(1, 1, null);
+        assertEquals(t1, t2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    public void testSerialization() {
+        final TSparseObjectTable t1 = new TSparseObjectTable();
+        t1.setObject(0, 0, Color.red);
+        t1.setObject(500, 20, Color.blue);
+
+        TSparseObjectTable t2 = null;
+        try {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(t1);
+            out.close();
+
+            final ObjectInput in = new ObjectInputStream(
+                    new ByteArrayInputStream(buffer.toByteArray()));
+            t2 = (TSparseObjectTable) in.readObject();
+            in.close();
+        }
+        catch (Exception e) {
+            System.out.println(e.toString());
+        }
+        assertEquals(t1, t2);
+        assertEquals(Color.blue, t2.getObject(500, 20));
+    }
+
+}
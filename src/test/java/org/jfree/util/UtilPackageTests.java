@@ -40,6 +40,13 @@
  * 08-Oct-2004 : Added tests for UnitType class (DG);
  * 26-Oct-2004 : Added tests for ShapeUtilities class (DG);
  * 17-Jun-2008 : Added tests for ShapeList class (DG);
+ * 18-Oct-2026 : Added tests for SparseObjectTable and FlatHashNMap classes;
+ * 18-Oct-2026 : Added tests for FastStack classes;
+ * 18-Oct-2026 : Added tests for PropertyKeyIndex class;
+ * 18-Oct-2026 : Added tests for ExtendedConfigurationWrapper class;
+ * 18-Oct-2026 : Added tests for SortedConfigurationWriter class;
+ * 18-Oct-2026 : Added tests for AsyncLogTarget class;
+ * 18-Oct-2026 : Added tests for BinaryLogTarget class;
  *
  */
 
@@ -64,15 +71,23 @@ public class UtilPackageTests extends TestCase {
     public static Test suite() {
         TestSuite suite = new TestSuite("org.jfree.util");
         suite.addTestSuite(ArrayUtilitiesTest.class);
+        suite.addTestSuite(AsyncLogTargetTest.class);
+        suite.addTestSuite(BinaryLogTargetTest.class);
         suite.addTestSuite(BooleanListTest.class);
+        suite.addTestSuite(ExtendedConfigurationWrapperTest.class);
+        suite.addTestSuite(FastStackTest.class);
+        suite.addTestSuite(FlatHashNMapTest.class);
         suite.addTestSuite(ObjectListTest.class);
         suite.addTestSuite(ObjectTableTest.class);
         suite.addTestSuite(ObjectUtilitiesTest.class);
         suite.addTestSuite(PaintListTest.class);
         suite.addTestSuite(PaintUtilitiesTest.class);
+        suite.addTestSuite(PropertyKeyIndexTest.class);
         suite.addTestSuite(RotationTest.class);
         suite.addTestSuite(ShapeListTest.class);
         suite.addTestSuite(ShapeUtilitiesTest.class);
+        suite.addTestSuite(SortedConfigurationWriterTest.class);
+        suite.addTestSuite(SparseObjectTableTest.class);
         suite.addTestSuite(SortOrderTest.class);
         suite.addTestSuite(UnitTypeTest.class);
         return suite;